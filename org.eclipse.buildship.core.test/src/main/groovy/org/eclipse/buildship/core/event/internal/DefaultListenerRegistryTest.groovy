@@ -0,0 +1,73 @@
+package org.eclipse.buildship.core.event.internal
+
+import spock.lang.Specification
+
+import org.eclipse.buildship.core.event.Event
+import org.eclipse.buildship.core.event.EventListener
+
+class DefaultListenerRegistryTest extends Specification {
+
+    def registry = new DefaultListenerRegistry()
+
+    def "Listener registered without a type receives all events"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener)
+
+        when:
+        registry.dispatch(new FirstEvent())
+        registry.dispatch(new SecondEvent())
+
+        then:
+        1 * listener.onEvent({ it instanceof FirstEvent })
+        1 * listener.onEvent({ it instanceof SecondEvent })
+    }
+
+    def "Typed listener receives only the events it registered for"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener, FirstEvent)
+
+        when:
+        registry.dispatch(new FirstEvent())
+        registry.dispatch(new SecondEvent())
+
+        then:
+        1 * listener.onEvent({ it instanceof FirstEvent })
+        0 * listener.onEvent({ it instanceof SecondEvent })
+    }
+
+    def "Listener registered for several types receives each event once"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener, FirstEvent)
+        registry.addEventListener(listener, Event)
+
+        when:
+        registry.dispatch(new FirstEvent())
+        registry.dispatch(new SecondEvent())
+
+        then:
+        2 * listener.onEvent(_)
+    }
+
+    def "Removed listener receives no events"() {
+        setup:
+        EventListener listener = Mock(EventListener)
+        registry.addEventListener(listener, FirstEvent)
+        registry.removeEventListener(listener)
+
+        when:
+        registry.dispatch(new FirstEvent())
+
+        then:
+        0 * listener.onEvent(_)
+    }
+
+    static class FirstEvent implements Event {
+    }
+
+    static class SecondEvent implements Event {
+    }
+
+}
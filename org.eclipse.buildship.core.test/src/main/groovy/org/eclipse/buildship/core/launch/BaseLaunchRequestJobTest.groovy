@@ -30,7 +30,7 @@ class BaseLaunchRequestJobTest extends Specification {
 
         processStreamsProvider = Mock(ProcessStreamsProvider)
         processStreamsProvider.createProcessStreams(_) >> processStreams
-        processStreamsProvider.getBackgroundJobProcessStreams() >> processStreams
+        processStreamsProvider.getBackgroundJobProcessStreams(_) >> processStreams
 
         environment.registerService(ToolingClient, toolingClient)
         environment.registerService(ProcessStreamsProvider, processStreamsProvider)
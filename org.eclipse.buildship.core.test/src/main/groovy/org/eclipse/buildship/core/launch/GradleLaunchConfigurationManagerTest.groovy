@@ -91,6 +91,41 @@ class GradleLaunchConfigurationManagerTest extends Specification {
         config1 == config2
     }
 
+    def "Renamed run configurations are still found"() {
+        setup:
+        ILaunchConfiguration config = manager.getOrCreateRunConfiguration(validAttribute)
+        def workingCopy = config.getWorkingCopy()
+        workingCopy.rename('renamed')
+        ILaunchConfiguration renamed = workingCopy.doSave()
+
+        expect:
+        manager.getRunConfiguration(validAttribute).get() == renamed
+        manager.getOrCreateRunConfiguration(validAttribute) == renamed
+        DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations().size() == 1
+    }
+
+    def "Run configurations are found by their modified attributes"() {
+        setup:
+        def otherAttribute = GradleRunConfigurationAttributes.with( ['build'], "/home/user/workspace/project", GradleDistribution.forVersion('2.0'), null, [], [], false, false, true)
+        ILaunchConfiguration config = manager.getOrCreateRunConfiguration(validAttribute)
+        def workingCopy = config.getWorkingCopy()
+        otherAttribute.apply(workingCopy)
+        workingCopy.doSave()
+
+        expect:
+        !manager.getRunConfiguration(validAttribute).isPresent()
+        manager.getRunConfiguration(otherAttribute).get() == config
+    }
+
+    def "Deleted run configurations are not found"() {
+        setup:
+        ILaunchConfiguration config = manager.getOrCreateRunConfiguration(validAttribute)
+        config.delete()
+
+        expect:
+        !manager.getRunConfiguration(validAttribute).isPresent()
+    }
+
     def "Can't save attribute if launch manager is not able to retrieve configurations"() {
         setup:
         ILaunchManager launchManager = Mock(ILaunchManager)
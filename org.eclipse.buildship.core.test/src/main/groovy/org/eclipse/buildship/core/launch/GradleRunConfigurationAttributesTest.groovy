@@ -39,7 +39,8 @@ class GradleRunConfigurationAttributesTest extends Specification {
         jvmArguments : ["-ea"],
         showExecutionView :  true,
         showConsoleView : true,
-        useGradleDistributionFromImport : true
+        useGradleDistributionFromImport : true,
+        logFile : "/home/user/build.log"
     )
 
     def "Can create a new valid instance"() {
@@ -59,11 +60,13 @@ class GradleRunConfigurationAttributesTest extends Specification {
         configuration.isShowExecutionView() == defaults.showExecutionView
         configuration.isShowConsoleView() == defaults.showConsoleView
         configuration.isUseGradleDistributionFromImport() == defaults.useGradleDistributionFromImport
+        configuration.getLogFileExpression() == defaults.logFile
         // check calculated value
         configuration.getArgumentExpressions() == defaults.arguments
         configuration.getJvmArgumentExpressions() == defaults.jvmArguments
         configuration.getWorkingDir().getAbsolutePath() == new File(defaults.workingDir).getAbsolutePath()
         configuration.getJavaHome().getAbsolutePath() == new File(defaults.javaHome).getAbsolutePath()
+        configuration.getLogFile().get().getAbsolutePath() == new File(defaults.logFile).getAbsolutePath()
     }
 
     def "Can create a new valid instance with valid null arguments"(Attributes attributes) {
@@ -73,13 +76,23 @@ class GradleRunConfigurationAttributesTest extends Specification {
         then:
         configuration != null
         attributes.javaHome != null || configuration.getJavaHome() == null
+        attributes.logFile != null || !configuration.getLogFile().isPresent()
 
         where:
         attributes << [
             defaults.copy { javaHome = null },
+            defaults.copy { logFile = null },
         ]
     }
 
+    def "Relative log file is resolved against the working directory"() {
+        when:
+        def configuration = defaults.copy { logFile = 'logs/build.log' }.toConfiguration()
+
+        then:
+        configuration.getLogFile().get() == new File(new File(defaults.workingDir).getAbsoluteFile(), 'logs/build.log')
+    }
+
     def "Creation fails when null argument passed"(Attributes attributes) {
         when:
         attributes.toConfiguration()
@@ -203,11 +216,13 @@ class GradleRunConfigurationAttributesTest extends Specification {
         gradleConfig1.getArguments() == gradleConfig2.getArguments()
         gradleConfig1.isShowExecutionView() == gradleConfig2.isShowExecutionView()
         gradleConfig1.isUseGradleDistributionFromImport() == gradleConfig2.isUseGradleDistributionFromImport()
+        gradleConfig1.getLogFileExpression() == gradleConfig2.getLogFileExpression()
 
         where:
         attributes << [
             defaults,
             defaults.copy { javaHome = null },
+            defaults.copy { logFile = null },
         ]
     }
 
@@ -235,9 +250,10 @@ class GradleRunConfigurationAttributesTest extends Specification {
         def showExecutionView
         def showConsoleView
         def useGradleDistributionFromImport
+        def logFile
 
         def GradleRunConfigurationAttributes toConfiguration() {
-            GradleRunConfigurationAttributes.with(tasks, workingDir, gradleDistr, javaHome, jvmArguments, arguments, showExecutionView, showConsoleView, useGradleDistributionFromImport)
+            GradleRunConfigurationAttributes.with(tasks, workingDir, gradleDistr, javaHome, jvmArguments, arguments, showExecutionView, showConsoleView, useGradleDistributionFromImport, logFile)
         }
 
         def Attributes copy(@DelegatesTo(value = Attributes, strategy=Closure.DELEGATE_FIRST) Closure closure) {
@@ -1,6 +1,7 @@
 package org.eclipse.buildship.core.launch
 
 import com.gradleware.tooling.toolingclient.TestLaunchRequest
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor
 import org.gradle.tooling.events.test.TestOperationDescriptor
 
 class RunGradleTestLaunchRequestJobTest extends BaseLaunchRequestJobTest {
@@ -38,6 +39,19 @@ class RunGradleTestLaunchRequestJobTest extends BaseLaunchRequestJobTest {
         1 * processStreamsProvider.createProcessStreams(null).getConfiguration().flush()
     }
 
+    def "Only launches of JVM tests with a class name can be coalesced"() {
+        setup:
+        JvmTestOperationDescriptor testClass = Mock(JvmTestOperationDescriptor)
+        testClass.getClassName() >> 'org.example.Test'
+        JvmTestOperationDescriptor testExecutor = Mock(JvmTestOperationDescriptor)
+        testExecutor.getClassName() >> null
+
+        expect:
+        RunGradleTestLaunchRequestJob.canBeCoalesced([testClass])
+        !RunGradleTestLaunchRequestJob.canBeCoalesced([testClass, testExecutor])
+        !RunGradleTestLaunchRequestJob.canBeCoalesced([testClass] + createTestOperationDescriptorsMock())
+    }
+
     GradleRunConfigurationAttributes createRunConfigurationAttributesMock() {
         def launchConfiguration = createLaunchConfigurationMock()
         GradleRunConfigurationAttributes.from(launchConfiguration)
@@ -0,0 +1,93 @@
+package org.eclipse.buildship.core.launch
+
+import com.gradleware.tooling.toolingclient.TestLaunchRequest
+import org.eclipse.buildship.core.CorePlugin
+import org.eclipse.core.runtime.jobs.Job
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor
+import org.gradle.tooling.events.test.TestOperationDescriptor
+
+class TestLaunchQueueTest extends BaseLaunchRequestJobTest {
+
+    TestLaunchRequest testLaunchRequest
+    TestLaunchQueue queue = new TestLaunchQueue()
+
+    def setup() {
+        testLaunchRequest = Mock(TestLaunchRequest)
+    }
+
+    def "Launches within the coalescing window are executed in a single build"() {
+        setup:
+        GradleRunConfigurationAttributes attributes = createRunConfigurationAttributes()
+        long launchTime = System.currentTimeMillis()
+        long executionTime = 0
+
+        when:
+        queue.launchTests([jvmTest('org.example.FirstTest')], attributes)
+        queue.launchTests([jvmTest('org.example.SecondTest')], attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        1 * toolingClient.newTestLaunchRequest(_) >> {
+            executionTime = System.currentTimeMillis()
+            testLaunchRequest
+        }
+        1 * testLaunchRequest.executeAndWait()
+        executionTime - launchTime >= 300
+    }
+
+    def "Launches after the coalescing window are executed in separate builds"() {
+        setup:
+        GradleRunConfigurationAttributes attributes = createRunConfigurationAttributes()
+
+        when:
+        queue.launchTests([jvmTest('org.example.FirstTest')], attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+        queue.launchTests([jvmTest('org.example.SecondTest')], attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        2 * toolingClient.newTestLaunchRequest(_) >> testLaunchRequest
+        2 * testLaunchRequest.executeAndWait()
+    }
+
+    def "Launches of different builds are not coalesced"() {
+        when:
+        queue.launchTests([jvmTest('org.example.FirstTest')], createRunConfigurationAttributes())
+        queue.launchTests([jvmTest('org.example.SecondTest')], createRunConfigurationAttributes())
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        2 * toolingClient.newTestLaunchRequest(_) >> testLaunchRequest
+        2 * testLaunchRequest.executeAndWait()
+    }
+
+    def "Launches which cannot be coalesced are executed immediately"() {
+        setup:
+        GradleRunConfigurationAttributes attributes = createRunConfigurationAttributes()
+        TestOperationDescriptor test = Mock(TestOperationDescriptor)
+        test.getName() >> 'testName'
+        test.getDisplayName() >> 'display name'
+
+        when:
+        queue.launchTests([test], attributes)
+        queue.launchTests([test], attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        2 * toolingClient.newTestLaunchRequest(_) >> testLaunchRequest
+        2 * testLaunchRequest.executeAndWait()
+    }
+
+    GradleRunConfigurationAttributes createRunConfigurationAttributes() {
+        GradleRunConfigurationAttributes.from(createLaunchConfigurationMock())
+    }
+
+    JvmTestOperationDescriptor jvmTest(String className) {
+        JvmTestOperationDescriptor descriptor = Mock(JvmTestOperationDescriptor)
+        descriptor.getName() >> className
+        descriptor.getDisplayName() >> className
+        descriptor.getClassName() >> className
+        descriptor
+    }
+
+}
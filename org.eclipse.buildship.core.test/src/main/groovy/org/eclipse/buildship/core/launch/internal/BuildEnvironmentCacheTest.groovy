@@ -0,0 +1,73 @@
+package org.eclipse.buildship.core.launch.internal
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import com.gradleware.tooling.toolingclient.GradleDistribution
+import com.gradleware.tooling.toolingmodel.OmniBuildEnvironment
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes
+
+import org.eclipse.buildship.core.test.fixtures.TestEnvironment
+import org.eclipse.buildship.core.workspace.GradleBuild
+import org.eclipse.buildship.core.workspace.GradleWorkspaceManager
+import org.eclipse.buildship.core.workspace.ModelProvider
+
+class BuildEnvironmentCacheTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    @AutoCleanup
+    TestEnvironment environment = TestEnvironment.INSTANCE
+
+    ModelProvider modelProvider
+    FixedRequestAttributes attributes
+    BuildEnvironmentCache cache
+
+    def setup() {
+        modelProvider = Mock(ModelProvider)
+        modelProvider.fetchBuildEnvironment(*_) >> Mock(OmniBuildEnvironment)
+        GradleBuild gradleBuild = Mock(GradleBuild)
+        gradleBuild.getModelProvider() >> modelProvider
+        GradleWorkspaceManager workspaceManager = Mock(GradleWorkspaceManager)
+        workspaceManager.getGradleBuild(_) >> gradleBuild
+        environment.registerService(GradleWorkspaceManager, workspaceManager)
+
+        attributes = new FixedRequestAttributes(tempFolder.root, null, GradleDistribution.fromBuild(), null, [], [])
+        cache = new BuildEnvironmentCache()
+    }
+
+    def "Build environment is fetched only once"() {
+        when:
+        def first = cache.get(attributes, null, null)
+        def second = cache.get(attributes, null, null)
+
+        then:
+        1 * modelProvider.fetchBuildEnvironment(FetchStrategy.FORCE_RELOAD, _, _) >> Mock(OmniBuildEnvironment)
+        first.is(second)
+        cache.getIfPresent(attributes).present
+    }
+
+    def "Changing the wrapper properties invalidates the cached build environment"() {
+        setup:
+        File wrapperProperties = new File(tempFolder.newFolder('gradle', 'wrapper'), 'gradle-wrapper.properties')
+        wrapperProperties.text = 'distributionUrl=https\\://services.gradle.org/distributions/gradle-2.14-bin.zip'
+        cache.get(attributes, null, null)
+
+        when:
+        wrapperProperties.text = 'distributionUrl=https\\://services.gradle.org/distributions/gradle-3.0-all.zip'
+
+        then:
+        !cache.getIfPresent(attributes).present
+
+        when:
+        cache.get(attributes, null, null)
+
+        then:
+        1 * modelProvider.fetchBuildEnvironment(FetchStrategy.FORCE_RELOAD, _, _) >> Mock(OmniBuildEnvironment)
+    }
+
+}
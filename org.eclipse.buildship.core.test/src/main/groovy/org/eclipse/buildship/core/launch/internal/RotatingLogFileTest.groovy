@@ -0,0 +1,98 @@
+package org.eclipse.buildship.core.launch.internal
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class RotatingLogFileTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    def "Recorded output is written to the delegate and to the log file"() {
+        setup:
+        File file = new File(tempFolder.root, 'logs/build.log')
+        RotatingLogFile logFile = new RotatingLogFile(file, 1024, 2)
+        ByteArrayOutputStream delegate = new ByteArrayOutputStream()
+        OutputStream output = logFile.record(delegate)
+        OutputStream error = logFile.record(new ByteArrayOutputStream())
+
+        when:
+        output.write('first\n'.bytes)
+        error.write('second\n'.bytes)
+        logFile.close()
+
+        then:
+        delegate.toString() == 'first\n'
+        file.text == 'first\nsecond\n'
+    }
+
+    def "The log file is rotated once it exceeds the maximum size"() {
+        setup:
+        File file = tempFolder.newFile('build.log')
+        RotatingLogFile logFile = new RotatingLogFile(file, 10, 2)
+        OutputStream output = logFile.record(new ByteArrayOutputStream())
+
+        when:
+        ['aaaaaaaa', 'bbbbbbbb', 'cccccccc', 'dddddddd'].each { output.write(it.bytes) }
+        logFile.close()
+
+        then:
+        file.text == 'dddddddd'
+        new File(file.path + '.1').text == 'cccccccc'
+        new File(file.path + '.2').text == 'bbbbbbbb'
+        !new File(file.path + '.3').exists()
+    }
+
+    def "A log file of a previous launch is kept as a backup"() {
+        setup:
+        File file = tempFolder.newFile('build.log')
+        file.text = 'previous'
+        RotatingLogFile logFile = new RotatingLogFile(file, 1024, 1)
+
+        when:
+        logFile.record(new ByteArrayOutputStream()).write('current'.bytes)
+        logFile.close()
+
+        then:
+        file.text == 'current'
+        new File(file.path + '.1').text == 'previous'
+    }
+
+    def "Flushing a recording stream writes the buffered output to the log file"() {
+        setup:
+        File file = new File(tempFolder.root, 'build.log')
+        RotatingLogFile logFile = new RotatingLogFile(file, 1024, 1)
+        OutputStream output = logFile.record(new ByteArrayOutputStream())
+
+        when:
+        output.write('buffered'.bytes)
+        output.flush()
+
+        then:
+        file.text == 'buffered'
+
+        cleanup:
+        logFile.close()
+    }
+
+    def "Buffered output is written to the log file once no more output arrives"() {
+        setup:
+        File file = new File(tempFolder.root, 'build.log')
+        RotatingLogFile logFile = new RotatingLogFile(file, 1024, 1)
+
+        when:
+        logFile.record(new ByteArrayOutputStream()).write('last line'.bytes)
+        long timeout = System.currentTimeMillis() + 10000
+        while (file.length() == 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50)
+        }
+
+        then:
+        file.text == 'last line'
+
+        cleanup:
+        logFile.close()
+    }
+
+}
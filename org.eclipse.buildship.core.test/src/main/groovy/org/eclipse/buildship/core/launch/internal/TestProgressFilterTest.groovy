@@ -0,0 +1,76 @@
+package org.eclipse.buildship.core.launch.internal
+
+import org.gradle.tooling.events.ProgressEvent
+import org.gradle.tooling.events.ProgressListener
+import org.gradle.tooling.events.task.TaskOperationDescriptor
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor
+import spock.lang.Specification
+
+class TestProgressFilterTest extends Specification {
+
+    def filter = TestProgressFilter.forQualifiedNames(['org.example.FooTest', 'org.example.BarTest#testBar'])
+
+    def "Selected classes and their methods are accepted"() {
+        expect:
+        filter.accepts(jvmTest('org.example.FooTest', null))
+        filter.accepts(jvmTest('org.example.FooTest', 'testFoo'))
+    }
+
+    def "Selected methods and their classes are accepted"() {
+        expect:
+        filter.accepts(jvmTest('org.example.BarTest', null))
+        filter.accepts(jvmTest('org.example.BarTest', 'testBar'))
+        filter.accepts(jvmTest('org.example.BarTest', 'testBar[1]'))
+        !filter.accepts(jvmTest('org.example.BarTest', 'testOther'))
+    }
+
+    def "Tests which were not selected are rejected"() {
+        expect:
+        !filter.accepts(jvmTest('org.example.BazTest', null))
+        !filter.accepts(jvmTest('org.example.BazTest', 'testBaz'))
+    }
+
+    def "Operations other than test classes and methods are accepted"() {
+        expect:
+        filter.accepts(jvmTest(null, null))
+        filter.accepts(Mock(TaskOperationDescriptor))
+    }
+
+    def "Only accepted events are forwarded"() {
+        setup:
+        ProgressListener listener = Mock(ProgressListener)
+        ProgressEvent accepted = event(jvmTest('org.example.FooTest', 'testFoo'))
+        ProgressEvent rejected = event(jvmTest('org.example.BazTest', 'testBaz'))
+
+        when:
+        ProgressListener filtering = filter.filter(listener)
+        filtering.statusChanged(accepted)
+        filtering.statusChanged(rejected)
+
+        then:
+        1 * listener.statusChanged(accepted)
+        0 * listener.statusChanged(rejected)
+    }
+
+    def "Without a filter the listener is used directly"() {
+        setup:
+        ProgressListener listener = Mock(ProgressListener)
+
+        expect:
+        TestProgressFilter.none().filter(listener).is(listener)
+    }
+
+    private JvmTestOperationDescriptor jvmTest(String className, String methodName) {
+        JvmTestOperationDescriptor descriptor = Mock(JvmTestOperationDescriptor)
+        descriptor.getClassName() >> className
+        descriptor.getMethodName() >> methodName
+        descriptor
+    }
+
+    private ProgressEvent event(JvmTestOperationDescriptor descriptor) {
+        ProgressEvent event = Mock(ProgressEvent)
+        event.getDescriptor() >> descriptor
+        event
+    }
+
+}
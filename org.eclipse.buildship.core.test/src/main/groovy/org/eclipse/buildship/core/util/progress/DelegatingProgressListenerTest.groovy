@@ -0,0 +1,97 @@
+package org.eclipse.buildship.core.util.progress
+
+import org.gradle.tooling.ProgressEvent
+import org.gradle.tooling.ProgressListener
+import spock.lang.Specification
+
+import org.eclipse.core.runtime.NullProgressMonitor
+
+class DelegatingProgressListenerTest extends Specification {
+
+    def "Bursts of events are sampled to the most recent description"() {
+        setup:
+        def monitor = new RecordingMonitor()
+        ProgressListener listener = DelegatingProgressListener.withFullOutput(monitor)
+
+        when:
+        listener.statusChanged(event('first'))
+        listener.statusChanged(event('second'))
+        listener.statusChanged(event('third'))
+        Thread.sleep(150)
+        listener.statusChanged(event('fourth'))
+
+        then:
+        monitor.subTasks == ['first', 'fourth']
+    }
+
+    def "Pending description is forwarded with a later duplicate event"() {
+        setup:
+        def monitor = new RecordingMonitor()
+        ProgressListener listener = DelegatingProgressListener.withoutDuplicateLifecycleEvents(monitor)
+
+        when:
+        listener.statusChanged(event('Configure projects'))
+        listener.statusChanged(event(':sub'))
+        Thread.sleep(150)
+        listener.statusChanged(event('Configure projects'))
+
+        then:
+        monitor.subTasks == ['Configure projects', ':sub']
+    }
+
+    def "Pending description is forwarded once the build finished"() {
+        setup:
+        def monitor = new RecordingMonitor()
+        ProgressListener listener = DelegatingProgressListener.withFullOutput(monitor)
+
+        when:
+        listener.statusChanged(event('first'))
+        listener.statusChanged(event('last'))
+        listener.statusChanged(event(''))
+
+        then:
+        monitor.subTasks == ['first', 'last']
+    }
+
+    def "A long burst of events is forwarded at a bounded rate"() {
+        setup:
+        def monitor = new RecordingMonitor()
+        ProgressListener listener = DelegatingProgressListener.withoutDuplicateLifecycleEvents(monitor)
+        def events = (0..<32).collect { event(it % 2 == 0 ? 'Configure projects' : ":project$it".toString()) }
+
+        when:
+        long start = System.nanoTime()
+        200000.times { listener.statusChanged(events[it % events.size()]) }
+        long elapsedMillis = (System.nanoTime() - start) / 1000000
+
+        then:
+        !monitor.subTasks.empty
+        monitor.subTasks.size() <= elapsedMillis / 100 + 1
+    }
+
+    def "Recently seen descriptions are detected"() {
+        setup:
+        def recent = new DelegatingProgressListener.RecentDescriptions()
+
+        expect:
+        recent.add('a')
+        !recent.add('a')
+        (1..10).every { recent.add("other $it".toString()) }
+        recent.add('a')
+    }
+
+    private static ProgressEvent event(String description) {
+        [getDescription: { description }] as ProgressEvent
+    }
+
+    private static class RecordingMonitor extends NullProgressMonitor {
+
+        def subTasks = []
+
+        @Override
+        void subTask(String name) {
+            subTasks << name
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.eclipse.buildship.core.util.progress
+
+import java.lang.management.ManagementFactory
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+import spock.lang.Specification
+
+import org.eclipse.core.runtime.NullProgressMonitor
+
+class RateLimitingProgressMonitorTest extends Specification {
+
+    def "Most recent sub task is forwarded"() {
+        setup:
+        def latch = new CountDownLatch(1)
+        def forwarded = []
+        def delegate = new NullProgressMonitor() {
+            @Override
+            void subTask(String name) {
+                forwarded << name
+                latch.countDown()
+            }
+        }
+        def monitor = new RateLimitingProgressMonitor(delegate, 500, TimeUnit.MILLISECONDS)
+
+        when:
+        monitor.subTask('first')
+        monitor.subTask('second')
+        monitor.beginTask('task', 1)
+        latch.await(5, TimeUnit.SECONDS)
+        monitor.done()
+
+        then:
+        forwarded == ['second']
+    }
+
+    def "Many concurrent jobs share a single forwarding thread"() {
+        setup:
+        def threads = ManagementFactory.threadMXBean
+        def latch = new CountDownLatch(500)
+        def monitors = (1..500).collect {
+            new RateLimitingProgressMonitor(new NullProgressMonitor() {
+                @Override
+                void subTask(String name) {
+                    if (name == 'last') {
+                        latch.countDown()
+                    }
+                }
+            }, 50, TimeUnit.MILLISECONDS)
+        }
+
+        // start the shared forwarding thread and the job threads before taking the baseline
+        def warmup = new RateLimitingProgressMonitor(new NullProgressMonitor(), 50, TimeUnit.MILLISECONDS)
+        warmup.beginTask('warmup', 1)
+        def jobs = Executors.newFixedThreadPool(16)
+        jobs.prestartAllCoreThreads()
+        def baseline = threads.threadCount
+
+        when:
+        def start = new CountDownLatch(1)
+        def finished = monitors.collect { monitor ->
+            jobs.submit {
+                start.await()
+                monitor.beginTask('task', 100)
+                100.times { monitor.subTask("step $it") }
+                monitor.subTask('last')
+            }
+        }
+        start.countDown()
+        finished*.get(10, TimeUnit.SECONDS)
+        def forwardedAll = latch.await(10, TimeUnit.SECONDS)
+        def peak = threads.threadCount
+        monitors.each { it.done() }
+        warmup.done()
+        jobs.shutdown()
+
+        then:
+        forwardedAll
+        // leave some headroom for unrelated threads started by the test runtime
+        peak - baseline <= 2
+        RateLimitingProgressMonitor.activeMonitorCount == 0
+    }
+
+}
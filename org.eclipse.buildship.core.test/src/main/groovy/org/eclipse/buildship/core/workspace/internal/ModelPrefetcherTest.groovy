@@ -0,0 +1,151 @@
+package org.eclipse.buildship.core.workspace.internal
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import org.gradle.tooling.connection.ModelResults
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import com.gradleware.tooling.toolingclient.GradleDistribution
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes
+
+import org.eclipse.core.runtime.jobs.Job
+
+import org.eclipse.buildship.core.CorePlugin
+import org.eclipse.buildship.core.test.fixtures.TestEnvironment
+import org.eclipse.buildship.core.workspace.GradleBuild
+import org.eclipse.buildship.core.workspace.GradleWorkspaceManager
+import org.eclipse.buildship.core.workspace.ModelProvider
+
+class ModelPrefetcherTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    @AutoCleanup
+    TestEnvironment environment = TestEnvironment.INSTANCE
+
+    ModelProvider modelProvider
+    FixedRequestAttributes attributes
+    ModelPrefetcher prefetcher
+
+    def setup() {
+        modelProvider = Mock(ModelProvider)
+        GradleBuild gradleBuild = Mock(GradleBuild)
+        gradleBuild.getModelProvider() >> modelProvider
+        GradleWorkspaceManager workspaceManager = Mock(GradleWorkspaceManager)
+        workspaceManager.getGradleBuild(_) >> gradleBuild
+        environment.registerService(GradleWorkspaceManager, workspaceManager)
+
+        attributes = new FixedRequestAttributes(tempFolder.root, null, GradleDistribution.fromBuild(), null, [], [])
+        prefetcher = new ModelPrefetcher()
+    }
+
+    def "Synchronization reloads the models if nothing was prefetched"() {
+        expect:
+        prefetcher.getSynchronizationFetchStrategy(attributes) == FetchStrategy.FORCE_RELOAD
+    }
+
+    def "Prefetched models are used by the next synchronization only"() {
+        setup:
+        modelProvider.fetchEclipseProjects(*_) >> emptyResults()
+        prefetcher.schedulePrefetch(attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        expect:
+        prefetcher.getSynchronizationFetchStrategy(attributes) == FetchStrategy.LOAD_IF_NOT_CACHED
+        prefetcher.getSynchronizationFetchStrategy(attributes) == FetchStrategy.FORCE_RELOAD
+    }
+
+    def "Prefetched models are not used if a build file changed after the prefetch"() {
+        setup:
+        File buildFile = tempFolder.newFile('build.gradle')
+        modelProvider.fetchEclipseProjects(*_) >> emptyResults()
+        prefetcher.schedulePrefetch(attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        when:
+        buildFile.text = "apply plugin: 'java'"
+        buildFile.lastModified = buildFile.lastModified() + 2000
+
+        then:
+        prefetcher.getSynchronizationFetchStrategy(attributes) == FetchStrategy.FORCE_RELOAD
+    }
+
+    def "Prefetched models are not used if an applied script outside of Eclipse changed"() {
+        setup:
+        tempFolder.newFolder('gradle')
+        File script = tempFolder.newFile('gradle/dependencies.gradle')
+        modelProvider.fetchEclipseProjects(*_) >> emptyResults()
+        prefetcher.schedulePrefetch(attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        when:
+        script.text = "ext.junitVersion = '4.12'"
+
+        then:
+        prefetcher.getSynchronizationFetchStrategy(attributes) == FetchStrategy.FORCE_RELOAD
+    }
+
+    def "Failed prefetch is not used"() {
+        setup:
+        modelProvider.fetchEclipseProjects(*_) >> { throw new RuntimeException() }
+        prefetcher.schedulePrefetch(attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        expect:
+        prefetcher.getSynchronizationFetchStrategy(attributes) == FetchStrategy.FORCE_RELOAD
+    }
+
+    def "Synchronization cancels a pending prefetch"() {
+        when:
+        prefetcher.schedulePrefetch(attributes)
+        def strategy = prefetcher.getSynchronizationFetchStrategy(attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        strategy == FetchStrategy.FORCE_RELOAD
+        0 * modelProvider.fetchEclipseProjects(*_)
+    }
+
+    def "Synchronization waits for a running prefetch instead of reloading the models"() {
+        setup:
+        CountDownLatch started = new CountDownLatch(1)
+        CountDownLatch release = new CountDownLatch(1)
+        prefetcher.schedulePrefetch(attributes)
+
+        when:
+        started.await(10, TimeUnit.SECONDS)
+        Thread.start { release.countDown() }
+        def strategy = prefetcher.getSynchronizationFetchStrategy(attributes)
+
+        then:
+        1 * modelProvider.fetchEclipseProjects(FetchStrategy.FORCE_RELOAD, _, _) >> {
+            started.countDown()
+            release.await()
+            emptyResults()
+        }
+        strategy == FetchStrategy.LOAD_IF_NOT_CACHED
+    }
+
+    def "Newer save replaces the pending prefetch"() {
+        when:
+        prefetcher.schedulePrefetch(attributes)
+        prefetcher.schedulePrefetch(attributes)
+        Job.jobManager.join(CorePlugin.GRADLE_JOB_FAMILY, null)
+
+        then:
+        1 * modelProvider.fetchEclipseProjects(FetchStrategy.FORCE_RELOAD, _, _) >> emptyResults()
+    }
+
+    private ModelResults emptyResults() {
+        Stub(ModelResults) {
+            iterator() >> [].iterator()
+        }
+    }
+
+}
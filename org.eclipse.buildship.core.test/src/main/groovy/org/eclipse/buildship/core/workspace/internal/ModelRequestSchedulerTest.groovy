@@ -0,0 +1,227 @@
+package org.eclipse.buildship.core.workspace.internal
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import org.gradle.tooling.BuildCancelledException
+import org.gradle.tooling.GradleConnector
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import com.google.common.base.Supplier
+
+import com.gradleware.tooling.toolingclient.GradleDistribution
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes
+
+import org.eclipse.core.runtime.IProgressMonitor
+import org.eclipse.core.runtime.IStatus
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.core.runtime.Status
+import org.eclipse.core.runtime.jobs.Job
+
+class ModelRequestSchedulerTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    def "Identical requests in flight share the same result"() {
+        setup:
+        def scheduler = new ModelRequestScheduler()
+        def build = attributes(tempFolder.root)
+        def invocations = new AtomicInteger()
+        def started = new CountDownLatch(1)
+        def waiting = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def request = supplier {
+            invocations.incrementAndGet()
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            'model'
+        }
+
+        when:
+        def results = Collections.synchronizedList([])
+        def first = Thread.start { results << scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, null, null, request) }
+        started.await(10, TimeUnit.SECONDS)
+        def second = Thread.start { results << scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, null, waitingMonitor(waiting), request) }
+        waiting.await(10, TimeUnit.SECONDS)
+        release.countDown()
+        first.join()
+        second.join()
+
+        then:
+        invocations.get() == 1
+        results == ['model', 'model']
+    }
+
+    def "Requests for the same build do not run concurrently"() {
+        setup:
+        def scheduler = new ModelRequestScheduler(4, 1)
+        def build = attributes(tempFolder.root)
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def request = supplier {
+            maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()))
+            Thread.sleep(50)
+            running.decrementAndGet()
+            'model'
+        }
+
+        when:
+        def threads = [String, Integer, Long, Boolean].collect { modelType ->
+            Thread.start { scheduler.execute(build, modelType, FetchStrategy.FORCE_RELOAD, null, null, request) }
+        }
+        threads*.join()
+
+        then:
+        maxRunning.get() == 1
+    }
+
+    def "A forced reload does not join a pending request which may load from the cache"() {
+        setup:
+        def scheduler = new ModelRequestScheduler(1, 1)
+        def build = attributes(tempFolder.root)
+        def started = new CountDownLatch(1)
+        def cachedWaiting = new CountDownLatch(1)
+        def reloadedWaiting = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def blocker = supplier {
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            'blocker'
+        }
+
+        when:
+        def results = Collections.synchronizedMap([:])
+        def first = Thread.start { scheduler.execute(build, Integer, FetchStrategy.FORCE_RELOAD, null, null, blocker) }
+        started.await(10, TimeUnit.SECONDS)
+        def cached = Thread.start { results.cached = scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, null, waitingMonitor(cachedWaiting), supplier { 'cached' }) }
+        cachedWaiting.await(10, TimeUnit.SECONDS)
+        def reloaded = Thread.start { results.reloaded = scheduler.execute(build, String, FetchStrategy.FORCE_RELOAD, null, waitingMonitor(reloadedWaiting), supplier { 'reloaded' }) }
+        reloadedWaiting.await(10, TimeUnit.SECONDS)
+        release.countDown()
+        [first, cached, reloaded]*.join()
+
+        then:
+        results == [cached: 'cached', reloaded: 'reloaded']
+    }
+
+    def "Callers waiting for a request cancelled by its owner execute the request themselves"() {
+        setup:
+        def scheduler = new ModelRequestScheduler()
+        def build = attributes(tempFolder.root)
+        def tokenSource = GradleConnector.newCancellationTokenSource()
+        def started = new CountDownLatch(1)
+        def waiting = new CountDownLatch(1)
+        def cancelledRequest = supplier {
+            started.countDown()
+            while (!tokenSource.token().isCancellationRequested()) {
+                Thread.sleep(10)
+            }
+            throw new BuildCancelledException('cancelled')
+        }
+
+        when:
+        def failure = null
+        def result = null
+        def owner = Thread.start {
+            try {
+                scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, tokenSource.token(), null, cancelledRequest)
+            } catch (BuildCancelledException e) {
+                failure = e
+            }
+        }
+        started.await(10, TimeUnit.SECONDS)
+        def waiter = Thread.start { result = scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, null, waitingMonitor(waiting), supplier { 'model' }) }
+        waiting.await(10, TimeUnit.SECONDS)
+        tokenSource.cancel()
+        [owner, waiter]*.join()
+
+        then:
+        failure instanceof BuildCancelledException
+        result == 'model'
+    }
+
+    def "A background request joined by a foreground caller is not overtaken by other background requests"() {
+        setup:
+        def scheduler = new ModelRequestScheduler(1, 1)
+        def build = attributes(tempFolder.root)
+        def started = new CountDownLatch(1)
+        def sharedWaiting = new CountDownLatch(1)
+        def otherWaiting = new CountDownLatch(1)
+        def foregroundWaiting = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def blocker = supplier {
+            started.countDown()
+            release.await(10, TimeUnit.SECONDS)
+            'blocker'
+        }
+
+        when:
+        def executed = Collections.synchronizedList([])
+        def result = null
+        def first = Thread.start { scheduler.execute(build, Integer, FetchStrategy.FORCE_RELOAD, null, null, blocker) }
+        started.await(10, TimeUnit.SECONDS)
+        def shared = backgroundJob { scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, null, waitingMonitor(sharedWaiting), supplier { executed << 'shared'; 'model' }) }
+        shared.schedule()
+        sharedWaiting.await(10, TimeUnit.SECONDS)
+        def other = backgroundJob { scheduler.execute(build, Long, FetchStrategy.LOAD_IF_NOT_CACHED, null, waitingMonitor(otherWaiting), supplier { executed << 'other'; 'other' }) }
+        other.schedule()
+        otherWaiting.await(10, TimeUnit.SECONDS)
+        def foreground = Thread.start { result = scheduler.execute(build, String, FetchStrategy.LOAD_IF_NOT_CACHED, null, waitingMonitor(foregroundWaiting), supplier { 'duplicate' }) }
+        foregroundWaiting.await(10, TimeUnit.SECONDS)
+        release.countDown()
+        [first, foreground]*.join()
+        [shared, other]*.join()
+
+        then:
+        executed == ['shared', 'other']
+        result == 'model'
+    }
+
+    def "Requests from the cache are not scheduled"() {
+        setup:
+        def scheduler = new ModelRequestScheduler()
+        def build = attributes(tempFolder.root)
+
+        expect:
+        scheduler.execute(build, String, FetchStrategy.FROM_CACHE_ONLY, null, null, supplier { 'cached' }) == 'cached'
+    }
+
+    private static FixedRequestAttributes attributes(File projectDir) {
+        new FixedRequestAttributes(projectDir, null, GradleDistribution.fromBuild(), null, [], [])
+    }
+
+    private static IProgressMonitor waitingMonitor(CountDownLatch waiting) {
+        // the scheduler checks for cancellation whenever a caller has to wait
+        new NullProgressMonitor() {
+            boolean isCanceled() {
+                waiting.countDown()
+                false
+            }
+        }
+    }
+
+    private static Job backgroundJob(Closure closure) {
+        Job job = new Job('Background model request') {
+            protected IStatus run(IProgressMonitor monitor) {
+                closure.call()
+                Status.OK_STATUS
+            }
+        }
+        job.priority = Job.BUILD
+        job
+    }
+
+    private static Supplier supplier(Closure closure) {
+        new Supplier() {
+            Object get() {
+                closure.call()
+            }
+        }
+    }
+
+}
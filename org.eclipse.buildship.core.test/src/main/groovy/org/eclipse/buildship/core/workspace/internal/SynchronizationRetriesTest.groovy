@@ -0,0 +1,115 @@
+package org.eclipse.buildship.core.workspace.internal
+
+import java.util.concurrent.TimeUnit
+
+import com.google.common.base.Optional
+import spock.lang.Specification
+
+import com.gradleware.tooling.toolingclient.GradleDistribution
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes
+
+import org.eclipse.core.runtime.jobs.Job
+
+import org.eclipse.buildship.core.workspace.GradleBuild
+
+class SynchronizationRetriesTest extends Specification {
+
+    SynchronizationRetries retries = new SynchronizationRetries()
+    GradleBuild build = gradleBuild('first')
+    GradleBuild otherBuild = gradleBuild('second')
+
+    def cleanup() {
+        retries.reset(build)
+        retries.reset(otherBuild)
+    }
+
+    def "Retry delay doubles with every attempt"() {
+        expect:
+        SynchronizationRetries.delayForAttempt(attempt) == TimeUnit.SECONDS.toMillis(seconds)
+
+        where:
+        attempt | seconds
+        0       | 30
+        1       | 60
+        2       | 120
+        3       | 240
+    }
+
+    def "Retry delay is capped"() {
+        expect:
+        SynchronizationRetries.delayForAttempt(6) == TimeUnit.MINUTES.toMillis(30)
+        SynchronizationRetries.delayForAttempt(100) == TimeUnit.MINUTES.toMillis(30)
+    }
+
+    def "Retry replaces the pending retry of the same build"() {
+        when:
+        Optional<Long> first = retries.scheduleRetry(build)
+        Optional<Long> second = retries.scheduleRetry(build)
+
+        then:
+        first.get() == TimeUnit.SECONDS.toMillis(30)
+        second.get() == TimeUnit.SECONDS.toMillis(60)
+        pendingRetries().length == 1
+    }
+
+    def "Retries of different builds are independent"() {
+        when:
+        retries.scheduleRetry(build)
+        retries.scheduleRetry(build)
+        Optional<Long> other = retries.scheduleRetry(otherBuild)
+
+        then:
+        other.get() == TimeUnit.SECONDS.toMillis(30)
+        pendingRetries().length == 2
+    }
+
+    def "Pending retry is cancelled when a later synchronization succeeds"() {
+        setup:
+        retries.scheduleRetry(build)
+        retries.scheduleRetry(otherBuild)
+
+        when:
+        retries.reset(build)
+
+        then:
+        pendingRetries().length == 1
+
+        when:
+        Optional<Long> next = retries.scheduleRetry(build)
+
+        then:
+        next.get() == TimeUnit.SECONDS.toMillis(30)
+    }
+
+    def "Retries stop after the maximum number of attempts"() {
+        setup:
+        SynchronizationRetries.MAX_ATTEMPTS.times {
+            assert retries.scheduleRetry(build).isPresent()
+        }
+
+        when:
+        Optional<Long> exhausted = retries.scheduleRetry(build)
+
+        then:
+        !exhausted.isPresent()
+        pendingRetries().length == 0
+
+        when:
+        Optional<Long> restarted = retries.scheduleRetry(build)
+
+        then:
+        restarted.get() == TimeUnit.SECONDS.toMillis(30)
+    }
+
+    private Job[] pendingRetries() {
+        Job.jobManager.find(retries)
+    }
+
+    private GradleBuild gradleBuild(String name) {
+        FixedRequestAttributes attributes = new FixedRequestAttributes(new File(name), null, GradleDistribution.fromBuild(), null, [], [])
+        Mock(GradleBuild) {
+            getRequestAttributes() >> attributes
+        }
+    }
+
+}
@@ -27,6 +27,7 @@ import com.gradleware.tooling.toolingmodel.repository.Environment;
 import com.gradleware.tooling.toolingmodel.repository.ModelRepositoryProvider;
 import com.gradleware.tooling.toolingmodel.repository.ModelRepositoryProviderFactory;
 
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Plugin;
 
@@ -39,6 +40,7 @@ import org.eclipse.buildship.core.console.internal.StdProcessStreamsProvider;
 import org.eclipse.buildship.core.event.ListenerRegistry;
 import org.eclipse.buildship.core.event.internal.DefaultListenerRegistry;
 import org.eclipse.buildship.core.launch.GradleLaunchConfigurationManager;
+import org.eclipse.buildship.core.launch.TestLaunchQueue;
 import org.eclipse.buildship.core.launch.internal.DefaultGradleLaunchConfigurationManager;
 import org.eclipse.buildship.core.notification.UserNotification;
 import org.eclipse.buildship.core.notification.internal.ConsoleUserNotification;
@@ -46,8 +48,11 @@ import org.eclipse.buildship.core.util.gradle.PublishedGradleVersionsWrapper;
 import org.eclipse.buildship.core.util.logging.EclipseLogger;
 import org.eclipse.buildship.core.workspace.GradleWorkspaceManager;
 import org.eclipse.buildship.core.workspace.WorkspaceOperations;
+import org.eclipse.buildship.core.workspace.internal.DaemonWarmupJob;
 import org.eclipse.buildship.core.workspace.internal.DefaultWorkspaceOperations;
 import org.eclipse.buildship.core.workspace.internal.DefaultGradleWorkspaceManager;
+import org.eclipse.buildship.core.workspace.internal.ModelPrefetcher;
+import org.eclipse.buildship.core.workspace.internal.ModelRequestScheduler;
 
 /**
  * The plug-in runtime class for the Gradle integration plugin containing the non-UI elements.
@@ -69,6 +74,8 @@ public final class CorePlugin extends Plugin {
 
     public static final String GRADLE_JOB_FAMILY = PLUGIN_ID + ".jobs";
 
+    private static final long DAEMON_WARMUP_DELAY_MILLIS = 5000;
+
     private static CorePlugin plugin;
 
     // do not use generics-aware signature since this causes compilation troubles (JDK, Spock)
@@ -100,6 +107,11 @@ public final class CorePlugin extends Plugin {
     private ServiceTracker userNotificationServiceTracker;
 
     private WorkspaceConfigurationManager workspaceConfigurationManager;
+    private ModelRequestScheduler modelRequestScheduler;
+    private ModelPrefetcher modelPrefetcher;
+    private TestLaunchQueue testLaunchQueue;
+
+    private DaemonWarmupJob daemonWarmupJob;
 
     @Override
     public void start(BundleContext bundleContext) throws Exception {
@@ -107,10 +119,14 @@ public final class CorePlugin extends Plugin {
         plugin = this;
         ensureProxySettingsApplied();
         registerServices(bundleContext);
+        scheduleDaemonWarmup();
+        this.modelPrefetcher.startListeningTo(ResourcesPlugin.getWorkspace());
     }
 
     @Override
     public void stop(BundleContext context) throws Exception {
+        cancelDaemonWarmup();
+        this.modelPrefetcher.stopListeningTo(ResourcesPlugin.getWorkspace());
         toolingClient().stop(CleanUpStrategy.GRACEFULLY);
         unregisterServices();
         plugin = null;
@@ -122,6 +138,21 @@ public final class CorePlugin extends Plugin {
         Platform.getBundle("org.eclipse.core.net").start(Bundle.START_TRANSIENT);
     }
 
+    private void scheduleDaemonWarmup() {
+        if (this.workspaceConfigurationManager.loadWorkspaceConfiguration().isDaemonWarmupEnabled()) {
+            // give the workbench some time to start up before contacting the builds
+            this.daemonWarmupJob = new DaemonWarmupJob();
+            this.daemonWarmupJob.schedule(DAEMON_WARMUP_DELAY_MILLIS);
+        }
+    }
+
+    private void cancelDaemonWarmup() {
+        if (this.daemonWarmupJob != null) {
+            this.daemonWarmupJob.cancel();
+            this.daemonWarmupJob = null;
+        }
+    }
+
     private void registerServices(BundleContext context) {
         // store services with low ranking such that they can be overridden
         // during testing or the like
@@ -155,6 +186,9 @@ public final class CorePlugin extends Plugin {
         this.userNotificationService = registerService(context, UserNotification.class, createUserNotification(), preferences);
 
         this.workspaceConfigurationManager = new DefaultWorkspaceConfigurationManager();
+        this.modelRequestScheduler = new ModelRequestScheduler();
+        this.modelPrefetcher = new ModelPrefetcher();
+        this.testLaunchQueue = new TestLaunchQueue();
     }
 
     private ServiceTracker createServiceTracker(BundleContext context, Class<?> clazz) {
@@ -291,4 +325,16 @@ public final class CorePlugin extends Plugin {
         return getInstance().workspaceConfigurationManager;
     }
 
+    public static ModelRequestScheduler modelRequestScheduler() {
+        return getInstance().modelRequestScheduler;
+    }
+
+    public static ModelPrefetcher modelPrefetcher() {
+        return getInstance().modelPrefetcher;
+    }
+
+    public static TestLaunchQueue testLaunchQueue() {
+        return getInstance().testLaunchQueue;
+    }
+
 }
@@ -20,13 +20,25 @@ import org.gradle.api.Nullable;
 public final class WorkspaceConfiguration {
 
     private final File gradleUserHome;
+    private final boolean daemonWarmupEnabled;
+    private final boolean modelPrefetchEnabled;
 
-    public WorkspaceConfiguration(File gradleUserHome) {
+    public WorkspaceConfiguration(File gradleUserHome, boolean daemonWarmupEnabled, boolean modelPrefetchEnabled) {
         this.gradleUserHome = gradleUserHome;
+        this.daemonWarmupEnabled = daemonWarmupEnabled;
+        this.modelPrefetchEnabled = modelPrefetchEnabled;
     }
 
     @Nullable
     public File getGradleUserHome() {
         return this.gradleUserHome;
     }
+
+    public boolean isDaemonWarmupEnabled() {
+        return this.daemonWarmupEnabled;
+    }
+
+    public boolean isModelPrefetchEnabled() {
+        return this.modelPrefetchEnabled;
+    }
 }
@@ -29,12 +29,16 @@ import org.eclipse.buildship.core.configuration.WorkspaceConfigurationManager;
 public class DefaultWorkspaceConfigurationManager implements WorkspaceConfigurationManager {
 
     private static final String GRADLE_USER_HOME = "gradle.user.home";
+    private static final String DAEMON_WARMUP_ENABLED = "daemon.warmup.enabled";
+    private static final String MODEL_PREFETCH_ENABLED = "model.prefetch.enabled";
 
     @Override
     public WorkspaceConfiguration loadWorkspaceConfiguration() {
         IEclipsePreferences preferences = getPreferences();
         String userHome = preferences.get(GRADLE_USER_HOME, null);
-        return new WorkspaceConfiguration(userHome == null ? null : new File(userHome));
+        boolean daemonWarmupEnabled = preferences.getBoolean(DAEMON_WARMUP_ENABLED, false);
+        boolean modelPrefetchEnabled = preferences.getBoolean(MODEL_PREFETCH_ENABLED, false);
+        return new WorkspaceConfiguration(userHome == null ? null : new File(userHome), daemonWarmupEnabled, modelPrefetchEnabled);
     }
 
     @Override
@@ -46,6 +50,8 @@ public class DefaultWorkspaceConfigurationManager implements WorkspaceConfigurat
         } else {
             preferences.put(GRADLE_USER_HOME, config.getGradleUserHome().getPath());
         }
+        preferences.putBoolean(DAEMON_WARMUP_ENABLED, config.isDaemonWarmupEnabled());
+        preferences.putBoolean(MODEL_PREFETCH_ENABLED, config.isModelPrefetchEnabled());
         try {
             preferences.flush();
         } catch (BackingStoreException e) {
@@ -11,17 +11,21 @@
 
 package org.eclipse.buildship.core.console;
 
+import java.io.File;
+
 /**
  * Provider interface to obtain {@link ProcessStreams} instances.
  */
 public interface ProcessStreamsProvider {
 
     /**
-     * Returns a singleton {@link ProcessStreams} instance suited for background processes.
+     * Returns a {@link ProcessStreams} instance suited for background processes of the given build.
+     * The same instance is returned for all invocations with the same build.
      *
-     * @return the instance suitable for background processes
+     * @param projectDir the root project directory of the build
+     * @return the instance suitable for background processes of the build
      */
-    ProcessStreams getBackgroundJobProcessStreams();
+    ProcessStreams getBackgroundJobProcessStreams(File projectDir);
 
     /**
      * Creates a new {@link ProcessStreams} instance.
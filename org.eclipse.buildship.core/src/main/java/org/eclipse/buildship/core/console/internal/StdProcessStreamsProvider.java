@@ -15,6 +15,7 @@ import org.eclipse.buildship.core.console.ProcessDescription;
 import org.eclipse.buildship.core.console.ProcessStreams;
 import org.eclipse.buildship.core.console.ProcessStreamsProvider;
 
+import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -56,7 +57,7 @@ public final class StdProcessStreamsProvider implements ProcessStreamsProvider {
     };
 
     @Override
-    public ProcessStreams getBackgroundJobProcessStreams() {
+    public ProcessStreams getBackgroundJobProcessStreams(File projectDir) {
         return this.stdStreams;
     }
 
@@ -17,12 +17,23 @@ package org.eclipse.buildship.core.event;
 public interface ListenerRegistry {
 
     /**
-     * Registers the given event listener.
+     * Registers the given event listener for all events. The listener is invoked synchronously.
      *
      * @param listener the listener to register
      */
     void addEventListener(EventListener listener);
 
+    /**
+     * Registers the given event listener for the events of the given type and its sub-types.
+     * <p/>
+     * If the listener is already registered, the given type is added to the types it is registered
+     * for. A listener receives each event at most once. The listener is invoked synchronously.
+     *
+     * @param listener the listener to register
+     * @param eventType the type of the events to deliver to the listener
+     */
+    void addEventListener(EventListener listener, Class<? extends Event> eventType);
+
     /**
      * Unregisters the given event listener.
      *
@@ -11,46 +11,109 @@
 
 package org.eclipse.buildship.core.event.internal;
 
-import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ObjectArrays;
 
 import org.eclipse.buildship.core.event.Event;
 import org.eclipse.buildship.core.event.EventListener;
 import org.eclipse.buildship.core.event.ListenerRegistry;
 
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Set;
-
 /**
  * Default implementation of {@link ListenerRegistry}.
+ * <p/>
+ * The subscriptions are kept in a copy-on-write array, such that dispatching an event neither takes
+ * a lock nor copies the registered listeners.
  */
 public final class DefaultListenerRegistry implements ListenerRegistry {
 
     private final Object LOCK = new Object();
-    private final Set<EventListener> listeners = new LinkedHashSet<EventListener>();
+    private volatile Subscription[] subscriptions = new Subscription[0];
 
     @Override
     public void addEventListener(EventListener listener) {
+        addEventListener(listener, Event.class);
+    }
+
+    @Override
+    public void addEventListener(EventListener listener, Class<? extends Event> eventType) {
+        Preconditions.checkNotNull(listener);
+        Preconditions.checkNotNull(eventType);
         synchronized (this.LOCK) {
-            this.listeners.add(listener);
+            Subscription[] current = this.subscriptions;
+            int index = indexOf(current, listener);
+            if (index < 0) {
+                this.subscriptions = ObjectArrays.concat(current, new Subscription(listener, new Class<?>[] { eventType }));
+            } else {
+                Subscription[] updated = current.clone();
+                updated[index] = current[index].withEventType(eventType);
+                this.subscriptions = updated;
+            }
         }
     }
 
     @Override
     public void removeEventListener(EventListener listener) {
         synchronized (this.LOCK) {
-            this.listeners.remove(listener);
+            Subscription[] current = this.subscriptions;
+            int index = indexOf(current, listener);
+            if (index >= 0) {
+                Subscription[] updated = new Subscription[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, index);
+                System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+                this.subscriptions = updated;
+            }
         }
     }
 
     @Override
     public void dispatch(Event event) {
-        List<EventListener> listeners;
-        synchronized (this.LOCK) {
-            listeners = ImmutableList.copyOf(this.listeners);
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.accepts(event)) {
+                subscription.listener.onEvent(event);
+            }
+        }
+    }
+
+    private static int indexOf(Subscription[] subscriptions, EventListener listener) {
+        for (int i = 0; i < subscriptions.length; i++) {
+            if (subscriptions[i].listener.equals(listener)) {
+                return i;
+            }
         }
-        for (EventListener listener : listeners) {
-            listener.onEvent(event);
+        return -1;
+    }
+
+    /**
+     * A registered listener together with the types of events it is interested in.
+     */
+    private static final class Subscription {
+
+        private final EventListener listener;
+        private final Class<?>[] eventTypes;
+
+        private Subscription(EventListener listener, Class<?>[] eventTypes) {
+            this.listener = listener;
+            this.eventTypes = eventTypes;
+        }
+
+        private boolean accepts(Event event) {
+            for (Class<?> eventType : this.eventTypes) {
+                if (eventType.isInstance(event)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Subscription withEventType(Class<? extends Event> eventType) {
+            Class<?>[] eventTypes = this.eventTypes;
+            if (!Arrays.asList(eventTypes).contains(eventType)) {
+                eventTypes = Arrays.copyOf(eventTypes, eventTypes.length + 1);
+                eventTypes[eventTypes.length - 1] = eventType;
+            }
+            return new Subscription(this.listener, eventTypes);
         }
     }
 
@@ -44,6 +44,7 @@ public final class CoreMessages extends NLS {
     public static String RunConfiguration_Label_JavaHome;
     public static String RunConfiguration_Label_JvmArguments;
     public static String RunConfiguration_Label_Arguments;
+    public static String RunConfiguration_Label_LogFile;
     public static String RunConfiguration_Label_BuildExecution;
     public static String RunConfiguration_Label_Tests;
 
@@ -60,6 +61,9 @@ public final class CoreMessages extends NLS {
     public static String ErrorMessage_0_AlreadyExists;
 
     public static String Preference_Label_GradleUserHome;
+    public static String Preference_Label_DaemonWarmup;
+    public static String Preference_Label_StartDaemonsOnStartup;
+    public static String Preference_Label_PrefetchModelsOnSave;
 
     static {
         // initialize resource bundle
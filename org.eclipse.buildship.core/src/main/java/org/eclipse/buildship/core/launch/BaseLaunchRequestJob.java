@@ -13,18 +13,19 @@ package org.eclipse.buildship.core.launch;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.util.List;
 
 import org.gradle.tooling.ProgressListener;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 
 import com.gradleware.tooling.toolingclient.SingleBuildRequest;
 import com.gradleware.tooling.toolingmodel.OmniBuildEnvironment;
-import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
 import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -36,20 +37,27 @@ import org.eclipse.buildship.core.console.ProcessDescription;
 import org.eclipse.buildship.core.console.ProcessStreams;
 import org.eclipse.buildship.core.event.Event;
 import org.eclipse.buildship.core.i18n.CoreMessages;
+import org.eclipse.buildship.core.launch.internal.BuildEnvironmentCache;
 import org.eclipse.buildship.core.launch.internal.BuildExecutionParticipants;
 import org.eclipse.buildship.core.launch.internal.DefaultExecuteLaunchRequestEvent;
+import org.eclipse.buildship.core.launch.internal.RotatingLogFile;
 import org.eclipse.buildship.core.util.collections.CollectionsUtils;
 import org.eclipse.buildship.core.util.file.FileUtils;
 import org.eclipse.buildship.core.util.gradle.GradleDistributionFormatter;
 import org.eclipse.buildship.core.util.progress.DelegatingProgressListener;
 import org.eclipse.buildship.core.util.progress.ToolingApiJob;
-import org.eclipse.buildship.core.workspace.ModelProvider;
 
 /**
  * Base class to execute {@link SingleBuildRequest} instances in job.
  */
 public abstract class BaseLaunchRequestJob extends ToolingApiJob {
 
+    private static final BuildEnvironmentCache BUILD_ENVIRONMENT_CACHE = new BuildEnvironmentCache();
+
+    // limits of the log files the output of a launch is streamed to
+    private static final long LOG_FILE_MAX_SIZE = 50L * 1024 * 1024;
+    private static final int LOG_FILE_MAX_BACKUPS = 5;
+
     protected BaseLaunchRequestJob(String name, boolean notifyUserAboutBuildFailures) {
         super(name, notifyUserAboutBuildFailures);
     }
@@ -67,6 +75,12 @@ public abstract class BaseLaunchRequestJob extends ToolingApiJob {
         ProcessDescription processDescription = createProcessDescription();
         ProcessStreams processStreams = CorePlugin.processStreamsProvider().createProcessStreams(processDescription);
 
+        // optionally stream the output to a log file in addition to the console
+        Optional<RotatingLogFile> logFile = createLogFile();
+        OutputStream configuration = logFile.isPresent() ? logFile.get().record(processStreams.getConfiguration()) : processStreams.getConfiguration();
+        OutputStream output = logFile.isPresent() ? logFile.get().record(processStreams.getOutput()) : processStreams.getOutput();
+        OutputStream error = logFile.isPresent() ? logFile.get().record(processStreams.getError()) : processStreams.getError();
+
         // fetch build environment
         List<ProgressListener> listeners = ImmutableList.<ProgressListener>of(DelegatingProgressListener.withFullOutput(monitor));
 
@@ -76,26 +90,50 @@ public abstract class BaseLaunchRequestJob extends ToolingApiJob {
         fixedAttributes.apply(request);
 
         // configure the request's transient attributes
-        request.standardOutput(processStreams.getOutput());
-        request.standardError(processStreams.getError());
+        request.standardOutput(output);
+        request.standardError(error);
         request.standardInput(processStreams.getInput());
         request.progressListeners(listeners.toArray(new ProgressListener[listeners.size()]));
         request.cancellationToken(getToken());
 
-        // print the applied run configuration settings at the beginning of the console output
-        OutputStreamWriter writer = new OutputStreamWriter(processStreams.getConfiguration());
-        writeFixedRequestAttributes(fixedAttributes, writer, monitor);
+        try {
+            // print the applied run configuration settings at the beginning of the console output
+            // if the build environment is not cached yet, it is fetched before the build starts
+            // such that the settings precede the build output and both share the same daemon
+            OutputStreamWriter writer = new OutputStreamWriter(configuration);
+            OmniBuildEnvironment buildEnvironment = BUILD_ENVIRONMENT_CACHE.get(fixedAttributes, getToken(), monitor);
+            writeFixedRequestAttributes(fixedAttributes, buildEnvironment, logFile, writer);
+
+            // notify the listeners before executing the build launch request
+            notifyExecuteLaunchRequest(processDescription, request);
+
+            // launch the build
+            request.executeAndWait();
+        } finally {
+            if (logFile.isPresent()) {
+                logFile.get().close();
+            }
+        }
+    }
+
+    private Optional<RotatingLogFile> createLogFile() {
+        Optional<File> file = getConfigurationAttributes().getLogFile();
+        return file.isPresent() ? Optional.of(new RotatingLogFile(file.get(), LOG_FILE_MAX_SIZE, LOG_FILE_MAX_BACKUPS)) : Optional.<RotatingLogFile>absent();
+    }
 
-        // notify the listeners before executing the build launch request
+    /**
+     * Notifies the listeners that the request is about to be executed. By default, a single event
+     * is dispatched for the given process.
+     *
+     * @param processDescription the description of the process executing the request
+     * @param request the request to execute
+     */
+    protected void notifyExecuteLaunchRequest(ProcessDescription processDescription, SingleBuildRequest<Void> request) {
         Event event = new DefaultExecuteLaunchRequestEvent(processDescription, request);
         CorePlugin.listenerRegistry().dispatch(event);
-
-        // launch the build
-        request.executeAndWait();
     }
 
-    private void writeFixedRequestAttributes(FixedRequestAttributes fixedAttributes, OutputStreamWriter writer, IProgressMonitor monitor) {
-        OmniBuildEnvironment buildEnvironment = fetchBuildEnvironment(fixedAttributes, monitor);
+    private void writeFixedRequestAttributes(FixedRequestAttributes fixedAttributes, OmniBuildEnvironment buildEnvironment, Optional<RotatingLogFile> logFile, OutputStreamWriter writer) {
         // should the user not specify values for the gradleUserHome and javaHome, their default
         // values will not be specified in the launch configurations
         // as such, these attributes are retrieved separately from the build environment
@@ -117,6 +155,9 @@ public abstract class BaseLaunchRequestJob extends ToolingApiJob {
             writer.write(String.format("%s: %s%n", CoreMessages.RunConfiguration_Label_JavaHome, toNonEmpty(javaHome, CoreMessages.Value_UseGradleDefault)));
             writer.write(String.format("%s: %s%n", CoreMessages.RunConfiguration_Label_JvmArguments, toNonEmpty(fixedAttributes.getJvmArguments(), CoreMessages.Value_None)));
             writer.write(String.format("%s: %s%n", CoreMessages.RunConfiguration_Label_Arguments, toNonEmpty(fixedAttributes.getArguments(), CoreMessages.Value_None)));
+            if (logFile.isPresent()) {
+                writer.write(String.format("%s: %s%n", CoreMessages.RunConfiguration_Label_LogFile, logFile.get().getFile().getAbsolutePath()));
+            }
             writeExtraConfigInfo(writer);
             writer.write('\n');
             writer.flush();
@@ -135,11 +176,6 @@ public abstract class BaseLaunchRequestJob extends ToolingApiJob {
         return string != null ? string : defaultMessage;
     }
 
-    private OmniBuildEnvironment fetchBuildEnvironment(FixedRequestAttributes fixedRequestAttributes, IProgressMonitor monitor) {
-        ModelProvider modelProvider = CorePlugin.gradleWorkspaceManager().getGradleBuild(fixedRequestAttributes).getModelProvider();
-        return modelProvider.fetchBuildEnvironment(FetchStrategy.FORCE_RELOAD, getToken(), monitor);
-    }
-
     /**
      * The name of the job to display in the progress view.
      *
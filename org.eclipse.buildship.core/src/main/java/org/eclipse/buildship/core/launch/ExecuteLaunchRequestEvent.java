@@ -12,6 +12,8 @@
 
 package org.eclipse.buildship.core.launch;
 
+import org.gradle.tooling.events.ProgressListener;
+
 import com.gradleware.tooling.toolingclient.Request;
 
 import org.eclipse.buildship.core.console.ProcessDescription;
@@ -27,4 +29,18 @@ public interface ExecuteLaunchRequestEvent extends Event {
 
     Request<Void> getRequest();
 
+    /**
+     * Registers a listener for the progress of the described process. If several processes are
+     * served by the same request, like coalesced test launches, the listener only receives the
+     * progress events which belong to the described process.
+     * <p/>
+     * Note to implementors: this method was added after the interface was first published. An event
+     * which describes the only process of its request can implement it by registering the listener
+     * with {@code addTypedProgressListeners} of {@link #getRequest()}. Events should preferably be
+     * created through {@code DefaultExecuteLaunchRequestEvent}, which already does so.
+     *
+     * @param listener the listener to register
+     */
+    void addProgressListener(ProgressListener listener);
+
 }
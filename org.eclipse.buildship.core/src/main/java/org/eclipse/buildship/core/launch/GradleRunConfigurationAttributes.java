@@ -50,6 +50,7 @@ public final class GradleRunConfigurationAttributes {
     private static final String ARGUMENTS = "arguments";
     private static final String SHOW_EXECUTION_VIEW = "show_execution_view";
     private static final String SHOW_CONSOLE_VIEW = "show_console_view";
+    private static final String LOG_FILE = "log_file";
 
     private final ImmutableList<String> tasks;
     private final String workingDirExpression;
@@ -60,6 +61,7 @@ public final class GradleRunConfigurationAttributes {
     private final ImmutableList<String> argumentExpressions;
     private final boolean showExecutionView;
     private final boolean showConsoleView;
+    private final String logFileExpression;
 
     /**
      * Creates a new instance.
@@ -74,9 +76,11 @@ public final class GradleRunConfigurationAttributes {
      * @param showExecutionView flag to show the execution view
      * @param showConsoleView flag to show the console view
      * @param useGradleDistributionFromImport flag to show whether the Gradle distribution used upon import should be used in the run config too
+     * @param logFileExpression the expression resolving to the file to stream the output to, can be null
      */
     private GradleRunConfigurationAttributes(List<String> tasks, String workingDirExpression, GradleDistribution gradleDistribution,
-            String javaHomeExpression, List<String> jvmArgumentExpressions, List<String> argumentExpressions, boolean showExecutionView, boolean showConsoleView, boolean useGradleDistributionFromImport) {
+            String javaHomeExpression, List<String> jvmArgumentExpressions, List<String> argumentExpressions, boolean showExecutionView, boolean showConsoleView, boolean useGradleDistributionFromImport,
+            String logFileExpression) {
         this.tasks = ImmutableList.copyOf(tasks);
         this.workingDirExpression = Preconditions.checkNotNull(workingDirExpression);
         this.gradleDistribution = Preconditions.checkNotNull(gradleDistribution);
@@ -86,6 +90,7 @@ public final class GradleRunConfigurationAttributes {
         this.showExecutionView = showExecutionView;
         this.showConsoleView = showConsoleView;
         this.useGradleDistributionFromImport = useGradleDistributionFromImport;
+        this.logFileExpression = logFileExpression;
     }
 
     public ImmutableList<String> getTasks() {
@@ -174,12 +179,59 @@ public final class GradleRunConfigurationAttributes {
         return this.showConsoleView;
     }
 
+    public String getLogFileExpression() {
+        return this.logFileExpression;
+    }
+
+    /**
+     * Returns the file to which the output of the launch is streamed, in addition to the console.
+     * A relative path is resolved against the working directory of the launch.
+     *
+     * @return the log file or {@link Optional#absent()} if the output is only shown in the console
+     */
+    public Optional<File> getLogFile() {
+        try {
+            String location = ExpressionUtils.decode(this.logFileExpression);
+            if (location == null || location.trim().isEmpty()) {
+                return Optional.absent();
+            }
+            File file = new File(location.trim());
+            return Optional.of(file.isAbsolute() ? file : new File(getWorkingDir(), file.getPath()));
+        } catch (CoreException e) {
+            throw new GradlePluginsRuntimeException(String.format("Cannot resolve log file expression %s.", this.logFileExpression));
+        }
+    }
+
     public boolean hasSameUniqueAttributes(ILaunchConfiguration launchConfiguration) {
         // reuse an existing run configuration if the working directory and the tasks are the same,
         // regardless of the other settings of the launch configuration
+        return getUniqueAttributes().equals(getUniqueAttributes(launchConfiguration));
+    }
+
+    /**
+     * Returns the attributes which identify the run configuration, namely the tasks and the
+     * working directory expression. Two run configurations with equal unique attributes are
+     * considered the same.
+     *
+     * @return the unique attributes, can be used as a key
+     */
+    public List<Object> getUniqueAttributes() {
+        return ImmutableList.<Object>of(this.tasks, this.workingDirExpression);
+    }
+
+    /**
+     * Reads the attributes which identify the given launch configuration without reading any of
+     * its other attributes.
+     *
+     * @param launchConfiguration the launch configuration to read
+     * @return the unique attributes, can be used as a key
+     * @see #getUniqueAttributes()
+     */
+    public static List<Object> getUniqueAttributes(ILaunchConfiguration launchConfiguration) {
         try {
-            return this.tasks.equals(launchConfiguration.getAttribute(TASKS, ImmutableList.<String> of()))
-                    && this.workingDirExpression.equals(launchConfiguration.getAttribute(WORKING_DIR, ""));
+            List<String> tasks = launchConfiguration.getAttribute(TASKS, ImmutableList.<String>of());
+            String workingDirExpression = launchConfiguration.getAttribute(WORKING_DIR, "");
+            return ImmutableList.<Object>of(ImmutableList.copyOf(tasks), workingDirExpression);
         } catch (CoreException e) {
             throw new GradlePluginsRuntimeException(String.format("Cannot read Gradle launch configuration %s.", launchConfiguration), e);
         }
@@ -205,6 +257,7 @@ public final class GradleRunConfigurationAttributes {
         applyArgumentExpressions(this.argumentExpressions, launchConfiguration);
         applyShowExecutionView(this.showExecutionView, launchConfiguration);
         applyShowConsoleView(this.showConsoleView, launchConfiguration);
+        applyLogFileExpression(this.logFileExpression, launchConfiguration);
     }
 
     public static void applyTasks(List<String> tasks, ILaunchConfigurationWorkingCopy launchConfiguration) {
@@ -243,10 +296,21 @@ public final class GradleRunConfigurationAttributes {
         launchConfiguration.setAttribute(SHOW_CONSOLE_VIEW, showConsoleView);
     }
 
+    public static void applyLogFileExpression(String logFileExpression, ILaunchConfigurationWorkingCopy launchConfiguration) {
+        launchConfiguration.setAttribute(LOG_FILE, logFileExpression);
+    }
+
     public static GradleRunConfigurationAttributes with(List<String> tasks, String workingDirExpression, GradleDistribution gradleDistribution,
             String javaHomeExpression, List<String> jvmArgumentExpressions, List<String> argumentExpressions, boolean showExecutionView, boolean showConsoleView, boolean useGradleDistributionFromImport) {
+        return with(tasks, workingDirExpression, gradleDistribution, javaHomeExpression, jvmArgumentExpressions, argumentExpressions, showExecutionView, showConsoleView,
+                useGradleDistributionFromImport, null);
+    }
+
+    public static GradleRunConfigurationAttributes with(List<String> tasks, String workingDirExpression, GradleDistribution gradleDistribution,
+            String javaHomeExpression, List<String> jvmArgumentExpressions, List<String> argumentExpressions, boolean showExecutionView, boolean showConsoleView, boolean useGradleDistributionFromImport,
+            String logFileExpression) {
         return new GradleRunConfigurationAttributes(tasks, workingDirExpression, gradleDistribution, javaHomeExpression, jvmArgumentExpressions,
-                argumentExpressions, showExecutionView, showConsoleView, useGradleDistributionFromImport);
+                argumentExpressions, showExecutionView, showConsoleView, useGradleDistributionFromImport, logFileExpression);
     }
 
     @SuppressWarnings("unchecked")
@@ -321,8 +385,15 @@ public final class GradleRunConfigurationAttributes {
             throw new GradlePluginsRuntimeException(String.format("Cannot read launch configuration attribute '%s'.", SHOW_CONSOLE_VIEW));
         }
 
+        String logFileExpression;
+        try {
+            logFileExpression = launchConfiguration.getAttribute(LOG_FILE, (String) null);
+        } catch (CoreException e) {
+            throw new GradlePluginsRuntimeException(String.format("Cannot read launch configuration attribute '%s'.", LOG_FILE));
+        }
+
         return with(tasks, workingDirExpression, gradleDistribution, javaHomeExpression, jvmArgumentExpressions, argumentExpressions,
-                showExecutionView, showConsoleView, useGradleDistributionFromImport);
+                showExecutionView, showConsoleView, useGradleDistributionFromImport, logFileExpression);
     }
 
     private static GradleDistribution importGradleDistribution(String workingDirExpression) {
@@ -16,11 +16,14 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.gradleware.tooling.toolingclient.SingleBuildRequest;
 import com.gradleware.tooling.toolingclient.TestConfig;
 import org.eclipse.buildship.core.CorePlugin;
 import org.eclipse.buildship.core.console.ProcessDescription;
 import org.eclipse.buildship.core.i18n.CoreMessages;
+import org.eclipse.buildship.core.launch.internal.DefaultExecuteLaunchRequestEvent;
+import org.eclipse.buildship.core.launch.internal.TestProgressFilter;
 
 import java.io.File;
 import java.io.IOException;
@@ -32,15 +35,26 @@ import java.util.List;
 
 /**
  * Runs a Gradle test build which executes a list of test classes.
+ * <p/>
+ * The test classes of several launches can be executed in a single build, see
+ * {@link TestLaunchQueue}. In that case, each launch is announced separately and only sees the
+ * progress of its own tests.
  */
 public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob {
 
+    private final ImmutableList<ImmutableList<TestTarget>> launchedTargets;
     private final ImmutableList<TestTarget> testTargets;
     private final GradleRunConfigurationAttributes configurationAttributes;
 
     public RunGradleJvmTestLaunchRequestJob(List<TestTarget> testTargets, GradleRunConfigurationAttributes configurationAttributes) {
+        this(configurationAttributes, ImmutableList.of(ImmutableList.copyOf(testTargets)));
+    }
+
+    RunGradleJvmTestLaunchRequestJob(GradleRunConfigurationAttributes configurationAttributes, ImmutableList<ImmutableList<TestTarget>> launchedTargets) {
         super("Launching Gradle Tests", false);
-        this.testTargets = ImmutableList.copyOf(testTargets);
+        Preconditions.checkArgument(!launchedTargets.isEmpty());
+        this.launchedTargets = launchedTargets;
+        this.testTargets = ImmutableList.copyOf(Iterables.concat(launchedTargets));
         this.configurationAttributes = Preconditions.checkNotNull(configurationAttributes);
     }
 
@@ -56,12 +70,12 @@ public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob
 
     @Override
     protected ProcessDescription createProcessDescription() {
-        String processName = createProcessName(this.configurationAttributes.getWorkingDir());
-        return new TestLaunchProcessDescription(processName);
+        String processName = createProcessName(this.testTargets, this.configurationAttributes.getWorkingDir());
+        return new TestLaunchProcessDescription(processName, this.launchedTargets);
     }
 
-    private String createProcessName(File workingDir) {
-        return String.format("[Gradle Project] %s in %s (%s)", Joiner.on(' ').join(collectSimpleNames(this.testTargets)),
+    private String createProcessName(ImmutableList<TestTarget> testTargets, File workingDir) {
+        return String.format("[Gradle Project] %s in %s (%s)", Joiner.on(' ').join(collectSimpleNames(testTargets)),
                 workingDir.getAbsolutePath(),
                 DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM).format(new Date()));
     }
@@ -75,6 +89,22 @@ public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob
         return CorePlugin.toolingClient().newTestLaunchRequest(testConfig.build());
     }
 
+    @Override
+    protected void notifyExecuteLaunchRequest(ProcessDescription processDescription, SingleBuildRequest<Void> request) {
+        if (this.launchedTargets.size() == 1) {
+            super.notifyExecuteLaunchRequest(processDescription, request);
+            return;
+        }
+
+        // announce each coalesced launch separately, such that it only shows the results of its own tests
+        for (ImmutableList<TestTarget> targets : this.launchedTargets) {
+            String processName = createProcessName(targets, this.configurationAttributes.getWorkingDir());
+            ProcessDescription launchDescription = new TestLaunchProcessDescription(processName, ImmutableList.of(targets));
+            TestProgressFilter progressFilter = TestProgressFilter.forQualifiedNames(collectQualifiedNames(targets));
+            CorePlugin.listenerRegistry().dispatch(new DefaultExecuteLaunchRequestEvent(launchDescription, request, progressFilter));
+        }
+    }
+
     @Override
     protected void writeExtraConfigInfo(OutputStreamWriter writer) throws IOException {
         writer.write(String.format("%s: %s%n", CoreMessages.RunConfiguration_Label_Tests, Joiner.on(' ').join(collectQualifiedNames(this.testTargets))));
@@ -85,8 +115,11 @@ public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob
      */
     private final class TestLaunchProcessDescription extends BaseProcessDescription {
 
-        public TestLaunchProcessDescription(String processName) {
+        private final ImmutableList<ImmutableList<TestTarget>> launchedTargets;
+
+        public TestLaunchProcessDescription(String processName, ImmutableList<ImmutableList<TestTarget>> launchedTargets) {
             super(processName, RunGradleJvmTestLaunchRequestJob.this, RunGradleJvmTestLaunchRequestJob.this.configurationAttributes);
+            this.launchedTargets = launchedTargets;
         }
 
         @Override
@@ -97,8 +130,8 @@ public final class RunGradleJvmTestLaunchRequestJob extends BaseLaunchRequestJob
         @Override
         public void rerun() {
             RunGradleJvmTestLaunchRequestJob job = new RunGradleJvmTestLaunchRequestJob(
-                    RunGradleJvmTestLaunchRequestJob.this.testTargets,
-                    RunGradleJvmTestLaunchRequestJob.this.configurationAttributes);
+                    RunGradleJvmTestLaunchRequestJob.this.configurationAttributes,
+                    this.launchedTargets);
             job.schedule();
         }
 
@@ -18,11 +18,14 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.gradleware.tooling.toolingclient.SingleBuildRequest;
 import com.gradleware.tooling.toolingclient.TestConfig;
 import org.eclipse.buildship.core.CorePlugin;
 import org.eclipse.buildship.core.console.ProcessDescription;
 import org.eclipse.buildship.core.i18n.CoreMessages;
+import org.eclipse.buildship.core.launch.internal.DefaultExecuteLaunchRequestEvent;
+import org.eclipse.buildship.core.launch.internal.TestProgressFilter;
 import org.gradle.tooling.events.OperationDescriptor;
 import org.gradle.tooling.events.task.TaskOperationDescriptor;
 import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
@@ -37,15 +40,25 @@ import java.util.List;
 
 /**
  * Executes tests through Gradle based on a given list of {@code TestOperationDescriptor} instances and a given set of {@code GradleRunConfigurationAttributes}.
+ * <p/>
+ * The tests of several launches can be executed in a single build, see {@link TestLaunchQueue}. In
+ * that case, each launch is announced separately and only sees the progress of its own tests.
  */
 public final class RunGradleTestLaunchRequestJob extends BaseLaunchRequestJob {
 
+    private final ImmutableList<ImmutableList<TestOperationDescriptor>> launchedTests;
     private final ImmutableList<TestOperationDescriptor> testDescriptors;
     private final GradleRunConfigurationAttributes configurationAttributes;
 
     public RunGradleTestLaunchRequestJob(List<TestOperationDescriptor> testDescriptors, GradleRunConfigurationAttributes configurationAttributes) {
+        this(configurationAttributes, ImmutableList.of(ImmutableList.copyOf(testDescriptors)));
+    }
+
+    RunGradleTestLaunchRequestJob(GradleRunConfigurationAttributes configurationAttributes, ImmutableList<ImmutableList<TestOperationDescriptor>> launchedTests) {
         super("Launching Gradle tests", false);
-        this.testDescriptors = ImmutableList.copyOf(testDescriptors);
+        Preconditions.checkArgument(!launchedTests.isEmpty());
+        this.launchedTests = launchedTests;
+        this.testDescriptors = ImmutableList.copyOf(Iterables.concat(launchedTests));
         this.configurationAttributes = Preconditions.checkNotNull(configurationAttributes);
     }
 
@@ -61,12 +74,12 @@ public final class RunGradleTestLaunchRequestJob extends BaseLaunchRequestJob {
 
     @Override
     protected ProcessDescription createProcessDescription() {
-        String processName = createProcessName(this.configurationAttributes.getWorkingDir());
-        return new TestLaunchProcessDescription(processName);
+        String processName = createProcessName(this.testDescriptors, this.configurationAttributes.getWorkingDir());
+        return new TestLaunchProcessDescription(processName, this.launchedTests);
     }
 
-    private String createProcessName(File workingDir) {
-        return String.format("%s [Gradle Project] %s in %s (%s)", collectTestTaskNames(this.testDescriptors), Joiner.on(' ').join(collectSimpleDisplayNames(this.testDescriptors)),
+    private String createProcessName(List<TestOperationDescriptor> testDescriptors, File workingDir) {
+        return String.format("%s [Gradle Project] %s in %s (%s)", collectTestTaskNames(testDescriptors), Joiner.on(' ').join(collectSimpleDisplayNames(testDescriptors)),
                 workingDir.getAbsolutePath(), DateFormat.getDateTimeInstance(DateFormat.MEDIUM, DateFormat.MEDIUM).format(new Date()));
     }
 
@@ -95,6 +108,39 @@ public final class RunGradleTestLaunchRequestJob extends BaseLaunchRequestJob {
         return CorePlugin.toolingClient().newTestLaunchRequest(TestConfig.forTests(this.testDescriptors));
     }
 
+    @Override
+    protected void notifyExecuteLaunchRequest(ProcessDescription processDescription, SingleBuildRequest<Void> request) {
+        if (this.launchedTests.size() == 1) {
+            super.notifyExecuteLaunchRequest(processDescription, request);
+            return;
+        }
+
+        // announce each coalesced launch separately, such that it only shows the results of its own tests
+        for (ImmutableList<TestOperationDescriptor> tests : this.launchedTests) {
+            String processName = createProcessName(tests, this.configurationAttributes.getWorkingDir());
+            ProcessDescription launchDescription = new TestLaunchProcessDescription(processName, ImmutableList.of(tests));
+            TestProgressFilter progressFilter = TestProgressFilter.forQualifiedNames(collectQualifiedDisplayNames(tests));
+            CorePlugin.listenerRegistry().dispatch(new DefaultExecuteLaunchRequestEvent(launchDescription, request, progressFilter));
+        }
+    }
+
+    /**
+     * Returns whether the given tests can be executed in a build together with the tests of other
+     * launches. Only JVM tests with a class name can be told apart by their names, which is
+     * required to show each launch only the results of its own tests.
+     *
+     * @param testDescriptors the tests of a launch
+     * @return {@code true} if the launch can be coalesced with other launches
+     */
+    static boolean canBeCoalesced(List<TestOperationDescriptor> testDescriptors) {
+        for (TestOperationDescriptor testDescriptor : testDescriptors) {
+            if (!(testDescriptor instanceof JvmTestOperationDescriptor) || ((JvmTestOperationDescriptor) testDescriptor).getClassName() == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected void writeExtraConfigInfo(OutputStreamWriter writer) throws IOException {
         writer.write(String.format("%s: %s%n", CoreMessages.RunConfiguration_Label_Tests, Joiner.on(' ').join(collectQualifiedDisplayNames(this.testDescriptors))));
@@ -143,8 +189,11 @@ public final class RunGradleTestLaunchRequestJob extends BaseLaunchRequestJob {
      */
     private final class TestLaunchProcessDescription extends BaseProcessDescription {
 
-        public TestLaunchProcessDescription(String processName) {
+        private final ImmutableList<ImmutableList<TestOperationDescriptor>> launchedTests;
+
+        public TestLaunchProcessDescription(String processName, ImmutableList<ImmutableList<TestOperationDescriptor>> launchedTests) {
             super(processName, RunGradleTestLaunchRequestJob.this, RunGradleTestLaunchRequestJob.this.configurationAttributes);
+            this.launchedTests = launchedTests;
         }
 
         @Override
@@ -155,8 +204,8 @@ public final class RunGradleTestLaunchRequestJob extends BaseLaunchRequestJob {
         @Override
         public void rerun() {
             RunGradleTestLaunchRequestJob job = new RunGradleTestLaunchRequestJob(
-                    RunGradleTestLaunchRequestJob.this.testDescriptors,
-                    RunGradleTestLaunchRequestJob.this.configurationAttributes
+                    RunGradleTestLaunchRequestJob.this.configurationAttributes,
+                    this.launchedTests
             );
             job.schedule();
         }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.launch;
+
+import java.util.List;
+import java.util.Map;
+
+import org.gradle.tooling.events.test.TestOperationDescriptor;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.CorePlugin;
+
+/**
+ * Launches tests, executing the test launches which arrive within a short time window in a single
+ * build if they target the same build with the same configuration.
+ * <p/>
+ * Two launches have the same configuration if they resolve to the same build attributes and also
+ * agree on the tasks, the views to show and the log file, since the coalesced build can only be
+ * run with one set of these settings.
+ * <p/>
+ * Every launch still shows up separately in the Executions View, with the results of its own tests
+ * only. The launches of test operations and of test classes and methods are coalesced separately,
+ * since they are executed through different kinds of test requests. Launches of test operations
+ * that cannot be told apart by their class and method names, like tests that do not run on the JVM,
+ * are never coalesced, since their results could not be assigned to the launch.
+ */
+public final class TestLaunchQueue {
+
+    private static final long DEFAULT_COALESCING_WINDOW_MILLIS = 300;
+
+    private final long coalescingWindowMillis;
+    private final Map<List<Object>, PendingLaunches<TestOperationDescriptor>> pendingTestLaunches;
+    private final Map<List<Object>, PendingLaunches<TestTarget>> pendingTestTargetLaunches;
+
+    public TestLaunchQueue() {
+        this(DEFAULT_COALESCING_WINDOW_MILLIS);
+    }
+
+    public TestLaunchQueue(long coalescingWindowMillis) {
+        Preconditions.checkArgument(coalescingWindowMillis >= 0);
+        this.coalescingWindowMillis = coalescingWindowMillis;
+        this.pendingTestLaunches = Maps.newHashMap();
+        this.pendingTestTargetLaunches = Maps.newHashMap();
+    }
+
+    /**
+     * Launches the given test operations, see {@link RunGradleTestLaunchRequestJob}.
+     *
+     * @param tests the tests to launch
+     * @param configurationAttributes the attributes of the launch
+     */
+    public synchronized void launchTests(List<TestOperationDescriptor> tests, GradleRunConfigurationAttributes configurationAttributes) {
+        if (!RunGradleTestLaunchRequestJob.canBeCoalesced(tests)) {
+            new RunGradleTestLaunchRequestJob(tests, configurationAttributes).schedule();
+            return;
+        }
+
+        List<Object> key = launchKey(configurationAttributes);
+        PendingLaunches<TestOperationDescriptor> launches = this.pendingTestLaunches.get(key);
+        if (launches == null) {
+            launches = new PendingLaunches<TestOperationDescriptor>(key, configurationAttributes, this.pendingTestLaunches) {
+
+                @Override
+                Job createLaunchJob(GradleRunConfigurationAttributes configurationAttributes, ImmutableList<ImmutableList<TestOperationDescriptor>> launchedTests) {
+                    return new RunGradleTestLaunchRequestJob(configurationAttributes, launchedTests);
+                }
+            };
+            this.pendingTestLaunches.put(key, launches);
+            launches.schedule(this.coalescingWindowMillis);
+        }
+        launches.add(tests);
+    }
+
+    /**
+     * Launches the given test classes and methods, see {@link RunGradleJvmTestLaunchRequestJob}.
+     *
+     * @param testTargets the test classes and methods to launch
+     * @param configurationAttributes the attributes of the launch
+     */
+    public synchronized void launchTestTargets(List<TestTarget> testTargets, GradleRunConfigurationAttributes configurationAttributes) {
+        List<Object> key = launchKey(configurationAttributes);
+        PendingLaunches<TestTarget> launches = this.pendingTestTargetLaunches.get(key);
+        if (launches == null) {
+            launches = new PendingLaunches<TestTarget>(key, configurationAttributes, this.pendingTestTargetLaunches) {
+
+                @Override
+                Job createLaunchJob(GradleRunConfigurationAttributes configurationAttributes, ImmutableList<ImmutableList<TestTarget>> launchedTargets) {
+                    return new RunGradleJvmTestLaunchRequestJob(configurationAttributes, launchedTargets);
+                }
+            };
+            this.pendingTestTargetLaunches.put(key, launches);
+            launches.schedule(this.coalescingWindowMillis);
+        }
+        launches.add(testTargets);
+    }
+
+    private static List<Object> launchKey(GradleRunConfigurationAttributes configurationAttributes) {
+        return ImmutableList.<Object>of(configurationAttributes.toFixedRequestAttributes(), configurationAttributes.getTasks(), configurationAttributes.isShowExecutionView(),
+                configurationAttributes.isShowConsoleView(), Optional.fromNullable(configurationAttributes.getLogFileExpression()));
+    }
+
+    /**
+     * Collects the test launches for one build and configuration until the coalescing window has
+     * passed, and then schedules a single job executing all of them.
+     *
+     * @param <T> the type of the launched tests
+     */
+    private abstract class PendingLaunches<T> extends Job {
+
+        private final List<Object> key;
+        private final GradleRunConfigurationAttributes configurationAttributes;
+        private final Map<List<Object>, PendingLaunches<T>> pendingLaunches;
+        private final List<ImmutableList<T>> launchedTests;
+
+        private PendingLaunches(List<Object> key, GradleRunConfigurationAttributes configurationAttributes, Map<List<Object>, PendingLaunches<T>> pendingLaunches) {
+            super("Collecting Gradle test launches");
+            this.key = Preconditions.checkNotNull(key);
+            this.configurationAttributes = Preconditions.checkNotNull(configurationAttributes);
+            this.pendingLaunches = Preconditions.checkNotNull(pendingLaunches);
+            this.launchedTests = Lists.newArrayList();
+            setSystem(true);
+        }
+
+        private void add(List<T> tests) {
+            this.launchedTests.add(ImmutableList.copyOf(tests));
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            ImmutableList<ImmutableList<T>> launchedTests;
+            synchronized (TestLaunchQueue.this) {
+                this.pendingLaunches.remove(this.key);
+                launchedTests = ImmutableList.copyOf(this.launchedTests);
+            }
+            createLaunchJob(this.configurationAttributes, launchedTests).schedule();
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return CorePlugin.GRADLE_JOB_FAMILY.equals(family);
+        }
+
+        abstract Job createLaunchJob(GradleRunConfigurationAttributes configurationAttributes, ImmutableList<ImmutableList<T>> launchedTests);
+    }
+
+}
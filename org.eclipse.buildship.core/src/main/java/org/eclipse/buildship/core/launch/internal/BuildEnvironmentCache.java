@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.launch.internal;
+
+import java.util.Map;
+
+import org.gradle.tooling.CancellationToken;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import com.gradleware.tooling.toolingmodel.OmniBuildEnvironment;
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.buildship.core.CorePlugin;
+import org.eclipse.buildship.core.workspace.ModelProvider;
+import org.eclipse.buildship.core.workspace.internal.BuildFilesStamp;
+
+/**
+ * Caches the {@link OmniBuildEnvironment} of the builds that are launched, such that printing the
+ * launch configuration does not require a Tooling API round trip on every launch.
+ * <p/>
+ * The cache is keyed by the {@link FixedRequestAttributes}, thus changing the distribution settings
+ * of a launch implicitly selects another entry. Since the wrapper distribution and the Java home can
+ * also be changed from within the build itself, an entry is discarded as soon as the
+ * {@link BuildFilesStamp} of the build changes, e.g. when the wrapper properties or a
+ * {@code gradle.properties} file are edited.
+ */
+public final class BuildEnvironmentCache {
+
+    private final Map<FixedRequestAttributes, Entry> entries;
+
+    public BuildEnvironmentCache() {
+        this.entries = Maps.newHashMap();
+    }
+
+    /**
+     * Returns the cached build environment for the given request attributes if it is still
+     * up-to-date.
+     *
+     * @param attributes the request attributes of the build
+     * @return the cached build environment or {@link Optional#absent()} if there is no up-to-date entry
+     */
+    public synchronized Optional<OmniBuildEnvironment> getIfPresent(FixedRequestAttributes attributes) {
+        Entry entry = this.entries.get(attributes);
+        if (entry == null) {
+            return Optional.absent();
+        } else if (!entry.stamp.equals(BuildFilesStamp.of(attributes.getProjectDir()))) {
+            this.entries.remove(attributes);
+            return Optional.absent();
+        } else {
+            return Optional.of(entry.buildEnvironment);
+        }
+    }
+
+    /**
+     * Returns the cached build environment for the given request attributes or, if there is no
+     * up-to-date entry, fetches it from Gradle and stores it in the cache.
+     *
+     * @param attributes the request attributes of the build
+     * @param token the cancellation token to apply to the Tooling API request
+     * @param monitor the monitor to report progress on
+     * @return the build environment, never null
+     */
+    public OmniBuildEnvironment get(FixedRequestAttributes attributes, CancellationToken token, IProgressMonitor monitor) {
+        Optional<OmniBuildEnvironment> cached = getIfPresent(attributes);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        // take the stamp before fetching the model such that concurrent modifications invalidate the entry
+        BuildFilesStamp stamp = BuildFilesStamp.of(attributes.getProjectDir());
+        ModelProvider modelProvider = CorePlugin.gradleWorkspaceManager().getGradleBuild(attributes).getModelProvider();
+        OmniBuildEnvironment buildEnvironment = modelProvider.fetchBuildEnvironment(FetchStrategy.FORCE_RELOAD, token, monitor);
+        synchronized (this) {
+            this.entries.put(attributes, new Entry(buildEnvironment, stamp));
+        }
+        return buildEnvironment;
+    }
+
+    /**
+     * A cached build environment together with the state of the build files it was fetched with.
+     */
+    private static final class Entry {
+
+        private final OmniBuildEnvironment buildEnvironment;
+        private final BuildFilesStamp stamp;
+
+        private Entry(OmniBuildEnvironment buildEnvironment, BuildFilesStamp stamp) {
+            this.buildEnvironment = Preconditions.checkNotNull(buildEnvironment);
+            this.stamp = Preconditions.checkNotNull(stamp);
+        }
+    }
+
+}
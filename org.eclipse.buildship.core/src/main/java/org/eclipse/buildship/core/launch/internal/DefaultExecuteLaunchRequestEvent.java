@@ -12,6 +12,8 @@
 
 package org.eclipse.buildship.core.launch.internal;
 
+import org.gradle.tooling.events.ProgressListener;
+
 import com.google.common.base.Preconditions;
 
 import com.gradleware.tooling.toolingclient.Request;
@@ -26,10 +28,16 @@ public final class DefaultExecuteLaunchRequestEvent implements ExecuteLaunchRequ
 
     private final ProcessDescription processDescription;
     private final Request<Void> request;
+    private final TestProgressFilter progressFilter;
 
     public DefaultExecuteLaunchRequestEvent(ProcessDescription processDescription, Request<Void> request) {
+        this(processDescription, request, TestProgressFilter.none());
+    }
+
+    public DefaultExecuteLaunchRequestEvent(ProcessDescription processDescription, Request<Void> request, TestProgressFilter progressFilter) {
         this.processDescription =  Preconditions.checkNotNull(processDescription);
         this.request = Preconditions.checkNotNull(request);
+        this.progressFilter = Preconditions.checkNotNull(progressFilter);
     }
 
     @Override
@@ -42,4 +50,9 @@ public final class DefaultExecuteLaunchRequestEvent implements ExecuteLaunchRequ
         return this.request;
     }
 
+    @Override
+    public void addProgressListener(ProgressListener listener) {
+        this.request.addTypedProgressListeners(this.progressFilter.filter(listener));
+    }
+
 }
@@ -34,6 +34,7 @@ import org.eclipse.buildship.core.util.collections.CollectionsUtils;
 public final class DefaultGradleLaunchConfigurationManager implements GradleLaunchConfigurationManager {
 
     private final ILaunchManager launchManager;
+    private final LaunchConfigurationIndex index;
 
     public DefaultGradleLaunchConfigurationManager() {
         this(DebugPlugin.getDefault().getLaunchManager());
@@ -41,17 +42,13 @@ public final class DefaultGradleLaunchConfigurationManager implements GradleLaun
 
     public DefaultGradleLaunchConfigurationManager(ILaunchManager launchManager) {
         this.launchManager = Preconditions.checkNotNull(launchManager);
+        this.index = new LaunchConfigurationIndex(launchManager);
     }
 
     @Override
     public Optional<ILaunchConfiguration> getRunConfiguration(GradleRunConfigurationAttributes configurationAttributes) {
         Preconditions.checkNotNull(configurationAttributes);
-        for (ILaunchConfiguration launchConfiguration : getGradleLaunchConfigurations()) {
-            if (configurationAttributes.hasSameUniqueAttributes(launchConfiguration)) {
-                return Optional.of(launchConfiguration);
-            }
-        }
-        return Optional.absent();
+        return this.index.find(configurationAttributes);
     }
 
     @Override
@@ -77,22 +74,14 @@ public final class DefaultGradleLaunchConfigurationManager implements GradleLaun
             configurationAttributes.apply(launchConfiguration);
 
             // persist the launch configuration and return it
-            return launchConfiguration.doSave();
+            ILaunchConfiguration savedLaunchConfiguration = launchConfiguration.doSave();
+            this.index.created(savedLaunchConfiguration);
+            return savedLaunchConfiguration;
         } catch (CoreException e) {
             throw new GradlePluginsRuntimeException(String.format("Cannot create Gradle launch configuration %s.", launchConfigurationName), e);
         }
     }
 
-    private ILaunchConfiguration[] getGradleLaunchConfigurations() {
-        ILaunchConfigurationType launchConfigurationType = this.launchManager.getLaunchConfigurationType(GradleRunConfigurationDelegate.ID);
-
-        try {
-            return this.launchManager.getLaunchConfigurations(launchConfigurationType);
-        } catch (CoreException e) {
-            throw new GradlePluginsRuntimeException("Cannot get Gradle launch configurations.", e);
-        }
-    }
-
     @Override
     public void launch(ILaunchConfiguration configuration, String mode) {
         try {
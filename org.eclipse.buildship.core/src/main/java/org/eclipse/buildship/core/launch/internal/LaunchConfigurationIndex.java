@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.launch.internal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.ILaunchConfigurationListener;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.core.ILaunchManager;
+
+import org.eclipse.buildship.core.GradlePluginsRuntimeException;
+import org.eclipse.buildship.core.launch.GradleRunConfigurationAttributes;
+import org.eclipse.buildship.core.launch.GradleRunConfigurationDelegate;
+
+/**
+ * Indexes the Gradle launch configurations by their unique attributes, such that finding the
+ * launch configuration for a set of tasks and a working directory does not require reading all
+ * launch configurations.
+ * <p/>
+ * The index is built on the first lookup and then kept up-to-date by listening to the changes of
+ * the launch configurations. Working copies are ignored, only saved launch configurations are
+ * indexed.
+ */
+final class LaunchConfigurationIndex implements ILaunchConfigurationListener {
+
+    private final ILaunchManager launchManager;
+    private final Map<List<Object>, Set<ILaunchConfiguration>> configurationsByKey;
+    private final Map<ILaunchConfiguration, List<Object>> keysByConfiguration;
+    private boolean initialized;
+
+    LaunchConfigurationIndex(ILaunchManager launchManager) {
+        this.launchManager = Preconditions.checkNotNull(launchManager);
+        this.configurationsByKey = Maps.newHashMap();
+        this.keysByConfiguration = Maps.newHashMap();
+    }
+
+    /**
+     * Returns a saved Gradle launch configuration with the same unique attributes as the given
+     * ones.
+     *
+     * @param attributes the attributes to look up
+     * @return the matching launch configuration or {@link Optional#absent()} if there is none
+     */
+    synchronized Optional<ILaunchConfiguration> find(GradleRunConfigurationAttributes attributes) {
+        initializeIfNecessary();
+        Set<ILaunchConfiguration> candidates = this.configurationsByKey.get(attributes.getUniqueAttributes());
+        if (candidates == null) {
+            return Optional.absent();
+        }
+
+        // guard against configurations that were changed without a notification, e.g. on the file system
+        for (ILaunchConfiguration candidate : Sets.newLinkedHashSet(candidates)) {
+            if (candidate.exists() && attributes.hasSameUniqueAttributes(candidate)) {
+                return Optional.of(candidate);
+            }
+            remove(candidate);
+            if (candidate.exists()) {
+                add(candidate);
+            }
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Adds a launch configuration that was just created, in case the notification about it has not
+     * been received yet.
+     *
+     * @param configuration the created launch configuration
+     */
+    synchronized void created(ILaunchConfiguration configuration) {
+        if (this.initialized) {
+            remove(configuration);
+            add(configuration);
+        }
+    }
+
+    private void initializeIfNecessary() {
+        if (this.initialized) {
+            return;
+        }
+
+        // listen before reading such that no change is missed, the index tolerates duplicate notifications
+        this.launchManager.addLaunchConfigurationListener(this);
+        ILaunchConfigurationType type = this.launchManager.getLaunchConfigurationType(GradleRunConfigurationDelegate.ID);
+        ILaunchConfiguration[] configurations;
+        try {
+            configurations = this.launchManager.getLaunchConfigurations(type);
+        } catch (CoreException e) {
+            this.launchManager.removeLaunchConfigurationListener(this);
+            throw new GradlePluginsRuntimeException("Cannot get Gradle launch configurations.", e);
+        }
+
+        for (ILaunchConfiguration configuration : configurations) {
+            add(configuration);
+        }
+        this.initialized = true;
+    }
+
+    @Override
+    public synchronized void launchConfigurationAdded(ILaunchConfiguration configuration) {
+        if (this.initialized && isGradleLaunchConfiguration(configuration)) {
+            remove(configuration);
+            add(configuration);
+        }
+    }
+
+    @Override
+    public synchronized void launchConfigurationChanged(ILaunchConfiguration configuration) {
+        if (this.initialized && isGradleLaunchConfiguration(configuration)) {
+            remove(configuration);
+            add(configuration);
+        }
+    }
+
+    @Override
+    public synchronized void launchConfigurationRemoved(ILaunchConfiguration configuration) {
+        if (this.initialized) {
+            remove(configuration);
+        }
+    }
+
+    private boolean isGradleLaunchConfiguration(ILaunchConfiguration configuration) {
+        if (configuration.isWorkingCopy()) {
+            return false;
+        }
+        try {
+            return GradleRunConfigurationDelegate.ID.equals(configuration.getType().getIdentifier());
+        } catch (CoreException e) {
+            // the configuration was deleted in the meantime or its type is not available
+            return false;
+        }
+    }
+
+    private void add(ILaunchConfiguration configuration) {
+        List<Object> key;
+        try {
+            key = GradleRunConfigurationAttributes.getUniqueAttributes(configuration);
+        } catch (GradlePluginsRuntimeException e) {
+            // unreadable configurations cannot match any attributes
+            return;
+        }
+
+        Set<ILaunchConfiguration> configurations = this.configurationsByKey.get(key);
+        if (configurations == null) {
+            configurations = Sets.newLinkedHashSet();
+            this.configurationsByKey.put(key, configurations);
+        }
+        configurations.add(configuration);
+        this.keysByConfiguration.put(configuration, key);
+    }
+
+    private void remove(ILaunchConfiguration configuration) {
+        List<Object> key = this.keysByConfiguration.remove(configuration);
+        if (key == null) {
+            return;
+        }
+
+        Set<ILaunchConfiguration> configurations = this.configurationsByKey.get(key);
+        if (configurations != null) {
+            configurations.remove(configuration);
+            if (configurations.isEmpty()) {
+                this.configurationsByKey.remove(key);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.launch.internal;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.buildship.core.CorePlugin;
+
+/**
+ * Streams the output of a launch to a log file through a buffered file channel.
+ * <p/>
+ * Once the log file exceeds a given size, it is rotated: the existing file is renamed to
+ * {@code <name>.1}, the previous {@code <name>.1} to {@code <name>.2} and so on, up to a given
+ * number of backups. A log file left over from a previous launch is rotated the same way before
+ * the first write. Buffered output is written to the file at the latest one second after it
+ * arrived, or when a recording stream is flushed, such that tools can follow the file. The timed
+ * writes of all log files are done by a single shared thread.
+ * <p/>
+ * If the file cannot be written, the failure is logged once and the output is no longer recorded.
+ */
+public final class RotatingLogFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MAX_BUFFERING_MILLIS = 1000;
+    private static final ScheduledThreadPoolExecutor DRAIN_EXECUTOR = createDrainExecutor();
+
+    private final File file;
+    private final long maxFileSize;
+    private final int maxBackups;
+    private final ByteBuffer buffer;
+    private final Runnable scheduledDrain;
+    private FileChannel channel;
+    private long fileSize;
+    private boolean drainScheduled;
+    private boolean failed;
+
+    public RotatingLogFile(File file, long maxFileSize, int maxBackups) {
+        Preconditions.checkArgument(maxFileSize > 0);
+        Preconditions.checkArgument(maxBackups >= 0);
+        this.file = Preconditions.checkNotNull(file);
+        this.maxFileSize = maxFileSize;
+        this.maxBackups = maxBackups;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        this.scheduledDrain = new Runnable() {
+
+            @Override
+            public void run() {
+                flush();
+            }
+        };
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    synchronized void write(byte[] bytes, int offset, int length) {
+        if (this.failed) {
+            return;
+        }
+
+        try {
+            if (this.channel == null) {
+                open();
+            } else if (this.fileSize > 0 && this.fileSize + length > this.maxFileSize) {
+                drain();
+                this.channel.close();
+                open();
+            }
+
+            int remaining = length;
+            int position = offset;
+            while (remaining > 0) {
+                int chunk = Math.min(this.buffer.remaining(), remaining);
+                this.buffer.put(bytes, position, chunk);
+                position += chunk;
+                remaining -= chunk;
+                if (!this.buffer.hasRemaining()) {
+                    drain();
+                }
+            }
+            this.fileSize += length;
+
+            if (this.buffer.position() > 0 && !this.drainScheduled) {
+                this.drainScheduled = true;
+                DRAIN_EXECUTOR.schedule(this.scheduledDrain, MAX_BUFFERING_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Writes the buffered output to the file.
+     */
+    synchronized void flush() {
+        this.drainScheduled = false;
+        if (this.channel == null || this.failed) {
+            return;
+        }
+
+        try {
+            drain();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        this.failed = true;
+        CorePlugin.logger().error(String.format("Cannot write the launch output to %s.", this.file.getAbsolutePath()), e);
+        closeQuietly();
+    }
+
+    private void open() throws IOException {
+        File directory = this.file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException(String.format("Cannot create directory %s.", directory.getAbsolutePath()));
+        }
+        if (this.file.length() > 0) {
+            rotate();
+        }
+
+        this.channel = new FileOutputStream(this.file).getChannel();
+        this.fileSize = 0;
+    }
+
+    private void rotate() throws IOException {
+        if (this.maxBackups == 0) {
+            return;
+        }
+
+        // shift the existing backups, dropping the oldest one
+        for (int i = this.maxBackups; i > 0; i--) {
+            File source = i == 1 ? this.file : backupFile(i - 1);
+            File target = backupFile(i);
+            if (!source.exists()) {
+                continue;
+            }
+            if (target.exists() && !target.delete() || !source.renameTo(target)) {
+                throw new IOException(String.format("Cannot rotate %s to %s.", source.getAbsolutePath(), target.getAbsolutePath()));
+            }
+        }
+    }
+
+    private File backupFile(int index) {
+        return new File(this.file.getPath() + '.' + index);
+    }
+
+    private void drain() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes the buffered output to the file and closes it.
+     */
+    public synchronized void close() {
+        if (this.channel != null && !this.failed) {
+            try {
+                drain();
+            } catch (IOException e) {
+                CorePlugin.logger().error(String.format("Cannot write the launch output to %s.", this.file.getAbsolutePath()), e);
+            }
+        }
+        this.failed = true;
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        try {
+            if (this.channel != null) {
+                this.channel.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        } finally {
+            this.channel = null;
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createDrainExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("Gradle launch log writer").setDaemon(true).build());
+        executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Returns a stream which writes to the given stream and records everything in this file.
+     *
+     * @param delegate the stream to write to
+     * @return the recording stream
+     */
+    public OutputStream record(final OutputStream delegate) {
+        Preconditions.checkNotNull(delegate);
+        return new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                RotatingLogFile.this.write(bytes, offset, length);
+                delegate.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                RotatingLogFile.this.flush();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+        };
+    }
+
+}
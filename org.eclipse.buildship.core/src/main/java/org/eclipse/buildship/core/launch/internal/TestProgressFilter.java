@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.launch.internal;
+
+import java.util.Collection;
+
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Restricts the test progress events of a build to the tests selected by one of several test
+ * launches that share the build.
+ * <p/>
+ * Tests are selected by their qualified names, which are either a class name or a class name and a
+ * method name separated by {@code #}. Events of JVM test classes and methods are only forwarded if
+ * the class or method was selected, or if the class contains a selected method. All other events,
+ * like the ones of tasks or test executors, are always forwarded.
+ */
+public final class TestProgressFilter {
+
+    private static final TestProgressFilter NONE = new TestProgressFilter(null);
+
+    private final ImmutableSet<String> qualifiedNames;
+
+    private TestProgressFilter(ImmutableSet<String> qualifiedNames) {
+        this.qualifiedNames = qualifiedNames;
+    }
+
+    /**
+     * Returns a listener which forwards the accepted events to the given listener.
+     *
+     * @param listener the listener to forward the events to
+     * @return the filtering listener, or the given listener if all events are accepted
+     */
+    public ProgressListener filter(final ProgressListener listener) {
+        Preconditions.checkNotNull(listener);
+        if (this.qualifiedNames == null) {
+            return listener;
+        }
+
+        return new ProgressListener() {
+
+            @Override
+            public void statusChanged(ProgressEvent event) {
+                if (accepts(event.getDescriptor())) {
+                    listener.statusChanged(event);
+                }
+            }
+        };
+    }
+
+    boolean accepts(OperationDescriptor descriptor) {
+        if (this.qualifiedNames == null || !(descriptor instanceof JvmTestOperationDescriptor)) {
+            return true;
+        }
+
+        JvmTestOperationDescriptor testDescriptor = (JvmTestOperationDescriptor) descriptor;
+        String className = testDescriptor.getClassName();
+        String methodName = testDescriptor.getMethodName();
+        if (className == null || this.qualifiedNames.contains(className)) {
+            return true;
+        } else if (methodName == null) {
+            // a test class is shown if any of its methods was selected
+            String methodPrefix = className + "#";
+            for (String qualifiedName : this.qualifiedNames) {
+                if (qualifiedName.startsWith(methodPrefix)) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            // parameterized test methods are reported with their parameters in brackets
+            int parameters = methodName.indexOf('[');
+            String baseMethodName = parameters > 0 ? methodName.substring(0, parameters) : methodName;
+            return this.qualifiedNames.contains(className + "#" + methodName) || this.qualifiedNames.contains(className + "#" + baseMethodName);
+        }
+    }
+
+    /**
+     * Returns a filter which accepts all events.
+     *
+     * @return the filter
+     */
+    public static TestProgressFilter none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a filter which accepts the events of the tests with the given qualified names.
+     *
+     * @param qualifiedNames the qualified names of the selected test classes and methods
+     * @return the filter
+     */
+    public static TestProgressFilter forQualifiedNames(Collection<String> qualifiedNames) {
+        return new TestProgressFilter(ImmutableSet.copyOf(qualifiedNames));
+    }
+
+}
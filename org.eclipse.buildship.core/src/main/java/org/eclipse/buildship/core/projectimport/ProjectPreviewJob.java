@@ -16,6 +16,7 @@ import java.util.List;
 import org.gradle.tooling.ProgressListener;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.FutureCallback;
 
@@ -55,7 +56,7 @@ public final class ProjectPreviewJob extends ToolingApiWorkspaceJob {
         super("Loading Gradle project preview");
 
         this.fixedAttributes = configuration.toFixedAttributes();
-        ProcessStreams stream = CorePlugin.processStreamsProvider().getBackgroundJobProcessStreams();
+        ProcessStreams stream = CorePlugin.processStreamsProvider().getBackgroundJobProcessStreams(this.fixedAttributes.getProjectDir());
         this.transientAttributes = new TransientRequestAttributes(false, stream.getOutput(), stream.getError(), null, listeners,
                 ImmutableList.<org.gradle.tooling.events.ProgressListener>of(), getToken());
         this.initializer = Preconditions.checkNotNull(initializer);
@@ -85,13 +86,25 @@ public final class ProjectPreviewJob extends ToolingApiWorkspaceJob {
     }
 
     private OmniBuildEnvironment fetchBuildEnvironment(IProgressMonitor monitor) {
-        SingleBuildModelRepository repository = CorePlugin.modelRepositoryProvider().getModelRepository(this.fixedAttributes);
-        return repository.fetchBuildEnvironment(this.transientAttributes, FetchStrategy.FORCE_RELOAD);
+        final SingleBuildModelRepository repository = CorePlugin.modelRepositoryProvider().getModelRepository(this.fixedAttributes);
+        return CorePlugin.modelRequestScheduler().execute(this.fixedAttributes, OmniBuildEnvironment.class, FetchStrategy.FORCE_RELOAD, getToken(), monitor, new Supplier<OmniBuildEnvironment>() {
+
+            @Override
+            public OmniBuildEnvironment get() {
+                return repository.fetchBuildEnvironment(ProjectPreviewJob.this.transientAttributes, FetchStrategy.FORCE_RELOAD);
+            }
+        });
     }
 
     private OmniGradleBuildStructure fetchGradleBuildStructure(IProgressMonitor monitor) {
-        SingleBuildModelRepository repository = CorePlugin.modelRepositoryProvider().getModelRepository(this.fixedAttributes);
-        return repository.fetchGradleBuildStructure(this.transientAttributes, FetchStrategy.FORCE_RELOAD);
+        final SingleBuildModelRepository repository = CorePlugin.modelRepositoryProvider().getModelRepository(this.fixedAttributes);
+        return CorePlugin.modelRequestScheduler().execute(this.fixedAttributes, OmniGradleBuildStructure.class, FetchStrategy.FORCE_RELOAD, getToken(), monitor, new Supplier<OmniGradleBuildStructure>() {
+
+            @Override
+            public OmniGradleBuildStructure get() {
+                return repository.fetchGradleBuildStructure(ProjectPreviewJob.this.transientAttributes, FetchStrategy.FORCE_RELOAD);
+            }
+        });
     }
 
 }
@@ -11,16 +11,13 @@
 
 package org.eclipse.buildship.core.util.progress;
 
-import java.util.Queue;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
-import com.google.common.base.Preconditions;
 import org.gradle.tooling.ProgressEvent;
 import org.gradle.tooling.ProgressListener;
 
-import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
-import com.google.common.collect.EvictingQueue;
-
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 
@@ -30,15 +27,28 @@ import org.eclipse.core.runtime.SubMonitor;
  * many work units will be needed. To give the user some perceived progress, this class will use a
  * logarithmic approach. Every new message will lead to 1/100 of the remaining progress to be consumed.
  * As a result, the bar will start out reasonably fast and slow down towards the end for bigger projects.
+ * <p/>
+ * Large builds produce tens of thousands of events per minute, thus the listener forwards the most
+ * recent message at most every 100 milliseconds. A
+ * message which is not forwarded right away is forwarded with the next event once the interval has
+ * passed, unless a more recent message replaces it, or at the latest when the build finished.
+ * <p/>
+ * The Tooling API delivers the events of an operation sequentially, thus the listener is not
+ * thread-safe.
  */
 public final class DelegatingProgressListener implements ProgressListener {
 
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final SubMonitor monitor;
-    private final Predicate<? super ProgressEvent> eventFilter;
+    private final RecentDescriptions recentDescriptions;
+    private String pendingDescription;
+    private long nextForwardNanos;
 
-    private DelegatingProgressListener(IProgressMonitor monitor, Predicate<? super ProgressEvent> eventFilter) {
+    private DelegatingProgressListener(IProgressMonitor monitor, RecentDescriptions recentDescriptions) {
         this.monitor = SubMonitor.convert(monitor);
-        this.eventFilter = Preconditions.checkNotNull(eventFilter);
+        this.recentDescriptions = recentDescriptions;
+        this.nextForwardNanos = System.nanoTime();
     }
 
     /**
@@ -51,12 +61,36 @@ public final class DelegatingProgressListener implements ProgressListener {
         if (this.monitor.isCanceled()) {
             return;
         }
-        if (!this.eventFilter.apply(event)) {
+
+        String description = event.getDescription();
+        if (description != null && description.isEmpty()) {
+            // the Tooling API reports an empty description once all operations of the build ended
+            forwardPendingDescription();
+            return;
+        }
+        if (this.recentDescriptions == null || this.recentDescriptions.add(description)) {
+            this.pendingDescription = description;
+        }
+        if (this.pendingDescription == null) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (now - this.nextForwardNanos < 0) {
+            return;
+        }
+        this.nextForwardNanos = now + SAMPLE_INTERVAL_NANOS;
+        forwardPendingDescription();
+    }
+
+    private void forwardPendingDescription() {
+        if (this.pendingDescription == null) {
             return;
         }
         this.monitor.setWorkRemaining(100);
         this.monitor.worked(1);
-        this.monitor.subTask(event.getDescription());
+        this.monitor.subTask(this.pendingDescription);
+        this.pendingDescription = null;
     }
 
     /**
@@ -67,7 +101,7 @@ public final class DelegatingProgressListener implements ProgressListener {
      * @return the progress listener, never null
      */
     public static ProgressListener withFullOutput(IProgressMonitor monitor) {
-        return new DelegatingProgressListener(monitor, Predicates.alwaysTrue());
+        return new DelegatingProgressListener(monitor, null);
     }
 
     /**
@@ -85,18 +119,41 @@ public final class DelegatingProgressListener implements ProgressListener {
      *
      */
     public static ProgressListener withoutDuplicateLifecycleEvents(IProgressMonitor monitor) {
-        Predicate<ProgressEvent> withoutDuplicates = new Predicate<ProgressEvent>() {
-            final Queue<String> recentlySeen = EvictingQueue.create(10);
+        return new DelegatingProgressListener(monitor, new RecentDescriptions());
+    }
+
+    /**
+     * Remembers the 10 most recently seen distinct descriptions.
+     * <p/>
+     * The descriptions are kept in a {@link LinkedHashMap} in access order which evicts the least
+     * recently seen description once the capacity is exceeded, such that a lookup is a hash lookup.
+     */
+    static final class RecentDescriptions {
+
+        private static final int CAPACITY = 10;
+
+        private final Map<String, Boolean> descriptions = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
 
             @Override
-            public boolean apply(ProgressEvent event) {
-                String description = event.getDescription();
-                boolean shouldShow = !this.recentlySeen.contains(description);
-                this.recentlySeen.add(description);
-                return shouldShow;
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > CAPACITY;
             }
         };
-        return new DelegatingProgressListener(monitor, withoutDuplicates);
+
+        /**
+         * Records the given description as the most recent one.
+         *
+         * @param description the description to record
+         * @return {@code true} if the description was not among the recently seen ones
+         */
+        boolean add(String description) {
+            if (description == null) {
+                return true;
+            }
+            return this.descriptions.put(description, Boolean.TRUE) == null;
+        }
     }
 
 }
@@ -8,41 +8,49 @@
 
 package org.eclipse.buildship.core.util.progress;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ProgressMonitorWrapper;
 
+import org.eclipse.buildship.core.CorePlugin;
+
 /**
  * A progress monitor that only publishes the most recent task and sub task at a given rate. Can be used to
  * reduce pressure on the UI thread if an operation produces a lot of progress messages in a short
  * amount of time, without loosing the benefit of informing the user.
+ * <p/>
+ * All active instances are served by a single shared thread which forwards the pending messages of
+ * every monitor in one tick, such that running many jobs at once does not create a thread per job.
  *
  * @author Stefan Oehme
  */
 public final class RateLimitingProgressMonitor extends ProgressMonitorWrapper {
 
-    private final Timer timer;
     private final AtomicReference<String> lastTask;
     private final AtomicReference<String> lastSubTask;
-    private final long rate;
-    private final TimeUnit rateUnit;
+    private final long rateNanos;
+    private volatile long nextForwardNanos;
 
     public RateLimitingProgressMonitor(IProgressMonitor monitor, long rate, TimeUnit rateUnit) {
         super(monitor);
-        this.timer = new Timer();
         this.lastTask = new AtomicReference<String>();
         this.lastSubTask = new AtomicReference<String>();
-        this.rate = rate;
-        this.rateUnit = rateUnit;
+        this.rateNanos = rateUnit.toNanos(rate);
     }
 
     @Override
     public void beginTask(String name, int totalWork) {
-        this.timer.scheduleAtFixedRate(forwardMostRecentMessage(), 0, this.rateUnit.toMillis(this.rate));
+        this.nextForwardNanos = System.nanoTime();
+        Forwarder.INSTANCE.register(this);
         super.beginTask(name, totalWork);
     }
 
@@ -58,25 +66,86 @@ public final class RateLimitingProgressMonitor extends ProgressMonitorWrapper {
 
     @Override
     public void done() {
-        this.timer.cancel();
+        Forwarder.INSTANCE.unregister(this);
         super.done();
     }
 
-    private TimerTask forwardMostRecentMessage() {
-        return new TimerTask() {
+    private void forwardMostRecentMessageIfDue(long now) {
+        if (now - this.nextForwardNanos < 0) {
+            return;
+        }
+        this.nextForwardNanos = now + this.rateNanos;
 
-            @Override
-            public void run() {
-                String taskName = RateLimitingProgressMonitor.this.lastTask.getAndSet(null);
-                if (taskName != null) {
-                    RateLimitingProgressMonitor.super.setTaskName(taskName);
-                }
-                String subTaskName = RateLimitingProgressMonitor.this.lastSubTask.getAndSet(null);
-                if (subTaskName != null) {
-                    RateLimitingProgressMonitor.super.subTask(subTaskName);
+        String taskName = this.lastTask.getAndSet(null);
+        if (taskName != null) {
+            super.setTaskName(taskName);
+        }
+        String subTaskName = this.lastSubTask.getAndSet(null);
+        if (subTaskName != null) {
+            super.subTask(subTaskName);
+        }
+    }
+
+    /**
+     * Returns the number of monitors that currently have their messages forwarded.
+     *
+     * @return the number of active monitors
+     */
+    static int getActiveMonitorCount() {
+        return Forwarder.INSTANCE.monitors.size();
+    }
+
+    /**
+     * Periodically forwards the pending messages of all active monitors from a single thread.
+     * <p/>
+     * The tick only runs while there are active monitors and the thread terminates after being
+     * idle for a while.
+     */
+    private static final class Forwarder implements Runnable {
+
+        private static final Forwarder INSTANCE = new Forwarder();
+
+        private static final long TICK_MILLIS = 100;
+        private static final long IDLE_TIMEOUT_SECONDS = 10;
+
+        private final Set<RateLimitingProgressMonitor> monitors;
+        private final ScheduledThreadPoolExecutor executor;
+        private ScheduledFuture<?> tick;
+
+        private Forwarder() {
+            this.monitors = Sets.newSetFromMap(new ConcurrentHashMap<RateLimitingProgressMonitor, Boolean>());
+            this.executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("Gradle progress forwarder").setDaemon(true).build());
+            this.executor.setKeepAliveTime(IDLE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            this.executor.allowCoreThreadTimeOut(true);
+        }
+
+        private synchronized void register(RateLimitingProgressMonitor monitor) {
+            this.monitors.add(monitor);
+            if (this.tick == null) {
+                this.tick = this.executor.scheduleWithFixedDelay(this, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private synchronized void unregister(RateLimitingProgressMonitor monitor) {
+            this.monitors.remove(monitor);
+            if (this.monitors.isEmpty() && this.tick != null) {
+                this.tick.cancel(false);
+                this.tick = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            for (RateLimitingProgressMonitor monitor : this.monitors) {
+                try {
+                    monitor.forwardMostRecentMessageIfDue(now);
+                } catch (RuntimeException e) {
+                    // a failing monitor must not stop the progress of the other monitors
+                    CorePlugin.logger().error("Cannot forward progress message.", e);
                 }
             }
-        };
+        }
     }
 
 }
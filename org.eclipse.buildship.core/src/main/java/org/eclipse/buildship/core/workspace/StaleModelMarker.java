@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.workspace;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.buildship.core.CorePlugin;
+
+/**
+ * Marks projects whose configuration could not be synchronized with their Gradle build because
+ * the build was not reachable, such that the workspace still reflects an older state of the build.
+ * <p/>
+ * Defined as an extension point of <code>org.eclipse.core.resources.markers</code> in the <i>plugin.xml</i>.
+ */
+public enum StaleModelMarker {
+
+    INSTANCE;
+
+    // the marker ID has to be in the following format: ${PLUGIN_ID}.${MARKER_ID}
+    public static final String ID = CorePlugin.PLUGIN_ID + ".stalemodelmarker";
+
+    public void addMarkerToResource(IResource target, String message) throws CoreException {
+        // only keep the most recent marker per resource
+        removeMarkerFromResource(target);
+        IMarker marker = target.createMarker(ID);
+        marker.setAttribute(IMarker.MESSAGE, message);
+        marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_WARNING);
+    }
+
+    public void removeMarkerFromResource(IResource resource) throws CoreException {
+        resource.deleteMarkers(ID, false, IResource.DEPTH_ZERO);
+    }
+
+}
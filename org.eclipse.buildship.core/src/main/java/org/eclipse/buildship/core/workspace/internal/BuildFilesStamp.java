@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.workspace.internal;
+
+import java.io.File;
+import java.util.Arrays;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Summarizes the last modification time and the size of the files which configure a Gradle build.
+ * <p/>
+ * Two stamps of the same build are equal as long as none of these files was added, removed or
+ * changed, be it from within Eclipse or not. The files considered are all scripts ending in
+ * {@code .gradle} or {@code .gradle.kts}, all {@code gradle.properties} files, and all files in the
+ * {@code gradle} and {@code buildSrc} folders of the root project. To keep the computation cheap,
+ * hidden folders, {@code build} folders and {@code src} folders outside of {@code buildSrc} are
+ * not visited.
+ */
+public final class BuildFilesStamp {
+
+    private static final String BUILD_SRC_FOLDER = "buildSrc";
+    private static final String GRADLE_FOLDER = "gradle";
+    private static final ImmutableSet<String> SKIPPED_FOLDERS = ImmutableSet.of("build", "src");
+
+    private final long lastModified;
+    private final long hash;
+
+    private BuildFilesStamp(long lastModified, long hash) {
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    /**
+     * Computes the stamp of the build located in the given root directory.
+     *
+     * @param rootDir the root directory of the build
+     * @return the stamp of the build files, never null
+     */
+    public static BuildFilesStamp of(File rootDir) {
+        Accumulator accumulator = new Accumulator();
+        File[] children = rootDir.listFiles();
+        if (children != null) {
+            Arrays.sort(children);
+            for (File child : children) {
+                if (child.isDirectory() && (BUILD_SRC_FOLDER.equals(child.getName()) || GRADLE_FOLDER.equals(child.getName()))) {
+                    accumulator.addAllFiles(child, BUILD_SRC_FOLDER.equals(child.getName()));
+                } else {
+                    accumulator.add(child);
+                }
+            }
+        }
+        return new BuildFilesStamp(accumulator.lastModified, accumulator.hash);
+    }
+
+    /**
+     * Returns whether the given file name denotes a file which configures a Gradle build.
+     *
+     * @param fileName the name of the file
+     * @return true if the file is a build script or a Gradle properties file
+     */
+    static boolean isBuildFileName(String fileName) {
+        return fileName.endsWith(".gradle") || fileName.endsWith(".gradle.kts") || fileName.equals("gradle.properties");
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof BuildFilesStamp) {
+            BuildFilesStamp other = (BuildFilesStamp) obj;
+            return this.lastModified == other.lastModified && this.hash == other.hash;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(this.lastModified, this.hash);
+    }
+
+    /**
+     * Collects the stamp of the visited files.
+     */
+    private static final class Accumulator {
+
+        private long lastModified;
+        private long hash = 17;
+
+        private void add(File file) {
+            if (file.isDirectory()) {
+                if (!isSkippedFolder(file)) {
+                    File[] children = file.listFiles();
+                    if (children != null) {
+                        Arrays.sort(children);
+                        for (File child : children) {
+                            add(child);
+                        }
+                    }
+                }
+            } else if (isBuildFileName(file.getName())) {
+                addFile(file);
+            }
+        }
+
+        private void addAllFiles(File folder, boolean buildSrc) {
+            File[] children = folder.listFiles();
+            if (children == null) {
+                return;
+            }
+            Arrays.sort(children);
+            for (File child : children) {
+                if (!child.isDirectory()) {
+                    addFile(child);
+                } else if (!child.getName().startsWith(".") && !(buildSrc && "build".equals(child.getName()))) {
+                    addAllFiles(child, false);
+                }
+            }
+        }
+
+        private void addFile(File file) {
+            long modified = file.lastModified();
+            this.lastModified = Math.max(this.lastModified, modified);
+            this.hash = 31 * this.hash + file.getPath().hashCode();
+            this.hash = 31 * this.hash + modified;
+            this.hash = 31 * this.hash + file.length();
+        }
+
+        private static boolean isSkippedFolder(File folder) {
+            return folder.getName().startsWith(".") || SKIPPED_FOLDERS.contains(folder.getName());
+        }
+    }
+
+}
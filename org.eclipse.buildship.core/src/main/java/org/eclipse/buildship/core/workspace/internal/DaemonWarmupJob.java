@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.workspace.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnector;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import com.gradleware.tooling.toolingclient.GradleDistribution;
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.CorePlugin;
+import org.eclipse.buildship.core.configuration.ProjectConfiguration;
+
+/**
+ * Starts the Gradle daemons of the builds in the workspace in the background, such that the first
+ * synchronization or task execution that the user triggers connects to an already running and warmed
+ * up daemon.
+ * <p/>
+ * Daemons can be shared by all builds which use the same Gradle version and Java home. Thus, only
+ * one build per distinct distribution and Java home is contacted. For builds using the Gradle
+ * wrapper, the distribution is identified by the distribution URL in the wrapper properties.
+ * <p/>
+ * Failures are logged but never reported to the user, since the user did not ask for this job to
+ * run.
+ */
+public final class DaemonWarmupJob extends Job {
+
+    private static final String WRAPPER_PROPERTIES_PATH = "gradle/wrapper/gradle-wrapper.properties";
+    private static final String WRAPPER_DISTRIBUTION_URL = "distributionUrl";
+
+    private final CancellationTokenSource tokenSource;
+
+    public DaemonWarmupJob() {
+        super("Starting Gradle daemons");
+        this.tokenSource = GradleConnector.newCancellationTokenSource();
+
+        // never compete with work the user is waiting for
+        setPriority(Job.DECORATE);
+        setSystem(true);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        Collection<FixedRequestAttributes> builds = collectDistinctDaemonConfigurations();
+        SubMonitor progress = SubMonitor.convert(monitor, builds.size());
+        for (FixedRequestAttributes build : builds) {
+            if (progress.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            warmUp(build, progress.newChild(1));
+        }
+        return Status.OK_STATUS;
+    }
+
+    private Collection<FixedRequestAttributes> collectDistinctDaemonConfigurations() {
+        Map<DaemonKey, FixedRequestAttributes> builds = Maps.newLinkedHashMap();
+        try {
+            for (ProjectConfiguration configuration : CorePlugin.projectConfigurationManager().getRootProjectConfigurations()) {
+                FixedRequestAttributes attributes = configuration.toRequestAttributes();
+                DaemonKey key = DaemonKey.from(attributes);
+                if (!builds.containsKey(key)) {
+                    builds.put(key, attributes);
+                }
+            }
+        } catch (RuntimeException e) {
+            CorePlugin.logger().warn("Cannot determine the Gradle builds to start the daemons for.", e);
+        }
+        return builds.values();
+    }
+
+    private void warmUp(FixedRequestAttributes build, IProgressMonitor monitor) {
+        try {
+            // the GradleBuild model is cheap to build, but unlike the build environment it needs a daemon
+            CorePlugin.gradleWorkspaceManager().getGradleBuild(build).getModelProvider().fetchGradleBuild(FetchStrategy.FORCE_RELOAD, this.tokenSource.token(), monitor);
+        } catch (Exception e) {
+            CorePlugin.logger().debug(String.format("Cannot start Gradle daemon for build at %s.", build.getProjectDir()), e);
+        }
+    }
+
+    @Override
+    protected void canceling() {
+        this.tokenSource.cancel();
+    }
+
+    @Override
+    public boolean belongsTo(Object family) {
+        return CorePlugin.GRADLE_JOB_FAMILY.equals(family);
+    }
+
+    /**
+     * Identifies the builds that can share the same Gradle daemon.
+     */
+    private static final class DaemonKey {
+
+        private final Object distribution;
+        private final File javaHome;
+        private final File gradleUserHome;
+
+        private DaemonKey(Object distribution, File javaHome, File gradleUserHome) {
+            this.distribution = Preconditions.checkNotNull(distribution);
+            this.javaHome = javaHome;
+            this.gradleUserHome = gradleUserHome;
+        }
+
+        private static DaemonKey from(FixedRequestAttributes attributes) {
+            GradleDistribution distribution = attributes.getGradleDistribution();
+            Object distributionKey = distribution;
+            if (GradleDistribution.fromBuild().equals(distribution)) {
+                // builds using a wrapper with a different distribution URL cannot share a daemon
+                String distributionUrl = readWrapperDistributionUrl(attributes.getProjectDir());
+                distributionKey = distributionUrl != null ? distributionUrl : attributes.getProjectDir();
+            }
+            return new DaemonKey(distributionKey, attributes.getJavaHome(), attributes.getGradleUserHome());
+        }
+
+        private static String readWrapperDistributionUrl(File projectDir) {
+            File wrapperProperties = new File(projectDir, WRAPPER_PROPERTIES_PATH);
+            if (!wrapperProperties.isFile()) {
+                return null;
+            }
+
+            InputStream input = null;
+            try {
+                input = new FileInputStream(wrapperProperties);
+                Properties properties = new Properties();
+                properties.load(input);
+                return properties.getProperty(WRAPPER_DISTRIBUTION_URL);
+            } catch (IOException e) {
+                return null;
+            } finally {
+                try {
+                    if (input != null) {
+                        input.close();
+                    }
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof DaemonKey) {
+                DaemonKey other = (DaemonKey) obj;
+                return Objects.equal(this.distribution, other.distribution)
+                        && Objects.equal(this.javaHome, other.javaHome)
+                        && Objects.equal(this.gradleUserHome, other.gradleUserHome);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.distribution, this.javaHome, this.gradleUserHome);
+        }
+    }
+
+}
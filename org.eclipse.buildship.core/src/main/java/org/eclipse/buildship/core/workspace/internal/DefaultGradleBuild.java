@@ -51,7 +51,7 @@ public class DefaultGradleBuild implements GradleBuild {
     public ModelProvider getModelProvider() {
         SingleBuildModelRepository singleModelRepository = CorePlugin.modelRepositoryProvider().getModelRepository(this.attributes);
         CompositeBuildModelRepository compositeModelRepository = CorePlugin.modelRepositoryProvider().getCompositeModelRepository(this.attributes);
-        return new DefaultModelProvider(singleModelRepository, compositeModelRepository);
+        return new DefaultModelProvider(this.attributes, singleModelRepository, compositeModelRepository);
     }
 
     @Override
@@ -16,6 +16,7 @@ import org.gradle.tooling.ProgressListener;
 import org.gradle.tooling.connection.ModelResults;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
 import com.gradleware.tooling.toolingmodel.OmniBuildEnvironment;
@@ -24,6 +25,7 @@ import com.gradleware.tooling.toolingmodel.OmniEclipseProject;
 import com.gradleware.tooling.toolingmodel.OmniGradleBuild;
 import com.gradleware.tooling.toolingmodel.repository.CompositeBuildModelRepository;
 import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
 import com.gradleware.tooling.toolingmodel.repository.SingleBuildModelRepository;
 import com.gradleware.tooling.toolingmodel.repository.TransientRequestAttributes;
 
@@ -41,36 +43,70 @@ import org.eclipse.buildship.core.workspace.ModelProvider;
  */
 final class DefaultModelProvider implements ModelProvider {
 
+    private final FixedRequestAttributes build;
     private final CompositeBuildModelRepository modelRepository;
     private final SingleBuildModelRepository singleModelRepository;
 
-    public DefaultModelProvider(SingleBuildModelRepository singleModelRepository, CompositeBuildModelRepository modelRepository) {
+    public DefaultModelProvider(FixedRequestAttributes build, SingleBuildModelRepository singleModelRepository, CompositeBuildModelRepository modelRepository) {
+        this.build = Preconditions.checkNotNull(build);
         this.singleModelRepository = Preconditions.checkNotNull(singleModelRepository);
         this.modelRepository = Preconditions.checkNotNull(modelRepository);
     }
 
     @Override
-    public ModelResults<OmniEclipseProject> fetchEclipseProjects(FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
-        return this.modelRepository.fetchEclipseProjects(getTransientRequestAttributes(token, monitor), fetchStrategy);
+    public ModelResults<OmniEclipseProject> fetchEclipseProjects(final FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
+        final TransientRequestAttributes transientAttributes = getTransientRequestAttributes(token, monitor);
+        return schedule(OmniEclipseProject.class, fetchStrategy, token, monitor, new Supplier<ModelResults<OmniEclipseProject>>() {
+
+            @Override
+            public ModelResults<OmniEclipseProject> get() {
+                return DefaultModelProvider.this.modelRepository.fetchEclipseProjects(transientAttributes, fetchStrategy);
+            }
+        });
     }
 
     @Override
-    public OmniGradleBuild fetchGradleBuild(FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
-        return this.singleModelRepository.fetchGradleBuild(getTransientRequestAttributes(token, monitor), fetchStrategy);
+    public OmniGradleBuild fetchGradleBuild(final FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
+        final TransientRequestAttributes transientAttributes = getTransientRequestAttributes(token, monitor);
+        return schedule(OmniGradleBuild.class, fetchStrategy, token, monitor, new Supplier<OmniGradleBuild>() {
+
+            @Override
+            public OmniGradleBuild get() {
+                return DefaultModelProvider.this.singleModelRepository.fetchGradleBuild(transientAttributes, fetchStrategy);
+            }
+        });
     }
 
     @Override
-    public OmniEclipseGradleBuild fetchEclipseGradleBuild(FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
-        return this.singleModelRepository.fetchEclipseGradleBuild(getTransientRequestAttributes(token, monitor), fetchStrategy);
+    public OmniEclipseGradleBuild fetchEclipseGradleBuild(final FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
+        final TransientRequestAttributes transientAttributes = getTransientRequestAttributes(token, monitor);
+        return schedule(OmniEclipseGradleBuild.class, fetchStrategy, token, monitor, new Supplier<OmniEclipseGradleBuild>() {
+
+            @Override
+            public OmniEclipseGradleBuild get() {
+                return DefaultModelProvider.this.singleModelRepository.fetchEclipseGradleBuild(transientAttributes, fetchStrategy);
+            }
+        });
     }
 
     @Override
-    public OmniBuildEnvironment fetchBuildEnvironment(FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
-        return this.singleModelRepository.fetchBuildEnvironment(getTransientRequestAttributes(token, monitor), fetchStrategy);
+    public OmniBuildEnvironment fetchBuildEnvironment(final FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor) {
+        final TransientRequestAttributes transientAttributes = getTransientRequestAttributes(token, monitor);
+        return schedule(OmniBuildEnvironment.class, fetchStrategy, token, monitor, new Supplier<OmniBuildEnvironment>() {
+
+            @Override
+            public OmniBuildEnvironment get() {
+                return DefaultModelProvider.this.singleModelRepository.fetchBuildEnvironment(transientAttributes, fetchStrategy);
+            }
+        });
+    }
+
+    private <T> T schedule(Class<?> modelType, FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor, Supplier<T> request) {
+        return CorePlugin.modelRequestScheduler().execute(this.build, modelType, fetchStrategy, token, monitor, request);
     }
 
     private final TransientRequestAttributes getTransientRequestAttributes(CancellationToken token, IProgressMonitor monitor) {
-        ProcessStreams streams = CorePlugin.processStreamsProvider().getBackgroundJobProcessStreams();
+        ProcessStreams streams = CorePlugin.processStreamsProvider().getBackgroundJobProcessStreams(this.build.getProjectDir());
         List<ProgressListener> progressListeners = ImmutableList.<ProgressListener> of(DelegatingProgressListener.withoutDuplicateLifecycleEvents(monitor));
         ImmutableList<org.gradle.tooling.events.ProgressListener> noEventListeners = ImmutableList.<org.gradle.tooling.events.ProgressListener> of();
         if (token == null) {
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.workspace.internal;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.gradle.tooling.CancellationTokenSource;
+import org.gradle.tooling.GradleConnector;
+import org.gradle.tooling.connection.ModelResult;
+import org.gradle.tooling.connection.ModelResults;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import com.gradleware.tooling.toolingmodel.OmniEclipseProject;
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.CorePlugin;
+import org.eclipse.buildship.core.configuration.GradleProjectNature;
+import org.eclipse.buildship.core.configuration.ProjectConfiguration;
+
+/**
+ * Loads the Eclipse models of a build in the background as soon as one of its build scripts is
+ * saved, such that a subsequent synchronization only has to apply the already loaded models.
+ * <p/>
+ * Saves to build scripts ending in {@code .gradle} or {@code .gradle.kts}, to {@code gradle.properties}
+ * and to the sources of {@code buildSrc} are considered. The models are loaded after a short delay,
+ * such that a series of saves results in a single request, and every save cancels the previous
+ * request of the same build. Nothing is applied to the workspace.
+ * <p/>
+ * A prefetched model is used by at most one synchronization, only if the prefetch completed
+ * recently, and only if none of the build files changed since the request was sent, as recorded by
+ * a {@link BuildFilesStamp}. A synchronization started while the prefetch is still loading waits for
+ * it instead of sending a second request. All other synchronizations reload the models as before.
+ * <p/>
+ * The prefetching is only done if it is enabled in the {@link org.eclipse.buildship.core.configuration.WorkspaceConfiguration}.
+ */
+public final class ModelPrefetcher implements IResourceChangeListener {
+
+    private static final long DEBOUNCE_DELAY_MILLIS = 2000;
+    private static final long MAX_PREFETCH_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final String BUILD_SRC_FOLDER = "buildSrc";
+    private static final ImmutableSet<String> BUILD_SRC_OUTPUT_FOLDERS = ImmutableSet.of("build", ".gradle");
+
+    private final Map<FixedRequestAttributes, PrefetchJob> prefetchJobs;
+
+    public ModelPrefetcher() {
+        this.prefetchJobs = Maps.newHashMap();
+    }
+
+    public void startListeningTo(IWorkspace workspace) {
+        workspace.addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+    }
+
+    public void stopListeningTo(IWorkspace workspace) {
+        workspace.removeResourceChangeListener(this);
+        synchronized (this) {
+            for (PrefetchJob job : this.prefetchJobs.values()) {
+                job.cancel();
+            }
+            this.prefetchJobs.clear();
+        }
+    }
+
+    @Override
+    public void resourceChanged(IResourceChangeEvent event) {
+        Set<IProject> projects = collectProjectsWithChangedBuildFiles(event.getDelta());
+        if (projects.isEmpty() || !CorePlugin.workspaceConfigurationManager().loadWorkspaceConfiguration().isModelPrefetchEnabled()) {
+            return;
+        }
+
+        Set<FixedRequestAttributes> builds = Sets.newLinkedHashSet();
+        for (IProject project : projects) {
+            Optional<ProjectConfiguration> configuration = CorePlugin.projectConfigurationManager().tryReadProjectConfiguration(project);
+            if (configuration.isPresent()) {
+                builds.add(configuration.get().toRequestAttributes());
+            }
+        }
+        for (FixedRequestAttributes build : builds) {
+            schedulePrefetch(build);
+        }
+    }
+
+    synchronized void schedulePrefetch(FixedRequestAttributes build) {
+        PrefetchJob previous = this.prefetchJobs.get(build);
+        if (previous != null) {
+            previous.cancel();
+        }
+        PrefetchJob job = new PrefetchJob(build);
+        this.prefetchJobs.put(build, job);
+        job.schedule(DEBOUNCE_DELAY_MILLIS);
+    }
+
+    /**
+     * Determines how a synchronization should load the Eclipse models of the given build.
+     * <p/>
+     * The prefetched models are only used if the prefetch completed less than a few minutes ago and
+     * the build files did not change since it was started. A running prefetch is awaited, since its
+     * request already does the work the synchronization would do. A prefetch still waiting for its
+     * delay is cancelled and the models are reloaded.
+     *
+     * @param build the build to synchronize
+     * @return the fetch strategy to apply when loading the Eclipse models
+     */
+    public FetchStrategy getSynchronizationFetchStrategy(FixedRequestAttributes build) {
+        PrefetchJob job;
+        synchronized (this) {
+            job = this.prefetchJobs.remove(build);
+        }
+        if (job == null) {
+            return FetchStrategy.FORCE_RELOAD;
+        }
+
+        if (job.getState() == Job.RUNNING) {
+            try {
+                job.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (job.isCompleted() && job.isRecent() && job.stamp.equals(BuildFilesStamp.of(build.getProjectDir()))) {
+            return FetchStrategy.LOAD_IF_NOT_CACHED;
+        } else {
+            job.cancel();
+            return FetchStrategy.FORCE_RELOAD;
+        }
+    }
+
+    private synchronized void prefetchFailed(PrefetchJob job) {
+        if (this.prefetchJobs.get(job.build) == job) {
+            this.prefetchJobs.remove(job.build);
+        }
+    }
+
+    private static Set<IProject> collectProjectsWithChangedBuildFiles(IResourceDelta delta) {
+        final Set<IProject> projects = Sets.newLinkedHashSet();
+        try {
+            delta.accept(new IResourceDeltaVisitor() {
+
+                @Override
+                public boolean visit(IResourceDelta child) throws CoreException {
+                    IResource resource = child.getResource();
+                    if (resource.getType() == IResource.PROJECT) {
+                        return GradleProjectNature.isPresentOn((IProject) resource);
+                    } else if (resource.getType() == IResource.FILE && isBuildFileChange(child)) {
+                        projects.add(resource.getProject());
+                    }
+                    return true;
+                }
+            });
+        } catch (CoreException e) {
+            CorePlugin.logger().warn("Cannot determine the changed Gradle build files.", e);
+        }
+        return projects;
+    }
+
+    private static boolean isBuildFileChange(IResourceDelta delta) {
+        int kind = delta.getKind();
+        boolean contentChanged = kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.CONTENT) != 0;
+        return contentChanged && isBuildFile(delta.getResource().getProjectRelativePath());
+    }
+
+    private static boolean isBuildFile(IPath path) {
+        if (BuildFilesStamp.isBuildFileName(path.lastSegment())) {
+            return true;
+        }
+        return path.segmentCount() > 2 && BUILD_SRC_FOLDER.equals(path.segment(0)) && !BUILD_SRC_OUTPUT_FOLDERS.contains(path.segment(1));
+    }
+
+    /**
+     * Loads the Eclipse models of a build without applying them.
+     */
+    private final class PrefetchJob extends Job {
+
+        private final FixedRequestAttributes build;
+        private final CancellationTokenSource tokenSource;
+        private volatile BuildFilesStamp stamp;
+        private volatile long startTime;
+        private volatile boolean completed;
+
+        private PrefetchJob(FixedRequestAttributes build) {
+            super(String.format("Loading models of Gradle build at %s", build.getProjectDir()));
+            this.build = Preconditions.checkNotNull(build);
+            this.tokenSource = GradleConnector.newCancellationTokenSource();
+
+            // never compete with work the user is waiting for
+            setPriority(Job.DECORATE);
+            setSystem(true);
+        }
+
+        private boolean isCompleted() {
+            return this.completed;
+        }
+
+        private boolean isRecent() {
+            return System.currentTimeMillis() - this.startTime < MAX_PREFETCH_AGE_MILLIS;
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            try {
+                // stamp before the request, such that changes made while loading invalidate the models
+                this.startTime = System.currentTimeMillis();
+                this.stamp = BuildFilesStamp.of(this.build.getProjectDir());
+                ModelResults<OmniEclipseProject> results = CorePlugin.gradleWorkspaceManager().getGradleBuild(this.build).getModelProvider()
+                        .fetchEclipseProjects(FetchStrategy.FORCE_RELOAD, this.tokenSource.token(), monitor);
+                for (ModelResult<OmniEclipseProject> result : results) {
+                    if (result.getFailure() != null) {
+                        prefetchFailed(this);
+                        return Status.OK_STATUS;
+                    }
+                }
+                this.completed = true;
+            } catch (Exception e) {
+                prefetchFailed(this);
+                CorePlugin.logger().debug(String.format("Cannot prefetch models of Gradle build at %s.", this.build.getProjectDir()), e);
+            }
+            return Status.OK_STATUS;
+        }
+
+        @Override
+        protected void canceling() {
+            this.tokenSource.cancel();
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return CorePlugin.GRADLE_JOB_FAMILY.equals(family);
+        }
+    }
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.workspace.internal;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.gradle.tooling.CancellationToken;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.SettableFuture;
+
+import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.GradlePluginsRuntimeException;
+
+/**
+ * Coordinates the model requests sent to the Tooling API by the different jobs of the plugin.
+ * <p/>
+ * The scheduler limits the number of requests that run at the same time, both globally and per
+ * build, such that bursts of synchronizations, task view reloads and the like do not start a Gradle
+ * daemon each. Requests from jobs with {@link Job#BUILD} or {@link Job#DECORATE} priority are
+ * considered background work and only get to run when no user-triggered request is waiting.
+ * <p/>
+ * Identical requests for the same model of the same build are merged: a caller whose request is
+ * already in flight waits for and shares the result of that request. A {@link FetchStrategy#FORCE_RELOAD}
+ * request is only merged with another {@code FORCE_RELOAD} request that has not started yet, such
+ * that its result is never older than the time of the call. If the caller owning a shared request
+ * cancels it, the callers waiting for it execute the request themselves. If a user-triggered caller
+ * joins a background request that is still waiting, the request is promoted to the foreground, such
+ * that the caller does not wait behind other background requests.
+ * <p/>
+ * Build executions are not coordinated by the scheduler since they can run for an arbitrarily long
+ * time.
+ */
+public final class ModelRequestScheduler {
+
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 2;
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_BUILD = 1;
+    private static final long CANCELLATION_POLL_MILLIS = 100;
+
+    private final Permits globalPermits;
+    private final Map<File, Permits> buildPermits;
+    private final int maxConcurrentRequestsPerBuild;
+    private final Map<RequestKey, InFlightRequest<?>> inFlightRequests;
+
+    public ModelRequestScheduler() {
+        this(DEFAULT_MAX_CONCURRENT_REQUESTS, DEFAULT_MAX_CONCURRENT_REQUESTS_PER_BUILD);
+    }
+
+    public ModelRequestScheduler(int maxConcurrentRequests, int maxConcurrentRequestsPerBuild) {
+        Preconditions.checkArgument(maxConcurrentRequests > 0);
+        Preconditions.checkArgument(maxConcurrentRequestsPerBuild > 0);
+        this.globalPermits = new Permits(maxConcurrentRequests);
+        this.buildPermits = Maps.newHashMap();
+        this.maxConcurrentRequestsPerBuild = maxConcurrentRequestsPerBuild;
+        this.inFlightRequests = Maps.newHashMap();
+    }
+
+    /**
+     * Executes the given model request once the concurrency limits allow it, or returns the result
+     * of an identical request that is already in flight.
+     *
+     * @param build the build the model is requested from
+     * @param modelType the type of the requested model, used to detect identical requests
+     * @param fetchStrategy the fetch strategy of the request
+     * @param token the cancellation token of the request, may be null
+     * @param monitor the monitor of the request, may be null
+     * @param request the actual model request
+     * @param <T> the type of the model
+     * @return the result of the model request
+     * @throws OperationCanceledException if the request was cancelled while waiting to be executed
+     */
+    public <T> T execute(FixedRequestAttributes build, Class<?> modelType, FetchStrategy fetchStrategy, CancellationToken token, IProgressMonitor monitor, Supplier<T> request) {
+        // requests served from the cache never reach the Tooling API
+        if (fetchStrategy == FetchStrategy.FROM_CACHE_ONLY) {
+            return request.get();
+        }
+
+        RequestKey key = new RequestKey(build, modelType);
+        while (true) {
+            InFlightRequest<T> inFlightRequest;
+            boolean merged;
+            synchronized (this.inFlightRequests) {
+                @SuppressWarnings("unchecked")
+                InFlightRequest<T> existing = (InFlightRequest<T>) this.inFlightRequests.get(key);
+                merged = existing != null && (fetchStrategy == FetchStrategy.LOAD_IF_NOT_CACHED || (existing.getFetchStrategy() == FetchStrategy.FORCE_RELOAD && !existing.isStarted()));
+                if (merged) {
+                    inFlightRequest = existing;
+                } else {
+                    inFlightRequest = new InFlightRequest<T>(fetchStrategy, !isBackgroundRequest());
+                    this.inFlightRequests.put(key, inFlightRequest);
+                }
+            }
+
+            if (!merged) {
+                return executeAndPublish(key, inFlightRequest, token, monitor, request);
+            }
+
+            if (!inFlightRequest.isForeground() && !isBackgroundRequest()) {
+                promoteToForeground(key, inFlightRequest);
+            }
+
+            try {
+                return inFlightRequest.await(token, monitor);
+            } catch (OwnerCanceledException e) {
+                // the shared request was cancelled by its owner, but not by this caller, thus try again
+            }
+        }
+    }
+
+    private <T> T executeAndPublish(RequestKey key, InFlightRequest<T> inFlightRequest, CancellationToken token, IProgressMonitor monitor, Supplier<T> request) {
+        Permits permits = getBuildPermits(key.build.getProjectDir());
+        boolean acquired = false;
+        try {
+            permits.acquire(inFlightRequest, token, monitor);
+            try {
+                this.globalPermits.acquire(inFlightRequest, token, monitor);
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            acquired = true;
+            inFlightRequest.start();
+
+            T result = request.get();
+            inFlightRequest.succeed(result);
+            return result;
+        } catch (RuntimeException e) {
+            // the waiting callers must not fail because the owner cancelled its request
+            inFlightRequest.fail(isCanceled(token, monitor) ? new OwnerCanceledException() : e);
+            throw e;
+        } catch (Error e) {
+            inFlightRequest.fail(e);
+            throw e;
+        } finally {
+            synchronized (this.inFlightRequests) {
+                if (this.inFlightRequests.get(key) == inFlightRequest) {
+                    this.inFlightRequests.remove(key);
+                }
+            }
+            if (acquired) {
+                this.globalPermits.release();
+                permits.release();
+            }
+        }
+    }
+
+    private void promoteToForeground(RequestKey key, InFlightRequest<?> inFlightRequest) {
+        inFlightRequest.promoteToForeground();
+        // wake up the owner in case it waits for other background requests to go first
+        getBuildPermits(key.build.getProjectDir()).wakeUp();
+        this.globalPermits.wakeUp();
+    }
+
+    private Permits getBuildPermits(File projectDir) {
+        synchronized (this.buildPermits) {
+            Permits permits = this.buildPermits.get(projectDir);
+            if (permits == null) {
+                permits = new Permits(this.maxConcurrentRequestsPerBuild);
+                this.buildPermits.put(projectDir, permits);
+            }
+            return permits;
+        }
+    }
+
+    private static boolean isBackgroundRequest() {
+        Job job = Job.getJobManager().currentJob();
+        return job != null && job.getPriority() >= Job.BUILD;
+    }
+
+    private static boolean isCanceled(CancellationToken token, IProgressMonitor monitor) {
+        return (token != null && token.isCancellationRequested()) || (monitor != null && monitor.isCanceled());
+    }
+
+    private static void checkCanceled(CancellationToken token, IProgressMonitor monitor) {
+        if (isCanceled(token, monitor)) {
+            throw new OperationCanceledException();
+        }
+    }
+
+    /**
+     * A counting semaphore that lets user-triggered requests overtake background requests.
+     * <p/>
+     * Whether a waiting request is a foreground request is checked on every wake-up, since a
+     * background request can be promoted while it waits.
+     */
+    private static final class Permits {
+
+        private final int limit;
+        private final Set<InFlightRequest<?>> waiting;
+        private int used;
+
+        private Permits(int limit) {
+            this.limit = limit;
+            this.waiting = Sets.newHashSet();
+        }
+
+        private synchronized void acquire(InFlightRequest<?> request, CancellationToken token, IProgressMonitor monitor) {
+            this.waiting.add(request);
+            try {
+                while (this.used >= this.limit || (!request.isForeground() && isForegroundWaiting())) {
+                    checkCanceled(token, monitor);
+                    try {
+                        wait(CANCELLATION_POLL_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new OperationCanceledException();
+                    }
+                }
+                this.used++;
+            } finally {
+                this.waiting.remove(request);
+                notifyAll();
+            }
+        }
+
+        private boolean isForegroundWaiting() {
+            for (InFlightRequest<?> request : this.waiting) {
+                if (request.isForeground()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized void wakeUp() {
+            notifyAll();
+        }
+
+        private synchronized void release() {
+            this.used--;
+            notifyAll();
+        }
+    }
+
+    /**
+     * The result of a model request which can be shared by multiple callers.
+     *
+     * @param <T> the type of the model
+     */
+    private static final class InFlightRequest<T> {
+
+        private final FetchStrategy fetchStrategy;
+        private final SettableFuture<T> result = SettableFuture.create();
+        private volatile boolean started;
+        private volatile boolean foreground;
+
+        private InFlightRequest(FetchStrategy fetchStrategy, boolean foreground) {
+            this.fetchStrategy = fetchStrategy;
+            this.foreground = foreground;
+        }
+
+        private FetchStrategy getFetchStrategy() {
+            return this.fetchStrategy;
+        }
+
+        private boolean isStarted() {
+            return this.started;
+        }
+
+        private boolean isForeground() {
+            return this.foreground;
+        }
+
+        private void promoteToForeground() {
+            this.foreground = true;
+        }
+
+        private void start() {
+            this.started = true;
+        }
+
+        private void succeed(T value) {
+            this.result.set(value);
+        }
+
+        private void fail(Throwable failure) {
+            this.result.setException(failure);
+        }
+
+        private T await(CancellationToken token, IProgressMonitor monitor) {
+            while (true) {
+                checkCanceled(token, monitor);
+                try {
+                    return this.result.get(CANCELLATION_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // poll again
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new OperationCanceledException();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    } else {
+                        throw new GradlePluginsRuntimeException(cause);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Signals the callers waiting for a shared request that its owner cancelled it.
+     */
+    private static final class OwnerCanceledException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * Identifies identical model requests.
+     */
+    private static final class RequestKey {
+
+        private final FixedRequestAttributes build;
+        private final Class<?> modelType;
+
+        private RequestKey(FixedRequestAttributes build, Class<?> modelType) {
+            this.build = Preconditions.checkNotNull(build);
+            this.modelType = Preconditions.checkNotNull(modelType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof RequestKey) {
+                RequestKey other = (RequestKey) obj;
+                return Objects.equal(this.build, other.build) && Objects.equal(this.modelType, other.modelType);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(this.build, this.modelType);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.core.workspace.internal;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import com.gradleware.tooling.toolingmodel.repository.FixedRequestAttributes;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.core.workspace.GradleBuild;
+
+/**
+ * Retries the synchronization of builds that could not be reached, with an exponentially growing
+ * delay between the attempts.
+ * <p/>
+ * The delay starts at 30 seconds, doubles with every failed attempt and is capped at 30 minutes.
+ * After {@value #MAX_ATTEMPTS} failed attempts, the build is no longer retried until the next
+ * synchronization requested by the user fails again. A successful synchronization of a build or a
+ * failure that is not caused by the connection resets its delay and cancels any pending retry.
+ */
+final class SynchronizationRetries {
+
+    private static final long INITIAL_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long MAX_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    static final int MAX_ATTEMPTS = 10;
+
+    private final Map<FixedRequestAttributes, Retry> retries;
+
+    SynchronizationRetries() {
+        this.retries = Maps.newHashMap();
+    }
+
+    /**
+     * Schedules another synchronization attempt for the given build, replacing any pending one.
+     *
+     * @param build the build that could not be synchronized
+     * @return the delay in milliseconds after which the synchronization is retried or
+     *         {@link Optional#absent()} if the build already failed too many times
+     */
+    synchronized Optional<Long> scheduleRetry(GradleBuild build) {
+        FixedRequestAttributes attributes = build.getRequestAttributes();
+        Retry previous = this.retries.remove(attributes);
+        int attempt = 0;
+        if (previous != null) {
+            previous.cancel();
+            attempt = previous.attempt + 1;
+        }
+        if (attempt >= MAX_ATTEMPTS) {
+            return Optional.absent();
+        }
+
+        long delay = delayForAttempt(attempt);
+        Retry retry = new Retry(this, build, attempt);
+        this.retries.put(attributes, retry);
+        retry.schedule(delay);
+        return Optional.of(delay);
+    }
+
+    /**
+     * Forgets about previous failed attempts of the given build and cancels its pending retry.
+     *
+     * @param build the build that was synchronized successfully or that failed for a reason other
+     *            than the connection
+     */
+    synchronized void reset(GradleBuild build) {
+        Retry retry = this.retries.remove(build.getRequestAttributes());
+        if (retry != null) {
+            retry.cancel();
+        }
+    }
+
+    static long delayForAttempt(int attempt) {
+        // avoid overflowing the shift for large attempt counts
+        int exponent = Math.min(attempt, 16);
+        return Math.min(INITIAL_DELAY_MILLIS << exponent, MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Schedules a background synchronization of a single build once its delay has passed.
+     * <p/>
+     * The job belongs to the family of the {@link SynchronizationRetries} instance that scheduled it.
+     */
+    private static final class Retry extends Job {
+
+        private final SynchronizationRetries family;
+        private final GradleBuild build;
+        private final int attempt;
+
+        private Retry(SynchronizationRetries family, GradleBuild build, int attempt) {
+            super(String.format("Retry synchronizing Gradle build at %s", build.getRequestAttributes().getProjectDir()));
+            this.family = Preconditions.checkNotNull(family);
+            this.build = Preconditions.checkNotNull(build);
+            this.attempt = attempt;
+            setSystem(true);
+        }
+
+        @Override
+        public boolean belongsTo(Object family) {
+            return this.family == family;
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            SynchronizeGradleBuildsJob.forBackgroundRetry(this.build).schedule();
+            return Status.OK_STATUS;
+        }
+    }
+
+}
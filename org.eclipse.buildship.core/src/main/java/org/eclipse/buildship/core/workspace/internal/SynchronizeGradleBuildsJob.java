@@ -8,19 +8,28 @@
 
 package org.eclipse.buildship.core.workspace.internal;
 
+import java.util.List;
 import java.util.Set;
 
+import org.gradle.tooling.BuildCancelledException;
+import org.gradle.tooling.BuildException;
+import org.gradle.tooling.GradleConnectionException;
+import org.gradle.tooling.ListenerFailedException;
+import org.gradle.tooling.UnsupportedVersionException;
 import org.gradle.tooling.connection.ModelResult;
 import org.gradle.tooling.connection.ModelResults;
 
 import com.google.common.base.Objects;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 import com.gradleware.tooling.toolingmodel.OmniEclipseProject;
 import com.gradleware.tooling.toolingmodel.repository.FetchStrategy;
 
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -30,31 +39,48 @@ import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.buildship.core.AggregateException;
 import org.eclipse.buildship.core.CorePlugin;
+import org.eclipse.buildship.core.configuration.GradleProjectNature;
+import org.eclipse.buildship.core.configuration.ProjectConfiguration;
 import org.eclipse.buildship.core.util.progress.AsyncHandler;
 import org.eclipse.buildship.core.util.progress.ToolingApiJob;
 import org.eclipse.buildship.core.workspace.GradleBuild;
 import org.eclipse.buildship.core.workspace.GradleBuilds;
 import org.eclipse.buildship.core.workspace.ModelProvider;
 import org.eclipse.buildship.core.workspace.NewProjectHandler;
+import org.eclipse.buildship.core.workspace.StaleModelMarker;
 
 /**
  * Synchronizes each of the given Gradle builds with the workspace.
+ * <p/>
+ * If a build cannot be reached, e.g. because the Gradle distribution cannot be downloaded or the
+ * daemon cannot be started, the job does not fail. Instead, the workspace projects of that build
+ * keep the configuration of the last successful synchronization, or the model cached during the
+ * current session is applied again, and the projects are marked with a {@link StaleModelMarker}.
+ * The synchronization of the build is then retried in the background.
  */
 public final class SynchronizeGradleBuildsJob extends ToolingApiJob {
 
+    private static final SynchronizationRetries RETRIES = new SynchronizationRetries();
+
     private final ImmutableSet<GradleBuild> builds;
     private final NewProjectHandler newProjectHandler;
     private final AsyncHandler initializer;
 
-    private SynchronizeGradleBuildsJob(Set<GradleBuild> builds, NewProjectHandler newProjectHandler, AsyncHandler initializer) {
-        super("Synchronize Gradle projects with workspace", true);
+    private SynchronizeGradleBuildsJob(Set<GradleBuild> builds, NewProjectHandler newProjectHandler, AsyncHandler initializer, boolean background) {
+        // failing retries are reported through the stale model markers, not through a dialog
+        super("Synchronize Gradle projects with workspace", !background);
         this.builds = ImmutableSet.copyOf(builds);
         this.newProjectHandler = Preconditions.checkNotNull(newProjectHandler);
         this.initializer = Preconditions.checkNotNull(initializer);
 
-        // explicitly show a dialog with the progress while the project synchronization is in
-        // process
-        setUser(true);
+        if (background) {
+            // retries were not requested by the user and should not get in the way of their work
+            setPriority(Job.BUILD);
+        } else {
+            // explicitly show a dialog with the progress while the project synchronization is in
+            // process
+            setUser(true);
+        }
 
         // guarantee sequential order of synchronize jobs
         setRule(ResourcesPlugin.getWorkspace().getRoot());
@@ -77,15 +103,104 @@ public final class SynchronizeGradleBuildsJob extends ToolingApiJob {
     private void synchronizeBuild(GradleBuild build, SubMonitor progress) throws CoreException {
         progress.setTaskName((String.format("Synchronizing Gradle build at %s with workspace", build.getRequestAttributes().getProjectDir())));
         progress.setWorkRemaining(3);
-        Set<OmniEclipseProject> allProjects = fetchEclipseProjects(build, progress.newChild(1));
+        Set<OmniEclipseProject> allProjects;
+        try {
+            allProjects = fetchEclipseProjects(build, progress.newChild(1));
+        } catch (RuntimeException e) {
+            if (isConnectionFailure(e)) {
+                if (synchronizeFromLastKnownState(build, e, progress.newChild(2))) {
+                    return;
+                }
+            } else {
+                // retrying will not help, the user has to fix the build first
+                RETRIES.reset(build);
+            }
+            throw e;
+        }
+        RETRIES.reset(build);
         new RunOnImportTasksOperation(allProjects, build.getRequestAttributes()).run(progress.newChild(1), getToken());
         new SynchronizeGradleBuildOperation(allProjects, build.getRequestAttributes(), SynchronizeGradleBuildsJob.this.newProjectHandler).run(progress.newChild(1));
+        for (IProject project : findWorkspaceProjects(build)) {
+            StaleModelMarker.INSTANCE.removeMarkerFromResource(project);
+        }
+    }
+
+    private boolean synchronizeFromLastKnownState(GradleBuild build, RuntimeException failure, SubMonitor progress) throws CoreException {
+        // the models of the current session are only kept in memory, from previous sessions only
+        // the workspace configuration applied by the last successful synchronization remains
+        Optional<Set<OmniEclipseProject>> cachedProjects = fetchCachedEclipseProjects(build, progress.newChild(1));
+        if (cachedProjects.isPresent()) {
+            new SynchronizeGradleBuildOperation(cachedProjects.get(), build.getRequestAttributes(), this.newProjectHandler).run(progress.newChild(1));
+        }
+
+        List<IProject> workspaceProjects = findWorkspaceProjects(build);
+        if (!cachedProjects.isPresent() && workspaceProjects.isEmpty()) {
+            // nothing was ever synchronized from this build, thus there is no state to fall back to
+            return false;
+        }
+
+        Optional<Long> delay = RETRIES.scheduleRetry(build);
+        String message = String.format("Cannot connect to the Gradle build at %s, the project configuration might be outdated. ", build.getRequestAttributes().getProjectDir());
+        message += delay.isPresent() ? String.format("Synchronization is retried in %d seconds.", delay.get() / 1000) : "Synchronize the project manually once the build can be reached again.";
+        CorePlugin.logger().warn(message, failure);
+        for (IProject project : workspaceProjects) {
+            StaleModelMarker.INSTANCE.addMarkerToResource(project, message);
+        }
+        return true;
+    }
+
+    private Optional<Set<OmniEclipseProject>> fetchCachedEclipseProjects(GradleBuild build, SubMonitor progress) {
+        ModelResults<OmniEclipseProject> results = build.getModelProvider().fetchEclipseProjects(FetchStrategy.FROM_CACHE_ONLY, getToken(), progress);
+        if (results == null) {
+            return Optional.absent();
+        }
+
+        Set<OmniEclipseProject> allProjects = Sets.newLinkedHashSet();
+        for (ModelResult<OmniEclipseProject> result : results) {
+            if (result.getFailure() != null) {
+                return Optional.absent();
+            }
+            allProjects.add(result.getModel());
+        }
+        return allProjects.isEmpty() ? Optional.<Set<OmniEclipseProject>>absent() : Optional.of(allProjects);
+    }
+
+    private static List<IProject> findWorkspaceProjects(GradleBuild build) {
+        List<IProject> result = Lists.newArrayList();
+        for (IProject project : CorePlugin.workspaceOperations().getAllProjects()) {
+            if (GradleProjectNature.isPresentOn(project)) {
+                Optional<ProjectConfiguration> configuration = CorePlugin.projectConfigurationManager().tryReadProjectConfiguration(project);
+                if (configuration.isPresent() && configuration.get().toRequestAttributes().getProjectDir().equals(build.getRequestAttributes().getProjectDir())) {
+                    result.add(project);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isConnectionFailure(Throwable failure) {
+        if (failure instanceof AggregateException) {
+            for (Throwable cause : ((AggregateException) failure).getCauses()) {
+                if (!isConnectionFailure(cause)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // failures caused by the build itself or by the user will not go away by retrying
+        return failure instanceof GradleConnectionException
+                && !(failure instanceof BuildException)
+                && !(failure instanceof BuildCancelledException)
+                && !(failure instanceof UnsupportedVersionException)
+                && !(failure instanceof ListenerFailedException);
     }
 
     private Set<OmniEclipseProject> fetchEclipseProjects(GradleBuild build, SubMonitor progress) {
         progress.setTaskName("Loading Gradle project models");
         ModelProvider modelProvider = build.getModelProvider();
-        ModelResults<OmniEclipseProject> results = modelProvider.fetchEclipseProjects(FetchStrategy.FORCE_RELOAD, getToken(), progress);
+        FetchStrategy fetchStrategy = CorePlugin.modelPrefetcher().getSynchronizationFetchStrategy(build.getRequestAttributes());
+        ModelResults<OmniEclipseProject> results = modelProvider.fetchEclipseProjects(fetchStrategy, getToken(), progress);
 
         Set<OmniEclipseProject> allProjects = Sets.newLinkedHashSet();
         Set<Exception> problems = Sets.newLinkedHashSet();
@@ -133,11 +248,15 @@ public final class SynchronizeGradleBuildsJob extends ToolingApiJob {
     }
 
     public static SynchronizeGradleBuildsJob forSingleGradleBuild(GradleBuild build, NewProjectHandler newProjectHandler, AsyncHandler initializer) {
-        return new SynchronizeGradleBuildsJob(ImmutableSet.of(build), newProjectHandler, initializer);
+        return new SynchronizeGradleBuildsJob(ImmutableSet.of(build), newProjectHandler, initializer, false);
     }
 
     public static SynchronizeGradleBuildsJob forMultipleGradleBuilds(GradleBuilds builds, NewProjectHandler newProjectHandler, AsyncHandler initializer) {
-        return new SynchronizeGradleBuildsJob(builds.getGradleBuilds(), newProjectHandler, initializer);
+        return new SynchronizeGradleBuildsJob(builds.getGradleBuilds(), newProjectHandler, initializer, false);
+    }
+
+    static SynchronizeGradleBuildsJob forBackgroundRetry(GradleBuild build) {
+        return new SynchronizeGradleBuildsJob(ImmutableSet.of(build), NewProjectHandler.NO_OP, AsyncHandler.NO_OP, true);
     }
 
 }
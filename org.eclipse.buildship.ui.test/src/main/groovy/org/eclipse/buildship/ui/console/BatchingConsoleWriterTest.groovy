@@ -0,0 +1,134 @@
+package org.eclipse.buildship.ui.console
+
+import spock.lang.Specification
+
+class BatchingConsoleWriterTest extends Specification {
+
+    def "Consecutive writes to the same stream are merged into a single write"() {
+        setup:
+        RecordingStream target = new RecordingStream()
+        BatchingConsoleWriter writer = new BatchingConsoleWriter(1024, 60000)
+        OutputStream stream = writer.stream(target)
+
+        when:
+        100.times { stream.write('x'.bytes) }
+        writer.flush()
+
+        then:
+        target.writes == 1
+        target.toString() == 'x' * 100
+    }
+
+    def "The order of the output across streams is preserved"() {
+        setup:
+        List<String> writes = []
+        BatchingConsoleWriter writer = new BatchingConsoleWriter(1024, 60000)
+        OutputStream output = writer.stream(new RecordingStream(name: 'out', log: writes))
+        OutputStream error = writer.stream(new RecordingStream(name: 'err', log: writes))
+
+        when:
+        output.write('a'.bytes)
+        output.write('b'.bytes)
+        error.write('c'.bytes)
+        output.write('d'.bytes)
+        writer.flush()
+
+        then:
+        writes == ['out:ab', 'err:c', 'out:d']
+    }
+
+    def "Output is passed on once the buffer is full"() {
+        setup:
+        RecordingStream target = new RecordingStream()
+        BatchingConsoleWriter writer = new BatchingConsoleWriter(10, 60000)
+        OutputStream stream = writer.stream(target)
+
+        when:
+        stream.write('12345'.bytes)
+
+        then:
+        target.writes == 0
+
+        when:
+        stream.write('67890'.bytes)
+
+        then:
+        target.writes == 1
+        target.toString() == '1234567890'
+    }
+
+    def "Output is passed on after the flush delay"() {
+        setup:
+        RecordingStream target = new RecordingStream()
+        BatchingConsoleWriter writer = new BatchingConsoleWriter(1024, 10)
+        OutputStream stream = writer.stream(target)
+
+        when:
+        stream.write('output'.bytes)
+        long deadline = System.currentTimeMillis() + 5000
+        while (target.writes == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        then:
+        target.toString() == 'output'
+    }
+
+    def "Closing a stream passes on the pending output"() {
+        setup:
+        RecordingStream target = new RecordingStream()
+        OutputStream stream = new BatchingConsoleWriter(1024, 60000).stream(target)
+
+        when:
+        stream.write('output'.bytes)
+        stream.close()
+
+        then:
+        target.toString() == 'output'
+        target.closed
+    }
+
+    def "A detached writer only keeps the tail of the output until it is attached again"() {
+        setup:
+        RecordingStream target = new RecordingStream()
+        BatchingConsoleWriter writer = new BatchingConsoleWriter(10, 60000)
+        OutputStream stream = writer.stream(target)
+        writer.detach(5)
+
+        when:
+        stream.write('1234567890'.bytes)
+        stream.write('abcdefghij'.bytes)
+        writer.flush()
+
+        then:
+        target.writes == 0
+
+        when:
+        writer.attach()
+
+        then:
+        target.toString() == 'fghij'
+        !writer.detached
+    }
+
+    static class RecordingStream extends ByteArrayOutputStream {
+
+        String name
+        List<String> log
+        int writes
+        boolean closed
+
+        @Override
+        synchronized void write(byte[] bytes, int offset, int length) {
+            super.write(bytes, offset, length)
+            writes++
+            log?.add("$name:${new String(bytes, offset, length)}".toString())
+        }
+
+        @Override
+        void close() {
+            closed = true
+        }
+    }
+
+}
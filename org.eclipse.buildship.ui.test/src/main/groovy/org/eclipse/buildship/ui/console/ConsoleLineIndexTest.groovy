@@ -0,0 +1,108 @@
+package org.eclipse.buildship.ui.console
+
+import com.google.common.base.Optional
+
+import spock.lang.Specification
+
+import org.eclipse.buildship.ui.console.ConsoleLineIndex.Category
+
+class ConsoleLineIndexTest extends Specification {
+
+    def "Lines are indexed with their number and offset"() {
+        setup:
+        ConsoleLineIndex index = ConsoleLineIndex.of('first\nsecond\nthird')
+
+        expect:
+        index.lineCount == 3
+        (0..2).collect { index.getText(index.getLine(it)) } == ['first\n', 'second\n', 'third']
+        (0..2).collect { index.getLine(it).offset } == [0, 6, 13]
+        (0..2).collect { index.getLine(it).length } == [6, 7, 5]
+    }
+
+    def "An empty snapshot has no lines"() {
+        expect:
+        ConsoleLineIndex.of('').lineCount == 0
+        ConsoleLineIndex.of('').find(Optional.absent(), '', false, true).empty
+    }
+
+    def "Well-known lines are categorized"() {
+        setup:
+        ConsoleLineIndex index = ConsoleLineIndex.of(''':compileJava
+/src/Foo.java:12: error: cannot find symbol
+:test
+FooTest > bar FAILED
+BUILD SUCCESSFUL
+''')
+
+        expect:
+        index.getLines(Category.COMPILER_ERROR)*.number == [1]
+        index.getLines(Category.TEST_FAILURE)*.number == [3]
+        index.getLines(Category.FAILURE)*.number == [3]
+    }
+
+    def "Lines can be found by literal text or regular expression"() {
+        setup:
+        ConsoleLineIndex index = ConsoleLineIndex.of('Alpha\nbeta\nGamma 42\nalp\nha')
+
+        expect:
+        index.find(Optional.absent(), 'alpha', false, true).empty
+        index.find(Optional.absent(), 'alpha', false, false)*.number == [0]
+        index.find(Optional.absent(), '\\d+', true, true)*.number == [2]
+        index.find(Optional.absent(), '^a', true, true)*.number == [3]
+        index.find(Optional.absent(), '', false, true).size() == 5
+    }
+
+    def "The search can be restricted to a category"() {
+        setup:
+        ConsoleLineIndex index = ConsoleLineIndex.of('FooTest > bar FAILED\nbar\nBarTest > baz FAILED\n')
+
+        expect:
+        index.find(Optional.of(Category.TEST_FAILURE), 'bar', false, true)*.number == [0]
+        index.find(Optional.of(Category.TEST_FAILURE), '', false, true)*.number == [0, 2]
+    }
+
+    def "An index is extended with trimmed and appended text"() {
+        setup:
+        ConsoleLineIndex previous = ConsoleLineIndex.of('first\nFooTest > bar FAILED\nthi')
+
+        when:
+        ConsoleLineIndex index = previous.extend(trimmed, appended)
+        ConsoleLineIndex expected = ConsoleLineIndex.of('first\nFooTest > bar FAILED\nthi'.substring(trimmed) + appended)
+
+        then:
+        index.lineCount == expected.lineCount
+        (0..<index.lineCount).collect { index.getText(index.getLine(it)) } == (0..<expected.lineCount).collect { expected.getText(expected.getLine(it)) }
+        index.getLines(Category.TEST_FAILURE)*.number == expected.getLines(Category.TEST_FAILURE)*.number
+
+        where:
+        trimmed | appended
+        0       | ''
+        0       | 'rd\nfourth\n'
+        6       | 'rd\nBarTest > baz FAILED\n'
+        3       | 'rd\n'
+        29      | 'rd\n'
+    }
+
+    def "An index extended many times matches an index of the complete snapshot"() {
+        setup:
+        String text = ''
+        ConsoleLineIndex index = ConsoleLineIndex.of(text)
+
+        when:
+        (0..<50).each {
+            String appended = it % 7 == 0 ? "FooTest > test$it FAILED\n" : "line $it" + (it % 3 == 0 ? '' : '\n')
+            int trimmed = it % 10 == 9 ? Math.min(13, text.length()) : 0
+            text = text.substring(trimmed) + appended
+            index = index.extend(trimmed, appended)
+        }
+        ConsoleLineIndex expected = ConsoleLineIndex.of(text)
+
+        then:
+        (0..<index.lineCount).collect { index.getText(index.getLine(it)) } == (0..<expected.lineCount).collect { expected.getText(expected.getLine(it)) }
+        index.getLines(Category.TEST_FAILURE)*.number == expected.getLines(Category.TEST_FAILURE)*.number
+        index.find(Optional.absent(), 'line 4', false, true)*.number == expected.find(Optional.absent(), 'line 4', false, true)*.number
+        index.find(Optional.absent(), 'TEST4', false, false)*.number == expected.find(Optional.absent(), 'TEST4', false, false)*.number
+        index.find(Optional.of(Category.TEST_FAILURE), '4', false, true)*.number == expected.find(Optional.of(Category.TEST_FAILURE), '4', false, true)*.number
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.eclipse.buildship.ui.console
+
+import com.google.common.base.Ticker
+import spock.lang.Specification
+
+class ConsoleOutputThrottleTest extends Specification {
+
+    def "Output exceeding the rate limit is dropped and summarized"() {
+        setup:
+        FakeTicker ticker = new FakeTicker()
+        ConsoleOutputThrottle throttle = new ConsoleOutputThrottle(10, ticker)
+        ByteArrayOutputStream target = new ByteArrayOutputStream()
+        OutputStream stream = throttle.stream(target)
+
+        when:
+        stream.write('12345'.bytes)
+        stream.write('67890'.bytes)
+        stream.write('dropped'.bytes)
+
+        then:
+        target.toString() == '1234567890'
+        throttle.droppedBytes == 7
+
+        when:
+        ticker.nanos += 1000L * 1000L * 1000L
+        stream.write('next'.bytes)
+
+        then:
+        target.toString() == '1234567890' + String.format('[7 bytes of output omitted]%n') + 'next'
+        throttle.droppedBytes == 0
+    }
+
+    static class FakeTicker extends Ticker {
+
+        long nanos
+
+        @Override
+        long read() {
+            nanos
+        }
+    }
+
+}
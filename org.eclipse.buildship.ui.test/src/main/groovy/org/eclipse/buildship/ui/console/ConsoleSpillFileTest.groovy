@@ -0,0 +1,82 @@
+package org.eclipse.buildship.ui.console
+
+import spock.lang.Specification
+
+import org.eclipse.jface.text.Document
+
+class ConsoleSpillFileTest extends Specification {
+
+    ConsoleSpillFile spillFile = new ConsoleSpillFile('test')
+
+    def cleanup() {
+        spillFile.delete()
+    }
+
+    def "Nothing is recorded before the first write"() {
+        expect:
+        !spillFile.readPage(0, 100).isPresent()
+        spillFile.length == 0
+    }
+
+    def "Only the output trimmed from the document is recorded"() {
+        setup:
+        Document document = new Document()
+        document.addDocumentListener(spillFile)
+
+        when:
+        document.replace(0, 0, 'first\n')
+        document.replace(document.length, 0, 'second\n')
+        document.replace(0, 'first\n'.length(), '')
+        document.replace(document.length, 0, 'third\n')
+
+        then:
+        document.get() == 'second\nthird\n'
+        spillFile.readPage(0, 100).get().text == 'first\n'
+        spillFile.length == 6
+    }
+
+    def "Pages end after the last complete line"() {
+        setup:
+        spillFile.write('first\nsecond\nthird')
+
+        when:
+        def first = spillFile.readPage(0, 10).get()
+        def second = spillFile.readPage(first.end, 10).get()
+        def third = spillFile.readPage(second.end, 10).get()
+
+        then:
+        first.text == 'first\n'
+        second.text == 'second\n'
+        third.text == 'third'
+        third.end == spillFile.length
+    }
+
+    def "A page ends after a line break at its first byte"() {
+        setup:
+        spillFile.write('\nsecond line')
+
+        expect:
+        spillFile.readPage(0, 5).get().text == '\n'
+    }
+
+    def "Multi-byte characters are read back"() {
+        setup:
+        spillFile.write('äöü\n')
+
+        expect:
+        spillFile.readPage(0, 100).get().text == 'äöü\n'
+        spillFile.length == 7
+    }
+
+    def "The file is removed when deleted"() {
+        setup:
+        spillFile.write('output')
+
+        when:
+        spillFile.delete()
+
+        then:
+        !spillFile.readPage(0, 100).isPresent()
+    }
+
+}
@@ -0,0 +1,63 @@
+package org.eclipse.buildship.ui.view.execution
+
+import spock.lang.Specification
+
+import org.gradle.tooling.events.ProgressEvent
+import org.gradle.tooling.events.ProgressListener
+
+class BufferingProgressListenerTest extends Specification {
+
+    BufferingProgressListener listener = new BufferingProgressListener()
+
+    def "Buffered events are replayed in order once a listener is attached"() {
+        setup:
+        ProgressEvent first = Mock(ProgressEvent)
+        ProgressEvent second = Mock(ProgressEvent)
+        ProgressEvent third = Mock(ProgressEvent)
+        ProgressListener delegate = Mock(ProgressListener)
+
+        when:
+        listener.statusChanged(first)
+        listener.statusChanged(second)
+        listener.attach(delegate)
+        listener.statusChanged(third)
+
+        then:
+        1 * delegate.statusChanged(first)
+
+        then:
+        1 * delegate.statusChanged(second)
+
+        then:
+        1 * delegate.statusChanged(third)
+    }
+
+    def "Discarded events are not replayed and further events are ignored"() {
+        setup:
+        ProgressListener delegate = Mock(ProgressListener)
+
+        when:
+        listener.statusChanged(Mock(ProgressEvent))
+        listener.discard()
+        listener.statusChanged(Mock(ProgressEvent))
+        listener.attach(delegate)
+        listener.statusChanged(Mock(ProgressEvent))
+
+        then:
+        0 * delegate.statusChanged(_)
+    }
+
+    def "Discarding after a listener was attached has no effect"() {
+        setup:
+        ProgressListener delegate = Mock(ProgressListener)
+        listener.attach(delegate)
+
+        when:
+        listener.discard()
+        listener.statusChanged(Mock(ProgressEvent))
+
+        then:
+        1 * delegate.statusChanged(_)
+    }
+
+}
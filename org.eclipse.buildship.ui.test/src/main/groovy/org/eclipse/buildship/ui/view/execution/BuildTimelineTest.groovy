@@ -0,0 +1,137 @@
+package org.eclipse.buildship.ui.view.execution
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import org.gradle.tooling.events.FinishEvent
+import org.gradle.tooling.events.OperationDescriptor
+import org.gradle.tooling.events.StartEvent
+import org.gradle.tooling.events.task.TaskOperationDescriptor
+import org.gradle.tooling.events.task.TaskSuccessResult
+
+class BuildTimelineTest extends Specification {
+
+    def "Tasks running at the same time are put into different lanes"() {
+        when:
+        BuildTimeline timeline = BuildTimeline.from(build(), 1000)
+
+        then:
+        timeline.start == 0
+        timeline.end == 100
+        timeline.laneCount == 2
+        timeline.tasks*.name == [':a', ':b', ':c', ':d']
+        timeline.tasks*.lane == [0, 1, 0, 0]
+    }
+
+    def "The critical path leads through the tasks which finished last before the next one started"() {
+        when:
+        BuildTimeline timeline = BuildTimeline.from(build(), 1000)
+
+        then:
+        timeline.tasks.findAll { it.critical }*.name == [':a', ':c', ':d']
+    }
+
+    def "Periods without a running task are reported as gaps"() {
+        when:
+        BuildTimeline timeline = BuildTimeline.from(build(), 1000)
+
+        then:
+        timeline.gaps.collect { [it.start, it.end] } == [[0L, 10L], [60L, 70L], [90L, 100L]]
+    }
+
+    def "Running tasks end at the current time"() {
+        setup:
+        OperationItem root = new OperationItem()
+        OperationItem buildItem = operation('Run build', 0, null)
+        add(root, buildItem)
+        add(buildItem, task(':a', 10, 30))
+        add(buildItem, task(':b', 20, null))
+
+        when:
+        BuildTimeline timeline = BuildTimeline.from(root, 50)
+
+        then:
+        timeline.end == 50
+        timeline.tasks[1].end == 50
+        timeline.tasks[1].result == null
+        timeline.laneCount == 2
+    }
+
+    def "An execution without operations results in an empty timeline"() {
+        when:
+        BuildTimeline timeline = BuildTimeline.from(new OperationItem(), 1000)
+
+        then:
+        timeline.laneCount == 0
+        timeline.tasks.empty
+        timeline.gaps.empty
+    }
+
+    def "The timeline can be written as a Chrome trace"() {
+        setup:
+        StringWriter writer = new StringWriter()
+
+        when:
+        BuildTimeline.from(build(), 1000).writeChromeTrace(writer)
+        def trace = new JsonSlurper().parseText(writer.toString())
+        def tasks = trace.traceEvents.findAll { it.cat?.startsWith('task') }
+
+        then:
+        trace.traceEvents.count { it.name == 'thread_name' } == 2
+        trace.traceEvents.count { it.cat == 'gap' } == 3
+        tasks*.name == [':a', ':b', ':c', ':d']
+        tasks*.tid == [0, 1, 0, 0]
+        tasks*.ts == [10000, 10000, 30000, 70000]
+        tasks*.dur == [20000, 40000, 30000, 20000]
+        tasks*.cat == ['task,critical', 'task', 'task,critical', 'task,critical']
+    }
+
+    private OperationItem build() {
+        OperationItem root = new OperationItem()
+        OperationItem buildItem = operation('Run build', 0, 100)
+        add(root, buildItem)
+        add(buildItem, task(':a', 10, 30))
+        add(buildItem, task(':b', 10, 50))
+        add(buildItem, task(':c', 30, 60))
+        add(buildItem, task(':d', 70, 90))
+        root
+    }
+
+    private static void add(OperationItem parent, OperationItem child) {
+        parent.addChild(child)
+        parent.publishChildren()
+    }
+
+    private OperationItem task(String path, long start, Long end) {
+        TaskOperationDescriptor descriptor = Stub(TaskOperationDescriptor) {
+            getTaskPath() >> path
+        }
+        item(descriptor, start, end)
+    }
+
+    private OperationItem operation(String name, long start, Long end) {
+        OperationDescriptor descriptor = Stub(OperationDescriptor) {
+            getDisplayName() >> name
+        }
+        item(descriptor, start, end)
+    }
+
+    private OperationItem item(OperationDescriptor descriptor, long start, Long end) {
+        StartEvent startEvent = Stub(StartEvent) {
+            getDescriptor() >> descriptor
+            getEventTime() >> start
+        }
+        OperationItem item = new OperationItem(startEvent)
+        if (end != null) {
+            TaskSuccessResult result = Stub(TaskSuccessResult) {
+                getStartTime() >> start
+                getEndTime() >> end
+            }
+            item.finish(Stub(FinishEvent) {
+                getResult() >> result
+            })
+        }
+        item
+    }
+
+}
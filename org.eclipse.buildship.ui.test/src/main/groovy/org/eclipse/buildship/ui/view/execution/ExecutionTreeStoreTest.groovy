@@ -0,0 +1,89 @@
+package org.eclipse.buildship.ui.view.execution
+
+import com.google.common.collect.ImmutableList
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class ExecutionTreeStoreTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    def "A persisted tree is read back with its results and failures"() {
+        setup:
+        ExecutionTreeStore store = new ExecutionTreeStore(tempFolder.newFolder('trees'))
+        OperationFailure failure = new OperationFailure('expected:<1> but was:<2>', 'java.lang.AssertionError\n\tat FooTest.bar', ImmutableList.of(new OperationFailure('cause', null, ImmutableList.<OperationFailure>of())))
+        OperationItem failedTest = item(OperationItem.Type.TEST, 'bar', OperationItem.Result.FAILURE, [failure])
+        OperationItem task = item(OperationItem.Type.TASK, ':test', OperationItem.Result.FAILURE, [], [failedTest])
+        OperationItem root = new OperationItem()
+        root.setRestoredChildren([task, item(OperationItem.Type.TASK, ':compileJava', OperationItem.Result.SUCCESS, [])])
+
+        when:
+        File file = store.write(root)
+        OperationItem restored = store.read(file)
+
+        then:
+        restored.isRoot()
+        restored.children*.operationName == [':test', ':compileJava']
+        restored.children*.result == [OperationItem.Result.FAILURE, OperationItem.Result.SUCCESS]
+        OperationItem restoredTest = restored.children[0].children[0]
+        restoredTest.parent == restored.children[0]
+        restoredTest.type == OperationItem.Type.TEST
+        restoredTest.failures[0].message == failure.message
+        restoredTest.failures[0].description == failure.description
+        restoredTest.failures[0].causes[0].message == 'cause'
+        restoredTest.failures[0].causes[0].description == null
+    }
+
+    def "Creating a store keeps the trees of other stores"() {
+        setup:
+        File directory = tempFolder.newFolder('trees')
+        File file = new ExecutionTreeStore(directory).write(new OperationItem())
+
+        when:
+        new ExecutionTreeStore(directory)
+
+        then:
+        file.exists()
+    }
+
+    def "Clearing a store removes the trees of all stores"() {
+        setup:
+        File directory = tempFolder.newFolder('trees')
+        File file = new ExecutionTreeStore(directory).write(new OperationItem())
+
+        when:
+        new ExecutionTreeStore(directory).clear()
+
+        then:
+        !file.exists()
+    }
+
+    def "The summary counts tasks and tests and keeps the innermost failures"() {
+        setup:
+        OperationItem failedTest = item(OperationItem.Type.TEST, 'bar', OperationItem.Result.FAILURE, [])
+        OperationItem suite = item(OperationItem.Type.TEST, 'FooTest', OperationItem.Result.FAILURE, [], [failedTest, item(OperationItem.Type.TEST, 'baz', OperationItem.Result.SUCCESS, [])])
+        OperationItem testTask = item(OperationItem.Type.TASK, ':test', OperationItem.Result.FAILURE, [], [suite])
+        OperationItem root = new OperationItem()
+        root.setRestoredChildren([item(OperationItem.Type.TASK, ':compileJava', OperationItem.Result.SUCCESS, []), testTask])
+
+        when:
+        ExecutionSummary summary = ExecutionSummary.from(root)
+
+        then:
+        summary.failures*.operationName == ['bar']
+        !summary.failures[0].is(failedTest)
+        summary.root.children.size() == 3
+        summary.root.children[2] == summary.failures[0]
+    }
+
+    private static OperationItem item(OperationItem.Type type, String name, OperationItem.Result result, List<OperationFailure> failures, List<OperationItem> children = []) {
+        OperationItem item = OperationItem.restore(type, name, 0, 10, result, false, failures)
+        if (children) {
+            item.setRestoredChildren(children)
+        }
+        item
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.eclipse.buildship.ui.view.execution
+
+import spock.lang.Specification
+
+import org.gradle.tooling.events.FailureResult
+import org.gradle.tooling.events.FinishEvent
+import org.gradle.tooling.events.OperationDescriptor
+import org.gradle.tooling.events.OperationResult
+import org.gradle.tooling.events.StartEvent
+import org.gradle.tooling.events.SuccessResult
+import org.gradle.tooling.events.task.TaskOperationDescriptor
+import org.gradle.tooling.events.test.JvmTestKind
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor
+
+class FailureIndexTest extends Specification {
+
+    def "Only failed operations are indexed, only failed test methods are rerun"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+        OperationItem passedTest = item(test(JvmTestKind.ATOMIC), false)
+        OperationItem failedTest = item(test(JvmTestKind.ATOMIC), true)
+        OperationItem failedSuite = item(test(JvmTestKind.SUITE), true)
+        OperationItem failedTask = item(Stub(TaskOperationDescriptor) { getTaskPath() >> ':test' }, true)
+        tree(new OperationItem(), passedTest, failedTest, failedSuite, failedTask)
+
+        when:
+        [passedTest, failedTest, failedSuite, failedTask].each { index.operationFinished(it) }
+
+        then:
+        index.hasFailures()
+        index.hasFailedTests()
+        index.failedTests == [failedTest.descriptor]
+        index.next(null) == failedTest
+        index.previous(null) == failedTask
+    }
+
+    def "Navigation wraps around at both ends"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+        List<OperationItem> failures = (1..3).collect { item(test(JvmTestKind.ATOMIC), true) }
+        tree(new OperationItem(), *failures)
+        failures.each { index.operationFinished(it) }
+
+        expect:
+        index.next(failures[0]) == failures[1]
+        index.next(failures[2]) == failures[0]
+        index.previous(failures[0]) == failures[2]
+        index.previous(failures[2]) == failures[1]
+        index.next(item(test(JvmTestKind.ATOMIC), false)) == failures[0]
+    }
+
+    def "Operations failing because of a failed child are not indexed"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+        OperationItem task = item(Stub(TaskOperationDescriptor) { getTaskPath() >> ':test' }, false)
+        OperationItem suite = item(test(JvmTestKind.SUITE), false)
+        OperationItem failedTest = item(test(JvmTestKind.ATOMIC), true)
+        tree(task, suite)
+        tree(suite, failedTest)
+
+        when:
+        index.operationFinished(failedTest)
+        index.operationFinished(fail(suite))
+        index.operationFinished(fail(task))
+
+        then:
+        index.next(null) == failedTest
+        index.previous(null) == failedTest
+        index.next(failedTest) == failedTest
+    }
+
+    def "An indexed parent is dropped once a failed child is indexed"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+        OperationItem task = item(Stub(TaskOperationDescriptor) { getTaskPath() >> ':test' }, true)
+        OperationItem failedTest = item(test(JvmTestKind.ATOMIC), true)
+        tree(task, failedTest)
+
+        when:
+        index.operationFinished(task)
+        index.operationFinished(failedTest)
+
+        then:
+        index.next(null) == failedTest
+        index.previous(null) == failedTest
+    }
+
+    def "Navigation from an operation which is not a failure starts at its position in the tree"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+        OperationItem root = new OperationItem()
+        OperationItem firstTask = item(Stub(TaskOperationDescriptor) { getTaskPath() >> ':a' }, false)
+        OperationItem secondTask = item(Stub(TaskOperationDescriptor) { getTaskPath() >> ':b' }, false)
+        OperationItem thirdTask = item(Stub(TaskOperationDescriptor) { getTaskPath() >> ':c' }, false)
+        OperationItem firstFailure = item(test(JvmTestKind.ATOMIC), true)
+        OperationItem secondFailure = item(test(JvmTestKind.ATOMIC), true)
+        tree(root, firstTask, secondTask, thirdTask)
+        tree(firstTask, firstFailure)
+        tree(thirdTask, secondFailure)
+
+        when:
+        // the failure in the last task finishes first
+        index.operationFinished(secondFailure)
+        index.operationFinished(firstFailure)
+
+        then:
+        index.next(secondTask) == secondFailure
+        index.previous(secondTask) == firstFailure
+        index.next(firstTask) == firstFailure
+        index.next(thirdTask) == secondFailure
+        index.previous(firstTask) == secondFailure
+    }
+
+    def "Failures are navigated in tree order regardless of the order in which they finished"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+        OperationItem root = new OperationItem()
+        OperationItem removedSuite = item(test(JvmTestKind.SUITE), false)
+        List<OperationItem> failures = (1..3).collect { item(test(JvmTestKind.ATOMIC), true) }
+        tree(root, failures[0], removedSuite, failures[1])
+        root.removeChild(removedSuite)
+        tree(root, failures[2])
+
+        when:
+        [failures[2], failures[0], failures[1]].each { index.operationFinished(it) }
+
+        then:
+        index.next(null) == failures[0]
+        index.next(failures[0]) == failures[1]
+        index.next(failures[1]) == failures[2]
+        index.previous(null) == failures[2]
+    }
+
+    def "An empty index has no failures to navigate to"() {
+        setup:
+        FailureIndex index = new FailureIndex()
+
+        expect:
+        !index.hasFailures()
+        !index.hasFailedTests()
+        index.next(null) == null
+        index.previous(null) == null
+    }
+
+    private JvmTestOperationDescriptor test(JvmTestKind kind) {
+        Stub(JvmTestOperationDescriptor) {
+            getJvmTestKind() >> kind
+            getName() >> 'test'
+        }
+    }
+
+    private void tree(OperationItem parent, OperationItem... children) {
+        children.each { parent.addChild(it) }
+        parent.publishChildren()
+    }
+
+    private OperationItem fail(OperationItem item) {
+        item.finish(Stub(FinishEvent) { getResult() >> Stub(FailureResult) { getFailures() >> [] } })
+        item
+    }
+
+    private OperationItem item(OperationDescriptor descriptor, boolean failed) {
+        OperationItem item = new OperationItem(Stub(StartEvent) { getDescriptor() >> descriptor })
+        OperationResult result = failed ? Stub(FailureResult) { getFailures() >> [] } : Stub(SuccessResult)
+        item.finish(Stub(FinishEvent) { getResult() >> result })
+        item
+    }
+
+}
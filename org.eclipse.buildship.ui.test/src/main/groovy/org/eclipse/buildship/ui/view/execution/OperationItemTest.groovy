@@ -0,0 +1,95 @@
+package org.eclipse.buildship.ui.view.execution
+
+import spock.lang.Specification
+
+class OperationItemTest extends Specification {
+
+    OperationItem root = new OperationItem()
+
+    def "Added children only become visible once published"() {
+        setup:
+        OperationItem first = item('first')
+        OperationItem second = item('second')
+
+        when:
+        root.addChild(first)
+        root.addChild(second)
+
+        then:
+        root.children.isEmpty()
+        root.childCount == 2
+
+        when:
+        root.publishChildren()
+
+        then:
+        root.children == [first, second]
+    }
+
+    def "Published children do not change when more children are added"() {
+        setup:
+        List<OperationItem> added = (0..9).collect { item("child$it") }
+        root.addChild(added[0])
+        root.publishChildren()
+        List<OperationItem> published = root.children
+
+        when:
+        added.drop(1).each { root.addChild(it) }
+        root.publishChildren()
+
+        then:
+        published == [added[0]]
+        root.children == added
+        !root.children.is(published)
+    }
+
+    def "Published children do not change when a child is removed"() {
+        setup:
+        OperationItem first = item('first')
+        OperationItem second = item('second')
+        OperationItem third = item('third')
+        [first, second, third].each { root.addChild(it) }
+        root.publishChildren()
+        List<OperationItem> published = root.children
+
+        when:
+        root.removeChild(first)
+        root.publishChildren()
+
+        then:
+        published == [first, second, third]
+        root.children == [second, third]
+        first.parent == null
+    }
+
+    def "Unpublished children are removed before they become visible"() {
+        setup:
+        OperationItem first = item('first')
+        OperationItem second = item('second')
+        root.addChild(first)
+        root.publishChildren()
+
+        when:
+        root.addChild(second)
+        root.removeChild(second)
+        root.publishChildren()
+
+        then:
+        root.children == [first]
+    }
+
+    def "Children are only added once"() {
+        setup:
+        OperationItem child = item('child')
+
+        expect:
+        root.addChild(child)
+        !root.addChild(child)
+        root.childCount == 1
+    }
+
+    private static OperationItem item(String name) {
+        OperationItem.restore(OperationItem.Type.TASK, name, 0, 0, OperationItem.Result.SUCCESS, false, [])
+    }
+
+}
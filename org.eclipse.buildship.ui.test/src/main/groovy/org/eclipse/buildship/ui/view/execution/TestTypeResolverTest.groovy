@@ -0,0 +1,82 @@
+package org.eclipse.buildship.ui.view.execution
+
+import com.google.common.base.Optional
+
+import org.eclipse.core.runtime.NullProgressMonitor
+import org.eclipse.jdt.core.ElementChangedEvent
+import org.eclipse.jdt.core.IClasspathEntry
+import org.eclipse.jdt.core.ICompilationUnit
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.IPackageFragment
+import org.eclipse.jdt.core.JavaCore
+
+import org.eclipse.buildship.ui.test.fixtures.WorkspaceSpecification
+
+class TestTypeResolverTest extends WorkspaceSpecification {
+
+    TestTypeResolver resolver = new TestTypeResolver()
+    IJavaProject javaProject
+    IPackageFragment pkg
+
+    void setup() {
+        JavaCore.addElementChangedListener(resolver, ElementChangedEvent.POST_CHANGE)
+        javaProject = newJavaProject('sample-project')
+        javaProject.setRawClasspath([JavaCore.newSourceEntry(javaProject.project.getFolder('src').fullPath)] as IClasspathEntry[], null)
+        pkg = javaProject.getPackageFragmentRoot(javaProject.project.getFolder('src')).createPackageFragment('pkg', true, null)
+        pkg.createCompilationUnit('FooTest.java', 'package pkg; public class FooTest { public static class Nested {} }', true, null)
+        pkg.createCompilationUnit('BarTest.java', 'package pkg; public class BarTest {}', true, null)
+    }
+
+    void cleanup() {
+        JavaCore.removeElementChangedListener(resolver)
+    }
+
+    def "Classes are resolved within the project"() {
+        expect:
+        resolve('pkg.FooTest', 'pkg.FooTest$Nested', 'pkg.Missing').keySet() == ['pkg.FooTest', 'pkg.FooTest$Nested'] as Set
+    }
+
+    def "A changed compilation unit only forgets its own classes"() {
+        setup:
+        resolve('pkg.FooTest', 'pkg.FooTest$Nested', 'pkg.BarTest', 'pkg.Missing')
+
+        when:
+        ICompilationUnit fooTest = pkg.getCompilationUnit('FooTest.java')
+        fooTest.buffer.append(' ')
+        fooTest.save(null, true)
+
+        then:
+        cachedClassNames() == ['pkg.BarTest', 'pkg.Missing'] as Set
+    }
+
+    def "An added class is found although it was looked up before"() {
+        setup:
+        assert resolve('pkg.Missing').isEmpty()
+
+        when:
+        pkg.createCompilationUnit('Missing.java', 'package pkg; public class Missing {}', true, null)
+
+        then:
+        resolve('pkg.Missing').keySet() == ['pkg.Missing'] as Set
+    }
+
+    def "A classpath change forgets all classes"() {
+        setup:
+        resolve('pkg.FooTest', 'pkg.Missing')
+
+        when:
+        javaProject.setRawClasspath([] as IClasspathEntry[], null)
+
+        then:
+        cachedClassNames().isEmpty()
+    }
+
+    private Map resolve(String... classNames) {
+        resolver.resolve(Optional.of(javaProject.project), classNames as List, new NullProgressMonitor())
+    }
+
+    private Set cachedClassNames() {
+        resolver.typesByScope.values()*.keySet().flatten() as Set
+    }
+
+}
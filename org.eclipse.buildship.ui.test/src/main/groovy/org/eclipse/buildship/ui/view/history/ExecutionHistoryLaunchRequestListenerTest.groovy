@@ -0,0 +1,89 @@
+package org.eclipse.buildship.ui.view.history
+
+import java.util.concurrent.TimeUnit
+
+import org.gradle.tooling.events.FinishEvent
+import org.gradle.tooling.events.OperationDescriptor
+import org.gradle.tooling.events.OperationResult
+import org.gradle.tooling.events.ProgressListener
+import org.gradle.tooling.events.test.JvmTestKind
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import com.gradleware.tooling.toolingclient.GradleDistribution
+import com.gradleware.tooling.toolingclient.Request
+
+import org.eclipse.buildship.core.console.ProcessDescription
+import org.eclipse.buildship.core.launch.ExecuteLaunchRequestEvent
+import org.eclipse.buildship.core.launch.GradleRunConfigurationAttributes
+
+class ExecutionHistoryLaunchRequestListenerTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    def "Coalesced launches served by the same request are recorded as a single execution"() {
+        setup:
+        ExecutionHistory history = new ExecutionHistory(new File(tempFolder.root, 'executions.bin'), TimeUnit.DAYS.toMillis(1), 10)
+        ExecutionHistoryLaunchRequestListener listener = new ExecutionHistoryLaunchRequestListener(history)
+        List<ProgressListener> buildListeners = []
+        Request request = Mock(Request) {
+            addTypedProgressListeners(_) >> { args -> buildListeners.addAll(args[0] as List) }
+        }
+        List<ProgressListener> firstLaunch = []
+        List<ProgressListener> secondLaunch = []
+        JvmTestOperationDescriptor first = test('FooTest', 'first')
+        JvmTestOperationDescriptor second = test('FooTest', 'second')
+        OperationDescriptor build = Mock(OperationDescriptor)
+
+        when:
+        listener.onEvent(launch(request, 'first launch', firstLaunch))
+        listener.onEvent(launch(request, 'second launch', secondLaunch))
+        finished(first, (buildListeners + firstLaunch + secondLaunch))
+        finished(second, (buildListeners + secondLaunch))
+        finished(build, (buildListeners + firstLaunch + secondLaunch))
+        List<ExecutionRecord> records = history.load()
+
+        then:
+        buildListeners.size() == 1
+        records.size() == 1
+        records[0].name == 'first launch'
+        records[0].operations*.name == ['FooTest.first', 'FooTest.second']
+    }
+
+    private ExecuteLaunchRequestEvent launch(Request request, String name, List<ProgressListener> launchListeners) {
+        GradleRunConfigurationAttributes attributes = GradleRunConfigurationAttributes.with(['test'], '/project', GradleDistribution.fromBuild(), null, [], [], false, false, false)
+        ProcessDescription processDescription = Stub(ProcessDescription) {
+            getName() >> name
+            getConfigurationAttributes() >> attributes
+        }
+        Stub(ExecuteLaunchRequestEvent) {
+            getRequest() >> request
+            getProcessDescription() >> processDescription
+            addProgressListener(_) >> { args -> launchListeners << args[0] }
+        }
+    }
+
+    private JvmTestOperationDescriptor test(String className, String methodName) {
+        Stub(JvmTestOperationDescriptor) {
+            getJvmTestKind() >> JvmTestKind.ATOMIC
+            getClassName() >> className
+            getMethodName() >> methodName
+        }
+    }
+
+    private void finished(OperationDescriptor descriptor, List<ProgressListener> listeners) {
+        OperationResult result = Stub(OperationResult) {
+            getStartTime() >> 0L
+            getEndTime() >> 10L
+        }
+        FinishEvent event = Stub(FinishEvent) {
+            getDescriptor() >> descriptor
+            getResult() >> result
+        }
+        listeners.each { it.statusChanged(event) }
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.eclipse.buildship.ui.view.history
+
+import java.util.concurrent.TimeUnit
+
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import org.eclipse.buildship.ui.view.history.OperationRecord.Kind
+import org.eclipse.buildship.ui.view.history.OperationRecord.Outcome
+
+class ExecutionHistoryTest extends Specification {
+
+    @Rule
+    TemporaryFolder tempFolder
+
+    def "Appended executions are loaded with all their details"() {
+        setup:
+        File file = new File(tempFolder.root, 'history/executions.bin')
+        ExecutionHistory history = new ExecutionHistory(file, TimeUnit.DAYS.toMillis(1), 10)
+        long now = System.currentTimeMillis()
+
+        when:
+        history.append(execution(now, 'build', new OperationRecord(Kind.TASK, ':compileJava', 1200, Outcome.SUCCESS), new OperationRecord(Kind.TEST, 'MyTest.test', 30, Outcome.FAILED)))
+        history.append(execution(now + 1, 'test'))
+        List<ExecutionRecord> records = history.load()
+
+        then:
+        records.size() == 2
+        records[0].timestamp == now
+        records[0].name == 'build'
+        records[0].workingDir == '/project'
+        records[0].tasks == ['build']
+        records[0].arguments == ['--info']
+        records[0].jvmArguments == ['-Xmx1g']
+        records[0].operations.collect { [it.kind, it.name, it.duration, it.outcome] } == [[Kind.TASK, ':compileJava', 1200, Outcome.SUCCESS], [Kind.TEST, 'MyTest.test', 30, Outcome.FAILED]]
+        records[1].name == 'test'
+        records[1].operations.empty
+    }
+
+    def "Listeners are notified about appended executions"() {
+        setup:
+        ExecutionHistory history = new ExecutionHistory(new File(tempFolder.root, 'executions.bin'), TimeUnit.DAYS.toMillis(1), 10)
+        ExecutionHistory.Listener listener = Mock(ExecutionHistory.Listener)
+        history.addListener(listener)
+        ExecutionRecord record = execution(System.currentTimeMillis(), 'build')
+
+        when:
+        history.append(record)
+
+        then:
+        1 * listener.executionRecorded(record)
+    }
+
+    def "Executions age out by age and by number"() {
+        setup:
+        File file = new File(tempFolder.root, 'executions.bin')
+        ExecutionHistory history = new ExecutionHistory(file, TimeUnit.DAYS.toMillis(1), 2)
+        long now = System.currentTimeMillis()
+
+        when:
+        history.append(execution(now - TimeUnit.DAYS.toMillis(2), 'old'))
+        history.append(execution(now, 'first'))
+        history.append(execution(now, 'second'))
+        history.append(execution(now, 'third'))
+
+        then:
+        history.load()*.name == ['second', 'third']
+        new ExecutionHistory(file, TimeUnit.DAYS.toMillis(1), 10).load()*.name == ['second', 'third']
+    }
+
+    def "A partially written execution is dropped"() {
+        setup:
+        File file = new File(tempFolder.root, 'executions.bin')
+        ExecutionHistory history = new ExecutionHistory(file, TimeUnit.DAYS.toMillis(1), 10)
+        history.append(execution(System.currentTimeMillis(), 'complete'))
+        history.flush()
+        file.append([0, 0, 1, 0, 42] as byte[])
+
+        when:
+        ExecutionHistory reopened = new ExecutionHistory(file, TimeUnit.DAYS.toMillis(1), 10)
+        reopened.append(execution(System.currentTimeMillis(), 'next'))
+
+        then:
+        reopened.load()*.name == ['complete', 'next']
+    }
+
+    private static ExecutionRecord execution(long timestamp, String name, OperationRecord... operations) {
+        new ExecutionRecord(timestamp, name, '/project', [name], ['--info'], ['-Xmx1g'], operations as List)
+    }
+
+}
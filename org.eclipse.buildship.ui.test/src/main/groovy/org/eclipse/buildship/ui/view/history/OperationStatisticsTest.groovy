@@ -0,0 +1,81 @@
+package org.eclipse.buildship.ui.view.history
+
+import spock.lang.Specification
+
+import org.eclipse.buildship.ui.view.history.OperationRecord.Kind
+import org.eclipse.buildship.ui.view.history.OperationRecord.Outcome
+
+class OperationStatisticsTest extends Specification {
+
+    def "Operations are aggregated across executions, the slowest first"() {
+        when:
+        List<OperationStatistics> statistics = OperationStatistics.from([
+            execution(task(':compileJava', 1000), task(':test', 5000)),
+            execution(task(':compileJava', 3000), task(':test', 4000, Outcome.FAILED))
+        ])
+
+        then:
+        statistics*.name == [':test', ':compileJava']
+        statistics[0].runs == 2
+        statistics[0].lastDuration == 4000
+        statistics[0].lastOutcome == Outcome.FAILED
+        statistics[0].trend == [5000L, 4000L]
+        statistics[1].lastDuration == 3000
+    }
+
+    def "Operations of different builds are not merged"() {
+        when:
+        List<OperationStatistics> statistics = OperationStatistics.from([
+            execution('/first', task(':test', 1000)),
+            execution('/second', task(':test', 5000)),
+            execution('/first', task(':test', 1200))
+        ])
+
+        then:
+        statistics.collect { [it.workingDir, it.name, it.runs, it.lastDuration] } == [['/second', ':test', 1, 5000L], ['/first', ':test', 2, 1200L]]
+        statistics[1].trend == [1000L, 1200L]
+    }
+
+    def "Up-to-date and skipped runs are ignored"() {
+        when:
+        List<OperationStatistics> statistics = OperationStatistics.from([
+            execution(task(':compileJava', 1000)),
+            execution(task(':compileJava', 5, Outcome.UP_TO_DATE), task(':javadoc', 0, Outcome.SKIPPED))
+        ])
+
+        then:
+        statistics*.name == [':compileJava']
+        statistics[0].runs == 1
+        statistics[0].lastDuration == 1000
+    }
+
+    def "The latest run is compared against the median of the previous runs"() {
+        when:
+        OperationStatistics statistics = OperationStatistics.from(durations.collect { execution(task(':test', it)) })[0]
+
+        then:
+        statistics.median == median
+        statistics.regression == regression
+
+        where:
+        durations                      | median | regression
+        [1000, 1000]                   | -1     | false
+        [1000, 900, 1100, 1000]        | 1000   | false
+        [1000, 900, 1100, 1300]        | 1000   | true
+        [10, 10, 10, 40]               | 10     | false
+        [1000, 2000, 1100, 1200, 1500] | 1150   | true
+    }
+
+    private static ExecutionRecord execution(OperationRecord... operations) {
+        execution('/project', operations)
+    }
+
+    private static ExecutionRecord execution(String workingDir, OperationRecord... operations) {
+        new ExecutionRecord(0, 'build', workingDir, [], [], [], operations as List)
+    }
+
+    private static OperationRecord task(String path, long duration, Outcome outcome = Outcome.SUCCESS) {
+        new OperationRecord(Kind.TASK, path, duration, outcome)
+    }
+
+}
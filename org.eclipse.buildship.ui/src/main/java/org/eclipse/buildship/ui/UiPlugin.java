@@ -12,6 +12,7 @@
 
 package org.eclipse.buildship.ui;
 
+import java.io.File;
 import java.util.Dictionary;
 import java.util.Hashtable;
 
@@ -21,12 +22,15 @@ import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
 
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jface.resource.ImageRegistry;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 
 import org.eclipse.buildship.core.CorePlugin;
 import org.eclipse.buildship.core.Logger;
 import org.eclipse.buildship.core.console.ProcessStreamsProvider;
+import org.eclipse.buildship.core.launch.ExecuteLaunchRequestEvent;
 import org.eclipse.buildship.core.launch.GradleLaunchConfigurationManager;
 import org.eclipse.buildship.core.notification.UserNotification;
 import org.eclipse.buildship.core.util.logging.EclipseLogger;
@@ -35,6 +39,9 @@ import org.eclipse.buildship.ui.launch.ConsoleShowingLaunchListener;
 import org.eclipse.buildship.ui.launch.UiGradleLaunchConfigurationManager;
 import org.eclipse.buildship.ui.notification.DialogUserNotification;
 import org.eclipse.buildship.ui.view.execution.ExecutionShowingLaunchRequestListener;
+import org.eclipse.buildship.ui.view.execution.TestTypeResolver;
+import org.eclipse.buildship.ui.view.history.ExecutionHistory;
+import org.eclipse.buildship.ui.view.history.ExecutionHistoryLaunchRequestListener;
 
 /**
  * The plug-in runtime class for the Gradle integration plug-in containing the UI-related elements.
@@ -58,6 +65,9 @@ public final class UiPlugin extends AbstractUIPlugin {
     private ServiceRegistration gradleLaunchConfigurationService;
     private ConsoleShowingLaunchListener consoleShowingLaunchListener;
     private ExecutionShowingLaunchRequestListener executionShowingLaunchRequestListener;
+    private ExecutionHistory executionHistory;
+    private ExecutionHistoryLaunchRequestListener executionHistoryLaunchRequestListener;
+    private TestTypeResolver testTypeResolver;
 
     @Override
     public void start(BundleContext context) throws Exception {
@@ -125,11 +135,22 @@ public final class UiPlugin extends AbstractUIPlugin {
         DebugPlugin.getDefault().getLaunchManager().addLaunchListener(this.consoleShowingLaunchListener);
 
         this.executionShowingLaunchRequestListener = new ExecutionShowingLaunchRequestListener();
-        CorePlugin.listenerRegistry().addEventListener(this.executionShowingLaunchRequestListener);
+        CorePlugin.listenerRegistry().addEventListener(this.executionShowingLaunchRequestListener, ExecuteLaunchRequestEvent.class);
+
+        File historyFile = getStateLocation().append("execution-history").append("executions.bin").toFile(); //$NON-NLS-1$ //$NON-NLS-2$
+        this.executionHistory = new ExecutionHistory(historyFile, ExecutionHistory.DEFAULT_MAX_AGE, ExecutionHistory.DEFAULT_MAX_EXECUTIONS);
+        this.executionHistoryLaunchRequestListener = new ExecutionHistoryLaunchRequestListener(this.executionHistory);
+        CorePlugin.listenerRegistry().addEventListener(this.executionHistoryLaunchRequestListener, ExecuteLaunchRequestEvent.class);
+
+        this.testTypeResolver = new TestTypeResolver();
+        JavaCore.addElementChangedListener(this.testTypeResolver, ElementChangedEvent.POST_CHANGE);
     }
 
     @SuppressWarnings({"cast", "RedundantCast"})
     private void unregisterListeners() {
+        JavaCore.removeElementChangedListener(this.testTypeResolver);
+        CorePlugin.listenerRegistry().removeEventListener(this.executionHistoryLaunchRequestListener);
+        this.executionHistory.close();
         CorePlugin.listenerRegistry().removeEventListener(this.executionShowingLaunchRequestListener);
         DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(this.consoleShowingLaunchListener);
     }
@@ -142,6 +163,14 @@ public final class UiPlugin extends AbstractUIPlugin {
         return getService(getInstance().loggerService.getReference());
     }
 
+    public static ExecutionHistory executionHistory() {
+        return getInstance().executionHistory;
+    }
+
+    public static TestTypeResolver testTypeResolver() {
+        return getInstance().testTypeResolver;
+    }
+
     private static <T> T getService(ServiceReference reference) {
         return (T) reference.getBundle().getBundleContext().getService(reference);
     }
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Collects the output written to the streams of a console and passes it on in a few large writes
+ * instead of many small ones, such that the UI thread does not have to process every single write
+ * of a chatty build.
+ * <p/>
+ * The output of all streams of a console is kept in a single buffer, such that the order of the
+ * output across the streams is preserved. Consecutive writes to the same stream are merged into
+ * one write. The buffer is passed on once it exceeds a given size or once a given time has passed
+ * since the first buffered write, whichever comes first. The timed flushes of all consoles are done
+ * by a single shared thread.
+ * <p/>
+ * The writer can be detached from its streams, for example while nobody looks at the console. In
+ * that case, nothing is passed on and only a rolling tail of the most recent output is kept, which
+ * is passed on once the writer is attached again.
+ */
+final class BatchingConsoleWriter {
+
+    private static final ScheduledThreadPoolExecutor FLUSH_EXECUTOR = createFlushExecutor();
+
+    private final int maxBufferedBytes;
+    private final long flushDelayMillis;
+    private final Object writeLock;
+    private final Runnable scheduledFlush;
+    private List<Segment> segments;
+    private int bufferedBytes;
+    private boolean flushScheduled;
+    private int maxDetachedBytes;
+    private boolean detached;
+
+    BatchingConsoleWriter(int maxBufferedBytes, long flushDelayMillis) {
+        Preconditions.checkArgument(maxBufferedBytes > 0);
+        Preconditions.checkArgument(flushDelayMillis > 0);
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.flushDelayMillis = flushDelayMillis;
+        this.writeLock = new Object();
+        this.segments = Lists.newArrayList();
+        this.scheduledFlush = new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    flush();
+                } catch (IOException e) {
+                    // the streams of a console only fail once the console was removed
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a stream whose output is batched by this writer and then written to the given stream.
+     * <p/>
+     * Flushing the returned stream does not pass on the buffered output immediately, since the
+     * output reaches the target within the flush delay anyway. Closing the returned stream passes
+     * on all buffered output and then closes the target.
+     *
+     * @param target the stream to eventually write the output to
+     * @return the batching stream
+     */
+    OutputStream stream(final OutputStream target) {
+        Preconditions.checkNotNull(target);
+        return new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                append(target, bytes, offset, length);
+            }
+
+            @Override
+            public void close() throws IOException {
+                BatchingConsoleWriter.this.flush();
+                target.close();
+            }
+        };
+    }
+
+    private void append(OutputStream target, byte[] bytes, int offset, int length) throws IOException {
+        boolean flushNow;
+        synchronized (this) {
+            Segment last = this.segments.isEmpty() ? null : this.segments.get(this.segments.size() - 1);
+            if (last == null || last.target != target) {
+                last = new Segment(target);
+                this.segments.add(last);
+            }
+            last.content.write(bytes, offset, length);
+            this.bufferedBytes += length;
+
+            if (this.detached) {
+                // trim in larger steps, such that not every write has to copy the tail
+                if (this.bufferedBytes > 2 * this.maxDetachedBytes) {
+                    trimToTail();
+                }
+                return;
+            }
+
+            flushNow = this.bufferedBytes >= this.maxBufferedBytes;
+            if (!flushNow && !this.flushScheduled) {
+                this.flushScheduled = true;
+                FLUSH_EXECUTOR.schedule(this.scheduledFlush, this.flushDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    /**
+     * Stops passing on output and keeps only the most recent output instead.
+     *
+     * @param maxTailBytes the number of bytes of the most recent output to keep
+     */
+    void detach(int maxTailBytes) {
+        Preconditions.checkArgument(maxTailBytes > 0);
+        // wait for a running flush to complete, such that nothing is passed on after this call
+        synchronized (this.writeLock) {
+            synchronized (this) {
+                this.maxDetachedBytes = maxTailBytes;
+                this.detached = true;
+                trimToTail();
+            }
+        }
+    }
+
+    /**
+     * Passes on the kept tail and all further output again.
+     *
+     * @throws IOException if a target stream cannot be written
+     */
+    void attach() throws IOException {
+        synchronized (this) {
+            if (!this.detached) {
+                return;
+            }
+            this.detached = false;
+        }
+        flush();
+    }
+
+    synchronized boolean isDetached() {
+        return this.detached;
+    }
+
+    private void trimToTail() {
+        int excess = this.bufferedBytes - this.maxDetachedBytes;
+        while (excess > 0 && !this.segments.isEmpty()) {
+            Segment first = this.segments.get(0);
+            int size = first.content.size();
+            if (size <= excess) {
+                this.segments.remove(0);
+                this.bufferedBytes -= size;
+                excess -= size;
+            } else {
+                byte[] content = first.content.toByteArray();
+                Segment trimmed = new Segment(first.target);
+                trimmed.content.write(content, excess, size - excess);
+                this.segments.set(0, trimmed);
+                this.bufferedBytes -= excess;
+                excess = 0;
+            }
+        }
+    }
+
+    /**
+     * Passes on all buffered output in the order in which it was written.
+     *
+     * @throws IOException if a target stream cannot be written
+     */
+    void flush() throws IOException {
+        // hold the write lock while writing, such that concurrent flushes cannot reorder the output
+        synchronized (this.writeLock) {
+            List<Segment> segments;
+            synchronized (this) {
+                if (this.detached) {
+                    this.flushScheduled = false;
+                    return;
+                }
+                segments = ImmutableList.copyOf(this.segments);
+                this.segments = Lists.newArrayList();
+                this.bufferedBytes = 0;
+                this.flushScheduled = false;
+            }
+
+            for (Segment segment : segments) {
+                segment.content.writeTo(segment.target);
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor createFlushExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat("Gradle console writer").setDaemon(true).build()); //$NON-NLS-1$
+        executor.setKeepAliveTime(10, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Consecutive output written to the same stream.
+     */
+    private static final class Segment {
+
+        private final OutputStream target;
+        private final ByteArrayOutputStream content;
+
+        private Segment(OutputStream target) {
+            this.target = target;
+            this.content = new ByteArrayOutputStream();
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import org.osgi.service.prefs.BackingStoreException;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+
+import org.eclipse.buildship.core.util.preference.EclipsePreferencesUtils;
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Determines how much output the {@link GradleConsole} instances keep in memory. Backed by the
+ * Eclipse Preferences API.
+ * <p/>
+ * If the output is limited, a console only keeps its most recent output in the document and
+ * records the complete output in a temporary file, from where it can be opened on demand.
+ */
+public final class ConsoleBufferSettings {
+
+    public static final int DEFAULT_BUFFER_SIZE = 80000;
+    public static final int MIN_BUFFER_SIZE = 1000;
+
+    private static final String PREF_LIMIT_OUTPUT = "console.limitOutput"; //$NON-NLS-1$
+    private static final String PREF_BUFFER_SIZE = "console.bufferSize"; //$NON-NLS-1$
+
+    private final boolean limitOutput;
+    private final int bufferSize;
+
+    public ConsoleBufferSettings(boolean limitOutput, int bufferSize) {
+        Preconditions.checkArgument(bufferSize >= MIN_BUFFER_SIZE, "Buffer size must be at least %s", MIN_BUFFER_SIZE);
+        this.limitOutput = limitOutput;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns whether the output kept in memory is limited.
+     *
+     * @return {@code true} if the output is limited
+     */
+    public boolean isLimitOutput() {
+        return this.limitOutput;
+    }
+
+    /**
+     * Returns the number of characters of the most recent output that are kept in memory if the
+     * output is limited.
+     *
+     * @return the buffer size in characters
+     */
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    public static ConsoleBufferSettings load() {
+        IEclipsePreferences prefs = EclipsePreferencesUtils.getInstanceScope().getNode(UiPlugin.PLUGIN_ID);
+        boolean limitOutput = prefs.getBoolean(PREF_LIMIT_OUTPUT, false);
+        int bufferSize = prefs.getInt(PREF_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+        return new ConsoleBufferSettings(limitOutput, Math.max(bufferSize, MIN_BUFFER_SIZE));
+    }
+
+    public void save() {
+        IEclipsePreferences prefs = EclipsePreferencesUtils.getInstanceScope().getNode(UiPlugin.PLUGIN_ID);
+        prefs.putBoolean(PREF_LIMIT_OUTPUT, this.limitOutput);
+        prefs.putInt(PREF_BUFFER_SIZE, this.bufferSize);
+
+        try {
+            prefs.flush();
+        } catch (BackingStoreException e) {
+            UiPlugin.logger().error("Unable to store console preferences.", e); //$NON-NLS-1$
+        }
+    }
+
+}
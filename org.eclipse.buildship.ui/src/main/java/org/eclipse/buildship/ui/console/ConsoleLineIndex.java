@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+/**
+ * Indexes the lines of a snapshot of a console document, such that the output can be searched
+ * without scanning the console document on the UI thread.
+ * <p/>
+ * The index is only built once the output is searched, see {@link #of(String)}, and is extended
+ * with the output appended to the console afterwards, see {@link #extend(int, String)}. It keeps the
+ * offsets of the lines within the snapshot and the lines matching a set of well-known patterns,
+ * such that for example all failures can be listed without searching. The text of the lines is
+ * read back from the snapshot, thus the offsets of the lines are the offsets within the document
+ * at the time the snapshot was taken.
+ * <p/>
+ * The snapshot is stored as a sequence of immutable chunks which are shared with the index it was
+ * extended from, such that extending an index only copies the appended text. A line never spans
+ * two chunks. To keep the number of chunks logarithmic in the length of the snapshot, the last
+ * chunk is merged with its predecessor as long as the predecessor is not longer.
+ */
+final class ConsoleLineIndex {
+
+    /**
+     * Well-known kinds of lines.
+     */
+    enum Category {
+
+        FAILURE(Pattern.compile("\\bFAILED\\b|^FAILURE: ")), //$NON-NLS-1$
+        COMPILER_ERROR(Pattern.compile("^.+\\.(java|groovy|scala|kt):\\d+: error: |^e: ")), //$NON-NLS-1$
+        TEST_FAILURE(Pattern.compile("^\\S.* > .+ FAILED$")); //$NON-NLS-1$
+
+        private final Pattern pattern;
+
+        Category(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        Matcher matcher(CharSequence text) {
+            return this.pattern.matcher(text);
+        }
+    }
+
+    private final Chunks chunks;
+    private final int[] lineOffsets;
+    private final int lineCount;
+    private final Map<Category, int[]> categories;
+
+    private ConsoleLineIndex(Chunks chunks, int[] lineOffsets, int lineCount, Map<Category, int[]> categories) {
+        this.chunks = chunks;
+        this.lineOffsets = lineOffsets;
+        this.lineCount = lineCount;
+        this.categories = categories;
+    }
+
+    /**
+     * Indexes the lines of the given snapshot of a console document. The lines are delimited by
+     * {@code \n}, the last line does not need to be terminated.
+     *
+     * @param text the snapshot to index
+     * @return the index
+     */
+    static ConsoleLineIndex of(String text) {
+        Preconditions.checkNotNull(text);
+        Builder builder = new Builder(Chunks.of(text));
+        builder.scan(0, text.length());
+        return builder.build();
+    }
+
+    /**
+     * Indexes a newer snapshot of the same console document, reusing the lines of this index.
+     * <p/>
+     * The console only trims its document from the start and appends to its end, thus the newer
+     * snapshot is described by the number of characters trimmed since this snapshot was taken and
+     * by the text appended since. Only the appended text, the last line of this snapshot which
+     * might not have been terminated, and a partially trimmed first line are scanned. The chunks
+     * of this snapshot are shared, only the appended text and the last line are copied.
+     *
+     * @param trimmedChars the number of characters trimmed from the start since this snapshot
+     * @param appended the text appended since this snapshot
+     * @return the index of the newer snapshot
+     */
+    ConsoleLineIndex extend(int trimmedChars, String appended) {
+        Preconditions.checkArgument(trimmedChars >= 0 && trimmedChars <= this.chunks.length, "Cannot trim %s characters", trimmedChars);
+        Preconditions.checkNotNull(appended);
+
+        // the lines which start after the trimmed text and are followed by another line are reused
+        int firstReused = 0;
+        while (firstReused < this.lineCount && this.lineOffsets[firstReused] < trimmedChars) {
+            firstReused++;
+        }
+        int endReused = Math.max(firstReused, this.lineCount - 1);
+        if (firstReused == endReused) {
+            // at most the partially trimmed line and the last line remain, thus copy them
+            String text = this.chunks.substring(trimmedChars, this.chunks.length) + appended;
+            Builder builder = new Builder(Chunks.of(text));
+            builder.scan(0, text.length());
+            return builder.build();
+        }
+
+        int tailOffset = this.lineOffsets[endReused];
+        Builder builder = new Builder(this.chunks.extend(trimmedChars, tailOffset, appended));
+        builder.scan(0, this.lineOffsets[firstReused] - trimmedChars);
+        int shift = builder.lineOffsets.size() - firstReused;
+        for (Category category : Category.values()) {
+            for (int number : this.categories.get(category)) {
+                if (number >= firstReused && number < endReused) {
+                    builder.categoryLines.get(category).add(number + shift);
+                }
+            }
+        }
+        for (int number = firstReused; number < endReused; number++) {
+            builder.lineOffsets.add(this.lineOffsets[number] - trimmedChars);
+        }
+        builder.scan(tailOffset - trimmedChars, builder.chunks.length);
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of indexed lines, including the line which is not yet terminated.
+     *
+     * @return the number of lines
+     */
+    int getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * Returns the indexed line with the given number.
+     *
+     * @param number the zero-based number of the line
+     * @return the line
+     */
+    Line getLine(int number) {
+        Preconditions.checkElementIndex(number, this.lineCount);
+        return new Line(number, this.lineOffsets[number], this.lineOffsets[number + 1] - this.lineOffsets[number]);
+    }
+
+    /**
+     * Returns the text of the given line, read from the snapshot.
+     *
+     * @param line the line of this index
+     * @return the text, including the line delimiter
+     */
+    String getText(Line line) {
+        return this.chunks.substring(line.getOffset(), line.getOffset() + line.getLength());
+    }
+
+    /**
+     * Returns the indexed lines of the given category.
+     *
+     * @param category the category
+     * @return the lines in the order in which they were written
+     */
+    List<Line> getLines(Category category) {
+        ImmutableList.Builder<Line> lines = ImmutableList.builder();
+        for (int number : this.categories.get(category)) {
+            lines.add(getLine(number));
+        }
+        return lines.build();
+    }
+
+    /**
+     * Finds the lines containing the given text, optionally restricted to the lines of the given
+     * category. The text of the lines is not copied from the snapshot.
+     *
+     * @param category the category to search or {@link Optional#absent()} to search all lines
+     * @param text the text to find
+     * @param regex whether the text is a regular expression
+     * @param caseSensitive whether the case must match
+     * @return the matching lines
+     */
+    List<Line> find(Optional<Category> category, String text, boolean regex, boolean caseSensitive) {
+        Preconditions.checkNotNull(category);
+        Preconditions.checkNotNull(text);
+
+        Pattern pattern = null;
+        if (regex || !caseSensitive) {
+            int flags = caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+            pattern = regex ? Pattern.compile(text, flags) : Pattern.compile(Pattern.quote(text), flags);
+        }
+
+        ImmutableList.Builder<Line> matches = ImmutableList.builder();
+        int[] numbers = category.isPresent() ? this.categories.get(category.get()) : null;
+        int count = numbers != null ? numbers.length : this.lineCount;
+        ChunkSearch search = new ChunkSearch(text, pattern);
+        for (int i = 0; i < count; i++) {
+            int number = numbers != null ? numbers[i] : i;
+            if (text.isEmpty() || search.matches(this.lineOffsets[number], this.lineOffsets[number + 1])) {
+                matches.add(getLine(number));
+            }
+        }
+        return matches.build();
+    }
+
+    /**
+     * Searches the lines of the snapshot in ascending order, chunk by chunk.
+     * <p/>
+     * A literal text is searched with {@link String#indexOf(String, int)} within the current chunk.
+     * The found occurrence is kept for the following lines, such that the chunk is scanned only
+     * once no matter how many lines are searched.
+     */
+    private final class ChunkSearch {
+
+        private final String text;
+        private final Pattern pattern;
+        private int chunk = -1;
+        private Matcher matcher;
+        private int nextOccurrence;
+
+        private ChunkSearch(String text, Pattern pattern) {
+            this.text = text;
+            this.pattern = pattern;
+        }
+
+        private boolean matches(int start, int end) {
+            Chunks chunks = ConsoleLineIndex.this.chunks;
+            int chunk = chunks.indexOf(start, Math.max(this.chunk, 0));
+            if (chunk != this.chunk) {
+                this.chunk = chunk;
+                this.matcher = this.pattern != null ? this.pattern.matcher(chunks.texts[chunk]) : null;
+                this.nextOccurrence = -1;
+            }
+
+            int base = chunks.offsets[chunk];
+            if (this.matcher != null) {
+                return this.matcher.region(start - base, end - base).find();
+            }
+            if (this.nextOccurrence < start - base) {
+                int occurrence = chunks.texts[chunk].indexOf(this.text, start - base);
+                this.nextOccurrence = occurrence >= 0 ? occurrence : chunks.texts[chunk].length();
+            }
+            return this.nextOccurrence + this.text.length() <= end - base;
+        }
+    }
+
+    /**
+     * A line of output.
+     */
+    static final class Line {
+
+        private final int number;
+        private final int offset;
+        private final int length;
+
+        private Line(int number, int offset, int length) {
+            this.number = number;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * Returns the zero-based number of the line within the snapshot.
+         *
+         * @return the line number
+         */
+        int getNumber() {
+            return this.number;
+        }
+
+        /**
+         * Returns the offset of the first character of the line within the snapshot.
+         *
+         * @return the offset
+         */
+        int getOffset() {
+            return this.offset;
+        }
+
+        /**
+         * Returns the number of characters of the line, including the line delimiter.
+         *
+         * @return the length
+         */
+        int getLength() {
+            return this.length;
+        }
+    }
+
+    /**
+     * The immutable chunks of a snapshot. The valid range of a chunk within the snapshot starts at
+     * its offset and ends at the offset of the next chunk, or at the end of the snapshot for the
+     * last chunk. The offset of the first chunk is negative if its start was trimmed, and the text
+     * of a chunk can extend beyond its valid range if its last line was copied into a newer chunk.
+     */
+    private static final class Chunks {
+
+        private final String[] texts;
+        private final int[] offsets;
+        private final int length;
+
+        private Chunks(String[] texts, int[] offsets, int length) {
+            this.texts = texts;
+            this.offsets = offsets;
+            this.length = length;
+        }
+
+        private static Chunks of(String text) {
+            return new Chunks(new String[] { text }, new int[] { 0 }, text.length());
+        }
+
+        /**
+         * Returns the chunks of a newer snapshot, sharing the chunks of this snapshot up to the
+         * given tail offset. The text from the tail offset on is copied into a new chunk together
+         * with the appended text.
+         */
+        private Chunks extend(int trimmedChars, int tailOffset, String appended) {
+            List<String> texts = Lists.newArrayList();
+            IntList offsets = new IntList();
+            for (int chunk = indexOf(trimmedChars, 0); chunk < this.offsets.length && this.offsets[chunk] < tailOffset; chunk++) {
+                texts.add(this.texts[chunk]);
+                offsets.add(this.offsets[chunk] - trimmedChars);
+            }
+            texts.add(substring(tailOffset, this.length) + appended);
+            offsets.add(tailOffset - trimmedChars);
+            int length = this.length - trimmedChars + appended.length();
+
+            while (texts.size() > 1) {
+                int last = texts.size() - 1;
+                int lastStart = offsets.get(last);
+                int previousStart = Math.max(offsets.get(last - 1), 0);
+                if (lastStart - previousStart > length - lastStart) {
+                    break;
+                }
+                String previousText = texts.get(last - 1);
+                int previousBase = offsets.get(last - 1);
+                texts.set(last - 1, previousText.substring(previousStart - previousBase, lastStart - previousBase) + texts.remove(last));
+                offsets.set(last - 1, previousStart);
+                offsets.removeLast();
+            }
+            return new Chunks(texts.toArray(new String[texts.size()]), offsets.toArray(), length);
+        }
+
+        /**
+         * Returns the index of the chunk containing the given offset of the snapshot.
+         */
+        private int indexOf(int offset, int fromChunk) {
+            int chunk = fromChunk;
+            while (chunk + 1 < this.offsets.length && this.offsets[chunk + 1] <= offset) {
+                chunk++;
+            }
+            return chunk;
+        }
+
+        private String substring(int start, int end) {
+            StringBuilder text = new StringBuilder(end - start);
+            for (int chunk = indexOf(start, 0); chunk < this.texts.length && this.offsets[chunk] < end; chunk++) {
+                int chunkEnd = chunk + 1 < this.offsets.length ? this.offsets[chunk + 1] : this.length;
+                int base = this.offsets[chunk];
+                text.append(this.texts[chunk], Math.max(start, base) - base, Math.min(end, chunkEnd) - base);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Collects the lines and the categorized lines of a snapshot in the order of the lines.
+     */
+    private static final class Builder {
+
+        private final Chunks chunks;
+        private final IntList lineOffsets;
+        private final Map<Category, IntList> categoryLines;
+
+        private Builder(Chunks chunks) {
+            this.chunks = chunks;
+            this.lineOffsets = new IntList();
+            this.categoryLines = new EnumMap<Category, IntList>(Category.class);
+            for (Category category : Category.values()) {
+                this.categoryLines.put(category, new IntList());
+            }
+        }
+
+        /**
+         * Scans the lines of the given range, which must lie within a single chunk.
+         */
+        private void scan(int start, int end) {
+            if (start >= end) {
+                return;
+            }
+            int chunk = this.chunks.indexOf(start, 0);
+            String text = this.chunks.texts[chunk];
+            int base = this.chunks.offsets[chunk];
+            Map<Category, Matcher> matchers = new EnumMap<Category, Matcher>(Category.class);
+            for (Category category : Category.values()) {
+                matchers.put(category, category.matcher(text));
+            }
+
+            int lineStart = start - base;
+            int lineLimit = end - base;
+            while (lineStart < lineLimit) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                lineEnd = lineEnd < 0 || lineEnd >= lineLimit ? lineLimit : lineEnd + 1;
+                for (Category category : Category.values()) {
+                    if (matchers.get(category).region(lineStart, lineEnd).find()) {
+                        this.categoryLines.get(category).add(this.lineOffsets.size());
+                    }
+                }
+                this.lineOffsets.add(lineStart + base);
+                lineStart = lineEnd;
+            }
+        }
+
+        private ConsoleLineIndex build() {
+            // the offset of the end of the last line terminates the offsets of the lines
+            int lineCount = this.lineOffsets.size();
+            this.lineOffsets.add(this.chunks.length);
+            Map<Category, int[]> categories = new EnumMap<Category, int[]>(Category.class);
+            for (Map.Entry<Category, IntList> entry : this.categoryLines.entrySet()) {
+                categories.put(entry.getKey(), entry.getValue().toArray());
+            }
+            return new ConsoleLineIndex(this.chunks, this.lineOffsets.toArray(), lineCount, categories);
+        }
+    }
+
+    /**
+     * A growable list of primitive {@code int} values.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        int get(int index) {
+            return this.values[index];
+        }
+
+        void set(int index, int value) {
+            this.values[index] = value;
+        }
+
+        void removeLast() {
+            this.size--;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(this.values, this.size);
+        }
+    }
+
+}
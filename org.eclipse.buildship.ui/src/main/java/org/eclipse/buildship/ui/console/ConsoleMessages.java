@@ -20,10 +20,36 @@ public final class ConsoleMessages extends NLS {
 
     private static final String BUNDLE_NAME = "org.eclipse.buildship.ui.console.ConsoleMessages"; //$NON-NLS-1$
 
-    public static String Background_Console_Title;
+    public static String Background_Console_Build_Title;
 
     public static String Action_RemoveTerminatedConsole_Tooltip;
     public static String Action_RemoveAllTerminatedConsoles_Tooltip;
+    public static String Action_ShowTrimmedOutput_Tooltip;
+    public static String Action_SearchConsole_Tooltip;
+
+    public static String Dialog_SearchConsole_Title;
+    public static String Dialog_SearchConsole_Text_Message;
+    public static String Dialog_SearchConsole_Regex_Label;
+    public static String Dialog_SearchConsole_CaseSensitive_Label;
+    public static String Dialog_SearchConsole_Category_Label;
+    public static String Dialog_SearchConsole_Category_AllLines;
+    public static String Dialog_SearchConsole_Category_Failures;
+    public static String Dialog_SearchConsole_Category_CompilerErrors;
+    public static String Dialog_SearchConsole_Category_TestFailures;
+    public static String Dialog_SearchConsole_Matches;
+    public static String Dialog_SearchConsole_InvalidRegex;
+    public static String Dialog_SearchConsole_LineTrimmed;
+    public static String Job_SearchConsole_Name;
+
+    public static String Dialog_TrimmedOutput_Title;
+    public static String Dialog_TrimmedOutput_Previous;
+    public static String Dialog_TrimmedOutput_Next;
+    public static String Dialog_TrimmedOutput_Range;
+    public static String Dialog_TrimmedOutput_Nothing;
+
+    public static String Preference_Label_Console;
+    public static String Preference_Label_LimitConsoleOutput;
+    public static String Preference_Label_ConsoleBufferSize;
 
     static {
         // initialize resource bundle
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+/**
+ * Limits the rate at which output is written to the streams of a console.
+ * <p/>
+ * Each second, the streams of a console may write up to a given number of bytes in total. Writes
+ * exceeding that budget are dropped. Once output is accepted again, a single line summarizing the
+ * amount of dropped output is written before it.
+ */
+final class ConsoleOutputThrottle {
+
+    private static final long WINDOW_NANOS = 1000L * 1000L * 1000L;
+
+    private final int maxBytesPerSecond;
+    private final Ticker ticker;
+    private long windowStart;
+    private int writtenInWindow;
+    private long droppedBytes;
+
+    ConsoleOutputThrottle(int maxBytesPerSecond) {
+        this(maxBytesPerSecond, Ticker.systemTicker());
+    }
+
+    ConsoleOutputThrottle(int maxBytesPerSecond, Ticker ticker) {
+        Preconditions.checkArgument(maxBytesPerSecond > 0);
+        this.maxBytesPerSecond = maxBytesPerSecond;
+        this.ticker = Preconditions.checkNotNull(ticker);
+        this.windowStart = ticker.read();
+    }
+
+    /**
+     * Returns a stream which writes to the given stream as long as the rate limit is not exceeded.
+     *
+     * @param target the stream to write to
+     * @return the rate limited stream
+     */
+    OutputStream stream(final OutputStream target) {
+        Preconditions.checkNotNull(target);
+        return new OutputStream() {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                synchronized (ConsoleOutputThrottle.this) {
+                    if (!acquire(length)) {
+                        return;
+                    }
+                    writeSummary(target);
+                    target.write(bytes, offset, length);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                target.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                target.close();
+            }
+        };
+    }
+
+    private boolean acquire(int length) {
+        long now = this.ticker.read();
+        if (now - this.windowStart >= WINDOW_NANOS) {
+            this.windowStart = now;
+            this.writtenInWindow = 0;
+        }
+
+        if (this.writtenInWindow + length > this.maxBytesPerSecond) {
+            this.droppedBytes += length;
+            return false;
+        }
+        this.writtenInWindow += length;
+        return true;
+    }
+
+    private void writeSummary(OutputStream target) throws IOException {
+        if (this.droppedBytes > 0) {
+            String summary = String.format("[%d bytes of output omitted]%n", this.droppedBytes); //$NON-NLS-1$
+            target.write(summary.getBytes(Charsets.UTF_8));
+            this.droppedBytes = 0;
+        }
+    }
+
+    synchronized long getDroppedBytes() {
+        return this.droppedBytes;
+    }
+
+}
@@ -11,10 +11,25 @@
 
 package org.eclipse.buildship.ui.console;
 
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
 import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
 
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.console.IConsole;
+import org.eclipse.ui.console.IConsoleListener;
 
 import org.eclipse.buildship.core.console.ProcessDescription;
 import org.eclipse.buildship.core.console.ProcessStreams;
@@ -23,18 +38,99 @@ import org.eclipse.buildship.core.console.ProcessStreamsProvider;
 /**
  * Provider of {@link ProcessStreams} instances that are backed by console pages of the Eclipse
  * Console view.
+ * <p/>
+ * Each build gets its own console for the output of its background jobs. The console is reused for
+ * all background work of the build and kept after the work is done, such that the user can still
+ * look at the output, e.g. of a failed synchronization. At most {@link #MAX_BACKGROUND_CONSOLES}
+ * of these consoles are kept, the least recently used consoles of builds without running
+ * background jobs are removed first.
  */
 public final class ConsoleProcessStreamsProvider implements ProcessStreamsProvider {
 
+    private static final int MAX_BACKGROUND_CONSOLES = 10;
+
+    // iterates over the consoles from the least to the most recently used one
+    private final Map<File, GradleConsole> backgroundJobConsoles = new LinkedHashMap<File, GradleConsole>(16, 0.75f, true);
+    private final SetMultimap<Job, File> backgroundJobs = HashMultimap.create();
+    private final BackgroundJobListener backgroundJobListener = new BackgroundJobListener();
+    private boolean consoleListenerRegistered;
+
     /**
-     * Returns the same instance for each invocation.
+     * Returns the same instance for each invocation with the same build.
      *
-     * @return the instance suitable for background jobs
+     * @param projectDir the root project directory of the build
+     * @return the instance suitable for background jobs of the build
      */
     @Override
-    public synchronized ProcessStreams getBackgroundJobProcessStreams() {
-        // static inner class will be loaded lazily upon first access
-        return BackgroundJobProcessStream.INSTANCE;
+    public ProcessStreams getBackgroundJobProcessStreams(File projectDir) {
+        Preconditions.checkNotNull(projectDir);
+        GradleConsole console;
+        List<GradleConsole> releasedConsoles = Lists.newArrayList();
+        synchronized (this) {
+            console = this.backgroundJobConsoles.get(projectDir);
+            if (console == null) {
+                registerConsoleListener();
+                console = createAndRegisterNewConsole(NLS.bind(ConsoleMessages.Background_Console_Build_Title, projectDir.getName()));
+                this.backgroundJobConsoles.put(projectDir, console);
+                releasedConsoles.addAll(removeExcessConsoles(projectDir));
+            }
+
+            // remember the running background work of the build, such that its console is kept
+            Job job = Job.getJobManager().currentJob();
+            if (job != null && this.backgroundJobs.put(job, projectDir)) {
+                job.addJobChangeListener(this.backgroundJobListener);
+            }
+        }
+
+        // releasing a console removes it, which notifies the console listener of this provider
+        for (GradleConsole releasedConsole : releasedConsoles) {
+            releasedConsole.release();
+        }
+        return console;
+    }
+
+    private List<GradleConsole> removeExcessConsoles(File requestedProjectDir) {
+        List<GradleConsole> removedConsoles = Lists.newArrayList();
+        Iterator<Entry<File, GradleConsole>> iterator = this.backgroundJobConsoles.entrySet().iterator();
+        while (this.backgroundJobConsoles.size() > MAX_BACKGROUND_CONSOLES && iterator.hasNext()) {
+            Entry<File, GradleConsole> entry = iterator.next();
+            if (!entry.getKey().equals(requestedProjectDir) && !this.backgroundJobs.containsValue(entry.getKey())) {
+                iterator.remove();
+                removedConsoles.add(entry.getValue());
+            }
+        }
+        return removedConsoles;
+    }
+
+    private void backgroundJobDone(Job job) {
+        job.removeJobChangeListener(this.backgroundJobListener);
+        synchronized (this) {
+            this.backgroundJobs.removeAll(job);
+        }
+    }
+
+    private void registerConsoleListener() {
+        // forget the consoles removed by the user
+        if (!this.consoleListenerRegistered) {
+            ConsolePlugin.getDefault().getConsoleManager().addConsoleListener(new IConsoleListener() {
+
+                @Override
+                public void consolesAdded(IConsole[] consoles) {
+                }
+
+                @Override
+                public void consolesRemoved(IConsole[] consoles) {
+                    removeBackgroundJobConsoles(consoles);
+                }
+            });
+            this.consoleListenerRegistered = true;
+        }
+    }
+
+    private synchronized void removeBackgroundJobConsoles(IConsole[] consoles) {
+        for (IConsole console : consoles) {
+            this.backgroundJobConsoles.values().remove(console);
+        }
     }
 
     /**
@@ -64,12 +160,14 @@ public final class ConsoleProcessStreamsProvider implements ProcessStreamsProvid
     }
 
     /**
-     * Holds a {@code GradleConsole} instance. The instance held by this inner class is not created until first accessed.
+     * Forgets the background jobs which are done.
      */
-    private static final class BackgroundJobProcessStream {
-
-        private static final GradleConsole INSTANCE = createAndRegisterNewConsole(ConsoleMessages.Background_Console_Title);
+    private final class BackgroundJobListener extends JobChangeAdapter {
 
+        @Override
+        public void done(IJobChangeEvent event) {
+            backgroundJobDone(event.getJob());
+        }
     }
 
 }
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.ModifyEvent;
+import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Combo;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Text;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.TextConsoleViewer;
+
+/**
+ * Dialog listing the lines of a {@link GradleConsole} which match a literal text or a regular
+ * expression, optionally restricted to one of the well-known {@link ConsoleLineIndex.Category}
+ * kinds of lines. Selecting a line reveals it in the console.
+ * <p/>
+ * The search runs in a background job on a {@link ConsoleLineIndex} of a snapshot of the console
+ * document. The snapshot is only taken again once the document changed. The console only appends
+ * to the end of its document and trims it from the start, thus the lines of a snapshot are found
+ * in the document by tracking the number of characters trimmed since the snapshot was taken.
+ * Likewise, a newer snapshot only copies the text appended to the document since the previous
+ * snapshot, and its index is extended from the index of the previous snapshot.
+ */
+final class ConsoleSearchDialog extends Dialog {
+
+    private static final long SEARCH_DELAY_MILLIS = 200;
+    private static final CharMatcher LINE_DELIMITERS = CharMatcher.anyOf("\r\n"); //$NON-NLS-1$
+
+    private final GradleConsole gradleConsole;
+    private final TextConsoleViewer viewer;
+    private final IDocumentListener documentListener;
+
+    private Text searchText;
+    private Button regexButton;
+    private Button caseSensitiveButton;
+    private Combo categoryCombo;
+    private Table matchesTable;
+    private Label statusLabel;
+
+    private List<ConsoleLineIndex.Line> matches;
+    private Snapshot matchesSnapshot;
+    private SearchJob searchJob;
+
+    // only accessed from the UI thread
+    private IDocument document;
+    private Snapshot snapshot;
+    private int documentChanges;
+    private int documentRewrites;
+    private int trimmedChars;
+
+    ConsoleSearchDialog(Shell parent, GradleConsole gradleConsole, TextConsoleViewer viewer) {
+        super(parent);
+        this.gradleConsole = Preconditions.checkNotNull(gradleConsole);
+        this.viewer = Preconditions.checkNotNull(viewer);
+        this.matches = ImmutableList.of();
+        this.documentListener = new TrimmingListener();
+        setShellStyle(SWT.DIALOG_TRIM | SWT.RESIZE | SWT.MODELESS);
+        setBlockOnOpen(false);
+    }
+
+    @Override
+    protected void configureShell(Shell shell) {
+        super.configureShell(shell);
+        shell.setText(NLS.bind(ConsoleMessages.Dialog_SearchConsole_Title, this.gradleConsole.getName()));
+    }
+
+    @Override
+    protected Control createDialogArea(Composite parent) {
+        Composite container = (Composite) super.createDialogArea(parent);
+        GridData containerGridData = new GridData(SWT.FILL, SWT.FILL, true, true);
+        containerGridData.widthHint = convertHorizontalDLUsToPixels(IDialogConstants.MINIMUM_MESSAGE_AREA_WIDTH);
+        container.setLayoutData(containerGridData);
+        container.setLayout(new GridLayout(4, false));
+
+        this.searchText = new Text(container, SWT.BORDER | SWT.SEARCH);
+        this.searchText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 4, 1));
+        this.searchText.setMessage(ConsoleMessages.Dialog_SearchConsole_Text_Message);
+
+        this.regexButton = new Button(container, SWT.CHECK);
+        this.regexButton.setText(ConsoleMessages.Dialog_SearchConsole_Regex_Label);
+
+        this.caseSensitiveButton = new Button(container, SWT.CHECK);
+        this.caseSensitiveButton.setText(ConsoleMessages.Dialog_SearchConsole_CaseSensitive_Label);
+
+        Label categoryLabel = new Label(container, SWT.NONE);
+        categoryLabel.setLayoutData(new GridData(SWT.RIGHT, SWT.CENTER, true, false));
+        categoryLabel.setText(ConsoleMessages.Dialog_SearchConsole_Category_Label);
+
+        this.categoryCombo = new Combo(container, SWT.READ_ONLY);
+        this.categoryCombo.setItems(new String[] {
+                ConsoleMessages.Dialog_SearchConsole_Category_AllLines,
+                ConsoleMessages.Dialog_SearchConsole_Category_Failures,
+                ConsoleMessages.Dialog_SearchConsole_Category_CompilerErrors,
+                ConsoleMessages.Dialog_SearchConsole_Category_TestFailures });
+        this.categoryCombo.select(0);
+
+        this.matchesTable = new Table(container, SWT.BORDER | SWT.SINGLE | SWT.FULL_SELECTION | SWT.VIRTUAL | SWT.H_SCROLL | SWT.V_SCROLL);
+        GridData matchesTableGridData = new GridData(SWT.FILL, SWT.FILL, true, true, 4, 1);
+        matchesTableGridData.heightHint = 300;
+        this.matchesTable.setLayoutData(matchesTableGridData);
+
+        this.statusLabel = new Label(container, SWT.NONE);
+        this.statusLabel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 4, 1));
+
+        this.document = this.viewer.getDocument();
+        this.document.addDocumentListener(this.documentListener);
+
+        initEventListeners();
+        search(0);
+
+        return container;
+    }
+
+    private void initEventListeners() {
+        this.searchText.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(ModifyEvent e) {
+                search(SEARCH_DELAY_MILLIS);
+            }
+        });
+
+        SelectionAdapter searchOnSelection = new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                search(0);
+            }
+        };
+        this.regexButton.addSelectionListener(searchOnSelection);
+        this.caseSensitiveButton.addSelectionListener(searchOnSelection);
+        this.categoryCombo.addSelectionListener(searchOnSelection);
+
+        // the table is virtual, the items are only populated once they become visible
+        this.matchesTable.addListener(SWT.SetData, new Listener() {
+
+            @Override
+            public void handleEvent(Event event) {
+                TableItem item = (TableItem) event.item;
+                int index = event.index;
+                if (index < ConsoleSearchDialog.this.matches.size()) {
+                    ConsoleLineIndex.Line line = ConsoleSearchDialog.this.matches.get(index);
+                    String text = ConsoleSearchDialog.this.matchesSnapshot.getIndex().getText(line);
+                    item.setText(String.format("%d: %s", line.getNumber() + 1, LINE_DELIMITERS.trimTrailingFrom(text))); //$NON-NLS-1$
+                }
+            }
+        });
+
+        this.matchesTable.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                int index = ConsoleSearchDialog.this.matchesTable.getSelectionIndex();
+                if (index >= 0 && index < ConsoleSearchDialog.this.matches.size()) {
+                    reveal(ConsoleSearchDialog.this.matches.get(index));
+                }
+            }
+        });
+    }
+
+    private void search(long delay) {
+        if (this.searchJob != null) {
+            this.searchJob.cancel();
+        }
+
+        int categoryIndex = this.categoryCombo.getSelectionIndex();
+        Optional<ConsoleLineIndex.Category> category = categoryIndex > 0 ? Optional.of(ConsoleLineIndex.Category.values()[categoryIndex - 1]) : Optional.<ConsoleLineIndex.Category>absent();
+        this.searchJob = new SearchJob(this.searchText.getText(), this.regexButton.getSelection(), this.caseSensitiveButton.getSelection(), category);
+        this.searchJob.schedule(delay);
+    }
+
+    private Snapshot takeSnapshot() {
+        // reuse the snapshot and its index as long as the document did not change
+        if (this.document == null || (this.snapshot != null && this.snapshot.documentChanges == this.documentChanges)) {
+            return this.snapshot;
+        }
+
+        // only copy the text appended since the previous snapshot, unless the document was rewritten
+        Snapshot previous = this.snapshot;
+        if (previous != null && previous.documentRewrites == this.documentRewrites) {
+            int trimmedSincePrevious = this.trimmedChars - previous.trimmedChars;
+            int appendedOffset = previous.documentLength - trimmedSincePrevious;
+            if (appendedOffset >= 0 && appendedOffset <= this.document.getLength()) {
+                try {
+                    String appended = this.document.get(appendedOffset, this.document.getLength() - appendedOffset);
+                    this.snapshot = new Snapshot(previous, trimmedSincePrevious, appended, this.document.getLength(), this.documentChanges, this.documentRewrites, this.trimmedChars);
+                    return this.snapshot;
+                } catch (BadLocationException e) {
+                    // fall back to a complete copy of the document
+                }
+            }
+        }
+        this.snapshot = new Snapshot(this.document.get(), this.documentChanges, this.documentRewrites, this.trimmedChars);
+        return this.snapshot;
+    }
+
+    private void showMatches(final SearchJob job, final Snapshot snapshot, final List<ConsoleLineIndex.Line> matches, final String status) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                // ignore the results of searches which were superseded in the meantime
+                if (ConsoleSearchDialog.this.matchesTable.isDisposed() || job != ConsoleSearchDialog.this.searchJob) {
+                    return;
+                }
+                ConsoleSearchDialog.this.matches = matches;
+                ConsoleSearchDialog.this.matchesSnapshot = snapshot;
+                ConsoleSearchDialog.this.matchesTable.clearAll();
+                ConsoleSearchDialog.this.matchesTable.setItemCount(matches.size());
+                ConsoleSearchDialog.this.statusLabel.setText(status);
+            }
+        });
+    }
+
+    private void reveal(ConsoleLineIndex.Line line) {
+        // the line moved towards the start of the document by the number of characters trimmed since the snapshot
+        int offset = line.getOffset() - (this.trimmedChars - this.matchesSnapshot.trimmedChars);
+        int length = Math.min(LINE_DELIMITERS.trimTrailingFrom(this.matchesSnapshot.getIndex().getText(line)).length(), this.document.getLength() - offset);
+        if (offset >= 0 && length >= 0) {
+            this.viewer.setSelectedRange(offset, length);
+            this.viewer.revealRange(offset, length);
+            this.statusLabel.setText(""); //$NON-NLS-1$
+        } else {
+            this.statusLabel.setText(ConsoleMessages.Dialog_SearchConsole_LineTrimmed);
+        }
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, IDialogConstants.OK_ID, IDialogConstants.CLOSE_LABEL, false);
+    }
+
+    @Override
+    public boolean close() {
+        if (this.searchJob != null) {
+            this.searchJob.cancel();
+            this.searchJob = null;
+        }
+        if (this.document != null) {
+            this.document.removeDocumentListener(this.documentListener);
+            this.document = null;
+        }
+        this.snapshot = null;
+        return super.close();
+    }
+
+    /**
+     * Counts the changes of the console document and the number of characters trimmed from its
+     * start. Changes which neither trim the start of the document nor append to its end are
+     * counted as rewrites.
+     */
+    private final class TrimmingListener implements IDocumentListener {
+
+        @Override
+        public void documentAboutToBeChanged(DocumentEvent event) {
+        }
+
+        @Override
+        public void documentChanged(DocumentEvent event) {
+            ConsoleSearchDialog.this.documentChanges++;
+            int insertedChars = event.getText() != null ? event.getText().length() : 0;
+            if (event.getOffset() == 0 && event.getLength() > 0) {
+                ConsoleSearchDialog.this.trimmedChars += event.getLength() - insertedChars;
+                if (insertedChars > 0) {
+                    ConsoleSearchDialog.this.documentRewrites++;
+                }
+            } else if (event.getLength() > 0 || event.getOffset() + insertedChars != event.getDocument().getLength()) {
+                ConsoleSearchDialog.this.documentRewrites++;
+            }
+        }
+    }
+
+    /**
+     * A snapshot of the console document whose index is built on first access, either from the
+     * complete text or by extending the index of the previous snapshot with the appended text.
+     */
+    private static final class Snapshot {
+
+        private final int documentLength;
+        private final int documentChanges;
+        private final int documentRewrites;
+        private final int trimmedChars;
+        private String text;
+        private Snapshot previous;
+        private int trimmedSincePrevious;
+        private String appended;
+        private ConsoleLineIndex index;
+
+        private Snapshot(String text, int documentChanges, int documentRewrites, int trimmedChars) {
+            this.text = text;
+            this.documentLength = text.length();
+            this.documentChanges = documentChanges;
+            this.documentRewrites = documentRewrites;
+            this.trimmedChars = trimmedChars;
+        }
+
+        private Snapshot(Snapshot previous, int trimmedSincePrevious, String appended, int documentLength, int documentChanges, int documentRewrites, int trimmedChars) {
+            this.previous = previous;
+            this.trimmedSincePrevious = trimmedSincePrevious;
+            this.appended = appended;
+            this.documentLength = documentLength;
+            this.documentChanges = documentChanges;
+            this.documentRewrites = documentRewrites;
+            this.trimmedChars = trimmedChars;
+        }
+
+        synchronized ConsoleLineIndex getIndex() {
+            if (this.index == null) {
+                if (this.previous != null) {
+                    this.index = this.previous.getIndex().extend(this.trimmedSincePrevious, this.appended);
+                } else {
+                    this.index = ConsoleLineIndex.of(this.text);
+                }
+                // the index keeps the text, release everything else it was built from
+                this.text = null;
+                this.previous = null;
+                this.appended = null;
+            }
+            return this.index;
+        }
+    }
+
+    /**
+     * Searches the index of the console in the background.
+     */
+    private final class SearchJob extends Job {
+
+        private final String text;
+        private final boolean regex;
+        private final boolean caseSensitive;
+        private final Optional<ConsoleLineIndex.Category> category;
+
+        private SearchJob(String text, boolean regex, boolean caseSensitive, Optional<ConsoleLineIndex.Category> category) {
+            super(ConsoleMessages.Job_SearchConsole_Name);
+            this.text = text;
+            this.regex = regex;
+            this.caseSensitive = caseSensitive;
+            this.category = category;
+            setSystem(true);
+        }
+
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            // the document is only accessed from the UI thread, the snapshot is then indexed in the background
+            final Snapshot[] snapshot = new Snapshot[1];
+            PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
+
+                @Override
+                public void run() {
+                    snapshot[0] = takeSnapshot();
+                }
+            });
+            if (snapshot[0] == null || monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+
+            ConsoleLineIndex index = snapshot[0].getIndex();
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+
+            try {
+                List<ConsoleLineIndex.Line> matches = index.find(this.category, this.text, this.regex, this.caseSensitive);
+                showMatches(this, snapshot[0], matches, NLS.bind(ConsoleMessages.Dialog_SearchConsole_Matches, matches.size()));
+            } catch (PatternSyntaxException e) {
+                showMatches(this, snapshot[0], ImmutableList.<ConsoleLineIndex.Line>of(), NLS.bind(ConsoleMessages.Dialog_SearchConsole_InvalidRegex, e.getDescription()));
+            }
+            return Status.OK_STATUS;
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocumentListener;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Keeps the output trimmed from the document of a console in a temporary file, such that the
+ * console itself only needs to keep the most recent output in memory.
+ * <p/>
+ * The spill file listens to the console document and records the text removed from the start of
+ * the document, encoded as UTF-8. The recorded output is read back in pages of limited size, such
+ * that it never has to be loaded into memory as a whole.
+ * <p/>
+ * The file is created on the first write and deleted when the console is disposed. If the file
+ * cannot be written, the failure is logged once and the output is no longer recorded.
+ */
+final class ConsoleSpillFile implements IDocumentListener {
+
+    private static final Charset CHARSET = Charsets.UTF_8;
+
+    private final String consoleName;
+    private File file;
+    private OutputStream output;
+    private long length;
+    private boolean failed;
+
+    ConsoleSpillFile(String consoleName) {
+        this.consoleName = Preconditions.checkNotNull(consoleName);
+    }
+
+    @Override
+    public void documentAboutToBeChanged(DocumentEvent event) {
+        // the console appends to the end of its document and trims it from the start
+        int insertedChars = event.getText() != null ? event.getText().length() : 0;
+        if (event.getOffset() == 0 && event.getLength() > insertedChars) {
+            try {
+                write(event.getDocument().get(0, event.getLength() - insertedChars));
+            } catch (BadLocationException e) {
+                UiPlugin.logger().warn(String.format("Cannot record the output trimmed from console %s.", this.consoleName), e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event) {
+    }
+
+    synchronized void write(String text) {
+        if (this.failed || text.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (this.output == null) {
+                this.file = File.createTempFile("gradle-console", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+                this.file.deleteOnExit();
+                this.output = new BufferedOutputStream(new FileOutputStream(this.file));
+            }
+            byte[] bytes = text.getBytes(CHARSET);
+            this.output.write(bytes);
+            this.length += bytes.length;
+        } catch (IOException e) {
+            this.failed = true;
+            UiPlugin.logger().error(String.format("Cannot write the output of console %s to disk.", this.consoleName), e); //$NON-NLS-1$
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Reads a page of the recorded output.
+     * <p/>
+     * The page ends after the last line break within the given maximum length, unless the page
+     * does not contain any line break or reaches the end of the recorded output.
+     *
+     * @param start the byte offset at which the page starts
+     * @param maxLength the maximum number of bytes to read
+     * @return the page or {@link Optional#absent()} if nothing was recorded
+     * @throws IOException if the recorded output cannot be read
+     */
+    synchronized Optional<Page> readPage(long start, int maxLength) throws IOException {
+        if (this.output == null) {
+            return Optional.absent();
+        }
+        Preconditions.checkArgument(start >= 0 && start <= this.length, "Page start %s is out of range", start);
+        this.output.flush();
+
+        byte[] bytes = new byte[(int) Math.min(maxLength, this.length - start)];
+        RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "r"); //$NON-NLS-1$
+        try {
+            randomAccessFile.seek(start);
+            randomAccessFile.readFully(bytes);
+        } finally {
+            randomAccessFile.close();
+        }
+
+        // do not split a line and thus a multi-byte character unless the line exceeds the page
+        int pageLength = bytes.length;
+        if (start + pageLength < this.length) {
+            for (int i = bytes.length - 1; i >= 0; i--) {
+                if (bytes[i] == '\n') {
+                    pageLength = i + 1;
+                    break;
+                }
+            }
+        }
+        return Optional.of(new Page(new String(bytes, 0, pageLength, CHARSET), start, start + pageLength));
+    }
+
+    synchronized long getLength() {
+        return this.length;
+    }
+
+    synchronized void delete() {
+        closeQuietly();
+        this.failed = true;
+        if (this.file != null && !this.file.delete() && this.file.exists()) {
+            UiPlugin.logger().warn(String.format("Cannot delete %s.", this.file.getAbsolutePath())); //$NON-NLS-1$
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (this.output != null) {
+                this.output.close();
+            }
+        } catch (IOException e) {
+            // ignore
+        } finally {
+            this.output = null;
+        }
+    }
+
+    /**
+     * A part of the recorded output.
+     */
+    static final class Page {
+
+        private final String text;
+        private final long start;
+        private final long end;
+
+        private Page(String text, long start, long end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        String getText() {
+            return this.text;
+        }
+
+        long getStart() {
+            return this.start;
+        }
+
+        long getEnd() {
+            return this.end;
+        }
+    }
+
+}
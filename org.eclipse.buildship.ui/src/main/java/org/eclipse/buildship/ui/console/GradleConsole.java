@@ -27,6 +27,8 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.console.ConsolePlugin;
+import org.eclipse.ui.console.IConsole;
 import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.console.IOConsoleInputStream;
 import org.eclipse.ui.console.IOConsoleOutputStream;
@@ -40,14 +42,43 @@ import java.io.OutputStream;
  *
  * Note that once a console is removed, all open streams managed by the console will be closed
  * automatically, thus there is no need for us to close these streams explicitly here.
+ * <p/>
+ * If the output is limited by the {@link ConsoleBufferSettings}, the console only keeps the most
+ * recent output in memory and records the output trimmed from its document in a temporary file. If the launch
+ * streams its output to a log file, the console only keeps the most recent output as well.
+ * <p/>
+ * The output is batched before it is written to the console document, see
+ * {@link BatchingConsoleWriter}.
+ * <p/>
+ * Consoles without a process description collect the output of background jobs. Their document is
+ * always bounded and their output is rate limited, see {@link ConsoleOutputThrottle}. While none of
+ * their pages is visible, they drop their document and only keep a rolling tail of the output.
+ * They are kept after the background work of their build ended, until they are released by the
+ * {@link ConsoleProcessStreamsProvider} to make room for the console of another build.
  */
 public final class GradleConsole extends IOConsole implements ProcessStreams {
 
+    // pass on the output at least once per frame of the console view, in chunks of reasonable size
+    private static final int MAX_BATCHED_BYTES = 16 * 1024;
+    private static final long BATCH_FLUSH_DELAY_MILLIS = 50;
+
+    // limits of the consoles collecting the output of background jobs
+    private static final int BACKGROUND_BUFFER_SIZE = ConsoleBufferSettings.DEFAULT_BUFFER_SIZE;
+    private static final int BACKGROUND_TAIL_SIZE = 16 * 1024;
+    private static final int BACKGROUND_MAX_BYTES_PER_SECOND = 64 * 1024;
+
     private final Optional<ProcessDescription> processDescription;
     private final IOConsoleOutputStream configurationStream;
     private final IOConsoleOutputStream outputStream;
     private final IOConsoleOutputStream errorStream;
     private final IOConsoleInputStream inputStream;
+    private final Optional<ConsoleSpillFile> spillFile;
+    private final OutputStream configuration;
+    private final OutputStream output;
+    private final OutputStream error;
+    private final BatchingConsoleWriter batchingWriter;
+    private int visiblePages;
+    private boolean released;
 
     public GradleConsole(String name) {
         this(name, Optional.<ProcessDescription>absent());
@@ -66,6 +97,46 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         this.errorStream = newOutputStream();
         this.inputStream = super.getInputStream();
 
+        this.batchingWriter = new BatchingConsoleWriter(MAX_BATCHED_BYTES, BATCH_FLUSH_DELAY_MILLIS);
+        OutputStream configuration = this.batchingWriter.stream(this.configurationStream);
+        OutputStream output = this.batchingWriter.stream(this.outputStream);
+        OutputStream error = this.batchingWriter.stream(this.errorStream);
+
+        ConsoleBufferSettings bufferSettings = ConsoleBufferSettings.load();
+        if (isBackgroundConsole()) {
+            // the output of background jobs is bounded and rate limited, and not shown until a page of the console is visible
+            setWaterMarks(BACKGROUND_BUFFER_SIZE - BACKGROUND_BUFFER_SIZE / 5, BACKGROUND_BUFFER_SIZE);
+            ConsoleOutputThrottle throttle = new ConsoleOutputThrottle(BACKGROUND_MAX_BYTES_PER_SECOND);
+            this.spillFile = Optional.absent();
+            this.configuration = throttle.stream(configuration);
+            this.output = throttle.stream(output);
+            this.error = throttle.stream(error);
+            this.batchingWriter.detach(BACKGROUND_TAIL_SIZE);
+        } else if (isStreamedToLogFile()) {
+            // the complete output is in the log file of the launch, only keep the most recent output
+            int bufferSize = bufferSettings.getBufferSize();
+            setWaterMarks(bufferSize - bufferSize / 5, bufferSize);
+            this.spillFile = Optional.absent();
+            this.configuration = configuration;
+            this.output = output;
+            this.error = error;
+        } else if (bufferSettings.isLimitOutput()) {
+            // trim the document back to 80% of the buffer size whenever it exceeds the buffer size
+            int bufferSize = bufferSettings.getBufferSize();
+            setWaterMarks(bufferSize - bufferSize / 5, bufferSize);
+            ConsoleSpillFile spillFile = new ConsoleSpillFile(name);
+            getDocument().addDocumentListener(spillFile);
+            this.spillFile = Optional.of(spillFile);
+            this.configuration = configuration;
+            this.output = output;
+            this.error = error;
+        } else {
+            this.spillFile = Optional.absent();
+            this.configuration = configuration;
+            this.output = output;
+            this.error = error;
+        }
+
         // set proper colors on output/error streams (needs to happen in the UI thread)
         PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
 
@@ -106,19 +177,132 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         return this.processDescription.isPresent();
     }
 
+    private boolean isBackgroundConsole() {
+        return !this.processDescription.isPresent();
+    }
+
+    private boolean isStreamedToLogFile() {
+        if (!this.processDescription.isPresent()) {
+            return false;
+        }
+        // resolve the log file the same way as the launch does, such that no output is trimmed which is not logged
+        try {
+            return this.processDescription.get().getConfigurationAttributes().getLogFile().isPresent();
+        } catch (GradlePluginsRuntimeException e) {
+            // the launch cannot create the log file either
+            return false;
+        }
+    }
+
+    /**
+     * Notifies the console that one of its pages became visible. Background consoles start showing
+     * their output again, beginning with the output they kept while none of their pages was visible.
+     */
+    synchronized void pageShown() {
+        this.visiblePages++;
+        if (this.visiblePages == 1 && isBackgroundConsole()) {
+            try {
+                this.batchingWriter.attach();
+            } catch (IOException e) {
+                UiPlugin.logger().warn(String.format("Cannot show the output of console %s.", getName()), e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Notifies the console that one of its pages is no longer visible. Once none of their pages is
+     * visible, background consoles drop their document and only keep a rolling tail of the output.
+     */
+    void pageHidden() {
+        synchronized (this) {
+            if (this.visiblePages == 0) {
+                return;
+            }
+            this.visiblePages--;
+            if (this.visiblePages > 0 || !isBackgroundConsole()) {
+                return;
+            } else if (!this.released) {
+                this.batchingWriter.detach(BACKGROUND_TAIL_SIZE);
+                clearConsole();
+                return;
+            }
+        }
+
+        // the console manager notifies its listeners synchronously, thus remove the console without holding the lock
+        remove();
+    }
+
+    /**
+     * Notifies the console that its output is no longer needed, e.g. because too many background
+     * consoles are kept. The console is removed as soon as none of its pages is visible.
+     */
+    void release() {
+        synchronized (this) {
+            this.released = true;
+            if (this.visiblePages > 0) {
+                return;
+            }
+        }
+        remove();
+    }
+
+    private void remove() {
+        ConsolePlugin.getDefault().getConsoleManager().removeConsoles(new IConsole[] { this });
+    }
+
+    /**
+     * Returns whether the console only keeps the most recent output in memory.
+     *
+     * @return {@code true} if the output is limited
+     */
+    public boolean isOutputLimited() {
+        return this.spillFile.isPresent();
+    }
+
+    /**
+     * Reads a page of the output which was already trimmed from the console.
+     *
+     * @param start the byte offset at which the page starts
+     * @param maxLength the maximum number of bytes to read
+     * @return the page or {@link Optional#absent()} if the output is not limited or nothing was trimmed yet
+     * @throws IOException if the trimmed output cannot be read
+     */
+    Optional<ConsoleSpillFile.Page> readTrimmedOutput(long start, int maxLength) throws IOException {
+        return this.spillFile.isPresent() ? this.spillFile.get().readPage(start, maxLength) : Optional.<ConsoleSpillFile.Page>absent();
+    }
+
+    /**
+     * Returns the number of bytes of trimmed output recorded on disk.
+     *
+     * @return the size of the recorded output
+     */
+    public long getTrimmedOutputSize() {
+        return this.spillFile.isPresent() ? this.spillFile.get().getLength() : 0;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the output kept in the console's document.
+     *
+     * @return the estimated number of bytes
+     */
+    public long getEstimatedHeapUsage() {
+        // the document stores its content as UTF-16 characters
+        return 2L * getDocument().getLength();
+    }
+
     @Override
     public OutputStream getConfiguration() {
-        return this.configurationStream;
+        return this.configuration;
     }
 
     @Override
     public OutputStream getOutput() {
-        return this.outputStream;
+        return this.output;
     }
 
     @Override
     public OutputStream getError() {
-        return this.errorStream;
+        return this.error;
     }
 
     @Override
@@ -130,21 +314,22 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
     public void close() {
         Exception e = null;
 
+        // closing the batched streams passes on the pending output before closing the console streams
         try {
-            this.configurationStream.flush();
-            this.configurationStream.close();
+            this.configuration.flush();
+            this.configuration.close();
         } catch (IOException ioe) {
             e = ioe;
         }
         try {
-            this.outputStream.flush();
-            this.outputStream.close();
+            this.output.flush();
+            this.output.close();
         } catch (IOException ioe) {
             e = ioe;
         }
         try {
-            this.errorStream.flush();
-            this.errorStream.close();
+            this.error.flush();
+            this.error.close();
         } catch (IOException ioe) {
             e = ioe;
         }
@@ -161,4 +346,12 @@ public final class GradleConsole extends IOConsole implements ProcessStreams {
         }
     }
 
+    @Override
+    protected void dispose() {
+        super.dispose();
+        if (this.spillFile.isPresent()) {
+            this.spillFile.get().delete();
+        }
+    }
+
 }
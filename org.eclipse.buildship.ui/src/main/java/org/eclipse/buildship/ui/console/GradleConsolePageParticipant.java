@@ -12,13 +12,25 @@
 package org.eclipse.buildship.ui.console;
 
 import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.console.IConsole;
 import org.eclipse.ui.console.IConsoleConstants;
 import org.eclipse.ui.console.IConsolePageParticipant;
+import org.eclipse.ui.console.IConsoleView;
+import org.eclipse.ui.console.TextConsolePage;
 import org.eclipse.ui.part.IPageBookViewPage;
 
 /**
  * Contributes actions to {@link GradleConsole} instances at the time a new console is initialized.
+ * <p/>
+ * Also tells the console whether its page is visible: the page is visible while it is the current
+ * page of its Console view and the view itself is visible. The focus of the view does not matter.
  */
 @SuppressWarnings("unchecked") // Eclipse Mars M6 introduced type parameters on the IAdaptable interface
 public final class GradleConsolePageParticipant implements IConsolePageParticipant {
@@ -27,6 +39,14 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
     private RerunBuildExecutionAction rerunBuildExecutionAction;
     private RemoveTerminatedGradleConsoleAction removeConsoleAction;
     private RemoveAllTerminatedGradleConsolesAction removeAllConsolesAction;
+    private ShowTrimmedOutputAction showTrimmedOutputAction;
+    private SearchConsoleAction searchConsoleAction;
+    private GradleConsole gradleConsole;
+    private Control pageControl;
+    private IWorkbenchPage workbenchPage;
+    private Listener visibilityListener;
+    private IPartListener2 partListener;
+    private boolean shown;
 
     /**
      * {@inheritDoc}
@@ -37,9 +57,67 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
     public void init(IPageBookViewPage page, IConsole console) {
         if (console instanceof GradleConsole) {
             GradleConsole gradleConsole = (GradleConsole) console;
+            this.gradleConsole = gradleConsole;
             if (gradleConsole.isCloseable()) {
                 addActionsToToolbar(page.getSite().getActionBars().getToolBarManager(), gradleConsole);
             }
+            if (page instanceof TextConsolePage) {
+                this.searchConsoleAction = new SearchConsoleAction(gradleConsole, (TextConsolePage) page);
+                page.getSite().getActionBars().getToolBarManager().appendToGroup(IConsoleConstants.OUTPUT_GROUP, this.searchConsoleAction);
+            }
+            registerVisibilityListeners(page);
+        }
+    }
+
+    private void registerVisibilityListeners(IPageBookViewPage page) {
+        this.pageControl = page.getControl();
+        if (this.pageControl == null) {
+            return;
+        }
+
+        // the Console view shows and hides the controls of its pages when switching between them
+        this.visibilityListener = new Listener() {
+
+            @Override
+            public void handleEvent(Event event) {
+                updateVisibility();
+            }
+        };
+        this.pageControl.addListener(SWT.Show, this.visibilityListener);
+        this.pageControl.addListener(SWT.Hide, this.visibilityListener);
+
+        // the view as a whole is hidden when it is minimized or another view of its stack is selected
+        this.partListener = new ConsoleViewVisibilityListener();
+        this.workbenchPage = page.getSite().getPage();
+        this.workbenchPage.addPartListener(this.partListener);
+
+        updateVisibility();
+    }
+
+    private void updateVisibility() {
+        // the visibility of the controls is only updated once the events are processed
+        final Control control = this.pageControl;
+        if (control == null || control.isDisposed()) {
+            return;
+        }
+        control.getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                setShown(!control.isDisposed() && control.isVisible());
+            }
+        });
+    }
+
+    private void setShown(boolean shown) {
+        if (this.gradleConsole == null || this.shown == shown) {
+            return;
+        }
+        this.shown = shown;
+        if (shown) {
+            this.gradleConsole.pageShown();
+        } else {
+            this.gradleConsole.pageHidden();
         }
     }
 
@@ -53,6 +131,11 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
         toolBarManager.appendToGroup(IConsoleConstants.LAUNCH_GROUP, this.rerunBuildExecutionAction);
         toolBarManager.appendToGroup(IConsoleConstants.LAUNCH_GROUP, this.removeConsoleAction);
         toolBarManager.appendToGroup(IConsoleConstants.LAUNCH_GROUP, this.removeAllConsolesAction);
+
+        if (gradleConsole.isOutputLimited()) {
+            this.showTrimmedOutputAction = new ShowTrimmedOutputAction(gradleConsole);
+            toolBarManager.appendToGroup(IConsoleConstants.OUTPUT_GROUP, this.showTrimmedOutputAction);
+        }
     }
 
     @SuppressWarnings("rawtypes")
@@ -63,16 +146,26 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
 
     @Override
     public void activated() {
-        // do nothing
+        // the page can be visible without the focus, thus the visibility is tracked separately
     }
 
     @Override
     public void deactivated() {
-        // do nothing
     }
 
     @Override
     public void dispose() {
+        setShown(false);
+        this.gradleConsole = null;
+        if (this.pageControl != null && !this.pageControl.isDisposed()) {
+            this.pageControl.removeListener(SWT.Show, this.visibilityListener);
+            this.pageControl.removeListener(SWT.Hide, this.visibilityListener);
+        }
+        this.pageControl = null;
+        if (this.workbenchPage != null) {
+            this.workbenchPage.removePartListener(this.partListener);
+            this.workbenchPage = null;
+        }
         if (this.cancelBuildExecutionAction != null) {
             this.cancelBuildExecutionAction.dispose();
             this.cancelBuildExecutionAction = null;
@@ -89,6 +182,61 @@ public final class GradleConsolePageParticipant implements IConsolePageParticipa
             this.removeAllConsolesAction.dispose();
             this.removeAllConsolesAction = null;
         }
+        if (this.showTrimmedOutputAction != null) {
+            this.showTrimmedOutputAction.dispose();
+            this.showTrimmedOutputAction = null;
+        }
+        if (this.searchConsoleAction != null) {
+            this.searchConsoleAction.dispose();
+            this.searchConsoleAction = null;
+        }
+    }
+
+    /**
+     * Updates the visibility of the page when a Console view is shown or hidden.
+     */
+    private final class ConsoleViewVisibilityListener implements IPartListener2 {
+
+        @Override
+        public void partVisible(IWorkbenchPartReference partRef) {
+            updateVisibilityOfConsoleView(partRef);
+        }
+
+        @Override
+        public void partHidden(IWorkbenchPartReference partRef) {
+            updateVisibilityOfConsoleView(partRef);
+        }
+
+        private void updateVisibilityOfConsoleView(IWorkbenchPartReference partRef) {
+            // only the view currently showing the console affects the visibility of the page
+            if (partRef.getPart(false) instanceof IConsoleView && ((IConsoleView) partRef.getPart(false)).getConsole() == GradleConsolePageParticipant.this.gradleConsole) {
+                updateVisibility();
+            }
+        }
+
+        @Override
+        public void partActivated(IWorkbenchPartReference partRef) {
+        }
+
+        @Override
+        public void partBroughtToTop(IWorkbenchPartReference partRef) {
+        }
+
+        @Override
+        public void partClosed(IWorkbenchPartReference partRef) {
+        }
+
+        @Override
+        public void partDeactivated(IWorkbenchPartReference partRef) {
+        }
+
+        @Override
+        public void partOpened(IWorkbenchPartReference partRef) {
+        }
+
+        @Override
+        public void partInputChanged(IWorkbenchPartReference partRef) {
+        }
     }
 
 }
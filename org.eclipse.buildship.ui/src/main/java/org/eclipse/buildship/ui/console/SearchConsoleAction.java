@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.console.TextConsolePage;
+
+import org.eclipse.buildship.ui.PluginImage;
+import org.eclipse.buildship.ui.PluginImages;
+
+/**
+ * Opens a {@link ConsoleSearchDialog} to search the output of a given {@link GradleConsole}. At
+ * most one dialog is open per console page.
+ */
+public final class SearchConsoleAction extends Action {
+
+    private final GradleConsole gradleConsole;
+    private final TextConsolePage page;
+    private ConsoleSearchDialog dialog;
+
+    public SearchConsoleAction(GradleConsole gradleConsole, TextConsolePage page) {
+        this.gradleConsole = Preconditions.checkNotNull(gradleConsole);
+        this.page = Preconditions.checkNotNull(page);
+
+        setToolTipText(ConsoleMessages.Action_SearchConsole_Tooltip);
+        setImageDescriptor(PluginImages.SEARCH_CONSOLE.withState(PluginImage.ImageState.ENABLED).getImageDescriptor());
+    }
+
+    @Override
+    public void run() {
+        if (this.dialog != null && this.dialog.getShell() != null && !this.dialog.getShell().isDisposed()) {
+            this.dialog.getShell().setActive();
+            return;
+        }
+
+        Shell shell = this.page.getSite().getShell();
+        this.dialog = new ConsoleSearchDialog(shell, this.gradleConsole, this.page.getViewer());
+        this.dialog.open();
+    }
+
+    public void dispose() {
+        if (this.dialog != null) {
+            this.dialog.close();
+            this.dialog = null;
+        }
+    }
+
+}
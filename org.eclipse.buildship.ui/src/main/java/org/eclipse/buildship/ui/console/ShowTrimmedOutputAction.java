@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import org.eclipse.buildship.core.console.ProcessDescription;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jface.action.Action;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Shows the output which was already trimmed from a {@link GradleConsole} whose output is limited,
+ * page by page in a {@link TrimmedOutputDialog}. The tooltip reports how much of the output is kept
+ * in memory and how much is recorded on disk.
+ */
+public final class ShowTrimmedOutputAction extends Action {
+
+    private final GradleConsole gradleConsole;
+    private final IJobChangeListener jobChangeListener;
+    private Job job;
+
+    public ShowTrimmedOutputAction(GradleConsole gradleConsole) {
+        this.gradleConsole = Preconditions.checkNotNull(gradleConsole);
+        this.jobChangeListener = new JobChangeAdapter() {
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                update();
+            }
+        };
+
+        setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_OBJ_FILE));
+
+        registerJobChangeListener();
+    }
+
+    private void registerJobChangeListener() {
+        Optional<ProcessDescription> processDescription = this.gradleConsole.getProcessDescription();
+        if (processDescription.isPresent()) {
+            this.job = processDescription.get().getJob();
+            this.job.addJobChangeListener(this.jobChangeListener);
+        }
+        update();
+    }
+
+    private void update() {
+        long heapUsage = this.gradleConsole.getEstimatedHeapUsage();
+        long diskUsage = this.gradleConsole.getTrimmedOutputSize();
+        setToolTipText(NLS.bind(ConsoleMessages.Action_ShowTrimmedOutput_Tooltip, formatKilobytes(heapUsage), formatKilobytes(diskUsage)));
+    }
+
+    static String formatKilobytes(long bytes) {
+        return String.valueOf((bytes + 1023) / 1024);
+    }
+
+    @Override
+    public void run() {
+        update();
+        new TrimmedOutputDialog(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell(), this.gradleConsole).open();
+    }
+
+    public void dispose() {
+        if (this.job != null) {
+            this.job.removeJobChangeListener(this.jobChangeListener);
+            this.job = null;
+        }
+    }
+
+}
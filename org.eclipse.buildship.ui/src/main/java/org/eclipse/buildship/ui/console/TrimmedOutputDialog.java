@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.console;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.LinkedList;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import org.eclipse.debug.ui.IDebugUIConstants;
+import org.eclipse.jface.dialogs.Dialog;
+import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Text;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Dialog showing the output which was already trimmed from a {@link GradleConsole}.
+ * <p/>
+ * The output can be hundreds of megabytes, thus only one page of it is read from disk at a time.
+ * The dialog starts with the first page, the user then moves to the next or the previous page.
+ */
+final class TrimmedOutputDialog extends Dialog {
+
+    private static final int PAGE_SIZE = 256 * 1024;
+
+    private final GradleConsole gradleConsole;
+    private final Deque<Long> previousPageStarts;
+    private Optional<ConsoleSpillFile.Page> page;
+
+    private Text pageText;
+    private Label rangeLabel;
+    private Button previousButton;
+    private Button nextButton;
+
+    TrimmedOutputDialog(Shell parent, GradleConsole gradleConsole) {
+        super(parent);
+        this.gradleConsole = Preconditions.checkNotNull(gradleConsole);
+        this.previousPageStarts = new LinkedList<Long>();
+        this.page = Optional.absent();
+        setShellStyle(SWT.DIALOG_TRIM | SWT.RESIZE | SWT.MODELESS);
+        setBlockOnOpen(false);
+    }
+
+    @Override
+    protected void configureShell(Shell shell) {
+        super.configureShell(shell);
+        shell.setText(NLS.bind(ConsoleMessages.Dialog_TrimmedOutput_Title, this.gradleConsole.getName()));
+    }
+
+    @Override
+    protected Control createDialogArea(Composite parent) {
+        Composite container = (Composite) super.createDialogArea(parent);
+        container.setLayout(new GridLayout(3, false));
+
+        this.pageText = new Text(container, SWT.BORDER | SWT.MULTI | SWT.READ_ONLY | SWT.H_SCROLL | SWT.V_SCROLL);
+        GridData pageTextGridData = new GridData(SWT.FILL, SWT.FILL, true, true, 3, 1);
+        pageTextGridData.widthHint = convertWidthInCharsToPixels(120);
+        pageTextGridData.heightHint = convertHeightInCharsToPixels(30);
+        this.pageText.setLayoutData(pageTextGridData);
+        this.pageText.setFont(JFaceResources.getFont(IDebugUIConstants.PREF_CONSOLE_FONT));
+
+        this.rangeLabel = new Label(container, SWT.NONE);
+        this.rangeLabel.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+
+        this.previousButton = new Button(container, SWT.PUSH);
+        this.previousButton.setText(ConsoleMessages.Dialog_TrimmedOutput_Previous);
+        this.previousButton.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                showPreviousPage();
+            }
+        });
+
+        this.nextButton = new Button(container, SWT.PUSH);
+        this.nextButton.setText(ConsoleMessages.Dialog_TrimmedOutput_Next);
+        this.nextButton.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent e) {
+                showNextPage();
+            }
+        });
+
+        showPage(0);
+        return container;
+    }
+
+    private void showNextPage() {
+        if (this.page.isPresent()) {
+            this.previousPageStarts.push(this.page.get().getStart());
+            showPage(this.page.get().getEnd());
+        }
+    }
+
+    private void showPreviousPage() {
+        if (!this.previousPageStarts.isEmpty()) {
+            showPage(this.previousPageStarts.pop());
+        }
+    }
+
+    private void showPage(long start) {
+        try {
+            this.page = this.gradleConsole.readTrimmedOutput(start, PAGE_SIZE);
+        } catch (IOException e) {
+            UiPlugin.logger().error(String.format("Cannot read the trimmed output of console %s.", this.gradleConsole.getName()), e); //$NON-NLS-1$
+            this.page = Optional.absent();
+        }
+
+        long totalSize = this.gradleConsole.getTrimmedOutputSize();
+        if (this.page.isPresent()) {
+            this.pageText.setText(this.page.get().getText());
+            this.rangeLabel.setText(NLS.bind(ConsoleMessages.Dialog_TrimmedOutput_Range, new Object[] {
+                    ShowTrimmedOutputAction.formatKilobytes(this.page.get().getStart()),
+                    ShowTrimmedOutputAction.formatKilobytes(this.page.get().getEnd()),
+                    ShowTrimmedOutputAction.formatKilobytes(totalSize) }));
+        } else {
+            this.pageText.setText(""); //$NON-NLS-1$
+            this.rangeLabel.setText(ConsoleMessages.Dialog_TrimmedOutput_Nothing);
+        }
+        this.previousButton.setEnabled(!this.previousPageStarts.isEmpty());
+        this.nextButton.setEnabled(this.page.isPresent() && this.page.get().getEnd() < totalSize);
+    }
+
+    @Override
+    protected void createButtonsForButtonBar(Composite parent) {
+        createButton(parent, IDialogConstants.OK_ID, IDialogConstants.CLOSE_LABEL, false);
+    }
+
+}
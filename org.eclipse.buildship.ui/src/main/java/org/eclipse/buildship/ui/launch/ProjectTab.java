@@ -40,6 +40,7 @@ import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Group;
+import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.dialogs.ListDialog;
 import org.eclipse.ui.model.WorkbenchLabelProvider;
@@ -67,6 +68,7 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
     private Text workingDirectoryText;
     private Button showExecutionViewCheckbox;
     private Button showConsoleViewCheckbox;
+    private Text logFileText;
 
     public ProjectTab() {
         this.workingDirValidator = Validators.requiredDirectoryValidator(CoreMessages.RunConfiguration_Label_WorkingDirectory);
@@ -220,6 +222,26 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
                 updateLaunchConfigurationDialog();
             }
         });
+
+        // the output is additionally streamed to the log file, if one is specified
+        Composite logFileContainer = new Composite(container, SWT.NONE);
+        GridLayout logFileContainerLayout = new GridLayout(2, false);
+        logFileContainerLayout.marginWidth = 0;
+        logFileContainer.setLayout(logFileContainerLayout);
+        logFileContainer.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+
+        Label logFileLabel = new Label(logFileContainer, SWT.NONE);
+        logFileLabel.setText(CoreMessages.RunConfiguration_Label_LogFile + ":"); //$NON-NLS-1$
+
+        this.logFileText = new Text(logFileContainer, SWT.SINGLE | SWT.BORDER);
+        this.logFileText.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false));
+        this.logFileText.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(ModifyEvent event) {
+                updateLaunchConfigurationDialog();
+            }
+        });
     }
 
     @Override
@@ -229,6 +251,7 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
         this.workingDirectoryText.setText(Strings.nullToEmpty(configurationAttributes.getWorkingDirExpression()));
         this.showExecutionViewCheckbox.setSelection(configurationAttributes.isShowExecutionView());
         this.showConsoleViewCheckbox.setSelection(configurationAttributes.isShowConsoleView());
+        this.logFileText.setText(Strings.nullToEmpty(configurationAttributes.getLogFileExpression()));
     }
 
     @Override
@@ -237,6 +260,7 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
         GradleRunConfigurationAttributes.applyWorkingDirExpression(this.workingDirectoryText.getText(), configuration);
         GradleRunConfigurationAttributes.applyShowExecutionView(this.showExecutionViewCheckbox.getSelection(), configuration);
         GradleRunConfigurationAttributes.applyShowConsoleView(this.showConsoleViewCheckbox.getSelection(), configuration);
+        GradleRunConfigurationAttributes.applyLogFileExpression(Strings.emptyToNull(this.logFileText.getText().trim()), configuration);
     }
 
     @SuppressWarnings("Contract")
@@ -252,6 +276,14 @@ public final class ProjectTab extends AbstractLaunchConfigurationTab {
             return false;
         }
 
+        String logFileExpression = this.logFileText.getText();
+        try {
+            ExpressionUtils.decode(logFileExpression);
+        } catch (CoreException e) {
+            setErrorMessage(NLS.bind(LaunchMessages.ErrorMessage_CannotResolveExpression_0, logFileExpression));
+            return false;
+        }
+
         File workingDir = FileUtils.getAbsoluteFile(workingDirectoryResolved).orNull();
         Optional<String> error = this.workingDirValidator.validate(workingDir);
         setErrorMessage(error.orNull());
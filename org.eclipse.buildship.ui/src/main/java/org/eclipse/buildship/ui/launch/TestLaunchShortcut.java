@@ -57,7 +57,7 @@ public final class TestLaunchShortcut implements ILaunchShortcut {
             targets.addAll(convertTypesToTestTargets(types));
             targets.addAll(convertMethodsToTestTargets(methods));
             GradleRunConfigurationAttributes runConfigurationAttributes = collectRunConfigurationAttributes(resolver.findFirstContainerProject().get());
-            new RunGradleJvmTestLaunchRequestJob(targets.build(), runConfigurationAttributes).schedule();
+            CorePlugin.testLaunchQueue().launchTestTargets(targets.build(), runConfigurationAttributes);
         } else {
             showNoTestsFoundDialog();
         }
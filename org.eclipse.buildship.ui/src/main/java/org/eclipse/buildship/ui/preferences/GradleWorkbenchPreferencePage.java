@@ -21,6 +21,8 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ModifyEvent;
 import org.eclipse.swt.events.ModifyListener;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
@@ -38,15 +40,22 @@ import org.eclipse.buildship.core.i18n.CoreMessages;
 import org.eclipse.buildship.core.util.binding.Validators;
 import org.eclipse.buildship.core.util.file.FileUtils;
 import org.eclipse.buildship.core.util.variable.ExpressionUtils;
+import org.eclipse.buildship.ui.console.ConsoleBufferSettings;
+import org.eclipse.buildship.ui.console.ConsoleMessages;
 import org.eclipse.buildship.ui.i18n.UiMessages;
 import org.eclipse.buildship.ui.launch.LaunchMessages;
 import org.eclipse.buildship.ui.util.file.DirectoryDialogSelectionListener;
 import org.eclipse.buildship.ui.util.font.FontUtils;
 import org.eclipse.buildship.ui.util.widget.UiBuilder;
+import org.eclipse.buildship.ui.view.execution.AutoExpandSettings;
+import org.eclipse.buildship.ui.view.execution.ExecutionViewMessages;
+import org.eclipse.buildship.ui.view.execution.RetentionSettings;
 
 /**
- * The main workspace preference page for Buildship. Currently only used to configure the Gradle
- * User Home.
+ * The main workspace preference page for Buildship. Used to configure the Gradle User Home,
+ * whether the Gradle daemons are started in the background on startup, how much output the
+ * Gradle consoles keep in memory, which test suites the executions view expands automatically and
+ * how long the executions view keeps the full trees of terminated executions.
  */
 public class GradleWorkbenchPreferencePage extends PreferencePage implements IWorkbenchPreferencePage {
 
@@ -55,6 +64,15 @@ public class GradleWorkbenchPreferencePage extends PreferencePage implements IWo
     private final Validator<File> gradleUserHomeValidator;
 
     private Text gradleUserHomeText;
+    private Button daemonWarmupCheckbox;
+    private Button modelPrefetchCheckbox;
+    private Button limitConsoleOutputCheckbox;
+    private Text consoleBufferSizeText;
+    private Button limitSuiteExpansionCheckbox;
+    private Text maxExpandedSuiteSizeText;
+    private Button summarizeExecutionsCheckbox;
+    private Text maxFullExecutionsText;
+    private Text maxFullExecutionAgeText;
 
     public GradleWorkbenchPreferencePage() {
         this.defaultFont = FontUtils.getDefaultDialogFont();
@@ -71,6 +89,15 @@ public class GradleWorkbenchPreferencePage extends PreferencePage implements IWo
         Group gradleUserHomeGroup = createGroup(page, CoreMessages.Preference_Label_GradleUserHome + ":");
         createGradleUserHomeSelectionControl(gradleUserHomeGroup);
 
+        Group daemonGroup = createGroup(page, CoreMessages.Preference_Label_DaemonWarmup + ":");
+        createDaemonControls(daemonGroup);
+
+        Group consoleGroup = createGroup(page, ConsoleMessages.Preference_Label_Console + ":");
+        createConsoleControls(consoleGroup);
+
+        Group executionsGroup = createGroup(page, ExecutionViewMessages.Preference_Label_Executions + ":");
+        createExecutionsControls(executionsGroup);
+
         initFields();
 
         return page;
@@ -100,14 +127,153 @@ public class GradleWorkbenchPreferencePage extends PreferencePage implements IWo
         gradleUserHomeBrowseButton.addSelectionListener(directoryDialogListener);
     }
 
+    private void createDaemonControls(Composite root) {
+        this.daemonWarmupCheckbox = this.builderFactory.newCheckbox(root).text(CoreMessages.Preference_Label_StartDaemonsOnStartup).control();
+        this.daemonWarmupCheckbox.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        this.modelPrefetchCheckbox = this.builderFactory.newCheckbox(root).text(CoreMessages.Preference_Label_PrefetchModelsOnSave).control();
+        this.modelPrefetchCheckbox.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+    }
+
+    private void createConsoleControls(Composite root) {
+        this.limitConsoleOutputCheckbox = this.builderFactory.newCheckbox(root).text(ConsoleMessages.Preference_Label_LimitConsoleOutput).control();
+        this.limitConsoleOutputCheckbox.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        this.limitConsoleOutputCheckbox.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                updateEnablement();
+                validate();
+            }
+        });
+
+        this.builderFactory.newLabel(root).alignLeft().text(ConsoleMessages.Preference_Label_ConsoleBufferSize + ":");
+        this.consoleBufferSizeText = this.builderFactory.newText(root).alignFillHorizontal().control();
+        this.consoleBufferSizeText.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(ModifyEvent event) {
+                validate();
+            }
+        });
+    }
+
+    private void createExecutionsControls(Composite root) {
+        this.limitSuiteExpansionCheckbox = this.builderFactory.newCheckbox(root).text(ExecutionViewMessages.Preference_Label_LimitSuiteExpansion).control();
+        this.limitSuiteExpansionCheckbox.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        this.limitSuiteExpansionCheckbox.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                updateEnablement();
+                validate();
+            }
+        });
+
+        this.builderFactory.newLabel(root).alignLeft().text(ExecutionViewMessages.Preference_Label_MaxExpandedSuiteSize + ":");
+        this.maxExpandedSuiteSizeText = this.builderFactory.newText(root).alignFillHorizontal().control();
+        this.maxExpandedSuiteSizeText.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(ModifyEvent event) {
+                validate();
+            }
+        });
+
+        this.summarizeExecutionsCheckbox = this.builderFactory.newCheckbox(root).text(ExecutionViewMessages.Preference_Label_SummarizeExecutions).control();
+        this.summarizeExecutionsCheckbox.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 2, 1));
+        this.summarizeExecutionsCheckbox.addSelectionListener(new SelectionAdapter() {
+
+            @Override
+            public void widgetSelected(SelectionEvent event) {
+                updateEnablement();
+                validate();
+            }
+        });
+
+        this.builderFactory.newLabel(root).alignLeft().text(ExecutionViewMessages.Preference_Label_MaxFullExecutions + ":");
+        this.maxFullExecutionsText = this.builderFactory.newText(root).alignFillHorizontal().control();
+        this.maxFullExecutionsText.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(ModifyEvent event) {
+                validate();
+            }
+        });
+
+        this.builderFactory.newLabel(root).alignLeft().text(ExecutionViewMessages.Preference_Label_MaxFullExecutionAge + ":");
+        this.maxFullExecutionAgeText = this.builderFactory.newText(root).alignFillHorizontal().control();
+        this.maxFullExecutionAgeText.addModifyListener(new ModifyListener() {
+
+            @Override
+            public void modifyText(ModifyEvent event) {
+                validate();
+            }
+        });
+    }
+
+    private void updateEnablement() {
+        this.consoleBufferSizeText.setEnabled(this.limitConsoleOutputCheckbox.getSelection());
+        this.maxExpandedSuiteSizeText.setEnabled(this.limitSuiteExpansionCheckbox.getSelection());
+        this.maxFullExecutionsText.setEnabled(this.summarizeExecutionsCheckbox.getSelection());
+        this.maxFullExecutionAgeText.setEnabled(this.summarizeExecutionsCheckbox.getSelection());
+    }
+
     private void validate() {
         String resolvedGradleUserHome = getResolvedGradleUserHome();
         File gradleUserHome = FileUtils.getAbsoluteFile(resolvedGradleUserHome).orNull();
         Optional<String> error = this.gradleUserHomeValidator.validate(gradleUserHome);
+        if (!error.isPresent() && this.limitConsoleOutputCheckbox.getSelection() && !getConsoleBufferSize().isPresent()) {
+            error = Optional.of(NLS.bind(CoreMessages.ErrorMessage_0_IsNotValid, ConsoleMessages.Preference_Label_ConsoleBufferSize));
+        }
+        if (!error.isPresent() && this.limitSuiteExpansionCheckbox.getSelection() && !getMaxExpandedSuiteSize().isPresent()) {
+            error = Optional.of(NLS.bind(CoreMessages.ErrorMessage_0_IsNotValid, ExecutionViewMessages.Preference_Label_MaxExpandedSuiteSize));
+        }
+        if (!error.isPresent() && this.summarizeExecutionsCheckbox.getSelection() && !getMaxFullExecutions().isPresent()) {
+            error = Optional.of(NLS.bind(CoreMessages.ErrorMessage_0_IsNotValid, ExecutionViewMessages.Preference_Label_MaxFullExecutions));
+        }
+        if (!error.isPresent() && this.summarizeExecutionsCheckbox.getSelection() && !getMaxFullExecutionAge().isPresent()) {
+            error = Optional.of(NLS.bind(CoreMessages.ErrorMessage_0_IsNotValid, ExecutionViewMessages.Preference_Label_MaxFullExecutionAge));
+        }
         setValid(!error.isPresent());
         setErrorMessage(error.orNull());
     }
 
+    private Optional<Integer> getConsoleBufferSize() {
+        try {
+            int bufferSize = Integer.parseInt(this.consoleBufferSizeText.getText().trim());
+            return bufferSize >= ConsoleBufferSettings.MIN_BUFFER_SIZE ? Optional.of(bufferSize) : Optional.<Integer>absent();
+        } catch (NumberFormatException e) {
+            return Optional.absent();
+        }
+    }
+
+    private Optional<Integer> getMaxExpandedSuiteSize() {
+        try {
+            int maxSuiteSize = Integer.parseInt(this.maxExpandedSuiteSizeText.getText().trim());
+            return maxSuiteSize >= AutoExpandSettings.MIN_MAX_SUITE_SIZE ? Optional.of(maxSuiteSize) : Optional.<Integer>absent();
+        } catch (NumberFormatException e) {
+            return Optional.absent();
+        }
+    }
+
+    private Optional<Integer> getMaxFullExecutions() {
+        try {
+            int maxFullExecutions = Integer.parseInt(this.maxFullExecutionsText.getText().trim());
+            return maxFullExecutions >= RetentionSettings.MIN_MAX_FULL_EXECUTIONS ? Optional.of(maxFullExecutions) : Optional.<Integer>absent();
+        } catch (NumberFormatException e) {
+            return Optional.absent();
+        }
+    }
+
+    private Optional<Integer> getMaxFullExecutionAge() {
+        try {
+            int maxAge = Integer.parseInt(this.maxFullExecutionAgeText.getText().trim());
+            return maxAge >= RetentionSettings.MIN_MAX_AGE_IN_MINUTES ? Optional.of(maxAge) : Optional.<Integer>absent();
+        } catch (NumberFormatException e) {
+            return Optional.absent();
+        }
+    }
+
     private String getResolvedGradleUserHome() {
         String gradleUserHomeExpression = Strings.emptyToNull(this.gradleUserHomeText.getText());
 
@@ -125,19 +291,60 @@ public class GradleWorkbenchPreferencePage extends PreferencePage implements IWo
         WorkspaceConfiguration config = CorePlugin.workspaceConfigurationManager().loadWorkspaceConfiguration();
         File gradleUserHome = config.getGradleUserHome();
         this.gradleUserHomeText.setText(gradleUserHome == null ? "" : gradleUserHome.getPath());
+        this.daemonWarmupCheckbox.setSelection(config.isDaemonWarmupEnabled());
+        this.modelPrefetchCheckbox.setSelection(config.isModelPrefetchEnabled());
+
+        ConsoleBufferSettings consoleBufferSettings = ConsoleBufferSettings.load();
+        this.limitConsoleOutputCheckbox.setSelection(consoleBufferSettings.isLimitOutput());
+        this.consoleBufferSizeText.setText(String.valueOf(consoleBufferSettings.getBufferSize()));
+
+        AutoExpandSettings autoExpandSettings = AutoExpandSettings.load();
+        this.limitSuiteExpansionCheckbox.setSelection(autoExpandSettings.isLimitSuiteExpansion());
+        this.maxExpandedSuiteSizeText.setText(String.valueOf(autoExpandSettings.getMaxSuiteSize()));
+
+        RetentionSettings retentionSettings = RetentionSettings.load();
+        this.summarizeExecutionsCheckbox.setSelection(retentionSettings.isSummarizeExecutions());
+        this.maxFullExecutionsText.setText(String.valueOf(retentionSettings.getMaxFullExecutions()));
+        this.maxFullExecutionAgeText.setText(String.valueOf(retentionSettings.getMaxAgeInMinutes()));
+        updateEnablement();
     }
 
     @Override
     public boolean performOk() {
         String gradleUserHome = this.gradleUserHomeText.getText();
-        WorkspaceConfiguration config = new WorkspaceConfiguration(gradleUserHome.isEmpty() ? null : new File(gradleUserHome));
+        WorkspaceConfiguration config = new WorkspaceConfiguration(gradleUserHome.isEmpty() ? null : new File(gradleUserHome), this.daemonWarmupCheckbox.getSelection(),
+                this.modelPrefetchCheckbox.getSelection());
         CorePlugin.workspaceConfigurationManager().saveWorkspaceConfiguration(config);
+
+        boolean limitConsoleOutput = this.limitConsoleOutputCheckbox.getSelection();
+        int consoleBufferSize = getConsoleBufferSize().or(ConsoleBufferSettings.load().getBufferSize());
+        new ConsoleBufferSettings(limitConsoleOutput, consoleBufferSize).save();
+
+        boolean limitSuiteExpansion = this.limitSuiteExpansionCheckbox.getSelection();
+        int maxExpandedSuiteSize = getMaxExpandedSuiteSize().or(AutoExpandSettings.load().getMaxSuiteSize());
+        new AutoExpandSettings(limitSuiteExpansion, maxExpandedSuiteSize).save();
+
+        RetentionSettings retentionSettings = RetentionSettings.load();
+        boolean summarizeExecutions = this.summarizeExecutionsCheckbox.getSelection();
+        int maxFullExecutions = getMaxFullExecutions().or(retentionSettings.getMaxFullExecutions());
+        int maxFullExecutionAge = getMaxFullExecutionAge().or(retentionSettings.getMaxAgeInMinutes());
+        new RetentionSettings(summarizeExecutions, maxFullExecutions, maxFullExecutionAge).save();
         return super.performOk();
     }
 
     @Override
     protected void performDefaults() {
         this.gradleUserHomeText.setText("");
+        this.daemonWarmupCheckbox.setSelection(false);
+        this.modelPrefetchCheckbox.setSelection(false);
+        this.limitConsoleOutputCheckbox.setSelection(false);
+        this.consoleBufferSizeText.setText(String.valueOf(ConsoleBufferSettings.DEFAULT_BUFFER_SIZE));
+        this.limitSuiteExpansionCheckbox.setSelection(true);
+        this.maxExpandedSuiteSizeText.setText(String.valueOf(AutoExpandSettings.DEFAULT_MAX_SUITE_SIZE));
+        this.summarizeExecutionsCheckbox.setSelection(true);
+        this.maxFullExecutionsText.setText(String.valueOf(RetentionSettings.DEFAULT_MAX_FULL_EXECUTIONS));
+        this.maxFullExecutionAgeText.setText(String.valueOf(RetentionSettings.DEFAULT_MAX_AGE_IN_MINUTES));
+        updateEnablement();
         super.performDefaults();
     }
 
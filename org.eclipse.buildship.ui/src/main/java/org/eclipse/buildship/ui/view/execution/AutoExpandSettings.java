@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import org.osgi.service.prefs.BackingStoreException;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+
+import org.eclipse.buildship.core.util.preference.EclipsePreferencesUtils;
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Determines how the {@link ExecutionsView} expands the running operations of a build. Backed by
+ * the Eclipse Preferences API.
+ * <p/>
+ * The view expands the path to the most recently started operation. Test suites with more than a
+ * given number of children can be excluded, in which case the suite itself is shown but not
+ * expanded automatically.
+ */
+public final class AutoExpandSettings {
+
+    public static final int DEFAULT_MAX_SUITE_SIZE = 500;
+    public static final int MIN_MAX_SUITE_SIZE = 1;
+
+    private static final String PREF_LIMIT_SUITE_EXPANSION = "executionsView.limitSuiteExpansion"; //$NON-NLS-1$
+    private static final String PREF_MAX_SUITE_SIZE = "executionsView.maxExpandedSuiteSize"; //$NON-NLS-1$
+
+    private final boolean limitSuiteExpansion;
+    private final int maxSuiteSize;
+
+    public AutoExpandSettings(boolean limitSuiteExpansion, int maxSuiteSize) {
+        Preconditions.checkArgument(maxSuiteSize >= MIN_MAX_SUITE_SIZE, "Maximum suite size must be at least %s", MIN_MAX_SUITE_SIZE);
+        this.limitSuiteExpansion = limitSuiteExpansion;
+        this.maxSuiteSize = maxSuiteSize;
+    }
+
+    /**
+     * Returns whether large test suites are excluded from the automatic expansion.
+     *
+     * @return {@code true} if large test suites are not expanded automatically
+     */
+    public boolean isLimitSuiteExpansion() {
+        return this.limitSuiteExpansion;
+    }
+
+    /**
+     * Returns the number of children above which a test suite is not expanded automatically if
+     * the expansion is limited.
+     *
+     * @return the maximum number of children
+     */
+    public int getMaxSuiteSize() {
+        return this.maxSuiteSize;
+    }
+
+    /**
+     * Returns whether a test suite with the given number of children is expanded automatically.
+     *
+     * @param suiteSize the number of children of the suite
+     * @return {@code true} if the suite can be expanded
+     */
+    public boolean isExpandable(int suiteSize) {
+        return !this.limitSuiteExpansion || suiteSize <= this.maxSuiteSize;
+    }
+
+    public static AutoExpandSettings load() {
+        IEclipsePreferences prefs = EclipsePreferencesUtils.getInstanceScope().getNode(UiPlugin.PLUGIN_ID);
+        boolean limitSuiteExpansion = prefs.getBoolean(PREF_LIMIT_SUITE_EXPANSION, true);
+        int maxSuiteSize = prefs.getInt(PREF_MAX_SUITE_SIZE, DEFAULT_MAX_SUITE_SIZE);
+        return new AutoExpandSettings(limitSuiteExpansion, Math.max(maxSuiteSize, MIN_MAX_SUITE_SIZE));
+    }
+
+    public void save() {
+        IEclipsePreferences prefs = EclipsePreferencesUtils.getInstanceScope().getNode(UiPlugin.PLUGIN_ID);
+        prefs.putBoolean(PREF_LIMIT_SUITE_EXPANSION, this.limitSuiteExpansion);
+        prefs.putInt(PREF_MAX_SUITE_SIZE, this.maxSuiteSize);
+
+        try {
+            prefs.flush();
+        } catch (BackingStoreException e) {
+            UiPlugin.logger().error("Unable to store execution view preferences.", e); //$NON-NLS-1$
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.util.List;
+
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Collects the progress events of a build until the actual listener is attached, and replays them
+ * to that listener in the original order.
+ * <p/>
+ * This allows registering for the progress of a build before it starts, without having to wait
+ * for the UI that displays the progress to be created.
+ * <p/>
+ * If the UI is never created, the buffered events are discarded through {@link #discard()}. Since
+ * the listener cannot be removed from a running build, all further events are then ignored. The
+ * same happens once more than {@value #MAX_BUFFERED_EVENTS} events are buffered, such that a build
+ * whose UI never shows up does not run out of memory. In that case, a warning is logged once when
+ * the listener starts dropping the events.
+ */
+public final class BufferingProgressListener implements ProgressListener {
+
+    private static final int MAX_BUFFERED_EVENTS = 100000;
+
+    private List<ProgressEvent> bufferedEvents;
+    private ProgressListener delegate;
+
+    public BufferingProgressListener() {
+        this.bufferedEvents = Lists.newArrayList();
+    }
+
+    @Override
+    public synchronized void statusChanged(ProgressEvent event) {
+        if (this.delegate != null) {
+            this.delegate.statusChanged(event);
+        } else if (this.bufferedEvents != null) {
+            this.bufferedEvents.add(event);
+            if (this.bufferedEvents.size() > MAX_BUFFERED_EVENTS) {
+                // discarding the buffer ignores all further events, thus the warning is logged only once
+                discard();
+                UiPlugin.logger().warn(String.format("Dropping the progress events of a build, since no listener was attached after %d events.", MAX_BUFFERED_EVENTS)); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Forwards the buffered and all future events to the given listener. Does nothing if the
+     * events were already discarded, since the listener would only receive a part of them.
+     *
+     * @param delegate the listener to forward the events to
+     */
+    public synchronized void attach(ProgressListener delegate) {
+        Preconditions.checkNotNull(delegate);
+        Preconditions.checkState(this.delegate == null, "Listener already attached");
+        if (this.bufferedEvents == null) {
+            return;
+        }
+        for (ProgressEvent event : this.bufferedEvents) {
+            delegate.statusChanged(event);
+        }
+        this.bufferedEvents = null;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Drops the buffered events and ignores all future events, unless a listener is already
+     * attached.
+     */
+    public synchronized void discard() {
+        this.bufferedEvents = null;
+    }
+
+}
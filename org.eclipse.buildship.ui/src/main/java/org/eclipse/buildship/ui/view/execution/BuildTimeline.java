@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.Longs;
+
+/**
+ * The tasks of a build laid out over time.
+ * <p/>
+ * The Tooling API neither reports on which worker a task ran nor which tasks it depended on. Thus,
+ * the tasks are assigned to lanes such that tasks running at the same time are in different lanes,
+ * which corresponds to the workers the build used at most. The critical path is derived from the
+ * timing alone: starting with the task that finished last, each task is preceded by the task that
+ * finished last before it started, since that is the task it most likely waited for.
+ * <p/>
+ * Periods in which no task was running, e.g. while the build was configured, are reported as gaps.
+ */
+final class BuildTimeline {
+
+    private static final Comparator<Task> BY_START = new Comparator<Task>() {
+
+        @Override
+        public int compare(Task first, Task second) {
+            int result = Longs.compare(first.start, second.start);
+            return result != 0 ? result : Longs.compare(first.end, second.end);
+        }
+    };
+
+    private final long start;
+    private final long end;
+    private final int laneCount;
+    private final ImmutableList<Task> tasks;
+    private final ImmutableList<Gap> gaps;
+
+    private BuildTimeline(long start, long end, int laneCount, List<Task> tasks, List<Gap> gaps) {
+        this.start = start;
+        this.end = end;
+        this.laneCount = laneCount;
+        this.tasks = ImmutableList.copyOf(tasks);
+        this.gaps = ImmutableList.copyOf(gaps);
+    }
+
+    /**
+     * Returns when the build started.
+     *
+     * @return the start time in milliseconds since the epoch
+     */
+    long getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns when the build finished, or the current time if it is still running.
+     *
+     * @return the end time in milliseconds since the epoch
+     */
+    long getEnd() {
+        return this.end;
+    }
+
+    /**
+     * Returns the maximum number of tasks which ran at the same time.
+     *
+     * @return the number of lanes
+     */
+    int getLaneCount() {
+        return this.laneCount;
+    }
+
+    /**
+     * Returns the tasks, ordered by their start time.
+     *
+     * @return the tasks
+     */
+    List<Task> getTasks() {
+        return this.tasks;
+    }
+
+    /**
+     * Returns the periods in which no task was running.
+     *
+     * @return the gaps, ordered by their start time
+     */
+    List<Gap> getGaps() {
+        return this.gaps;
+    }
+
+    /**
+     * Writes the timeline in the Chrome trace event format, which can be opened in
+     * {@code chrome://tracing} and similar tools. Each lane is written as a thread.
+     *
+     * @param writer the writer to write the JSON document to
+     * @throws IOException if the document cannot be written
+     */
+    void writeChromeTrace(Writer writer) throws IOException {
+        writer.write("{\"traceEvents\":[\n"); //$NON-NLS-1$
+        for (int lane = 0; lane < this.laneCount; lane++) {
+            writer.write(String.format(Locale.ROOT, "{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":%d,\"args\":{\"name\":\"Worker %d\"}},\n", lane, lane + 1)); //$NON-NLS-1$
+        }
+        for (Gap gap : this.gaps) {
+            writer.write(String.format(Locale.ROOT, "{\"name\":\"idle\",\"cat\":\"gap\",\"ph\":\"X\",\"pid\":1,\"tid\":0,\"ts\":%d,\"dur\":%d},\n", //$NON-NLS-1$
+                    toMicros(gap.getStart() - this.start), toMicros(gap.getEnd() - gap.getStart())));
+        }
+        for (Task task : this.tasks) {
+            writer.write(String.format(Locale.ROOT, "{\"name\":\"%s\",\"cat\":\"%s\",\"ph\":\"X\",\"pid\":1,\"tid\":%d,\"ts\":%d,\"dur\":%d,\"args\":{\"result\":\"%s\"}},\n", //$NON-NLS-1$
+                    escape(task.getName()), task.isCritical() ? "task,critical" : "task", task.getLane(), //$NON-NLS-1$ //$NON-NLS-2$
+                    toMicros(task.getStart() - this.start), toMicros(task.getEnd() - task.getStart()), task.getResult() != null ? task.getResult().name() : "RUNNING")); //$NON-NLS-1$
+        }
+        writer.write("{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"args\":{\"name\":\"Gradle build\"}}\n],\"displayTimeUnit\":\"ms\"}\n"); //$NON-NLS-1$
+        writer.flush();
+    }
+
+    private static long toMicros(long millis) {
+        return millis * 1000;
+    }
+
+    private static String escape(String string) {
+        StringBuilder escaped = new StringBuilder(string.length());
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c)); //$NON-NLS-1$
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Lays out the tasks below the given root item.
+     *
+     * @param root the root item of the execution tree
+     * @param now the time to use as the end of running tasks
+     * @return the timeline
+     */
+    static BuildTimeline from(OperationItem root, long now) {
+        // collect the tasks, tasks are never nested in other tasks
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        List<Task> tasks = Lists.newArrayList();
+        Deque<OperationItem> pending = new ArrayDeque<OperationItem>(root.getChildren());
+        while (!pending.isEmpty()) {
+            OperationItem item = pending.removeFirst();
+            long itemStart = item.getStartTime();
+            long itemEnd = item.isFinished() ? item.getEndTime() : Math.max(now, itemStart);
+            start = Math.min(start, itemStart);
+            end = Math.max(end, itemEnd);
+            if (item.getType() == OperationItem.Type.TASK) {
+                tasks.add(new Task(item.getOperationName(), itemStart, itemEnd, item.getResult(), item.isUpToDate()));
+            } else {
+                pending.addAll(item.getChildren());
+            }
+        }
+        if (start > end) {
+            return new BuildTimeline(0, 0, 0, ImmutableList.<Task>of(), ImmutableList.<Gap>of());
+        }
+
+        Collections.sort(tasks, BY_START);
+        int laneCount = assignLanes(tasks);
+        markCriticalPath(tasks);
+        return new BuildTimeline(start, end, laneCount, tasks, findGaps(tasks, start, end));
+    }
+
+    private static int assignLanes(List<Task> tasks) {
+        // the end of the last task in each lane, a task is put into the first lane which is free
+        List<Long> laneEnds = Lists.newArrayList();
+        for (Task task : tasks) {
+            int lane = 0;
+            while (lane < laneEnds.size() && laneEnds.get(lane) > task.start) {
+                lane++;
+            }
+            if (lane == laneEnds.size()) {
+                laneEnds.add(task.end);
+            } else {
+                laneEnds.set(lane, task.end);
+            }
+            task.lane = lane;
+        }
+        return laneEnds.size();
+    }
+
+    private static void markCriticalPath(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        List<Task> byEnd = Lists.newArrayList(tasks);
+        Collections.sort(byEnd, new Comparator<Task>() {
+
+            @Override
+            public int compare(Task first, Task second) {
+                return Longs.compare(first.end, second.end);
+            }
+        });
+
+        // walk back from the task which finished last
+        int index = byEnd.size() - 1;
+        while (index >= 0) {
+            Task task = byEnd.get(index);
+            task.critical = true;
+
+            // find the task which finished last before the current task started
+            int low = 0;
+            int high = index - 1;
+            int predecessor = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (byEnd.get(middle).end <= task.start) {
+                    predecessor = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            index = predecessor;
+        }
+    }
+
+    private static List<Gap> findGaps(List<Task> tasks, long start, long end) {
+        List<Gap> gaps = Lists.newArrayList();
+        long busyUntil = start;
+        for (Task task : tasks) {
+            if (task.start > busyUntil) {
+                gaps.add(new Gap(busyUntil, task.start));
+            }
+            busyUntil = Math.max(busyUntil, task.end);
+        }
+        if (end > busyUntil) {
+            gaps.add(new Gap(busyUntil, end));
+        }
+        return gaps;
+    }
+
+    /**
+     * A task laid out on the timeline.
+     */
+    static final class Task {
+
+        private final String name;
+        private final long start;
+        private final long end;
+        private final OperationItem.Result result;
+        private final boolean upToDate;
+        private int lane;
+        private boolean critical;
+
+        Task(String name, long start, long end, OperationItem.Result result, boolean upToDate) {
+            this.name = Preconditions.checkNotNull(name);
+            this.start = start;
+            this.end = end;
+            this.result = result;
+            this.upToDate = upToDate;
+        }
+
+        String getName() {
+            return this.name;
+        }
+
+        long getStart() {
+            return this.start;
+        }
+
+        long getEnd() {
+            return this.end;
+        }
+
+        /**
+         * Returns the result of the task.
+         *
+         * @return the result or {@code null} if the task is still running
+         */
+        OperationItem.Result getResult() {
+            return this.result;
+        }
+
+        boolean isUpToDate() {
+            return this.upToDate;
+        }
+
+        int getLane() {
+            return this.lane;
+        }
+
+        boolean isCritical() {
+            return this.critical;
+        }
+    }
+
+    /**
+     * A period in which no task was running.
+     */
+    static final class Gap {
+
+        private final long start;
+        private final long end;
+
+        Gap(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        long getStart() {
+            return this.start;
+        }
+
+        long getEnd() {
+            return this.end;
+        }
+    }
+
+}
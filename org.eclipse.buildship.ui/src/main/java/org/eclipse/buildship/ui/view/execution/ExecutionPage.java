@@ -11,12 +11,14 @@
 
 package org.eclipse.buildship.ui.view.execution;
 
+import java.io.File;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
 import org.eclipse.buildship.core.console.ProcessDescription;
 import org.eclipse.buildship.ui.external.viewer.FilteredTree;
-import org.eclipse.buildship.ui.external.viewer.PatternFilter;
 import org.eclipse.buildship.ui.util.color.ColorUtils;
 import org.eclipse.buildship.ui.util.nodeselection.ActionShowingContextMenuListener;
 import org.eclipse.buildship.ui.util.nodeselection.NodeSelection;
@@ -27,60 +29,86 @@ import org.eclipse.buildship.ui.view.BasePage;
 import org.eclipse.buildship.ui.view.CollapseTreeNodesAction;
 import org.eclipse.buildship.ui.view.ExpandTreeNodesAction;
 import org.eclipse.buildship.ui.view.MultiPageView;
-import org.eclipse.buildship.ui.view.ObservableMapCellWithIconLabelProvider;
 import org.eclipse.buildship.ui.view.PageSite;
 import org.eclipse.buildship.ui.view.ShowFilterAction;
-import org.eclipse.core.databinding.beans.BeanProperties;
-import org.eclipse.core.databinding.beans.IBeanValueProperty;
-import org.eclipse.core.databinding.observable.set.IObservableSet;
-import org.eclipse.core.databinding.property.list.IListProperty;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.Separator;
-import org.eclipse.jface.databinding.viewers.ObservableListTreeContentProvider;
-import org.eclipse.jface.databinding.viewers.ObservableMapCellLabelProvider;
 import org.eclipse.jface.resource.ColorDescriptor;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider;
 import org.eclipse.jface.viewers.DoubleClickEvent;
 import org.eclipse.jface.viewers.IDoubleClickListener;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.TreeViewerColumn;
-import org.eclipse.jface.viewers.ViewerColumn;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.ControlAdapter;
 import org.eclipse.swt.events.ControlEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Menu;
+import org.eclipse.swt.widgets.Tree;
 import org.eclipse.swt.widgets.TreeColumn;
+import org.eclipse.swt.widgets.TreeItem;
 import org.eclipse.ui.IActionBars;
 
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.TreeTraverser;
-import com.gradleware.tooling.toolingclient.Request;
 
 /**
  * Displays the tree of a single build execution.
+ * <p/>
+ * The tree is virtual, it only creates widgets for the operations the user scrolls to or expands.
+ * Once the build terminated, the tree can be replaced by an {@link ExecutionSummary}, and the full
+ * tree can be restored from the file it was persisted to.
  */
 @SuppressWarnings({"rawtypes", "unchecked"})
 public final class ExecutionPage extends BasePage<FilteredTree> implements NodeSelectionProvider {
 
     private final ProcessDescription processDescription;
-    private final Request<Void> request;
     private final ExecutionViewState state;
+    private final UpdateDurationJob updateDurationJob;
+    private final FailureIndex failureIndex;
+    private volatile long terminationTime;
 
+    private BufferingProgressListener progressEvents;
     private SelectionHistoryManager selectionHistoryManager;
     private TreeViewerColumn nameColumn;
     private TreeViewerColumn durationColumn;
+    private ShowFullTreeAction showFullTreeAction;
+    private File summarizedTree;
 
-    public ExecutionPage(ProcessDescription processDescription, Request<Void> request, ExecutionViewState state) {
+    public ExecutionPage(ProcessDescription processDescription, BufferingProgressListener progressEvents, ExecutionViewState state, UpdateDurationJob updateDurationJob) {
         this.processDescription = processDescription;
-        this.request = request;
+        this.progressEvents = progressEvents;
         this.state = state;
+        this.updateDurationJob = updateDurationJob;
+        this.failureIndex = new FailureIndex();
+
+        registerJobChangeListener();
+    }
+
+    private void registerJobChangeListener() {
+        Job job = this.processDescription.getJob();
+        job.addJobChangeListener(new JobChangeAdapter() {
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                ExecutionPage.this.terminationTime = System.currentTimeMillis();
+            }
+        });
+        if (job.getState() == Job.NONE) {
+            this.terminationTime = System.currentTimeMillis();
+        }
     }
 
     public ProcessDescription getProcessDescription() {
@@ -95,7 +123,8 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
     @Override
     public FilteredTree createPageWithResult(Composite parent) {
         // configure tree
-        FilteredTree filteredTree = new FilteredTree(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL, new PatternFilter(true));
+        OperationItemPatternFilter patternFilter = new OperationItemPatternFilter();
+        FilteredTree filteredTree = new FilteredTree(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.VIRTUAL, patternFilter);
         filteredTree.setShowFilterControls(false);
         filteredTree.getViewer().getTree().setHeaderVisible(this.state.isShowTreeHeader());
 
@@ -107,14 +136,20 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         this.durationColumn.getColumn().setText(ExecutionViewMessages.Tree_Column_Operation_Duration_Text);
         this.durationColumn.getColumn().setWidth(this.state.getHeaderDurationColumnWidth());
 
-        // configure data binding
-        IListProperty childrenProperty = new OperationItemChildrenListProperty();
-        ObservableListTreeContentProvider contentProvider = new ObservableListTreeContentProvider(childrenProperty.listFactory(), null);
-        filteredTree.getViewer().setContentProvider(contentProvider);
+        // configure content and labels, the items are read from the operation store on demand
+        filteredTree.getViewer().setUseHashlookup(true);
+        filteredTree.getViewer().setContentProvider(new OperationItemContentProvider(patternFilter));
+        this.nameColumn.setLabelProvider(new DelegatingStyledCellLabelProvider(new OperationItemNameLabelProvider(getCustomTextColoringMapping())));
+        this.durationColumn.setLabelProvider(new ColumnLabelProvider() {
+
+            private final OperationItemRenderer renderer = new OperationItemRenderer();
 
-        IObservableSet knownElements = contentProvider.getKnownElements();
-        attachLabelProvider(OperationItem.FIELD_NAME, OperationItem.FIELD_IMAGE, knownElements, this.nameColumn);
-        attachLabelProvider(OperationItem.FIELD_DURATION, null, knownElements, this.durationColumn);
+            @Override
+            public String getText(Object element) {
+                // the elapsed time of running operations is calculated whenever the row is shown
+                return element instanceof OperationItem ? this.renderer.renderDuration((OperationItem) element) : ""; //$NON-NLS-1$
+            }
+        });
 
         // keep header size synchronized between pages
         this.nameColumn.getColumn().addControlListener(new ControlAdapter() {
@@ -162,26 +197,15 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         OperationItem root = new OperationItem();
         filteredTree.getViewer().setInput(root);
 
-        // listen to progress events
-        this.request.addTypedProgressListeners(new ExecutionProgressListener(this, root));
+        // listen to progress events, the page does not hold on to the listener such that a
+        // summarized tree can be garbage collected
+        this.progressEvents.attach(new ExecutionProgressListener(this, root, this.updateDurationJob, this.failureIndex));
+        this.progressEvents = null;
 
         // return the tree as the outermost page control
         return filteredTree;
     }
 
-    private void attachLabelProvider(String textProperty, String imageProperty, IObservableSet knownElements, ViewerColumn viewerColumn) {
-        IBeanValueProperty txtProperty = BeanProperties.value(textProperty);
-        if (imageProperty != null) {
-            IBeanValueProperty imgProperty = BeanProperties.value(imageProperty);
-            ObservableMapCellWithIconLabelProvider labelProvider = new ObservableMapCellWithIconLabelProvider(getCustomTextColoringMapping(),
-                    txtProperty.observeDetail(knownElements), imgProperty.observeDetail(knownElements));
-            viewerColumn.setLabelProvider(new DelegatingStyledCellLabelProvider(labelProvider));
-        } else {
-            ObservableMapCellLabelProvider labelProvider = new ObservableMapCellLabelProvider(txtProperty.observeDetail(knownElements));
-            viewerColumn.setLabelProvider(labelProvider);
-        }
-    }
-
     private Map<String, ColorDescriptor> getCustomTextColoringMapping() {
         return ImmutableMap.of("UP-TO-DATE", ColorUtils.getDecorationsColorDescriptorFromCurrentTheme());
     }
@@ -196,6 +220,7 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
     }
 
     private void populateToolBar() {
+        this.showFullTreeAction = new ShowFullTreeAction(this);
         IActionBars actionBars = getSite().getActionBars();
         IToolBarManager toolbarManager = actionBars.getToolBarManager();
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ExpandTreeNodesAction(getPageControl().getViewer()));
@@ -203,7 +228,11 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ShowFilterAction(getPageControl()));
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new Separator());
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new SwitchToConsoleViewAction(this));
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ShowTimelineAction(this));
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, this.showFullTreeAction);
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new Separator());
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new SelectPreviousFailureAction(this));
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new SelectNextFailureAction(this));
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new RerunFailedTestsAction(this));
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new Separator());
         toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new CancelBuildExecutionAction(this));
@@ -249,12 +278,118 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         });
     }
 
+    FailureIndex getFailureIndex() {
+        return this.failureIndex;
+    }
+
+    /**
+     * Selects and reveals the failure following or preceding the currently selected operation.
+     *
+     * @param next {@code true} to select the next failure, {@code false} to select the previous one
+     */
+    void selectFailure(boolean next) {
+        TreeViewer treeViewer = getPageControl().getViewer();
+        Object selected = ((IStructuredSelection) treeViewer.getSelection()).getFirstElement();
+        OperationItem current = selected instanceof OperationItem ? (OperationItem) selected : null;
+        OperationItem failure = next ? this.failureIndex.next(current) : this.failureIndex.previous(current);
+        if (failure != null) {
+            // expand the ancestors first, the virtual tree has no widgets for collapsed items
+            treeViewer.expandToLevel(failure, 0);
+            treeViewer.setSelection(new StructuredSelection(failure), true);
+        }
+    }
+
+    OperationItem getRoot() {
+        return (OperationItem) getPageControl().getViewer().getInput();
+    }
+
+    /**
+     * Returns whether the build shown by this page terminated.
+     *
+     * @return {@code true} if the build terminated
+     */
+    boolean isTerminated() {
+        return this.terminationTime > 0;
+    }
+
+    /**
+     * Returns when the build terminated or when its full tree was last restored, whichever is later.
+     *
+     * @return the time in milliseconds, or 0 if the build did not terminate yet
+     */
+    long getTerminationTime() {
+        return this.terminationTime;
+    }
+
+    boolean isSummarized() {
+        return this.summarizedTree != null;
+    }
+
+    File getSummarizedTree() {
+        return this.summarizedTree;
+    }
+
+    /**
+     * Replaces the full tree by the given summary. Must be called from the UI thread.
+     *
+     * @param summary the summary of the full tree
+     * @param fullTree the file the full tree was persisted to
+     */
+    void summarize(ExecutionSummary summary, File fullTree) {
+        getPageControl().getViewer().setInput(summary.getRoot());
+        this.failureIndex.replaceFailedOperations(summary.getFailures());
+        this.summarizedTree = fullTree;
+        this.showFullTreeAction.update();
+    }
+
+    /**
+     * Replaces the summary by the given full tree. Must be called from the UI thread.
+     *
+     * @param root the root item of the full tree read from the file of the summarized tree
+     */
+    void restoreFullTree(OperationItem root) {
+        getPageControl().getViewer().setInput(root);
+        this.failureIndex.replaceFailedOperations(findFailures(root));
+        this.summarizedTree.delete();
+        this.summarizedTree = null;
+        // keep the restored tree for a while before summarizing it again
+        this.terminationTime = System.currentTimeMillis();
+        this.showFullTreeAction.update();
+    }
+
+    private static List<OperationItem> findFailures(OperationItem root) {
+        List<OperationItem> failures = Lists.newArrayList(new TreeTraverser<OperationItem>() {
+
+            @Override
+            public Iterable<OperationItem> children(OperationItem operationItem) {
+                return operationItem.getChildren();
+            }
+        }.preOrderTraversal(root).filter(new Predicate<OperationItem>() {
+
+            @Override
+            public boolean apply(OperationItem operationItem) {
+                return FailureIndex.isIndexedFailure(operationItem);
+            }
+        }));
+
+        // the failure index lists the failures in the order in which they finished
+        Collections.sort(failures, new Comparator<OperationItem>() {
+
+            @Override
+            public int compare(OperationItem first, OperationItem second) {
+                return Long.valueOf(first.getEndTime()).compareTo(Long.valueOf(second.getEndTime()));
+            }
+        });
+        return failures;
+    }
+
     public FluentIterable<OperationItem> filterTreeNodes(Predicate<OperationItem> predicate) {
-        OperationItem root = (OperationItem) getPageControl().getViewer().getInput();
+        OperationItem root = getRoot();
         if (root == null) {
             return FluentIterable.from(ImmutableList.<OperationItem>of());
         }
 
+        // traverse the operation store, the tree only contains widgets for the materialized items
         return new TreeTraverser<OperationItem>() {
 
             @Override
@@ -264,6 +399,65 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
         }.breadthFirstTraversal(root).filter(predicate);
     }
 
+    /**
+     * Updates the duration of the running operations in the rows which are currently visible.
+     * Collapsed and scrolled out rows are updated once they are shown.
+     */
+    void updateVisibleDurations() {
+        TreeViewer treeViewer = getPageControl().getViewer();
+        Tree tree = treeViewer.getTree();
+        TreeItem topItem = tree.isDisposed() ? null : tree.getTopItem();
+        if (topItem == null) {
+            return;
+        }
+
+        // walk the rows from the top to the bottom of the visible area, following the expanded items
+        List<OperationItem> runningItems = Lists.newArrayList();
+        int visibleRows = tree.getClientArea().height / Math.max(tree.getItemHeight(), 1) + 1;
+        List<Integer> path = pathOf(tree, topItem);
+        TreeItem item = topItem;
+        for (int row = 0; row < visibleRows && item != null; row++) {
+            Object data = item.getData();
+            if (data instanceof OperationItem && !((OperationItem) data).isFinished()) {
+                runningItems.add((OperationItem) data);
+            }
+            item = nextVisibleItem(tree, item, path);
+        }
+
+        if (!runningItems.isEmpty()) {
+            treeViewer.update(runningItems.toArray(), null);
+        }
+    }
+
+    private static List<Integer> pathOf(Tree tree, TreeItem item) {
+        // the indices of the item and of its ancestors, the index of the top-level ancestor first
+        List<Integer> path = Lists.newArrayList();
+        for (TreeItem child = item; child != null; child = child.getParentItem()) {
+            TreeItem parent = child.getParentItem();
+            path.add(0, parent != null ? parent.indexOf(child) : tree.indexOf(child));
+        }
+        return path;
+    }
+
+    private static TreeItem nextVisibleItem(Tree tree, TreeItem item, List<Integer> path) {
+        if (item.getExpanded() && item.getItemCount() > 0) {
+            path.add(0);
+            return item.getItem(0);
+        }
+
+        // continue with the next sibling of the item or of the closest ancestor which has one
+        for (TreeItem current = item; current != null; current = current.getParentItem()) {
+            TreeItem parent = current.getParentItem();
+            int next = path.get(path.size() - 1) + 1;
+            if (next < (parent != null ? parent.getItemCount() : tree.getItemCount())) {
+                path.set(path.size() - 1, next);
+                return parent != null ? parent.getItem(next) : tree.getItem(next);
+            }
+            path.remove(path.size() - 1);
+        }
+        return null;
+    }
+
     @Override
     public Object getAdapter(Class adapter) {
         if (FilteredTree.class.equals(adapter)) {
@@ -287,9 +481,18 @@ public final class ExecutionPage extends BasePage<FilteredTree> implements NodeS
 
     @Override
     public void dispose() {
+        this.updateDurationJob.removeRunningPage(this);
+        if (this.progressEvents != null) {
+            // the page was disposed before its control was created
+            this.progressEvents.discard();
+            this.progressEvents = null;
+        }
         if (this.selectionHistoryManager != null) {
             this.selectionHistoryManager.dispose();
         }
+        if (this.summarizedTree != null) {
+            this.summarizedTree.delete();
+        }
         super.dispose();
     }
 
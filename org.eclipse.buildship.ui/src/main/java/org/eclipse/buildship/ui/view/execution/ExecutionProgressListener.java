@@ -12,6 +12,7 @@
 package org.eclipse.buildship.ui.view.execution;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.gradle.tooling.events.FinishEvent;
 import org.gradle.tooling.events.OperationDescriptor;
@@ -22,6 +23,7 @@ import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.TreeViewer;
@@ -33,21 +35,50 @@ import org.eclipse.buildship.ui.view.Page;
  * Listens to {@link org.gradle.tooling.events.ProgressEvent} instances that are sent by the Tooling
  * API while a build is executed. Each incoming event is added to the execution tree as an
  * {@link OperationItem} instance.
+ * <p/>
+ * The changes to the tree are not applied per event. Instead, the changed items are collected and
+ * applied in a single batch the next time the UI thread processes its pending work, such that a
+ * build with many operations does not flood the UI thread with tree updates. Likewise, only the
+ * path to the most recently started operation is expanded per batch, see {@link AutoExpandSettings}.
+ * While operations are running, the page is registered with the {@link UpdateDurationJob}. The
+ * failed operations are recorded in the {@link FailureIndex} as they finish.
  */
 public final class ExecutionProgressListener implements org.gradle.tooling.events.ProgressListener {
 
-    private static final int UPDATE_DURATION_JOB_INTERVAL_IN_MS = 1000;
-
     private final Page executionPage;
+    private final UpdateDurationJob updateDurationJob;
+    private final FailureIndex failureIndex;
     private final Map<OperationDescriptor, OperationItem> executionItemMap;
     private final OperationItemRenderer operationItemRenderer;
-    private UpdateDurationJob updateDurationJob;
-
-    public ExecutionProgressListener(Page executionPage, OperationItem root) {
+    private final AutoExpandSettings autoExpandSettings;
+    private final Object pendingUpdatesLock;
+    private final Runnable applyPendingUpdates;
+    private Set<OperationItem> pendingRenders;
+    private Set<OperationItem> pendingParents;
+    private Set<OperationItem> pendingRemovals;
+    private OperationItem pendingReveal;
+    private boolean updateScheduled;
+    private int runningOperations;
+
+    public ExecutionProgressListener(Page executionPage, OperationItem root, UpdateDurationJob updateDurationJob, FailureIndex failureIndex) {
         this.executionPage = Preconditions.checkNotNull(executionPage);
+        this.updateDurationJob = Preconditions.checkNotNull(updateDurationJob);
+        this.failureIndex = Preconditions.checkNotNull(failureIndex);
         this.executionItemMap = Maps.newLinkedHashMap();
         this.executionItemMap.put(null, Preconditions.checkNotNull(root));
         this.operationItemRenderer = new OperationItemRenderer();
+        this.autoExpandSettings = AutoExpandSettings.load();
+        this.pendingUpdatesLock = new Object();
+        this.pendingRenders = Sets.newLinkedHashSet();
+        this.pendingParents = Sets.newLinkedHashSet();
+        this.pendingRemovals = Sets.newHashSet();
+        this.applyPendingUpdates = new Runnable() {
+
+            @Override
+            public void run() {
+                applyPendingUpdates();
+            }
+        };
     }
 
     @Override
@@ -59,44 +90,108 @@ public final class ExecutionProgressListener implements org.gradle.tooling.event
             return;
         }
 
-        // create the job to update the duration of running operations as late as possible
-        // to make sure it is only created if really needed
-        initDurationJobIfNeeded();
-
         // create a new operation item if the event is a start event, otherwise update the item
         OperationItem operationItem = this.executionItemMap.get(descriptor);
         if (null == operationItem) {
             operationItem = new OperationItem((StartEvent) progressEvent);
             this.executionItemMap.put(descriptor, operationItem);
-            this.updateDurationJob.addOperationItem(operationItem);
+            if (this.runningOperations++ == 0) {
+                // update the duration of the running operations only as long as there are any
+                this.updateDurationJob.addRunningPage(this.executionPage);
+            }
+
+            // attach to (first non-excluded) parent and ensure that the new node is made visible
+            OperationItem parentExecutionItem = this.executionItemMap.get(findFirstNonExcludedParent(descriptor));
+            boolean added = parentExecutionItem.addChild(operationItem);
+            scheduleUpdate(operationItem, added ? parentExecutionItem : null, true);
         } else {
-            operationItem.setFinishEvent((FinishEvent) progressEvent);
-            this.updateDurationJob.removeOperationItem(operationItem);
-            if (isJvmTestSuite(descriptor) && operationItem.getChildren().isEmpty()) {
+            // no more events refer to the finished operation, thus only keep its compact record
+            this.executionItemMap.remove(descriptor);
+            operationItem.finish((FinishEvent) progressEvent);
+            if (--this.runningOperations == 0) {
+                this.updateDurationJob.removeRunningPage(this.executionPage);
+            }
+
+            OperationItem parentOperationItem = operationItem.getParent();
+            if (isJvmTestSuite(descriptor) && !operationItem.hasChildren()) {
                 // do not display test suite nodes that have no children (unwanted artifacts from Gradle)
-                OperationItem parentOperationItem = this.executionItemMap.get(findFirstNonExcludedParent(descriptor));
-                parentOperationItem.removeChild(operationItem);
+                if (parentOperationItem != null && parentOperationItem.removeChild(operationItem)) {
+                    scheduleRemoval(parentOperationItem);
+                }
                 return;
             }
+            this.failureIndex.operationFinished(operationItem);
+            scheduleUpdate(operationItem, null, false);
         }
+    }
 
-        // configure the operation item based on the event details
-        this.operationItemRenderer.update(operationItem);
+    private void scheduleUpdate(OperationItem render, OperationItem parent, boolean reveal) {
+        synchronized (this.pendingUpdatesLock) {
+            if (render != null) {
+                this.pendingRenders.add(render);
+                if (reveal) {
+                    // only the newest running operation is revealed, the previous ones are superseded
+                    this.pendingReveal = render;
+                }
+            }
+            if (parent != null) {
+                this.pendingParents.add(parent);
+            }
+            scheduleApplyPendingUpdates();
+        }
+    }
 
-        // attach to (first non-excluded) parent, if this is a new operation (in case of StartEvent)
-        OperationItem parentExecutionItem = this.executionItemMap.get(findFirstNonExcludedParent(descriptor));
-        parentExecutionItem.addChild(operationItem);
+    private void scheduleRemoval(OperationItem parent) {
+        synchronized (this.pendingUpdatesLock) {
+            this.pendingParents.add(parent);
+            this.pendingRemovals.add(parent);
+            scheduleApplyPendingUpdates();
+        }
+    }
 
-        // ensure that if it is a newly added node it is made visible (in case of StartEvent)
-        if (operationItem.getFinishEvent() == null) {
-            makeNodeVisible(operationItem);
+    private void scheduleApplyPendingUpdates() {
+        if (!this.updateScheduled) {
+            this.updateScheduled = true;
+            PlatformUI.getWorkbench().getDisplay().asyncExec(this.applyPendingUpdates);
         }
     }
 
-    private void initDurationJobIfNeeded() {
-        if (this.updateDurationJob == null) {
-            this.updateDurationJob = new UpdateDurationJob(UPDATE_DURATION_JOB_INTERVAL_IN_MS, this.operationItemRenderer);
-            this.updateDurationJob.schedule(UPDATE_DURATION_JOB_INTERVAL_IN_MS);
+    private void applyPendingUpdates() {
+        Set<OperationItem> renders;
+        Set<OperationItem> parents;
+        Set<OperationItem> removals;
+        OperationItem reveal;
+        synchronized (this.pendingUpdatesLock) {
+            renders = this.pendingRenders;
+            parents = this.pendingParents;
+            removals = this.pendingRemovals;
+            reveal = this.pendingReveal;
+            this.pendingRenders = Sets.newLinkedHashSet();
+            this.pendingParents = Sets.newLinkedHashSet();
+            this.pendingRemovals = Sets.newHashSet();
+            this.pendingReveal = null;
+            this.updateScheduled = false;
+        }
+
+        for (OperationItem operationItem : renders) {
+            this.operationItemRenderer.update(operationItem);
+        }
+        for (OperationItem parent : parents) {
+            parent.publishChildren();
+        }
+
+        // only the materialized items are updated in the tree, the others are read when they are shown
+        TreeViewer treeViewer = getTreeViewer();
+        if (treeViewer.getControl().isDisposed()) {
+            return;
+        }
+        OperationItemContentProvider contentProvider = (OperationItemContentProvider) treeViewer.getContentProvider();
+        contentProvider.childrenChanged(parents, removals);
+        if (!renders.isEmpty()) {
+            treeViewer.update(renders.toArray(), null);
+        }
+        if (reveal != null && reveal.getParent() != null) {
+            makeNodeVisible(treeViewer, reveal);
         }
     }
 
@@ -128,16 +223,25 @@ public final class ExecutionProgressListener implements org.gradle.tooling.event
         return false;
     }
 
-    private void makeNodeVisible(final OperationItem operationItem) {
-        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+    private TreeViewer getTreeViewer() {
+        @SuppressWarnings({ "cast", "RedundantCast" })
+        TreeViewer treeViewer = (TreeViewer) this.executionPage.getAdapter(TreeViewer.class);
+        return treeViewer;
+    }
 
-            @Override
-            public void run() {
-                @SuppressWarnings({ "cast", "RedundantCast" })
-                TreeViewer treeViewer = (TreeViewer) ExecutionProgressListener.this.executionPage.getAdapter(TreeViewer.class);
-                treeViewer.expandToLevel(operationItem, AbstractTreeViewer.ALL_LEVELS);
+    private void makeNodeVisible(TreeViewer treeViewer, OperationItem operationItem) {
+        // stop at the outermost test suite which is too large to be expanded automatically
+        OperationItem target = operationItem;
+        boolean limited = false;
+        for (OperationItem item = operationItem; item != null && !item.isRoot(); item = item.getParent()) {
+            if (isJvmTestSuite(item.getDescriptor()) && !this.autoExpandSettings.isExpandable(item.getChildCount())) {
+                target = item;
+                limited = true;
             }
-        });
+        }
+
+        // level 0 only expands the ancestors of the target, such that the target itself becomes visible
+        treeViewer.expandToLevel(target, limited ? 0 : AbstractTreeViewer.ALL_LEVELS);
     }
 
 }
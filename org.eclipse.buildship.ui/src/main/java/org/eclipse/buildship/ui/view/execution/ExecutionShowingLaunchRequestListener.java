@@ -39,19 +39,31 @@ public final class ExecutionShowingLaunchRequestListener implements EventListene
     }
 
     private void handleLaunchRequest(final ExecuteLaunchRequestEvent event) {
-        // call synchronously to make sure we do not miss any progress events
-        PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
+        // register for the progress before the build starts to make sure we do not miss any progress
+        // events, but do not block the launch until the view is ready
+        final BufferingProgressListener progressEvents = new BufferingProgressListener();
+        event.addProgressListener(progressEvents);
+
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
 
             @Override
             public void run() {
                 ProcessDescription processDescription = event.getProcessDescription();
+                boolean pageAdded = false;
+                try {
+                    // activate the executions view
+                    int mode = processDescription.getConfigurationAttributes().isShowExecutionView() ? IWorkbenchPage.VIEW_ACTIVATE : IWorkbenchPage.VIEW_CREATE;
+                    ExecutionsView view = WorkbenchUtils.showView(ExecutionsView.ID, null, mode);
 
-                // activate the executions view
-                int mode = processDescription.getConfigurationAttributes().isShowExecutionView() ? IWorkbenchPage.VIEW_ACTIVATE : IWorkbenchPage.VIEW_CREATE;
-                ExecutionsView view = WorkbenchUtils.showView(ExecutionsView.ID, null, mode);
-
-                // show the launched build in a new page of the Executions View
-                view.addExecutionPage(processDescription, event.getRequest());
+                    // show the launched build in a new page of the Executions View
+                    view.addExecutionPage(processDescription, progressEvents);
+                    pageAdded = true;
+                } finally {
+                    // nobody will ever consume the buffered events
+                    if (!pageAdded) {
+                        progressEvents.discard();
+                    }
+                }
             }
         });
     }
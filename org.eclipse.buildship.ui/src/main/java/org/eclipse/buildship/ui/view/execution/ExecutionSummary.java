@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * A lightweight replacement of the tree of a terminated execution: the number of executed tasks
+ * and tests by their result, and the innermost failed operations.
+ * <p/>
+ * The summary is itself a small tree of {@link OperationItem} instances, such that it can be shown
+ * by an {@link ExecutionPage} in place of the full tree. The failed operations are copies which do
+ * not refer to the full tree.
+ */
+final class ExecutionSummary {
+
+    // a broken build can fail thousands of tests, the full tree can still be restored to see them all
+    private static final int MAX_FAILURES = 100;
+
+    private final OperationItem root;
+    private final ImmutableList<OperationItem> failures;
+
+    private ExecutionSummary(OperationItem root, List<OperationItem> failures) {
+        this.root = root;
+        this.failures = ImmutableList.copyOf(failures);
+    }
+
+    /**
+     * Returns the root item of the summary tree.
+     *
+     * @return the root item
+     */
+    OperationItem getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Returns the failed operations shown in the summary tree.
+     *
+     * @return the failed operations
+     */
+    List<OperationItem> getFailures() {
+        return this.failures;
+    }
+
+    /**
+     * Summarizes the tree below the given root item.
+     *
+     * @param fullRoot the root item of the full execution tree
+     * @return the summary
+     */
+    static ExecutionSummary from(OperationItem fullRoot) {
+        long start = Long.MAX_VALUE;
+        long end = Long.MIN_VALUE;
+        int executedTasks = 0;
+        int upToDateTasks = 0;
+        int skippedTasks = 0;
+        int failedTasks = 0;
+        int passedTests = 0;
+        int skippedTests = 0;
+        int failedTests = 0;
+        int totalFailures = 0;
+        List<OperationItem> failures = Lists.newArrayList();
+
+        Deque<OperationItem> pending = new ArrayDeque<OperationItem>(fullRoot.getChildren());
+        while (!pending.isEmpty()) {
+            OperationItem item = pending.removeFirst();
+            List<OperationItem> children = item.getChildren();
+            pending.addAll(children);
+            start = Math.min(start, item.getStartTime());
+            end = Math.max(end, item.getEndTime());
+
+            OperationItem.Result result = item.getResult();
+            if (item.getType() == OperationItem.Type.TASK) {
+                if (result == OperationItem.Result.FAILURE) {
+                    failedTasks++;
+                } else if (result == OperationItem.Result.SKIPPED) {
+                    skippedTasks++;
+                } else if (item.isUpToDate()) {
+                    upToDateTasks++;
+                } else {
+                    executedTasks++;
+                }
+            } else if (item.getType() == OperationItem.Type.TEST && children.isEmpty()) {
+                if (result == OperationItem.Result.FAILURE) {
+                    failedTests++;
+                } else if (result == OperationItem.Result.SKIPPED) {
+                    skippedTests++;
+                } else {
+                    passedTests++;
+                }
+            }
+
+            // only the innermost failures are of interest, the outer ones fail because of them
+            if (result == OperationItem.Result.FAILURE && !hasFailedChild(children)) {
+                if (totalFailures++ < MAX_FAILURES) {
+                    failures.add(OperationItem.restore(item.getType(), item.getOperationName(), item.getStartTime(), item.getEndTime(), result, item.isUpToDate(), item.getFailures()));
+                }
+            }
+        }
+        if (start > end) {
+            start = end = 0;
+        }
+
+        OperationItemRenderer renderer = new OperationItemRenderer();
+        List<OperationItem> summaryItems = Lists.newArrayList();
+        int tasks = executedTasks + upToDateTasks + skippedTasks + failedTasks;
+        if (tasks > 0) {
+            String text = NLS.bind(ExecutionViewMessages.Summary_Tasks_Text, new Object[] { tasks, executedTasks, upToDateTasks, skippedTasks, failedTasks });
+            summaryItems.add(summaryItem(text, start, end, failedTasks > 0, renderer));
+        }
+        int tests = passedTests + skippedTests + failedTests;
+        if (tests > 0) {
+            String text = NLS.bind(ExecutionViewMessages.Summary_Tests_Text, new Object[] { tests, passedTests, skippedTests, failedTests });
+            summaryItems.add(summaryItem(text, start, end, failedTests > 0, renderer));
+        }
+        for (OperationItem failure : failures) {
+            renderer.update(failure);
+            summaryItems.add(failure);
+        }
+        if (totalFailures > MAX_FAILURES) {
+            String text = NLS.bind(ExecutionViewMessages.Summary_More_Failures_Text, totalFailures - MAX_FAILURES);
+            summaryItems.add(summaryItem(text, start, end, true, renderer));
+        }
+
+        OperationItem root = new OperationItem();
+        root.setRestoredChildren(summaryItems);
+        return new ExecutionSummary(root, failures);
+    }
+
+    private static boolean hasFailedChild(List<OperationItem> children) {
+        for (OperationItem child : children) {
+            if (child.getResult() == OperationItem.Result.FAILURE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static OperationItem summaryItem(String text, long start, long end, boolean failed, OperationItemRenderer renderer) {
+        OperationItem.Result result = failed ? OperationItem.Result.FAILURE : OperationItem.Result.SUCCESS;
+        OperationItem item = OperationItem.restore(OperationItem.Type.OTHER, text, start, end, result, false, ImmutableList.<OperationFailure>of());
+        renderer.update(item);
+        return item;
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import org.eclipse.buildship.core.GradlePluginsRuntimeException;
+
+/**
+ * Persists the trees of terminated executions, such that a summarized execution page can show its
+ * full tree again.
+ * <p/>
+ * Each tree is written to its own compressed file below the store directory. The files only live
+ * as long as the pages they belong to. The stores of all Executions Views share the directory, thus
+ * the directory is only cleared once per session, see {@link #clear()}. The Tooling API descriptors
+ * of the operations are not persisted.
+ */
+final class ExecutionTreeStore {
+
+    private static final int VERSION = 1;
+    private static final int NO_TYPE = -1;
+
+    private final File directory;
+    private final OperationItemRenderer renderer;
+
+    ExecutionTreeStore(File directory) {
+        this.directory = Preconditions.checkNotNull(directory);
+        this.renderer = new OperationItemRenderer();
+    }
+
+    /**
+     * Deletes all trees in the store directory, including the trees written by other stores.
+     */
+    void clear() {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes the tree below the given root item to a new file.
+     *
+     * @param root the root item of the execution tree
+     * @return the file the tree was written to
+     * @throws IOException if the tree cannot be written
+     */
+    File write(OperationItem root) throws IOException {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+            throw new IOException(String.format("Cannot create directory %s.", this.directory.getAbsolutePath()));
+        }
+        File file = File.createTempFile("execution", ".bin", this.directory); //$NON-NLS-1$ //$NON-NLS-2$
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))));
+        boolean written = false;
+        try {
+            out.writeInt(VERSION);
+            writeItem(root, out);
+            written = true;
+        } finally {
+            out.close();
+            if (!written) {
+                file.delete();
+            }
+        }
+        return file;
+    }
+
+    private static void writeItem(OperationItem item, DataOutputStream out) throws IOException {
+        out.writeInt(item.isRoot() ? NO_TYPE : item.getType().ordinal());
+        if (!item.isRoot()) {
+            writeString(item.getOperationName(), out);
+            out.writeLong(item.getStartTime());
+            out.writeLong(item.getEndTime());
+            OperationItem.Result result = item.getResult();
+            out.writeInt((result != null ? result : OperationItem.Result.UNKNOWN).ordinal());
+            out.writeBoolean(item.isUpToDate());
+            writeFailures(item.getFailures(), out);
+        }
+        List<OperationItem> children = item.getChildren();
+        out.writeInt(children.size());
+        for (OperationItem child : children) {
+            writeItem(child, out);
+        }
+    }
+
+    private static void writeFailures(List<OperationFailure> failures, DataOutputStream out) throws IOException {
+        out.writeInt(failures.size());
+        for (OperationFailure failure : failures) {
+            writeString(failure.getMessage(), out);
+            writeString(failure.getDescription(), out);
+            writeFailures(failure.getCauses(), out);
+        }
+    }
+
+    private static void writeString(String string, DataOutputStream out) throws IOException {
+        // stack traces can exceed the length supported by writeUTF
+        if (string == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = string.getBytes(Charsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a tree written by {@link #write(OperationItem)}.
+     *
+     * @param file the file to read
+     * @return the root item of the tree
+     * @throws IOException if the tree cannot be read
+     */
+    OperationItem read(File file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(String.format("Unsupported version %d of file %s.", version, file.getAbsolutePath()));
+            }
+            return readItem(in);
+        } catch (GradlePluginsRuntimeException e) {
+            throw new IOException(String.format("Corrupt file %s.", file.getAbsolutePath()), e);
+        } finally {
+            in.close();
+        }
+    }
+
+    private OperationItem readItem(DataInputStream in) throws IOException {
+        int type = in.readInt();
+        OperationItem item;
+        if (type == NO_TYPE) {
+            item = new OperationItem();
+        } else {
+            String operationName = readString(in);
+            long startTime = in.readLong();
+            long endTime = in.readLong();
+            OperationItem.Result result = valueOf(OperationItem.Result.values(), in.readInt());
+            boolean upToDate = in.readBoolean();
+            List<OperationFailure> failures = readFailures(in);
+            item = OperationItem.restore(valueOf(OperationItem.Type.values(), type), operationName, startTime, endTime, result, upToDate, failures);
+            this.renderer.update(item);
+        }
+
+        int childCount = in.readInt();
+        if (childCount > 0) {
+            List<OperationItem> children = Lists.newArrayListWithCapacity(childCount);
+            for (int i = 0; i < childCount; i++) {
+                children.add(readItem(in));
+            }
+            item.setRestoredChildren(children);
+        }
+        return item;
+    }
+
+    private static ImmutableList<OperationFailure> readFailures(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        ImmutableList.Builder<OperationFailure> failures = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            String message = readString(in);
+            String description = readString(in);
+            failures.add(new OperationFailure(message, description, readFailures(in)));
+        }
+        return failures.build();
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, Charsets.UTF_8);
+    }
+
+    private static <T> T valueOf(T[] values, int ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new GradlePluginsRuntimeException(String.format("Unknown value %d.", ordinal));
+        }
+        return values[ordinal];
+    }
+
+}
@@ -36,6 +36,24 @@ public final class ExecutionViewMessages extends NLS {
     public static String Action_RemoveExecutionPage_Tooltip;
     public static String Action_RemoveAllExecutionPages_Tooltip;
     public static String Action_SwitchToConsole_Tooltip;
+    public static String Action_SelectNextFailure_Tooltip;
+    public static String Action_SelectPreviousFailure_Tooltip;
+    public static String Action_ShowTimeline_Text;
+    public static String Action_ShowTimeline_Tooltip;
+    public static String Action_RefreshTimeline_Tooltip;
+    public static String Action_ExportChromeTrace_Text;
+    public static String Action_ExportChromeTrace_Tooltip;
+    public static String Action_RemoveTimelinePage_Tooltip;
+    public static String Action_ShowFullTree_Tooltip;
+
+    public static String Timeline_Page_Name_0;
+    public static String Timeline_Summary_Text;
+    public static String Timeline_Task_Tooltip;
+    public static String Timeline_Gap_Tooltip;
+
+    public static String Summary_Tasks_Text;
+    public static String Summary_Tests_Text;
+    public static String Summary_More_Failures_Text;
 
     public static String Dialog_Failure_Title;
     public static String Dialog_Failure_Back_Tooltip;
@@ -46,6 +64,19 @@ public final class ExecutionViewMessages extends NLS {
     public static String Dialog_Failure_Details_Label;
     public static String Dialog_Failure_Link_Label;
     public static String Dialog_Failure_Root_Cause_Label;
+    public static String Dialog_ExportChromeTrace_Title;
+    public static String Dialog_ExportChromeTrace_Error;
+    public static String Dialog_ShowFullTree_Title;
+    public static String Dialog_ShowFullTree_Error;
+    public static String Dialog_ShowTimeline_Title;
+    public static String Dialog_ShowTimeline_Error;
+
+    public static String Preference_Label_Executions;
+    public static String Preference_Label_LimitSuiteExpansion;
+    public static String Preference_Label_MaxExpandedSuiteSize;
+    public static String Preference_Label_SummarizeExecutions;
+    public static String Preference_Label_MaxFullExecutions;
+    public static String Preference_Label_MaxFullExecutionAge;
 
 
     static {
@@ -11,8 +11,11 @@
 
 package org.eclipse.buildship.ui.view.execution;
 
-import com.gradleware.tooling.toolingclient.Request;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.action.ActionContributionItem;
 import org.eclipse.jface.action.IContributionItem;
 import org.eclipse.jface.action.IMenuManager;
@@ -21,6 +24,7 @@ import org.eclipse.ui.IViewSite;
 import org.eclipse.ui.PartInitException;
 
 import org.eclipse.buildship.core.console.ProcessDescription;
+import org.eclipse.buildship.ui.UiPlugin;
 import org.eclipse.buildship.ui.view.MessagePage;
 import org.eclipse.buildship.ui.view.MultiPageView;
 import org.eclipse.buildship.ui.view.Page;
@@ -34,7 +38,15 @@ public final class ExecutionsView extends MultiPageView {
     // view id declared in the plugin.xml
     public static final String ID = "org.eclipse.buildship.ui.views.executionview"; //$NON-NLS-1$
 
+    private static final int UPDATE_DURATION_JOB_INTERVAL_IN_MS = 1000;
+
+    // the views of all workbench windows share the execution trees, thus they are only cleared once
+    private static final AtomicBoolean EXECUTION_TREES_CLEARED = new AtomicBoolean();
+
     private ExecutionViewState state;
+    private UpdateDurationJob updateDurationJob;
+    private ExecutionTreeStore executionTreeStore;
+    private SummarizeExecutionPagesJob summarizeJob;
     private IContributionItem switchPagesAction;
 
     @Override
@@ -45,6 +57,17 @@ public final class ExecutionsView extends MultiPageView {
         this.state = new ExecutionViewState();
         this.state.load();
 
+        // a single job updates the durations of the running operations of all pages
+        this.updateDurationJob = new UpdateDurationJob(UPDATE_DURATION_JOB_INTERVAL_IN_MS, this);
+
+        // the trees of terminated executions are persisted in the plugin state and summarized
+        this.executionTreeStore = new ExecutionTreeStore(UiPlugin.getInstance().getStateLocation().append("execution-trees").toFile()); //$NON-NLS-1$
+        if (EXECUTION_TREES_CLEARED.compareAndSet(false, true)) {
+            // remove the trees left over by the previous session
+            this.executionTreeStore.clear();
+        }
+        this.summarizeJob = new SummarizeExecutionPagesJob(this, this.executionTreeStore);
+
         // create the global actions
         this.switchPagesAction = new ActionContributionItem(new SwitchToNextPageAction(this, ExecutionViewMessages.Action_SwitchExecutionPage_Tooltip));
         this.switchPagesAction.setVisible(false);
@@ -69,14 +92,37 @@ public final class ExecutionsView extends MultiPageView {
         return new MessagePage(ExecutionViewMessages.Label_No_Execution);
     }
 
-    public void addExecutionPage(ProcessDescription processDescription, Request<Void> request) {
-        ExecutionPage executionPage = new ExecutionPage(processDescription, request, this.state);
+    public void addExecutionPage(ProcessDescription processDescription, BufferingProgressListener progressEvents) {
+        ExecutionPage executionPage = new ExecutionPage(processDescription, progressEvents, this.state, this.updateDurationJob);
         addPage(executionPage);
         switchToPage(executionPage);
+
+        // summarize the pages beyond the retention limit whenever a build terminates
+        Job job = processDescription.getJob();
+        job.addJobChangeListener(new JobChangeAdapter() {
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                ExecutionsView.this.summarizeJob.schedule();
+            }
+        });
+        if (job.getState() == Job.NONE) {
+            this.summarizeJob.schedule();
+        }
+    }
+
+    ExecutionTreeStore getExecutionTreeStore() {
+        return this.executionTreeStore;
     }
 
     @Override
     public void dispose() {
+        if (this.updateDurationJob != null) {
+            this.updateDurationJob.stop();
+        }
+        if (this.summarizeJob != null) {
+            this.summarizeJob.stop();
+        }
         if (this.state != null) {
             this.state.dispose();
         }
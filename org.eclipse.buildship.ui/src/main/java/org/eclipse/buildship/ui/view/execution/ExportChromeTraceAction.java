@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.io.Files;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Exports the timeline of the target {@link TimelinePage} to a file in the Chrome trace event
+ * format.
+ */
+public final class ExportChromeTraceAction extends Action {
+
+    private final TimelinePage page;
+
+    public ExportChromeTraceAction(TimelinePage page) {
+        this.page = Preconditions.checkNotNull(page);
+
+        setText(ExecutionViewMessages.Action_ExportChromeTrace_Text);
+        setToolTipText(ExecutionViewMessages.Action_ExportChromeTrace_Tooltip);
+    }
+
+    @Override
+    public void run() {
+        Shell shell = this.page.getSite().getViewSite().getShell();
+        FileDialog dialog = new FileDialog(shell, SWT.SAVE);
+        dialog.setText(ExecutionViewMessages.Dialog_ExportChromeTrace_Title);
+        dialog.setFilterExtensions(new String[] { "*.json" }); //$NON-NLS-1$
+        dialog.setFileName("trace.json"); //$NON-NLS-1$
+        dialog.setOverwrite(true);
+        String path = dialog.open();
+        if (path == null) {
+            return;
+        }
+
+        File file = new File(path);
+        try {
+            Writer writer = Files.newWriter(file, Charsets.UTF_8);
+            try {
+                this.page.getTimeline().writeChromeTrace(writer);
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            String message = NLS.bind(ExecutionViewMessages.Dialog_ExportChromeTrace_Error, file.getAbsolutePath());
+            UiPlugin.logger().error(message, e);
+            MessageDialog.openError(shell, ExecutionViewMessages.Dialog_ExportChromeTrace_Title, message);
+        }
+    }
+
+}
@@ -33,15 +33,12 @@ import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.browser.IWebBrowser;
 import org.eclipse.ui.browser.IWorkbenchBrowserSupport;
-import org.gradle.tooling.Failure;
-import org.gradle.tooling.events.FailureResult;
-import org.gradle.tooling.events.FinishEvent;
 
 import java.net.URI;
 import java.util.List;
 
 /**
- * Dialog presenting a list of {@link Failure} instances.
+ * Dialog presenting the {@link OperationFailure} instances of a list of failed operations.
  */
 public final class FailureDialog extends Dialog {
 
@@ -62,10 +59,10 @@ public final class FailureDialog extends Dialog {
 
     private int selectionIndex;
 
-    public FailureDialog(Shell parent, String title, List<FinishEvent> failureEvents) {
+    public FailureDialog(Shell parent, String title, List<OperationItem> failedOperations) {
         super(parent);
         this.title = Preconditions.checkNotNull(title);
-        this.failureItems = FailureItem.from(failureEvents);
+        this.failureItems = FailureItem.from(failedOperations);
         setShellStyle(SWT.DIALOG_TRIM | SWT.RESIZE | SWT.APPLICATION_MODAL);
     }
 
@@ -195,9 +192,9 @@ public final class FailureDialog extends Dialog {
     @SuppressWarnings("RedundantTypeArguments")
     private void update() {
         Optional<FailureItem> failureItem = this.selectionIndex == -1 ? Optional.<FailureItem>absent() : Optional.of(this.failureItems.get(this.selectionIndex));
-        Optional<Failure> failure = failureItem.isPresent() ? failureItem.get().failure : Optional.<Failure>absent();
+        Optional<OperationFailure> failure = failureItem.isPresent() ? failureItem.get().failure : Optional.<OperationFailure>absent();
 
-        this.operationNameText.setText(failureItem.isPresent() ? OperationDescriptorRenderer.renderVerbose(failureItem.get().event) : ""); //$NON-NLS-1$
+        this.operationNameText.setText(failureItem.isPresent() ? OperationDescriptorRenderer.renderVerbose(failureItem.get().operation) : ""); //$NON-NLS-1$
 
         this.messageText.setText(failure.isPresent() ? Strings.nullToEmpty(failure.get().getMessage()) : ""); //$NON-NLS-1$
         this.messageText.setEnabled(failureItem.isPresent());
@@ -219,7 +216,7 @@ public final class FailureDialog extends Dialog {
         this.operationNameText.getParent().layout(true);
     }
 
-    private Optional<String> findTestReportUrl(Optional<Failure> failure) {
+    private Optional<String> findTestReportUrl(Optional<OperationFailure> failure) {
         if (failure.isPresent()) {
             String description = failure.get().getDescription();
             int beginIndex = description.indexOf(FAILURE_DETAILS_URL_PREFIX);
@@ -232,17 +229,17 @@ public final class FailureDialog extends Dialog {
         return Optional.absent();
     }
 
-    private String collectDetails(Failure failure) {
+    private String collectDetails(OperationFailure failure) {
         return collectDetailsRecursively(failure);
     }
 
-    private String collectDetailsRecursively(Failure failure) {
+    private String collectDetailsRecursively(OperationFailure failure) {
         StringBuilder result = new StringBuilder();
         result.append(Strings.nullToEmpty(failure.getDescription()));
-        List<? extends Failure> causes = failure.getCauses();
+        List<OperationFailure> causes = failure.getCauses();
         if (!causes.isEmpty()) {
             result.append('\n').append(ExecutionViewMessages.Dialog_Failure_Root_Cause_Label).append(' ');
-            for (Failure cause : causes) {
+            for (OperationFailure cause : causes) {
                 result.append(collectDetailsRecursively(cause));
             }
         }
@@ -264,35 +261,35 @@ public final class FailureDialog extends Dialog {
     }
 
     /**
-     * Represents a failure item shown in the failure dialog. One finish event can have multiple
-     * failures and so for each failure of each event we show a failure item in the failure dialog.
+     * Represents a failure item shown in the failure dialog. One operation can have multiple
+     * failures and so for each failure of each operation we show a failure item in the failure dialog.
      */
     private static final class FailureItem {
 
-        private final FinishEvent event;
-        private final Optional<Failure> failure;
+        private final OperationItem operation;
+        private final Optional<OperationFailure> failure;
 
-        private FailureItem(FinishEvent event, Optional<Failure> failure) {
-            this.event = event;
+        private FailureItem(OperationItem operation, Optional<OperationFailure> failure) {
+            this.operation = operation;
             this.failure = failure;
         }
 
-        private static ImmutableList<FailureItem> from(final FinishEvent event) {
-            List<? extends Failure> failures = ((FailureResult) event.getResult()).getFailures();
-            ImmutableList<FailureItem> failureItems = FluentIterable.from(failures).transform(new Function<Failure, FailureItem>() {
+        private static ImmutableList<FailureItem> from(final OperationItem operation) {
+            List<OperationFailure> failures = operation.getFailures();
+            ImmutableList<FailureItem> failureItems = FluentIterable.from(failures).transform(new Function<OperationFailure, FailureItem>() {
 
                 @Override
-                public FailureItem apply(Failure failure) {
-                    return new FailureItem(event, Optional.of(failure));
+                public FailureItem apply(OperationFailure failure) {
+                    return new FailureItem(operation, Optional.of(failure));
                 }
             }).toList();
-            return failureItems.isEmpty() ? ImmutableList.of(new FailureItem(event, Optional.<Failure>absent())) : failureItems;
+            return failureItems.isEmpty() ? ImmutableList.of(new FailureItem(operation, Optional.<OperationFailure>absent())) : failureItems;
         }
 
-        private static ImmutableList<FailureItem> from(List<FinishEvent> events) {
+        private static ImmutableList<FailureItem> from(List<OperationItem> operations) {
             ImmutableList.Builder<FailureItem> failureItems = ImmutableList.builder();
-            for (FinishEvent event : events) {
-                failureItems.addAll(from(event));
+            for (OperationItem operation : operations) {
+                failureItems.addAll(from(operation));
             }
             return failureItems.build();
         }
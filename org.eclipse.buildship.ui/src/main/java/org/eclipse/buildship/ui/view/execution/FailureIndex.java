@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.test.JvmTestKind;
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
+import org.gradle.tooling.events.test.TestOperationDescriptor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+/**
+ * The failed operations of a single build execution, in the order in which they are shown in the
+ * execution tree.
+ * <p/>
+ * Only the operations which failed on their own are indexed. Operations which failed because one of
+ * their children failed, like test suites, test tasks or the build itself, are left out, since the
+ * failed child already explains their failure.
+ * <p/>
+ * The index is filled by the {@link ExecutionProgressListener} as the operations finish, such that
+ * the failures are available without traversing the execution tree. Since the operations do not
+ * finish in the order of the tree, each failure is inserted at its tree position, which is compared
+ * through the positions of the operation and its ancestors among their siblings. It is safe to be
+ * read from the UI thread while the build is still running.
+ */
+final class FailureIndex {
+
+    private static final Comparator<OperationItem> TREE_ORDER = new TreeOrder();
+
+    private final List<OperationItem> failedOperations;
+    private final Set<OperationItem> failedAncestors;
+    private final List<TestOperationDescriptor> failedTests;
+
+    FailureIndex() {
+        this.failedOperations = Lists.newArrayList();
+        this.failedAncestors = Sets.newHashSet();
+        this.failedTests = Lists.newArrayList();
+    }
+
+    /**
+     * Adds the given operation if it failed and none of its children failed. Must be called after
+     * the operation finished.
+     *
+     * @param operationItem the finished operation
+     */
+    synchronized void operationFinished(OperationItem operationItem) {
+        if (operationItem.getResult() != OperationItem.Result.FAILURE || this.failedAncestors.contains(operationItem)) {
+            return;
+        }
+        // the ancestors usually finish after their children, but an ancestor indexed earlier is dropped all the same
+        for (OperationItem ancestor = operationItem.getParent(); ancestor != null && this.failedAncestors.add(ancestor); ancestor = ancestor.getParent()) {
+            this.failedOperations.remove(ancestor);
+        }
+        int index = Collections.binarySearch(this.failedOperations, operationItem, TREE_ORDER);
+        this.failedOperations.add(index < 0 ? -index - 1 : index, operationItem);
+        OperationDescriptor descriptor = operationItem.getDescriptor();
+        if (isAtomicJvmTest(descriptor)) {
+            this.failedTests.add((TestOperationDescriptor) descriptor);
+        }
+    }
+
+    private static boolean isAtomicJvmTest(OperationDescriptor descriptor) {
+        if (descriptor instanceof JvmTestOperationDescriptor) {
+            JvmTestKind kind = ((JvmTestOperationDescriptor) descriptor).getJvmTestKind();
+            return kind == JvmTestKind.ATOMIC || kind == JvmTestKind.UNKNOWN;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the failed operations, e.g. when the page shows a different tree of the same
+     * execution. The failed tests are kept.
+     *
+     * @param operationItems the failed operations of the tree now shown
+     */
+    synchronized void replaceFailedOperations(List<OperationItem> operationItems) {
+        this.failedOperations.clear();
+        this.failedOperations.addAll(operationItems);
+        Collections.sort(this.failedOperations, TREE_ORDER);
+        this.failedAncestors.clear();
+    }
+
+    /**
+     * Returns whether the given operation failed on its own, i.e. whether it would be indexed.
+     *
+     * @param operationItem the finished operation
+     * @return {@code true} if the operation failed and none of its children failed
+     */
+    static boolean isIndexedFailure(OperationItem operationItem) {
+        if (operationItem.getResult() != OperationItem.Result.FAILURE) {
+            return false;
+        }
+        for (OperationItem child : operationItem.getChildren()) {
+            if (child.getResult() == OperationItem.Result.FAILURE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized boolean hasFailedTests() {
+        return !this.failedTests.isEmpty();
+    }
+
+    /**
+     * Returns the descriptors of the failed tests, i.e. the failed test methods.
+     *
+     * @return the failed tests
+     */
+    synchronized List<TestOperationDescriptor> getFailedTests() {
+        return ImmutableList.copyOf(this.failedTests);
+    }
+
+    synchronized boolean hasFailures() {
+        return !this.failedOperations.isEmpty();
+    }
+
+    /**
+     * Returns the failure following the given operation. If the given operation is not a failure
+     * itself, the first failure below it in the tree is returned.
+     *
+     * @param current the current operation or {@code null} to start with the first failure
+     * @return the next failure, wrapping around after the last one, or {@code null} if there are no failures
+     */
+    synchronized OperationItem next(OperationItem current) {
+        if (this.failedOperations.isEmpty()) {
+            return null;
+        }
+        int size = this.failedOperations.size();
+        if (current == null || !isInTreeOfFailures(current)) {
+            return this.failedOperations.get(0);
+        }
+        int index = Collections.binarySearch(this.failedOperations, current, TREE_ORDER);
+        // if the current operation is not a failure, the failure at its insertion point follows it
+        return this.failedOperations.get((index < 0 ? -index - 1 : index + 1) % size);
+    }
+
+    /**
+     * Returns the failure preceding the given operation. If the given operation is not a failure
+     * itself, the last failure above it in the tree is returned.
+     *
+     * @param current the current operation or {@code null} to start with the last failure
+     * @return the previous failure, wrapping around before the first one, or {@code null} if there are no failures
+     */
+    synchronized OperationItem previous(OperationItem current) {
+        if (this.failedOperations.isEmpty()) {
+            return null;
+        }
+        int size = this.failedOperations.size();
+        if (current == null || !isInTreeOfFailures(current)) {
+            return this.failedOperations.get(size - 1);
+        }
+        int index = Collections.binarySearch(this.failedOperations, current, TREE_ORDER);
+        return this.failedOperations.get(((index < 0 ? -index - 1 : index) - 1 + size) % size);
+    }
+
+    private boolean isInTreeOfFailures(OperationItem operationItem) {
+        return rootOf(operationItem) == rootOf(this.failedOperations.get(0));
+    }
+
+    private static OperationItem rootOf(OperationItem operationItem) {
+        OperationItem root = operationItem;
+        for (OperationItem parent = root.getParent(); parent != null; parent = parent.getParent()) {
+            root = parent;
+        }
+        return root;
+    }
+
+    /**
+     * Orders the operations of the same tree in pre-order, i.e. in the order in which they are shown.
+     */
+    private static final class TreeOrder implements Comparator<OperationItem> {
+
+        @Override
+        public int compare(OperationItem first, OperationItem second) {
+            List<OperationItem> firstPath = pathFromRoot(first);
+            List<OperationItem> secondPath = pathFromRoot(second);
+            int depth = Math.min(firstPath.size(), secondPath.size());
+            for (int i = 0; i < depth; i++) {
+                OperationItem firstAncestor = firstPath.get(i);
+                OperationItem secondAncestor = secondPath.get(i);
+                if (firstAncestor != secondAncestor) {
+                    int firstPosition = firstAncestor.getSiblingPosition();
+                    int secondPosition = secondAncestor.getSiblingPosition();
+                    return firstPosition < secondPosition ? -1 : (firstPosition == secondPosition ? 0 : 1);
+                }
+            }
+            // an ancestor is shown before its descendants
+            return firstPath.size() - secondPath.size();
+        }
+
+        private static List<OperationItem> pathFromRoot(OperationItem operationItem) {
+            List<OperationItem> path = Lists.newArrayList();
+            for (OperationItem item = operationItem; item != null; item = item.getParent()) {
+                path.add(item);
+            }
+            return Lists.reverse(path);
+        }
+    }
+
+}
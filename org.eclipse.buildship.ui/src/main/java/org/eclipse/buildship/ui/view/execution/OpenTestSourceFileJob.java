@@ -13,7 +13,8 @@ package org.eclipse.buildship.ui.view.execution;
 
 import java.io.File;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.gradle.tooling.events.OperationDescriptor;
@@ -23,6 +24,10 @@ import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.common.io.Files;
 
 import com.gradleware.tooling.toolingmodel.OmniGradleBuild;
@@ -45,15 +50,7 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.search.IJavaSearchConstants;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchMatch;
-import org.eclipse.jdt.core.search.SearchParticipant;
-import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.SearchRequestor;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.FindReplaceDocumentAdapter;
@@ -76,6 +73,9 @@ import org.eclipse.buildship.ui.util.editor.EditorUtils;
  * Opens the test source files for the given
  * {@link org.eclipse.buildship.ui.view.execution.OperationItem} test nodes. Knows how to handle
  * both Java and Groovy test source files.
+ * <p/>
+ * The tests are grouped by the Gradle project they belong to. The test classes of each project are
+ * resolved at once through the {@link TestTypeResolver}.
  */
 public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
 
@@ -90,25 +90,30 @@ public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
 
     @Override
     protected void runToolingApiJobInWorkspace(IProgressMonitor monitor) throws Exception {
-        SubMonitor subMonitor = SubMonitor.convert(monitor, this.operationItems.size());
+        // group the tests by the project they belong to, such that each project is searched once
+        ListMultimap<String, JvmTestOperationDescriptor> testsByProjectPath = LinkedListMultimap.create();
         for (OperationItem operationItem : this.operationItems) {
-            if (monitor.isCanceled()) {
-                throw new OperationCanceledException();
-            } else {
-                searchForTestSource(operationItem, subMonitor.newChild(1));
+            OperationDescriptor operationDescriptor = (OperationDescriptor) operationItem.getAdapter(OperationDescriptor.class);
+            if (operationDescriptor instanceof JvmTestOperationDescriptor) {
+                JvmTestOperationDescriptor testOperationDescriptor = (JvmTestOperationDescriptor) operationDescriptor;
+                Optional<Path> projectPath = findProjectPath(operationDescriptor);
+                if (testOperationDescriptor.getClassName() != null && projectPath.isPresent()) {
+                    testsByProjectPath.put(projectPath.get().getPath(), testOperationDescriptor);
+                }
             }
         }
-    }
+        if (testsByProjectPath.isEmpty()) {
+            return;
+        }
 
-    private void searchForTestSource(OperationItem operationItem, SubMonitor monitor) throws CoreException {
-        OperationDescriptor operationDescriptor = (OperationDescriptor) operationItem.getAdapter(OperationDescriptor.class);
-        if (operationDescriptor instanceof JvmTestOperationDescriptor) {
-            JvmTestOperationDescriptor testOperationDescriptor = (JvmTestOperationDescriptor) operationDescriptor;
-            String className = testOperationDescriptor.getClassName();
-            Optional<Path> projectPath = findProjectPath(operationDescriptor);
-            if (className != null && projectPath.isPresent()) {
-                String methodName = testOperationDescriptor.getMethodName();
-                searchForTestSource(className, methodName, projectPath.get(), monitor);
+        SubMonitor subMonitor = SubMonitor.convert(monitor, testsByProjectPath.keySet().size() + 1);
+        OmniGradleBuild gradleBuild = fetchGradleBuild(subMonitor.newChild(1));
+        for (String projectPath : testsByProjectPath.keySet()) {
+            if (monitor.isCanceled()) {
+                throw new OperationCanceledException();
+            } else {
+                Optional<IProject> project = findProjectContainingTest(gradleBuild, Path.from(projectPath));
+                searchForTestSources(testsByProjectPath.get(projectPath), project, subMonitor.newChild(1));
             }
         }
     }
@@ -126,33 +131,46 @@ public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
         return Optional.absent();
     }
 
-    private void searchForTestSource(String className, String methodName, Path projectPath, SubMonitor monitor) throws CoreException {
-        monitor.setTaskName(String.format("Open test source file for class %s.", className));
+    private void searchForTestSources(List<JvmTestOperationDescriptor> tests, Optional<IProject> project, SubMonitor monitor) throws CoreException {
+        monitor.setTaskName(String.format("Open test source files for %d tests.", tests.size()));
         monitor.setWorkRemaining(2);
-        Optional<IProject> project = findProjectContainingTest(projectPath, monitor);
-        boolean found = searchForJavaTest(className, methodName, project, monitor.newChild(1));
-        if (!found) {
-            searchForGroovyTest(className, methodName, project, monitor.newChild(1));
-        }
-    }
 
-    private boolean searchForJavaTest(String className, String methodName, Optional<IProject> project, IProgressMonitor monitor) throws CoreException {
-        SearchEngine searchEngine = new SearchEngine();
-        SearchPattern pattern = SearchPattern.createPattern(className, IJavaSearchConstants.TYPE, IJavaSearchConstants.DECLARATIONS, SearchPattern.R_EXACT_MATCH);
-        ShowTestSourceFileSearchRequester requester = new ShowTestSourceFileSearchRequester(methodName);
-        searchEngine.search(pattern, new SearchParticipant[]{ SearchEngine.getDefaultSearchParticipant() }, createSearchScope(project, monitor), requester, monitor);
-        return requester.isFoundJavaTestSourceFile();
+        // resolve all classes of the project at once
+        Set<String> classNames = Sets.newLinkedHashSet();
+        for (JvmTestOperationDescriptor test : tests) {
+            classNames.add(test.getClassName());
+        }
+        Map<String, IType> types = UiPlugin.testTypeResolver().resolve(project, classNames, monitor.newChild(1));
+
+        // open the Java tests, the classes which are not known to JDT are looked up as Groovy sources
+        List<JvmTestOperationDescriptor> groovyTests = Lists.newArrayList();
+        for (JvmTestOperationDescriptor test : tests) {
+            IType type = types.get(test.getClassName());
+            if (type != null) {
+                IJavaElement method = findMethod(test.getMethodName(), type);
+                openInEditor(method != null ? method : type);
+            } else {
+                groovyTests.add(test);
+            }
+        }
+        if (!groovyTests.isEmpty()) {
+            searchForGroovyTests(groovyTests, project);
+        }
+        monitor.worked(1);
     }
 
-    private void searchForGroovyTest(String className, String methodName, Optional<IProject> project, SubMonitor monitor) throws CoreException {
+    private void searchForGroovyTests(List<JvmTestOperationDescriptor> tests, Optional<IProject> project) throws CoreException {
         IResource searchScope = project.isPresent() ? project.get() : ResourcesPlugin.getWorkspace().getRoot();
-        searchScope.accept(new ShowTestSourceFileResourceVisitor(methodName, className, ImmutableList.of("groovy"))); //$NON-NLS-1$
+        searchScope.accept(new ShowTestSourceFileResourceVisitor(tests, ImmutableList.of("groovy"))); //$NON-NLS-1$
     }
 
-    private Optional<IProject> findProjectContainingTest(Path projectPath, IProgressMonitor monitor) {
+    private OmniGradleBuild fetchGradleBuild(IProgressMonitor monitor) {
         FixedRequestAttributes requestAttributes = this.runConfigurationAttributes.toFixedRequestAttributes();
         ModelProvider modelProvider = CorePlugin.gradleWorkspaceManager().getGradleBuild(requestAttributes).getModelProvider();
-        OmniGradleBuild gradleBuild = modelProvider.fetchGradleBuild(FetchStrategy.LOAD_IF_NOT_CACHED, getToken(), monitor);
+        return modelProvider.fetchGradleBuild(FetchStrategy.LOAD_IF_NOT_CACHED, getToken(), monitor);
+    }
+
+    private Optional<IProject> findProjectContainingTest(OmniGradleBuild gradleBuild, Path projectPath) {
         Optional<OmniGradleProject> gradleProject = gradleBuild.getRootProject().tryFind(Specs.gradleProjectMatchesProjectPath(projectPath));
         if (gradleProject.isPresent()) {
             Maybe<File> projectDirectory = gradleProject.get().getProjectDirectory();
@@ -163,104 +181,71 @@ public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
         return Optional.absent();
     }
 
-    private IJavaSearchScope createSearchScope(Optional<IProject> candidate, IProgressMonitor monitor) throws CoreException {
-        if (candidate.isPresent()) {
-            IProject project = candidate.get();
-            if (project.isAccessible() && project.hasNature(JavaCore.NATURE_ID)) {
-                return SearchEngine.createJavaSearchScope(new IJavaElement[]{ JavaCore.create(project) });
-            }
+    private static IJavaElement findMethod(String methodName, IType type) {
+        // abort search for invalid method names
+        @SuppressWarnings("restriction")
+        IStatus status = org.eclipse.jdt.internal.corext.util.JavaConventionsUtil.validateMethodName(methodName, type);
+        if (!status.isOK()) {
+            return null;
         }
-        return SearchEngine.createWorkspaceScope();
-    }
-
-    /**
-     * Match the type and potentially also the method name.
-     */
-    private final class ShowTestSourceFileSearchRequester extends SearchRequestor {
 
-        private final String methodName;
-        private final AtomicBoolean foundJavaTestSourceFile;
-
-        private ShowTestSourceFileSearchRequester(String methodName) {
-            this.methodName = methodName;
-            this.foundJavaTestSourceFile = new AtomicBoolean(false);
+        // find parameter-less method by name
+        IMethod method = type.getMethod(methodName, new String[0]);
+        if (method != null && method.exists()) {
+            return method;
         }
 
-        @Override
-        public void acceptSearchMatch(SearchMatch match) throws CoreException {
-            if (match.getElement() instanceof IType) {
-                this.foundJavaTestSourceFile.set(true);
-
-                IType classElement = (IType) match.getElement();
-                IJavaElement methodElement = findMethod(this.methodName, classElement);
-                openInEditor(methodElement != null ? methodElement : classElement);
-            }
-        }
-
-        private IJavaElement findMethod(String methodName, IType type) {
-            // abort search for invalid method names
-            @SuppressWarnings("restriction")
-            IStatus status = org.eclipse.jdt.internal.corext.util.JavaConventionsUtil.validateMethodName(methodName, type);
-            if (!status.isOK()) {
-                return null;
-            }
-
-            // find parameter-less method by name
-            IMethod method = type.getMethod(methodName, new String[0]);
-            if (method != null && method.exists()) {
-                return method;
-            }
-
-            // search textually by name (for custom runner with test methods having parameters)
-            try {
-                for (IMethod methodItem : type.getMethods()) {
-                    if (methodItem.getElementName().equals(methodName)) {
-                        return methodItem;
-                    }
+        // search textually by name (for custom runner with test methods having parameters)
+        try {
+            for (IMethod methodItem : type.getMethods()) {
+                if (methodItem.getElementName().equals(methodName)) {
+                    return methodItem;
                 }
-                return null;
-            } catch (JavaModelException e) {
-                // ignore and treat as no method being found
-                return null;
             }
+            return null;
+        } catch (JavaModelException e) {
+            // ignore and treat as no method being found
+            return null;
         }
+    }
 
-        private void openInEditor(final IJavaElement javaElement) {
-            PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
+    private static void openInEditor(final IJavaElement javaElement) {
+        PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
 
-                @Override
-                public void run() {
-                    try {
-                        JavaUI.openInEditor(javaElement);
-                    } catch (Exception e) {
-                        String message = String.format("Cannot open Java element %s in editor.", javaElement);
-                        UiPlugin.logger().error(message, e);
-                    }
+            @Override
+            public void run() {
+                try {
+                    JavaUI.openInEditor(javaElement);
+                } catch (Exception e) {
+                    String message = String.format("Cannot open Java element %s in editor.", javaElement);
+                    UiPlugin.logger().error(message, e);
                 }
-            });
-        }
-
-        private boolean isFoundJavaTestSourceFile() {
-            return this.foundJavaTestSourceFile.get();
-        }
-
+            }
+        });
     }
 
     /**
-     * Find the file for the given class name as a resource in the workspace.
+     * Find the files for the classes of the given tests as resources in the workspace.
      */
     private static final class ShowTestSourceFileResourceVisitor implements IResourceVisitor {
 
         private static final String BIN_FOLDER_NAME = "bin"; //$NON-NLS-1$
 
-        private final String methodName;
-        private final String className;
+        private final ImmutableList<JvmTestOperationDescriptor> tests;
+        private final ImmutableList<String> classPaths;
         private final ImmutableList<String> fileExtensions;
 
-        private ShowTestSourceFileResourceVisitor(String methodName, String className, List<String> fileExtensions) {
-            this.methodName = methodName;
-            this.className = Preconditions.checkNotNull(className);
+        private ShowTestSourceFileResourceVisitor(List<JvmTestOperationDescriptor> tests, List<String> fileExtensions) {
+            this.tests = ImmutableList.copyOf(tests);
             this.fileExtensions = ImmutableList.copyOf(fileExtensions);
+
+            // prepare to compare package path of the requested class names with the project path of
+            // the visited resources
+            ImmutableList.Builder<String> classPaths = ImmutableList.builder();
+            for (JvmTestOperationDescriptor test : this.tests) {
+                classPaths.add(Preconditions.checkNotNull(test.getClassName()).replaceAll(Pattern.quote("."), "/")); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            this.classPaths = classPaths.build();
         }
 
         @Override
@@ -270,13 +255,9 @@ public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
                 return true;
             }
 
-            // prepare to compare package path of the requested class name with the project path of
-            // the given resource
-            String classNameToPath = this.className.replaceAll(Pattern.quote("."), "/"); //$NON-NLS-1$ //$NON-NLS-2$
+            // short-circuit if the resource is in the bin folder
             String projectRelativePath = resource.getProjectRelativePath().toString();
-
-            // short-circuit if the resource is in the bin folder or if the paths do not match
-            if (projectRelativePath.startsWith(BIN_FOLDER_NAME) || !projectRelativePath.contains(classNameToPath)) {
+            if (projectRelativePath.startsWith(BIN_FOLDER_NAME)) {
                 return true;
             }
 
@@ -287,25 +268,33 @@ public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
                 return true;
             }
 
-            // open the requested class and optionally mark the requested method
+            // open the requested classes and optionally mark the requested methods
+            for (int i = 0; i < this.tests.size(); i++) {
+                if (projectRelativePath.contains(this.classPaths.get(i))) {
+                    openInEditor(file, this.tests.get(i).getMethodName());
+                }
+            }
+            return false;
+        }
+
+        private void openInEditor(final IFile file, final String methodName) {
             Display display = PlatformUI.getWorkbench().getDisplay();
             display.syncExec(new Runnable() {
 
                 @Override
                 public void run() {
                     IEditorPart editor = EditorUtils.openInInternalEditor(file, true);
-                    IRegion region = getClassOrMethodRegion(file);
+                    IRegion region = getClassOrMethodRegion(file, methodName);
                     if (region != null) {
                         EditorUtils.selectAndReveal(region.getOffset(), region.getLength(), editor, file);
                     }
                 }
             });
-            return false;
         }
 
-        private org.eclipse.jface.text.IRegion getClassOrMethodRegion(IFile file) {
+        private org.eclipse.jface.text.IRegion getClassOrMethodRegion(IFile file, String methodName) {
             // if no method name is available find the class name
-            if (this.methodName == null) {
+            if (methodName == null) {
                 try {
                     FindReplaceDocumentAdapter documentAdapter = createFindReplaceDocumentAdapter(file);
                     return find(documentAdapter, Files.getNameWithoutExtension(file.getName()));
@@ -318,7 +307,7 @@ public final class OpenTestSourceFileJob extends ToolingApiWorkspaceJob {
             // try to find method name and fall back to class name if method name cannot be found
             try {
                 FindReplaceDocumentAdapter documentAdapter = createFindReplaceDocumentAdapter(file);
-                IRegion region = find(documentAdapter, this.methodName);
+                IRegion region = find(documentAdapter, methodName);
                 if (region == null) {
                     documentAdapter = createFindReplaceDocumentAdapter(file);
                     return find(documentAdapter, Files.getNameWithoutExtension(file.getName()));
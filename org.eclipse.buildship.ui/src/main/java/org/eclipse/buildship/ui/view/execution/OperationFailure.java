@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.util.List;
+
+import org.gradle.tooling.Failure;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A copy of a Tooling API {@link Failure}, such that the failure text of an operation can be shown
+ * after the Tooling API events of the operation were released.
+ */
+public final class OperationFailure {
+
+    private final String message;
+    private final String description;
+    private final ImmutableList<OperationFailure> causes;
+
+    OperationFailure(String message, String description, ImmutableList<OperationFailure> causes) {
+        this.message = message;
+        this.description = description;
+        this.causes = causes;
+    }
+
+    /**
+     * Returns the message of the failure.
+     *
+     * @return the message, can be {@code null}
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Returns the description of the failure, usually containing the stack trace.
+     *
+     * @return the description, can be {@code null}
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    public List<OperationFailure> getCauses() {
+        return this.causes;
+    }
+
+    /**
+     * Copies the given Tooling API failures, including their causes.
+     *
+     * @param failures the failures to copy
+     * @return the copies
+     */
+    public static ImmutableList<OperationFailure> from(List<? extends Failure> failures) {
+        ImmutableList.Builder<OperationFailure> result = ImmutableList.builder();
+        for (Failure failure : failures) {
+            result.add(new OperationFailure(failure.getMessage(), failure.getDescription(), from(failure.getCauses())));
+        }
+        return result.build();
+    }
+
+}
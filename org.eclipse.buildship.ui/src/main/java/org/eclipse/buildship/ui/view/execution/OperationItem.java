@@ -13,16 +13,28 @@ package org.eclipse.buildship.ui.view.execution;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
-import org.eclipse.buildship.ui.view.ObservableItem;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.collect.Sets;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jface.resource.ImageDescriptor;
+import org.gradle.tooling.events.FailureResult;
 import org.gradle.tooling.events.FinishEvent;
 import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.OperationResult;
+import org.gradle.tooling.events.SkippedResult;
 import org.gradle.tooling.events.StartEvent;
+import org.gradle.tooling.events.SuccessResult;
+import org.gradle.tooling.events.task.TaskOperationDescriptor;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+import org.gradle.tooling.events.test.TestOperationDescriptor;
 
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
 
 /**
  * <p>
@@ -41,70 +53,226 @@ import java.util.List;
  *     }
  * }
  * </pre>
- * Note that all of the current APIs are required since they are called reflectively
- * by the Eclipse Data Binding framework.
+ * The items form the store from which the virtual execution tree materializes the nodes the user
+ * scrolls to or expands, see {@link OperationItemContentProvider}.
+ * <p/>
+ * An item keeps a compact record of its operation instead of the Tooling API events: the interned
+ * name, the start and end time, the kind of result and, for failed operations, the failures. Once
+ * the operation finished, the events are released. Only the descriptors of test operations are
+ * kept, since tests can only be launched again through their descriptors.
+ * <p/>
+ * Children can be added from any thread in constant time. They only become visible in the tree once
+ * {@link #publishChildren()} is called, such that many added children result in a single refresh
+ * of the tree. The published children are a view on the leading part of the
+ * backing array, thus publishing takes constant time as well. The array is only copied if a child
+ * is removed which is already visible through a published view.
  */
 @SuppressWarnings("unchecked")
-public final class OperationItem extends ObservableItem implements IAdaptable {
+public final class OperationItem implements IAdaptable {
 
-    public static final String FIELD_NAME = "name";         //$NON-NLS-1$
-    public static final String FIELD_DURATION = "duration"; //$NON-NLS-1$
-    public static final String FIELD_IMAGE = "image";       //$NON-NLS-1$
-    public static final String FIELD_CHILDREN = "children"; //$NON-NLS-1$
+    // the same task paths and test names occur in every build, thus share them between the items
+    private static final Interner<String> NAMES = Interners.newWeakInterner();
 
-    private final StartEvent startEvent;
-    private FinishEvent finishEvent;
+    /**
+     * The kinds of operations which are rendered differently.
+     */
+    public enum Type {
+        TASK, TEST, OTHER
+    }
+
+    /**
+     * The kinds of results of a finished operation.
+     */
+    public enum Result {
+        SUCCESS, FAILURE, SKIPPED, UNKNOWN
+    }
+
+    private final Type type;
+    private final String operationName;
+    private OperationDescriptor descriptor;
+    private long startTime;
+    private long endTime;
+    private Result result;
+    private boolean upToDate;
+    private ImmutableList<OperationFailure> failures;
     private String name;
-    private String duration;
     private ImageDescriptor image;
-    private List<OperationItem> children;
+    private OperationItem[] children;
+    private int childCount;
+    private int sharedChildCount;
+    private Set<OperationItem> childrenSet;
+    private List<OperationItem> publishedChildren;
+    private boolean childrenChanged;
+    private int siblingPosition;
+    private volatile OperationItem parent;
 
     public OperationItem() {
-        this.startEvent = null;
-        this.finishEvent = null;
+        this.type = null;
+        this.operationName = null;
+        this.descriptor = null;
         this.name = null;
-        this.duration = null;
         this.image = null;
-        this.children = Lists.newArrayList();
+        this.failures = ImmutableList.of();
+        this.publishedChildren = ImmutableList.of();
     }
 
     public OperationItem(StartEvent startEvent) {
-        this.startEvent = Preconditions.checkNotNull(startEvent);
-        this.finishEvent = null;
-        this.name = startEvent.getDescriptor().getDisplayName();
-        this.duration = null;
+        Preconditions.checkNotNull(startEvent);
+        OperationDescriptor descriptor = startEvent.getDescriptor();
+        if (descriptor instanceof TaskOperationDescriptor) {
+            this.type = Type.TASK;
+            this.operationName = NAMES.intern(((TaskOperationDescriptor) descriptor).getTaskPath());
+        } else if (descriptor instanceof TestOperationDescriptor) {
+            this.type = Type.TEST;
+            this.operationName = NAMES.intern(descriptor.getName());
+        } else {
+            this.type = Type.OTHER;
+            this.operationName = NAMES.intern(descriptor.getDisplayName());
+        }
+        this.descriptor = descriptor;
+        this.startTime = startEvent.getEventTime();
+        this.name = this.operationName;
         this.image = null;
-        this.children = Lists.newArrayList();
+        this.failures = ImmutableList.of();
+        this.publishedChildren = ImmutableList.of();
     }
 
-    public StartEvent getStartEvent() {
-        return this.startEvent;
+    private OperationItem(Type type, String operationName, long startTime, long endTime, Result result, boolean upToDate, List<OperationFailure> failures) {
+        this.type = Preconditions.checkNotNull(type);
+        this.operationName = NAMES.intern(operationName);
+        this.descriptor = null;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.result = Preconditions.checkNotNull(result);
+        this.upToDate = upToDate;
+        this.name = this.operationName;
+        this.image = null;
+        this.failures = ImmutableList.copyOf(failures);
+        this.publishedChildren = ImmutableList.of();
     }
 
-    public FinishEvent getFinishEvent() {
-        return this.finishEvent;
+    /**
+     * Creates the item of a finished operation from its compact record, e.g. when a persisted
+     * execution tree is read back. The item has no Tooling API descriptor.
+     *
+     * @param type the kind of the operation
+     * @param operationName the name of the operation
+     * @param startTime the start time of the operation
+     * @param endTime the end time of the operation
+     * @param result the result of the operation
+     * @param upToDate whether the operation is an up-to-date task
+     * @param failures the failures of the operation
+     * @return the finished item
+     */
+    static OperationItem restore(Type type, String operationName, long startTime, long endTime, Result result, boolean upToDate, List<OperationFailure> failures) {
+        return new OperationItem(type, operationName, startTime, endTime, result, upToDate, failures);
     }
 
-    public void setFinishEvent(FinishEvent finishEvent) {
-        this.finishEvent = finishEvent;
+    /**
+     * Records the result of the operation and releases the Tooling API objects which are no
+     * longer needed.
+     *
+     * @param finishEvent the event signaling the end of the operation
+     */
+    public synchronized void finish(FinishEvent finishEvent) {
+        OperationResult operationResult = finishEvent.getResult();
+        this.startTime = operationResult.getStartTime();
+        this.endTime = operationResult.getEndTime();
+        if (operationResult instanceof FailureResult) {
+            this.result = Result.FAILURE;
+            this.failures = OperationFailure.from(((FailureResult) operationResult).getFailures());
+        } else if (operationResult instanceof SkippedResult) {
+            this.result = Result.SKIPPED;
+        } else if (operationResult instanceof SuccessResult) {
+            this.result = Result.SUCCESS;
+            this.upToDate = operationResult instanceof TaskSuccessResult && ((TaskSuccessResult) operationResult).isUpToDate();
+        } else {
+            this.result = Result.UNKNOWN;
+        }
+
+        // keep the descriptors of tests, through which the tests can be launched again; selecting
+        // tests by class and method name would run them in every test task that contains them
+        if (this.type != Type.TEST) {
+            this.descriptor = null;
+        }
+        // no more children are added to a finished operation
+        this.childrenSet = null;
     }
 
-    @SuppressWarnings("UnusedDeclaration")
-    public String getName() {
-        return this.name;
+    /**
+     * Returns the Tooling API descriptor of the operation. The descriptor is only available while
+     * the operation runs or if the operation is a test.
+     *
+     * @return the descriptor or {@code null}
+     */
+    public synchronized OperationDescriptor getDescriptor() {
+        return this.descriptor;
     }
 
-    public void setName(String name) {
-        firePropertyChange(FIELD_NAME, this.name, this.name = name);
+    /**
+     * Returns the kind of the operation.
+     *
+     * @return the type or {@code null} if this is the root item
+     */
+    public Type getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the name of the operation, i.e. the task path for tasks, the test name for tests and
+     * the display name otherwise.
+     *
+     * @return the name or {@code null} if this is the root item
+     */
+    public String getOperationName() {
+        return this.operationName;
+    }
+
+    public boolean isRoot() {
+        return this.type == null;
+    }
+
+    public synchronized boolean isFinished() {
+        return this.result != null;
+    }
+
+    public synchronized long getStartTime() {
+        return this.startTime;
+    }
+
+    public synchronized long getEndTime() {
+        return this.endTime;
+    }
+
+    /**
+     * Returns the kind of result of the operation.
+     *
+     * @return the result or {@code null} if the operation has not finished yet
+     */
+    public synchronized Result getResult() {
+        return this.result;
+    }
+
+    public synchronized boolean isUpToDate() {
+        return this.upToDate;
+    }
+
+    /**
+     * Returns the failures of a failed operation.
+     *
+     * @return the failures, empty if the operation did not fail
+     */
+    public synchronized List<OperationFailure> getFailures() {
+        return this.failures;
     }
 
     @SuppressWarnings("UnusedDeclaration")
-    public String getDuration() {
-        return this.duration;
+    public String getName() {
+        return this.name;
     }
 
-    public void setDuration(String duration) {
-        firePropertyChange(FIELD_DURATION, this.duration, this.duration = duration);
+    public void setName(String name) {
+        this.name = name;
     }
 
     @SuppressWarnings("UnusedDeclaration")
@@ -113,43 +281,197 @@ public final class OperationItem extends ObservableItem implements IAdaptable {
     }
 
     public void setImage(ImageDescriptor image) {
-        firePropertyChange(FIELD_IMAGE, this.image, this.image = image);
+        this.image = image;
+    }
+
+    /**
+     * Returns the item to which this item was added as a child.
+     *
+     * @return the parent item or {@code null} if this is the root item
+     */
+    public OperationItem getParent() {
+        return this.parent;
     }
 
+    /**
+     * Returns the children which are visible in the tree.
+     *
+     * @return the published children
+     */
     @SuppressWarnings("UnusedDeclaration")
-    public List<OperationItem> getChildren() {
-        return ImmutableList.copyOf(this.children);
+    public synchronized List<OperationItem> getChildren() {
+        return this.publishedChildren;
+    }
+
+    /**
+     * Returns whether any children were added, including the ones which are not published yet.
+     *
+     * @return {@code true} if the item has children
+     */
+    public synchronized boolean hasChildren() {
+        return this.childCount > 0;
+    }
+
+    /**
+     * Returns the number of children, including the ones which are not published yet.
+     *
+     * @return the number of children
+     */
+    public synchronized int getChildCount() {
+        return this.childCount;
     }
 
-    public void addChild(OperationItem operationItem) {
-        if (!this.children.contains(operationItem)) {
-            List<OperationItem> children = Lists.newArrayList(this.children);
-            children.add(operationItem);
-            setChildren(children);
+    /**
+     * Adds the given child, unless it is already a child of this item.
+     *
+     * @param operationItem the child to add
+     * @return {@code true} if the child was added and the children need to be published
+     */
+    public synchronized boolean addChild(OperationItem operationItem) {
+        if (this.childrenSet == null) {
+            if (lastIndexOfChild(operationItem) >= 0) {
+                return false;
+            }
+            if (!isFinished()) {
+                this.childrenSet = Sets.newHashSet();
+                for (int i = 0; i < this.childCount; i++) {
+                    this.childrenSet.add(this.children[i]);
+                }
+                this.childrenSet.add(operationItem);
+            }
+        } else if (!this.childrenSet.add(operationItem)) {
+            return false;
         }
+        // most items are leaves, thus only allocate the children once the first child is added
+        if (this.children == null) {
+            this.children = new OperationItem[4];
+        } else if (this.childCount == this.children.length) {
+            // the published views keep the previous array, in which their children remain unchanged
+            this.children = Arrays.copyOf(this.children, Math.max(this.childCount * 2, 4));
+            this.sharedChildCount = 0;
+        }
+        // children are only appended, thus a position above the last child's one keeps the siblings ordered
+        operationItem.siblingPosition = this.childCount > 0 ? this.children[this.childCount - 1].siblingPosition + 1 : 0;
+        this.children[this.childCount++] = operationItem;
+        this.childrenChanged = true;
+        operationItem.parent = this;
+        return true;
     }
 
-    @SuppressWarnings("UnusedDeclaration")
-    public void removeChild(OperationItem operationItem) {
-        if (this.children.contains(operationItem)) {
-            List<OperationItem> children = Lists.newArrayList(this.children);
-            children.remove(operationItem);
-            setChildren(children);
+    /**
+     * Removes the given child, if it is a child of this item.
+     *
+     * @param operationItem the child to remove
+     * @return {@code true} if the child was removed and the children need to be published
+     */
+    public synchronized boolean removeChild(OperationItem operationItem) {
+        if (this.children == null || (this.childrenSet != null && !this.childrenSet.remove(operationItem))) {
+            return false;
+        }
+        int index = lastIndexOfChild(operationItem);
+        if (index < 0) {
+            return false;
+        }
+        if (index < this.sharedChildCount) {
+            // the child is visible through a published view, which must not change
+            OperationItem[] remaining = new OperationItem[this.children.length];
+            System.arraycopy(this.children, 0, remaining, 0, index);
+            System.arraycopy(this.children, index + 1, remaining, index, this.childCount - index - 1);
+            this.children = remaining;
+            this.sharedChildCount = 0;
+        } else {
+            System.arraycopy(this.children, index + 1, this.children, index, this.childCount - index - 1);
         }
+        this.children[--this.childCount] = null;
+        this.childrenChanged = true;
+        operationItem.parent = null;
+        return true;
     }
 
-    private void setChildren(List<OperationItem> children) {
-        firePropertyChange(FIELD_CHILDREN, this.children, this.children = children);
+    /**
+     * Sets and publishes the children of an item which is not yet shown in a tree, without
+     * checking for duplicates. Used when a persisted execution tree is read back.
+     *
+     * @param children the children
+     */
+    synchronized void setRestoredChildren(List<OperationItem> children) {
+        this.children = children.toArray(new OperationItem[children.size()]);
+        this.childCount = this.children.length;
+        this.sharedChildCount = this.childCount;
+        this.publishedChildren = new PublishedChildren(this.children, this.childCount);
+        this.childrenChanged = false;
+        for (int i = 0; i < this.childCount; i++) {
+            this.children[i].siblingPosition = i;
+            this.children[i].parent = this;
+        }
+    }
+
+    /**
+     * Makes the children added or removed since the last invocation visible in the tree. Must be
+     * called from the UI thread, before the tree is refreshed.
+     */
+    public synchronized void publishChildren() {
+        if (this.childrenChanged) {
+            this.publishedChildren = new PublishedChildren(this.children, this.childCount);
+            this.sharedChildCount = this.childCount;
+            this.childrenChanged = false;
+        }
+    }
+
+    /**
+     * Returns the position of the item among its siblings. The positions of later siblings are
+     * greater, but not necessarily consecutive, since children can be removed.
+     *
+     * @return the position among the siblings
+     */
+    int getSiblingPosition() {
+        return this.siblingPosition;
+    }
+
+    private int lastIndexOfChild(OperationItem operationItem) {
+        // children are usually removed shortly after they were added, thus search from the end
+        for (int i = this.childCount - 1; i >= 0; i--) {
+            if (this.children[i].equals(operationItem)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public Object getAdapter(Class adapter) {
         if (OperationDescriptor.class.equals(adapter)) {
-            return this.startEvent.getDescriptor();
+            return getDescriptor();
         } else {
             return Platform.getAdapterManager().getAdapter(this, adapter);
         }
     }
 
+    /**
+     * Immutable view on the children published at one point in time. Children are only appended
+     * behind the published ones or the backing array is replaced, thus the view never changes.
+     */
+    private static final class PublishedChildren extends AbstractList<OperationItem> implements RandomAccess {
+
+        private final OperationItem[] children;
+        private final int size;
+
+        private PublishedChildren(OperationItem[] children, int size) {
+            this.children = children;
+            this.size = size;
+        }
+
+        @Override
+        public OperationItem get(int index) {
+            Preconditions.checkElementIndex(index, this.size);
+            return this.children[index];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Provides the {@link OperationItem} instances to the virtual execution tree.
+ * <p/>
+ * The tree only asks for the items the user scrolls to or expands, such that large builds do not
+ * create a widget for every operation. If the {@link OperationItemPatternFilter} is active, only
+ * the children which pass the filter are provided. The filtered children are cached per parent
+ * until the children of the parent or of one of its descendants, or the pattern change.
+ * <p/>
+ * The provider also implements {@link ITreeContentProvider}, through which the pattern filter
+ * traverses the unfiltered operations.
+ */
+final class OperationItemContentProvider implements ILazyTreeContentProvider, ITreeContentProvider {
+
+    private final OperationItemPatternFilter filter;
+    private final Map<OperationItem, FilteredChildren> filteredChildren;
+    private int filterGeneration;
+    private TreeViewer viewer;
+
+    OperationItemContentProvider(OperationItemPatternFilter filter) {
+        this.filter = Preconditions.checkNotNull(filter);
+        this.filteredChildren = Maps.newHashMap();
+    }
+
+    @Override
+    public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+        this.viewer = (TreeViewer) viewer;
+        this.filteredChildren.clear();
+    }
+
+    @Override
+    public void updateElement(Object parent, int index) {
+        List<OperationItem> children = getVisibleChildren(parent);
+        if (index < children.size()) {
+            OperationItem child = children.get(index);
+            this.viewer.replace(parent, index, child);
+            this.viewer.setChildCount(child, getVisibleChildren(child).size());
+        }
+    }
+
+    @Override
+    public void updateChildCount(Object element, int currentChildCount) {
+        int childCount = getVisibleChildren(element).size();
+        if (childCount != currentChildCount) {
+            this.viewer.setChildCount(element, childCount);
+        }
+    }
+
+    /**
+     * Updates the tree after the children of the given items were published.
+     * <p/>
+     * If the filter is active, an added child which passes the filter can also make its ancestors
+     * pass the filter, e.g. a matching test added to a task which did not match so far. Thus, the
+     * filtered children of all ancestors are recomputed, and the highest items whose filtered
+     * children changed other than by appending are refreshed.
+     *
+     * @param parents the items whose children changed
+     * @param removals the items of which children were removed, otherwise children were only added
+     */
+    void childrenChanged(Collection<OperationItem> parents, Set<OperationItem> removals) {
+        if (!this.filter.isFiltering()) {
+            for (OperationItem parent : parents) {
+                if (removals.contains(parent)) {
+                    // the indices of the remaining children shifted
+                    this.viewer.refresh(parent);
+                } else {
+                    this.viewer.setChildCount(parent, parent.getChildren().size());
+                }
+            }
+            return;
+        }
+
+        // drop the cached children of the changed items and of all their ancestors
+        Map<OperationItem, FilteredChildren> previous = Maps.newLinkedHashMap();
+        for (OperationItem parent : parents) {
+            for (OperationItem item = parent; item != null && !previous.containsKey(item); item = item.getParent()) {
+                previous.put(item, this.filteredChildren.remove(item));
+            }
+        }
+
+        Set<OperationItem> refreshed = Sets.newHashSet();
+        Map<OperationItem, Integer> childCounts = Maps.newLinkedHashMap();
+        for (Map.Entry<OperationItem, FilteredChildren> entry : previous.entrySet()) {
+            OperationItem item = entry.getKey();
+            FilteredChildren cached = entry.getValue();
+            if (cached == null && !parents.contains(item)) {
+                // the tree never asked for the children of this ancestor
+                continue;
+            }
+            List<OperationItem> visible = getVisibleChildren(item);
+            if (removals.contains(item) || (cached != null && !isPrefix(cached.visible, visible))) {
+                refreshed.add(item);
+            } else if (cached == null || cached.visible.size() != visible.size()) {
+                childCounts.put(item, visible.size());
+            }
+        }
+
+        // refreshing an item also updates its descendants
+        for (OperationItem item : refreshed) {
+            if (!hasAncestorIn(item, refreshed)) {
+                this.viewer.refresh(item);
+            }
+        }
+        for (Map.Entry<OperationItem, Integer> childCount : childCounts.entrySet()) {
+            if (!hasAncestorIn(childCount.getKey(), refreshed) && !refreshed.contains(childCount.getKey())) {
+                this.viewer.setChildCount(childCount.getKey(), childCount.getValue());
+            }
+        }
+    }
+
+    private static boolean isPrefix(List<OperationItem> prefix, List<OperationItem> list) {
+        return prefix.size() <= list.size() && prefix.equals(list.subList(0, prefix.size()));
+    }
+
+    private static boolean hasAncestorIn(OperationItem item, Set<OperationItem> items) {
+        for (OperationItem ancestor = item.getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+            if (items.contains(ancestor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<OperationItem> getVisibleChildren(Object element) {
+        if (!(element instanceof OperationItem)) {
+            return ImmutableList.of();
+        }
+
+        OperationItem parent = (OperationItem) element;
+        List<OperationItem> children = parent.getChildren();
+        if (!this.filter.isFiltering()) {
+            return children;
+        }
+
+        if (this.filterGeneration != this.filter.getGeneration()) {
+            this.filteredChildren.clear();
+            this.filterGeneration = this.filter.getGeneration();
+        }
+
+        // the published children are immutable, thus a new list means the children changed
+        FilteredChildren filtered = this.filteredChildren.get(parent);
+        if (filtered == null || filtered.source != children) {
+            ImmutableList.Builder<OperationItem> visible = ImmutableList.builder();
+            for (OperationItem child : children) {
+                if (this.filter.isElementVisible(this.viewer, child)) {
+                    visible.add(child);
+                }
+            }
+            filtered = new FilteredChildren(children, visible.build());
+            this.filteredChildren.put(parent, filtered);
+        }
+        return filtered.visible;
+    }
+
+    @Override
+    public Object getParent(Object element) {
+        return element instanceof OperationItem ? ((OperationItem) element).getParent() : null;
+    }
+
+    @Override
+    public Object[] getElements(Object inputElement) {
+        return getChildren(inputElement);
+    }
+
+    @Override
+    public Object[] getChildren(Object parentElement) {
+        return parentElement instanceof OperationItem ? ((OperationItem) parentElement).getChildren().toArray() : new Object[0];
+    }
+
+    @Override
+    public boolean hasChildren(Object element) {
+        return element instanceof OperationItem && !((OperationItem) element).getChildren().isEmpty();
+    }
+
+    @Override
+    public void dispose() {
+        this.filteredChildren.clear();
+    }
+
+    /**
+     * The children of an item which pass the filter.
+     */
+    private static final class FilteredChildren {
+
+        private final List<OperationItem> source;
+        private final List<OperationItem> visible;
+
+        private FilteredChildren(List<OperationItem> source, List<OperationItem> visible) {
+            this.source = source;
+            this.visible = visible;
+        }
+    }
+
+}
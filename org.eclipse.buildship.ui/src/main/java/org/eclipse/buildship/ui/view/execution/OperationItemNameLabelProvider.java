@@ -9,12 +9,11 @@
  *     Simon Scholz (vogella GmbH) - initial API and implementation and initial documentation
  */
 
-package org.eclipse.buildship.ui.view;
+package org.eclipse.buildship.ui.view.execution;
 
 import com.google.common.collect.ImmutableMap;
-import org.eclipse.core.databinding.observable.map.IObservableMap;
-import org.eclipse.jface.databinding.viewers.ObservableMapCellLabelProvider;
 import org.eclipse.jface.resource.*;
+import org.eclipse.jface.viewers.LabelProvider;
 import org.eclipse.jface.viewers.DelegatingStyledCellLabelProvider.IStyledLabelProvider;
 import org.eclipse.jface.viewers.StyledString;
 import org.eclipse.jface.viewers.StyledString.Styler;
@@ -24,24 +23,26 @@ import org.eclipse.swt.graphics.TextStyle;
 import java.util.Map;
 
 /**
- * This ObservableMapCellLabelProvider implementation supports a label and an image for a
+ * Provides the name and the image of an {@link OperationItem} for a
  * {@link org.eclipse.jface.viewers.ViewerCell}.
+ * <p/>
+ * The label is read from the item whenever the cell is painted, thus the viewer has to be told
+ * explicitly about changed items instead of observing every item.
  */
-public final class ObservableMapCellWithIconLabelProvider extends ObservableMapCellLabelProvider implements IStyledLabelProvider {
+final class OperationItemNameLabelProvider extends LabelProvider implements IStyledLabelProvider {
 
     private final ImmutableMap<String, ColorDescriptor> customTextColoringMapping;
     private final ResourceManager resourceManager;
 
-    public ObservableMapCellWithIconLabelProvider(Map<String, ColorDescriptor> customTextColoringMapping, @SuppressWarnings("rawtypes") IObservableMap... attributeMaps) {
-        super(attributeMaps);
+    OperationItemNameLabelProvider(Map<String, ColorDescriptor> customTextColoringMapping) {
         this.resourceManager = new LocalResourceManager(JFaceResources.getResources());
         this.customTextColoringMapping = ImmutableMap.copyOf(customTextColoringMapping);
     }
 
     @Override
     public StyledString getStyledText(Object element) {
-        Object label = this.attributeMaps[0].get(element);
-        String rawLabel = label == null ? "" : label.toString(); //$NON-NLS-1$
+        String label = element instanceof OperationItem ? ((OperationItem) element).getName() : null;
+        String rawLabel = label == null ? "" : label; //$NON-NLS-1$
         StyledString styledLabel = new StyledString(rawLabel);
 
         // apply custom coloring of those parts of the label for which there is a custom coloring mapping
@@ -59,8 +60,8 @@ public final class ObservableMapCellWithIconLabelProvider extends ObservableMapC
 
                 @Override
                 public void applyStyles(TextStyle textStyle) {
-                    ColorDescriptor substringColorDescriptor = ObservableMapCellWithIconLabelProvider.this.customTextColoringMapping.get(text);
-                    textStyle.foreground = ObservableMapCellWithIconLabelProvider.this.resourceManager.createColor(substringColorDescriptor);
+                    ColorDescriptor substringColorDescriptor = OperationItemNameLabelProvider.this.customTextColoringMapping.get(text);
+                    textStyle.foreground = OperationItemNameLabelProvider.this.resourceManager.createColor(substringColorDescriptor);
                 }
             };
             styledLabel.setStyle(index, text.length(), styler);
@@ -69,9 +70,9 @@ public final class ObservableMapCellWithIconLabelProvider extends ObservableMapC
 
     @Override
     public Image getImage(Object element) {
-        Object imageDescriptor = this.attributeMaps[1].get(element);
-        if (imageDescriptor instanceof ImageDescriptor) {
-            return this.resourceManager.createImage((ImageDescriptor) imageDescriptor);
+        ImageDescriptor imageDescriptor = element instanceof OperationItem ? ((OperationItem) element).getImage() : null;
+        if (imageDescriptor != null) {
+            return this.resourceManager.createImage(imageDescriptor);
         } else {
             return null;
         }
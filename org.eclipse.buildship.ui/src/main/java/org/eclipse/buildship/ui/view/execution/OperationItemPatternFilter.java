@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import com.google.common.base.Strings;
+
+import org.eclipse.jface.viewers.Viewer;
+
+import org.eclipse.buildship.ui.external.viewer.PatternFilter;
+
+/**
+ * Filters the execution tree by the names of the {@link OperationItem} instances.
+ * <p/>
+ * The virtual execution tree does not apply viewer filters itself. Instead, the
+ * {@link OperationItemContentProvider} asks this filter which children to provide, such that the
+ * filter is evaluated against the operation store rather than against the tree widgets.
+ */
+final class OperationItemPatternFilter extends PatternFilter {
+
+    private boolean filtering;
+    private int generation;
+
+    OperationItemPatternFilter() {
+        super(true);
+    }
+
+    @Override
+    public void setPattern(String patternString) {
+        super.setPattern(patternString);
+        this.filtering = !Strings.isNullOrEmpty(patternString);
+        this.generation++;
+    }
+
+    /**
+     * Returns whether a pattern is set.
+     *
+     * @return {@code true} if operations are filtered
+     */
+    boolean isFiltering() {
+        return this.filtering;
+    }
+
+    /**
+     * Returns a number which changes whenever the pattern changes.
+     *
+     * @return the generation of the pattern
+     */
+    int getGeneration() {
+        return this.generation;
+    }
+
+    @Override
+    protected boolean isLeafMatch(Viewer viewer, Object element) {
+        // match the name directly instead of rendering the label of every operation
+        return element instanceof OperationItem && wordMatches(((OperationItem) element).getName());
+    }
+
+}
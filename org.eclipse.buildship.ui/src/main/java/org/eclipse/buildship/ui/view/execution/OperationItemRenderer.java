@@ -13,11 +13,6 @@ package org.eclipse.buildship.ui.view.execution;
 
 import java.text.DecimalFormat;
 
-import org.gradle.tooling.events.FailureResult;
-import org.gradle.tooling.events.OperationResult;
-import org.gradle.tooling.events.SkippedResult;
-import org.gradle.tooling.events.SuccessResult;
-
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.osgi.util.NLS;
 
@@ -35,29 +30,27 @@ public final class OperationItemRenderer {
     public void update(OperationItem operationItem) {
         synchronized (operationItem) {
             operationItem.setName(calculateName(operationItem));
-            operationItem.setDuration(calculateDuration(operationItem));
             operationItem.setImage(calculateImage(operationItem));
         }
     }
 
-    @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
-    public void updateDuration(OperationItem operationItem) {
-        synchronized (operationItem) {
-            operationItem.setDuration(calculateDuration(operationItem));
-        }
-    }
-
     private String calculateName(OperationItem operationItem) {
         return OperationDescriptorRenderer.renderCompact(operationItem);
     }
 
-    private String calculateDuration(OperationItem operationItem) {
-        if (operationItem.getFinishEvent() != null) {
-            OperationResult result = operationItem.getFinishEvent().getResult();
-            String duration = formatDuration(result.getStartTime(), result.getEndTime());
+    /**
+     * Renders the duration of the given operation. The elapsed time of a running operation is
+     * calculated at the time this method is called.
+     *
+     * @param operationItem the operation to render
+     * @return the rendered duration
+     */
+    public String renderDuration(OperationItem operationItem) {
+        if (operationItem.isFinished()) {
+            String duration = formatDuration(operationItem.getStartTime(), operationItem.getEndTime());
             return NLS.bind(ExecutionViewMessages.Tree_Item_Operation_Finished_In_0_Sec_Text, duration);
-        } else if (operationItem.getStartEvent() != null) {
-            String duration = formatDuration(operationItem.getStartEvent().getEventTime(), System.currentTimeMillis());
+        } else if (!operationItem.isRoot()) {
+            String duration = formatDuration(operationItem.getStartTime(), System.currentTimeMillis());
             return NLS.bind(ExecutionViewMessages.Tree_Item_Operation_Running_For_0_Sec_Text, duration);
         } else {
             // only happens for the artificial root node
@@ -66,16 +59,17 @@ public final class OperationItemRenderer {
     }
 
     private ImageDescriptor calculateImage(OperationItem operationItem) {
-        if (operationItem.getFinishEvent() != null) {
-            OperationResult result = operationItem.getFinishEvent().getResult();
-            if (result instanceof FailureResult) {
-                return PluginImages.OPERATION_FAILURE.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
-            } else if (result instanceof SkippedResult) {
-                return PluginImages.OPERATION_SKIPPED.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
-            } else if (result instanceof SuccessResult) {
-                return PluginImages.OPERATION_SUCCESS.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
-            } else {
-                return null;
+        OperationItem.Result result = operationItem.getResult();
+        if (result != null) {
+            switch (result) {
+                case FAILURE:
+                    return PluginImages.OPERATION_FAILURE.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
+                case SKIPPED:
+                    return PluginImages.OPERATION_SKIPPED.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
+                case SUCCESS:
+                    return PluginImages.OPERATION_SUCCESS.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
+                default:
+                    return null;
             }
         } else {
             return PluginImages.OPERATION_IN_PROGRESS.withState(PluginImage.ImageState.ENABLED).getImageDescriptor();
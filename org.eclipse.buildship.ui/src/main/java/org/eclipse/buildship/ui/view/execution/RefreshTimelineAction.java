@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.action.Action;
+
+import org.eclipse.buildship.ui.PluginImage.ImageState;
+import org.eclipse.buildship.ui.PluginImages;
+
+/**
+ * Lays out the tasks of the target {@link TimelinePage} again.
+ */
+public final class RefreshTimelineAction extends Action {
+
+    private final TimelinePage page;
+
+    public RefreshTimelineAction(TimelinePage page) {
+        this.page = Preconditions.checkNotNull(page);
+
+        setToolTipText(ExecutionViewMessages.Action_RefreshTimeline_Tooltip);
+        setImageDescriptor(PluginImages.REFRESH.withState(ImageState.ENABLED).getImageDescriptor());
+        setDisabledImageDescriptor(PluginImages.REFRESH.withState(ImageState.DISABLED).getImageDescriptor());
+    }
+
+    @Override
+    public void run() {
+        this.page.refresh();
+    }
+
+}
@@ -11,12 +11,9 @@
 
 package org.eclipse.buildship.ui.view.execution;
 
-import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Predicate;
-import com.google.common.collect.ImmutableList;
+import org.eclipse.buildship.core.CorePlugin;
 import org.eclipse.buildship.core.launch.GradleRunConfigurationAttributes;
-import org.eclipse.buildship.core.launch.RunGradleTestLaunchRequestJob;
 import org.eclipse.buildship.ui.PluginImage.ImageState;
 import org.eclipse.buildship.ui.PluginImages;
 import org.eclipse.buildship.ui.i18n.UiMessages;
@@ -25,7 +22,7 @@ import org.eclipse.core.runtime.jobs.IJobChangeEvent;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.jface.action.Action;
-import org.gradle.tooling.events.test.*;
+import org.gradle.tooling.events.test.TestOperationDescriptor;
 
 import java.util.List;
 
@@ -63,43 +60,15 @@ public final class RerunFailedTestsAction extends Action {
     }
 
     private void update() {
-        setEnabled(this.page.getProcessDescription().getJob().getState() == Job.NONE && !collectFailedTests().isEmpty());
+        setEnabled(this.page.getProcessDescription().getJob().getState() == Job.NONE && this.page.getFailureIndex().hasFailedTests());
     }
 
     @Override
     public void run() {
-        List<TestOperationDescriptor> failedTests = collectFailedTests();
+        List<TestOperationDescriptor> failedTests = this.page.getFailureIndex().getFailedTests();
         List<TestOperationDescriptor> filteredFailedTests = GradleUtils.filterChildren(failedTests);
         GradleRunConfigurationAttributes configurationAttributes = this.page.getProcessDescription().getConfigurationAttributes();
-        RunGradleTestLaunchRequestJob job = new RunGradleTestLaunchRequestJob(filteredFailedTests, configurationAttributes);
-        job.schedule();
-    }
-
-    private ImmutableList<TestOperationDescriptor> collectFailedTests() {
-        return this.page.filterTreeNodes(new Predicate<OperationItem>() {
-            @Override
-            public boolean apply(OperationItem operationItem) {
-                return isFailedJvmTest(operationItem);
-            }
-        }).transform(new Function<OperationItem, TestOperationDescriptor>() {
-            @Override
-            public TestOperationDescriptor apply(OperationItem operationItem) {
-                return (JvmTestOperationDescriptor) operationItem.getFinishEvent().getDescriptor();
-            }
-        }).toList();
-    }
-
-    private boolean isFailedJvmTest(OperationItem operationItem) {
-        if (operationItem.getFinishEvent() instanceof TestFinishEvent) {
-            TestFinishEvent testFinishEvent = (TestFinishEvent) operationItem.getFinishEvent();
-            if (testFinishEvent.getResult() instanceof TestFailureResult && testFinishEvent.getDescriptor() instanceof JvmTestOperationDescriptor) {
-                JvmTestOperationDescriptor descriptor = (JvmTestOperationDescriptor) testFinishEvent.getDescriptor();
-                if (descriptor.getJvmTestKind() == JvmTestKind.ATOMIC || descriptor.getJvmTestKind() == JvmTestKind.UNKNOWN) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        CorePlugin.testLaunchQueue().launchTests(filteredFailedTests, configurationAttributes);
     }
 
 }
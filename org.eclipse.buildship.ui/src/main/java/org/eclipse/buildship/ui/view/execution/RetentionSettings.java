@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import org.osgi.service.prefs.BackingStoreException;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+
+import org.eclipse.buildship.core.util.preference.EclipsePreferencesUtils;
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Determines how long the {@link ExecutionsView} keeps the full trees of terminated executions.
+ * Backed by the Eclipse Preferences API.
+ * <p/>
+ * Beyond the given number of terminated executions, or once they terminated longer ago than the
+ * given age, executions are summarized: their trees are persisted and replaced by a summary, from
+ * which the full tree can be restored on request.
+ */
+public final class RetentionSettings {
+
+    public static final int DEFAULT_MAX_FULL_EXECUTIONS = 10;
+    public static final int MIN_MAX_FULL_EXECUTIONS = 1;
+    public static final int DEFAULT_MAX_AGE_IN_MINUTES = 60;
+    public static final int MIN_MAX_AGE_IN_MINUTES = 1;
+
+    private static final String PREF_SUMMARIZE_EXECUTIONS = "executionsView.summarizeExecutions"; //$NON-NLS-1$
+    private static final String PREF_MAX_FULL_EXECUTIONS = "executionsView.maxFullExecutions"; //$NON-NLS-1$
+    private static final String PREF_MAX_AGE_IN_MINUTES = "executionsView.maxFullExecutionAge"; //$NON-NLS-1$
+
+    private final boolean summarizeExecutions;
+    private final int maxFullExecutions;
+    private final int maxAgeInMinutes;
+
+    public RetentionSettings(boolean summarizeExecutions, int maxFullExecutions, int maxAgeInMinutes) {
+        Preconditions.checkArgument(maxFullExecutions >= MIN_MAX_FULL_EXECUTIONS, "Maximum number of full executions must be at least %s", MIN_MAX_FULL_EXECUTIONS);
+        Preconditions.checkArgument(maxAgeInMinutes >= MIN_MAX_AGE_IN_MINUTES, "Maximum age must be at least %s minutes", MIN_MAX_AGE_IN_MINUTES);
+        this.summarizeExecutions = summarizeExecutions;
+        this.maxFullExecutions = maxFullExecutions;
+        this.maxAgeInMinutes = maxAgeInMinutes;
+    }
+
+    /**
+     * Returns whether terminated executions are summarized at all.
+     *
+     * @return {@code true} if terminated executions are summarized
+     */
+    public boolean isSummarizeExecutions() {
+        return this.summarizeExecutions;
+    }
+
+    /**
+     * Returns how many terminated executions keep their full tree.
+     *
+     * @return the maximum number of full executions
+     */
+    public int getMaxFullExecutions() {
+        return this.maxFullExecutions;
+    }
+
+    /**
+     * Returns how long a terminated execution keeps its full tree.
+     *
+     * @return the maximum age in minutes
+     */
+    public int getMaxAgeInMinutes() {
+        return this.maxAgeInMinutes;
+    }
+
+    public static RetentionSettings load() {
+        IEclipsePreferences prefs = EclipsePreferencesUtils.getInstanceScope().getNode(UiPlugin.PLUGIN_ID);
+        boolean summarizeExecutions = prefs.getBoolean(PREF_SUMMARIZE_EXECUTIONS, true);
+        int maxFullExecutions = prefs.getInt(PREF_MAX_FULL_EXECUTIONS, DEFAULT_MAX_FULL_EXECUTIONS);
+        int maxAgeInMinutes = prefs.getInt(PREF_MAX_AGE_IN_MINUTES, DEFAULT_MAX_AGE_IN_MINUTES);
+        return new RetentionSettings(summarizeExecutions, Math.max(maxFullExecutions, MIN_MAX_FULL_EXECUTIONS), Math.max(maxAgeInMinutes, MIN_MAX_AGE_IN_MINUTES));
+    }
+
+    public void save() {
+        IEclipsePreferences prefs = EclipsePreferencesUtils.getInstanceScope().getNode(UiPlugin.PLUGIN_ID);
+        prefs.putBoolean(PREF_SUMMARIZE_EXECUTIONS, this.summarizeExecutions);
+        prefs.putInt(PREF_MAX_FULL_EXECUTIONS, this.maxFullExecutions);
+        prefs.putInt(PREF_MAX_AGE_IN_MINUTES, this.maxAgeInMinutes);
+
+        try {
+            prefs.flush();
+        } catch (BackingStoreException e) {
+            UiPlugin.logger().error("Unable to store execution view preferences.", e); //$NON-NLS-1$
+        }
+    }
+
+}
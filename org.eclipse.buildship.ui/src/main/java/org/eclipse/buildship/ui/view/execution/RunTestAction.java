@@ -15,8 +15,8 @@ import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
+import org.eclipse.buildship.core.CorePlugin;
 import org.eclipse.buildship.core.launch.GradleRunConfigurationAttributes;
-import org.eclipse.buildship.core.launch.RunGradleTestLaunchRequestJob;
 import org.eclipse.buildship.ui.util.gradle.GradleUtils;
 import org.eclipse.buildship.ui.util.nodeselection.NodeSelection;
 import org.eclipse.buildship.ui.util.nodeselection.SelectionSpecificAction;
@@ -44,8 +44,7 @@ public final class RunTestAction extends Action implements SelectionSpecificActi
         List<TestOperationDescriptor> tests = collectSelectedTests(this.executionPage.getSelection());
         List<TestOperationDescriptor> filteredTests = GradleUtils.filterChildren(tests);
         GradleRunConfigurationAttributes configurationAttributes = this.executionPage.getProcessDescription().getConfigurationAttributes();
-        RunGradleTestLaunchRequestJob runTestsJob = new RunGradleTestLaunchRequestJob(filteredTests, configurationAttributes);
-        runTestsJob.schedule();
+        CorePlugin.testLaunchQueue().launchTests(filteredTests, configurationAttributes);
     }
 
     @Override
@@ -68,7 +67,7 @@ public final class RunTestAction extends Action implements SelectionSpecificActi
 
             @Override
             public TestOperationDescriptor apply(OperationItem operationItem) {
-                return (TestOperationDescriptor) operationItem.getStartEvent().getDescriptor();
+                return (TestOperationDescriptor) operationItem.getDescriptor();
             }
         }).toList();
     }
@@ -80,7 +79,7 @@ public final class RunTestAction extends Action implements SelectionSpecificActi
 
         @Override
         public boolean apply(OperationItem operationItem) {
-            return operationItem.getStartEvent().getDescriptor() instanceof TestOperationDescriptor;
+            return operationItem.getDescriptor() instanceof TestOperationDescriptor;
         }
 
     }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jface.action.Action;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Selects the failed operation preceding the current selection in the target {@link ExecutionPage}.
+ */
+public final class SelectPreviousFailureAction extends Action {
+
+    private final ExecutionPage page;
+
+    public SelectPreviousFailureAction(ExecutionPage executionPage) {
+        this.page = Preconditions.checkNotNull(executionPage);
+
+        setToolTipText(ExecutionViewMessages.Action_SelectPreviousFailure_Tooltip);
+        setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_TOOL_BACK));
+
+        registerJobChangeListener();
+    }
+
+    private void registerJobChangeListener() {
+        Job job = this.page.getProcessDescription().getJob();
+        job.addJobChangeListener(new JobChangeAdapter() {
+
+            @Override
+            public void done(IJobChangeEvent event) {
+                update();
+            }
+        });
+        update();
+    }
+
+    private void update() {
+        // failures can occur at any time while the build is running
+        setEnabled(this.page.getProcessDescription().getJob().getState() != Job.NONE || this.page.getFailureIndex().hasFailures());
+    }
+
+    @Override
+    public void run() {
+        this.page.selectFailure(false);
+    }
+
+}
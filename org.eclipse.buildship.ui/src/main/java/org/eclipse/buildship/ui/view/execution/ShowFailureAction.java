@@ -22,13 +22,11 @@ import org.eclipse.buildship.ui.util.nodeselection.SelectionSpecificAction;
 import org.eclipse.jface.action.Action;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.PlatformUI;
-import org.gradle.tooling.events.FailureResult;
-import org.gradle.tooling.events.FinishEvent;
 
 import java.util.List;
 
 /**
- * Opens a dialog which displays the {@link FailureResult} in a dialog.
+ * Opens a dialog which displays the {@link OperationFailure} instances in a dialog.
  */
 public final class ShowFailureAction extends Action implements SelectionSpecificAction {
 
@@ -42,11 +40,11 @@ public final class ShowFailureAction extends Action implements SelectionSpecific
     @Override
     public void run() {
         Shell shell = PlatformUI.getWorkbench().getDisplay().getActiveShell();
-        List<FinishEvent> failureEvents = collectEventsWithFailure(this.selectionProvider.getSelection());
-        new FailureDialog(shell, ExecutionViewMessages.Dialog_Failure_Title, failureEvents).open();
+        List<OperationItem> failedOperations = collectFailedOperations(this.selectionProvider.getSelection());
+        new FailureDialog(shell, ExecutionViewMessages.Dialog_Failure_Title, failedOperations).open();
     }
 
-    private List<FinishEvent> collectEventsWithFailure(NodeSelection selection) {
+    private List<OperationItem> collectFailedOperations(NodeSelection selection) {
         if (selection.isEmpty()) {
             return ImmutableList.of();
         }
@@ -55,12 +53,11 @@ public final class ShowFailureAction extends Action implements SelectionSpecific
             return ImmutableList.of();
         }
 
-        List<FinishEvent> result = Lists.newArrayList();
+        List<OperationItem> result = Lists.newArrayList();
         ImmutableList<OperationItem> operationItems = selection.toList(OperationItem.class);
         for (OperationItem operationItem : operationItems) {
-            FinishEvent finishEvent = operationItem.getFinishEvent();
-            if (finishEvent != null && finishEvent.getResult() instanceof FailureResult) {
-                result.add(finishEvent);
+            if (operationItem.getResult() == OperationItem.Result.FAILURE) {
+                result.add(operationItem);
             }
         }
         return result;
@@ -81,8 +78,7 @@ public final class ShowFailureAction extends Action implements SelectionSpecific
         return FluentIterable.from(operationItems).anyMatch(new Predicate<OperationItem>() {
             @Override
             public boolean apply(OperationItem operationItem) {
-                FinishEvent finishEvent = operationItem.getFinishEvent();
-                return finishEvent != null && finishEvent.getResult() instanceof FailureResult;
+                return operationItem.getResult() == OperationItem.Result.FAILURE;
             }
         });
     }
@@ -102,8 +98,7 @@ public final class ShowFailureAction extends Action implements SelectionSpecific
         return FluentIterable.from(operationItems).allMatch(new Predicate<OperationItem>() {
             @Override
             public boolean apply(OperationItem operationItem) {
-                FinishEvent finishEvent = operationItem.getFinishEvent();
-                return finishEvent != null && finishEvent.getResult() instanceof FailureResult;
+                return operationItem.getResult() == OperationItem.Result.FAILURE;
             }
         });
     }
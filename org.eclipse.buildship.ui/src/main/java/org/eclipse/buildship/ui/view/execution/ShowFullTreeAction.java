@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.buildship.ui.PluginImage.ImageState;
+import org.eclipse.buildship.ui.PluginImages;
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Replaces the summary shown by the target {@link ExecutionPage} by the full tree of the execution.
+ * <p/>
+ * The tree is read from its file in the background.
+ */
+public final class ShowFullTreeAction extends Action {
+
+    private final ExecutionPage page;
+
+    public ShowFullTreeAction(ExecutionPage executionPage) {
+        this.page = Preconditions.checkNotNull(executionPage);
+
+        setToolTipText(ExecutionViewMessages.Action_ShowFullTree_Tooltip);
+        setImageDescriptor(PluginImages.EXPAND_NODE.withState(ImageState.ENABLED).getImageDescriptor());
+
+        update();
+    }
+
+    void update() {
+        setEnabled(this.page.isSummarized());
+    }
+
+    @Override
+    public void run() {
+        final File file = this.page.getSummarizedTree();
+        if (file == null) {
+            return;
+        }
+
+        // disable the action until the tree is shown
+        setEnabled(false);
+        final ExecutionTreeStore store = ((ExecutionsView) this.page.getSite().getViewSite().getPart()).getExecutionTreeStore();
+        Job job = new Job("Reading execution tree") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    showTree(file, store.read(file));
+                } catch (IOException e) {
+                    showError(file, e);
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    private void showTree(final File file, final OperationItem root) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                // the page might have been closed in the meantime
+                if (!ShowFullTreeAction.this.page.getPageControl().isDisposed() && file.equals(ShowFullTreeAction.this.page.getSummarizedTree())) {
+                    ShowFullTreeAction.this.page.restoreFullTree(root);
+                }
+            }
+        });
+    }
+
+    private void showError(final File file, final IOException e) {
+        final String message = NLS.bind(ExecutionViewMessages.Dialog_ShowFullTree_Error, file.getAbsolutePath());
+        UiPlugin.logger().error(message, e);
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                update();
+                MessageDialog.openError(PlatformUI.getWorkbench().getDisplay().getActiveShell(), ExecutionViewMessages.Dialog_ShowFullTree_Title, message);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Opens a {@link TimelinePage} for the build represented by the target {@link ExecutionPage}.
+ * <p/>
+ * If the page only shows the summary of the build, the timeline is built from the full tree, which
+ * is read from its file in the background.
+ */
+public final class ShowTimelineAction extends Action {
+
+    private final ExecutionPage page;
+
+    public ShowTimelineAction(ExecutionPage page) {
+        this.page = Preconditions.checkNotNull(page);
+
+        setText(ExecutionViewMessages.Action_ShowTimeline_Text);
+        setToolTipText(ExecutionViewMessages.Action_ShowTimeline_Tooltip);
+    }
+
+    @Override
+    public void run() {
+        final File file = this.page.getSummarizedTree();
+        if (file == null) {
+            showTimeline(this.page.getRoot());
+            return;
+        }
+
+        // the summary does not contain all tasks
+        final ExecutionTreeStore store = getView().getExecutionTreeStore();
+        Job job = new Job("Reading execution tree") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    showTimelineAsync(store.read(file));
+                } catch (IOException e) {
+                    showError(file, e);
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.schedule();
+    }
+
+    private void showTimelineAsync(final OperationItem root) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                // the page might have been closed in the meantime
+                if (!ShowTimelineAction.this.page.getPageControl().isDisposed()) {
+                    showTimeline(root);
+                }
+            }
+        });
+    }
+
+    private void showTimeline(OperationItem root) {
+        ExecutionsView view = getView();
+        TimelinePage timelinePage = new TimelinePage(this.page.getDisplayName(), root);
+        view.addPage(timelinePage);
+        view.switchToPage(timelinePage);
+    }
+
+    private ExecutionsView getView() {
+        return (ExecutionsView) this.page.getSite().getViewSite().getPart();
+    }
+
+    private void showError(File file, IOException e) {
+        final String message = NLS.bind(ExecutionViewMessages.Dialog_ShowTimeline_Error, file.getAbsolutePath());
+        UiPlugin.logger().error(message, e);
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                MessageDialog.openError(PlatformUI.getWorkbench().getDisplay().getActiveShell(), ExecutionViewMessages.Dialog_ShowTimeline_Title, message);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * Summarizes the pages of the {@link ExecutionsView} whose builds terminated, such that the view
+ * does not keep the trees of all executions in memory.
+ * <p/>
+ * Only the pages of the most recently terminated builds keep their full tree, as configured by the
+ * {@link RetentionSettings}. Once a build terminated longer ago than the configured age, its page
+ * is summarized as well, except while it is the current page of the view. The trees are persisted
+ * and summarized in the background, the pages are only updated on the UI thread.
+ * <p/>
+ * The job is scheduled whenever a build terminates, and reschedules itself for the time at which
+ * the next page exceeds the configured age.
+ */
+final class SummarizeExecutionPagesJob extends Job {
+
+    private final ExecutionsView view;
+    private final ExecutionTreeStore store;
+    private volatile boolean running;
+
+    SummarizeExecutionPagesJob(ExecutionsView view, ExecutionTreeStore store) {
+        super("Summarizing terminated executions");
+
+        this.view = Preconditions.checkNotNull(view);
+        this.store = Preconditions.checkNotNull(store);
+        this.running = true;
+        setSystem(true);
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        RetentionSettings settings = RetentionSettings.load();
+        if (!settings.isSummarizeExecutions()) {
+            return Status.OK_STATUS;
+        }
+
+        // the pages are only accessed from the UI thread, the trees are then read in the background
+        final long now = System.currentTimeMillis();
+        final long maxAge = settings.getMaxAgeInMinutes() * 60L * 1000L;
+        final int maxFullExecutions = settings.getMaxFullExecutions();
+        final Map<ExecutionPage, OperationItem> candidates = Maps.newLinkedHashMap();
+        final long[] nextCheck = { Long.MAX_VALUE };
+        PlatformUI.getWorkbench().getDisplay().syncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                nextCheck[0] = collectCandidates(now, maxAge, maxFullExecutions, candidates);
+            }
+        });
+
+        for (Map.Entry<ExecutionPage, OperationItem> candidate : candidates.entrySet()) {
+            if (monitor.isCanceled()) {
+                return Status.CANCEL_STATUS;
+            }
+            try {
+                File file = this.store.write(candidate.getValue());
+                summarize(candidate.getKey(), ExecutionSummary.from(candidate.getValue()), file);
+            } catch (IOException e) {
+                // keep the full tree, the next attempt is made once another build terminates
+                UiPlugin.logger().error(String.format("Cannot persist the tree of execution %s.", candidate.getKey().getDisplayName()), e);
+            }
+        }
+
+        if (nextCheck[0] != Long.MAX_VALUE) {
+            schedule(Math.max(nextCheck[0] - now, 0));
+        }
+        return Status.OK_STATUS;
+    }
+
+    private long collectCandidates(long now, long maxAge, int maxFullExecutions, Map<ExecutionPage, OperationItem> candidates) {
+        if (!this.running) {
+            return Long.MAX_VALUE;
+        }
+
+        List<ExecutionPage> fullPages = Lists.newArrayList();
+        for (ExecutionPage page : FluentIterable.from(this.view.getPages()).filter(ExecutionPage.class)) {
+            if (page.isTerminated() && !page.isSummarized() && page.getPageControl() != null && !page.getPageControl().isDisposed()) {
+                fullPages.add(page);
+            }
+        }
+
+        // the most recently terminated builds keep their full tree
+        Collections.sort(fullPages, new Comparator<ExecutionPage>() {
+
+            @Override
+            public int compare(ExecutionPage first, ExecutionPage second) {
+                return Long.valueOf(second.getTerminationTime()).compareTo(Long.valueOf(first.getTerminationTime()));
+            }
+        });
+
+        long nextCheck = Long.MAX_VALUE;
+        for (int i = 0; i < fullPages.size(); i++) {
+            ExecutionPage page = fullPages.get(i);
+            long expiration = page.getTerminationTime() + maxAge;
+            if (i >= maxFullExecutions || (expiration <= now && page != this.view.getCurrentPage())) {
+                candidates.put(page, page.getRoot());
+            } else {
+                // check again once the page expires, or once the user switched to another page
+                nextCheck = Math.min(nextCheck, Math.max(expiration, now + 60L * 1000L));
+            }
+        }
+        return nextCheck;
+    }
+
+    private void summarize(final ExecutionPage page, final ExecutionSummary summary, final File file) {
+        PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+            @Override
+            public void run() {
+                // the page might have been closed or summarized in the meantime
+                if (!page.getPageControl().isDisposed() && !page.isSummarized()) {
+                    page.summarize(summary, file);
+                } else {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean shouldSchedule() {
+        return this.running;
+    }
+
+    void stop() {
+        this.running = false;
+        cancel();
+    }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+/**
+ * Resolves the classes of executed tests to their {@link IType} declarations in the workspace.
+ * <p/>
+ * All classes requested for the same project are resolved with a single JDT search. The results,
+ * including the classes which cannot be found, are cached until the Java model changes. The
+ * instance is registered as a Java element change listener by the {@link org.eclipse.buildship.ui.UiPlugin}
+ * and only forgets the classes of the compilation units and packages in the delta. Changes of the
+ * classpath or of the set of projects and source folders invalidate all results, since they can
+ * also affect the search scopes of the projects depending on the changed one.
+ */
+public final class TestTypeResolver implements IElementChangedListener {
+
+    // the key of the results for searches across the entire workspace
+    private static final String WORKSPACE_SCOPE = ""; //$NON-NLS-1$
+
+    @SuppressWarnings("deprecation")
+    private static final int SCOPE_CHANGE_FLAGS = IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+            | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED | IJavaElementDelta.F_ADDED_TO_CLASSPATH
+            | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
+
+    private final ConcurrentMap<String, Map<String, Optional<IType>>> typesByScope;
+
+    public TestTypeResolver() {
+        this.typesByScope = Maps.newConcurrentMap();
+    }
+
+    /**
+     * Resolves the given classes.
+     *
+     * @param project the project containing the classes or {@link Optional#absent()} to search the
+     *            entire workspace
+     * @param classNames the fully qualified names of the classes, nested classes may be separated
+     *            by {@code $}
+     * @param monitor the monitor to report the progress on
+     * @return the types found, by the requested class names
+     * @throws CoreException if the search fails
+     */
+    public Map<String, IType> resolve(Optional<IProject> project, Collection<String> classNames, IProgressMonitor monitor) throws CoreException {
+        IJavaSearchScope scope = createSearchScope(project);
+        String scopeKey = project.isPresent() && scope != null ? project.get().getName() : WORKSPACE_SCOPE;
+        Map<String, Optional<IType>> cachedTypes = getCachedTypes(scopeKey);
+
+        // only search for the classes which were not looked up since the last change
+        List<String> missing = Lists.newArrayList();
+        for (String className : classNames) {
+            Optional<IType> cached = cachedTypes.get(className);
+            if (cached == null || (cached.isPresent() && !cached.get().exists())) {
+                missing.add(className);
+            }
+        }
+        if (!missing.isEmpty()) {
+            cachedTypes.putAll(search(missing, scope != null ? scope : SearchEngine.createWorkspaceScope(), monitor));
+        }
+
+        ImmutableMap.Builder<String, IType> result = ImmutableMap.builder();
+        for (String className : classNames) {
+            Optional<IType> type = cachedTypes.get(className);
+            if (type != null && type.isPresent()) {
+                result.put(className, type.get());
+            }
+        }
+        return result.build();
+    }
+
+    private Map<String, Optional<IType>> getCachedTypes(String scopeKey) {
+        Map<String, Optional<IType>> cachedTypes = this.typesByScope.get(scopeKey);
+        if (cachedTypes == null) {
+            Map<String, Optional<IType>> newTypes = Maps.newConcurrentMap();
+            cachedTypes = this.typesByScope.putIfAbsent(scopeKey, newTypes);
+            if (cachedTypes == null) {
+                cachedTypes = newTypes;
+            }
+        }
+        return cachedTypes;
+    }
+
+    private static IJavaSearchScope createSearchScope(Optional<IProject> candidate) throws CoreException {
+        if (candidate.isPresent()) {
+            IProject project = candidate.get();
+            if (project.isAccessible() && project.hasNature(JavaCore.NATURE_ID)) {
+                return SearchEngine.createJavaSearchScope(new IJavaElement[] { JavaCore.create(project) });
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Optional<IType>> search(List<String> classNames, IJavaSearchScope scope, IProgressMonitor monitor) throws CoreException {
+        // the search reports nested classes with dots, thus map the source names back to the requested names
+        Map<String, String> requestedNames = Maps.newHashMap();
+        char[][] qualifications = new char[classNames.size()][];
+        char[][] simpleNames = new char[classNames.size()][];
+        for (int i = 0; i < classNames.size(); i++) {
+            String className = classNames.get(i);
+            String sourceName = className.replace('$', '.');
+            int lastDot = sourceName.lastIndexOf('.');
+            qualifications[i] = (lastDot > 0 ? sourceName.substring(0, lastDot) : "").toCharArray(); //$NON-NLS-1$
+            simpleNames[i] = sourceName.substring(lastDot + 1).toCharArray();
+            requestedNames.put(sourceName, className);
+        }
+
+        final Map<String, Optional<IType>> result = Maps.newHashMap();
+        for (String className : classNames) {
+            result.put(className, Optional.<IType>absent());
+        }
+        final Map<String, String> sourceToRequestedNames = requestedNames;
+        new SearchEngine().searchAllTypeNames(qualifications, simpleNames, scope, new TypeNameMatchRequestor() {
+
+            @Override
+            public void acceptTypeNameMatch(TypeNameMatch match) {
+                String className = sourceToRequestedNames.get(match.getFullyQualifiedName());
+                // keep the first declaration found, like the search for a single class did
+                if (className != null && !result.get(className).isPresent()) {
+                    result.put(className, Optional.of(match.getType()));
+                }
+            }
+        }, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+        return result;
+    }
+
+    @Override
+    public void elementChanged(ElementChangedEvent event) {
+        if (!this.typesByScope.isEmpty()) {
+            forgetChangedTypes(event.getDelta());
+        }
+    }
+
+    private void forgetChangedTypes(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        switch (element.getElementType()) {
+            case IJavaElement.JAVA_MODEL:
+                break;
+            case IJavaElement.JAVA_PROJECT:
+            case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+                if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & SCOPE_CHANGE_FLAGS) != 0) {
+                    this.typesByScope.clear();
+                    return;
+                }
+                break;
+            case IJavaElement.PACKAGE_FRAGMENT:
+                if (delta.getKind() != IJavaElementDelta.CHANGED) {
+                    forgetTypes(element.getElementName(), Optional.<String>absent());
+                    return;
+                }
+                break;
+            case IJavaElement.COMPILATION_UNIT:
+            case IJavaElement.CLASS_FILE:
+                forgetTypesOf(element);
+                return;
+            default:
+                return;
+        }
+
+        for (IJavaElementDelta child : delta.getAffectedChildren()) {
+            forgetChangedTypes(child);
+        }
+    }
+
+    private void forgetTypesOf(IJavaElement typeRoot) {
+        // the name of a compilation unit or a class file starts with the name of its top-level type
+        String packageName = typeRoot.getParent().getElementName();
+        String fileName = typeRoot.getElementName();
+        int end = fileName.lastIndexOf('.') >= 0 ? fileName.lastIndexOf('.') : fileName.length();
+        int nested = fileName.indexOf('$');
+        forgetTypes(packageName, Optional.of(fileName.substring(0, nested >= 0 && nested < end ? nested : end)));
+
+        // secondary top-level types are only known without parsing if the compilation unit is open
+        if (typeRoot instanceof ICompilationUnit && ((ICompilationUnit) typeRoot).isOpen()) {
+            try {
+                for (IType type : ((ICompilationUnit) typeRoot).getTypes()) {
+                    forgetTypes(packageName, Optional.of(type.getElementName()));
+                }
+            } catch (JavaModelException e) {
+                // the compilation unit was removed in the meantime, its types no longer exist
+            }
+        }
+    }
+
+    private void forgetTypes(String packageName, Optional<String> topLevelTypeName) {
+        for (Map<String, Optional<IType>> cachedTypes : this.typesByScope.values()) {
+            Iterator<String> classNames = cachedTypes.keySet().iterator();
+            while (classNames.hasNext()) {
+                String className = classNames.next();
+                int lastDot = className.lastIndexOf('.');
+                String typeName = className.substring(lastDot + 1);
+                if (className.substring(0, Math.max(lastDot, 0)).equals(packageName)
+                        && (!topLevelTypeName.isPresent() || typeName.equals(topLevelTypeName.get()) || typeName.startsWith(topLevelTypeName.get() + '$'))) {
+                    classNames.remove();
+                }
+            }
+        }
+    }
+
+}
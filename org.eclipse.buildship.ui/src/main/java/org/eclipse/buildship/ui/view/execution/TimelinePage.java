@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.execution;
+
+import java.text.DecimalFormat;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.ScrolledComposite;
+import org.eclipse.swt.events.ControlAdapter;
+import org.eclipse.swt.events.ControlEvent;
+import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.swt.events.MouseMoveListener;
+import org.eclipse.swt.events.PaintEvent;
+import org.eclipse.swt.events.PaintListener;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IActionBars;
+
+import org.eclipse.buildship.ui.view.BasePage;
+import org.eclipse.buildship.ui.view.MultiPageView;
+import org.eclipse.buildship.ui.view.PageSite;
+import org.eclipse.buildship.ui.view.RemovePageAction;
+
+/**
+ * Displays the tasks of a single build execution on a timeline, one row per worker.
+ * <p/>
+ * The tasks on the critical path are outlined, and the periods in which no task was running are
+ * shaded. The timeline is a snapshot of the execution at the time the page was created or last
+ * refreshed.
+ */
+public final class TimelinePage extends BasePage<ScrolledComposite> {
+
+    private static final int MARGIN = 8;
+    private static final int ROW_HEIGHT = 22;
+    private static final int BAR_INSET = 3;
+    private static final int AXIS_HEIGHT = 20;
+    private static final int MIN_TICK_SPACING = 80;
+    private static final long[] TICK_INTERVALS = { 10, 50, 100, 500, 1000, 5000, 10000, 30000, 60000, 300000, 600000, 1800000, 3600000 };
+
+    private final String displayName;
+    private final OperationItem root;
+    private final DecimalFormat durationFormat = new DecimalFormat("#0.000"); //$NON-NLS-1$
+    private BuildTimeline timeline;
+    private Canvas canvas;
+
+    public TimelinePage(String executionName, OperationItem root) {
+        this.displayName = NLS.bind(ExecutionViewMessages.Timeline_Page_Name_0, executionName);
+        this.root = Preconditions.checkNotNull(root);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return this.displayName;
+    }
+
+    @Override
+    public ScrolledComposite createPageWithResult(Composite parent) {
+        final ScrolledComposite scrolledComposite = new ScrolledComposite(parent, SWT.V_SCROLL);
+        scrolledComposite.setExpandHorizontal(true);
+        scrolledComposite.setExpandVertical(true);
+
+        this.canvas = new Canvas(scrolledComposite, SWT.DOUBLE_BUFFERED);
+        this.canvas.setBackground(parent.getDisplay().getSystemColor(SWT.COLOR_LIST_BACKGROUND));
+        this.canvas.addPaintListener(new PaintListener() {
+
+            @Override
+            public void paintControl(PaintEvent event) {
+                paint(event.gc);
+            }
+        });
+        this.canvas.addMouseMoveListener(new MouseMoveListener() {
+
+            @Override
+            public void mouseMove(MouseEvent event) {
+                updateToolTip(event.x, event.y);
+            }
+        });
+        scrolledComposite.setContent(this.canvas);
+        scrolledComposite.addControlListener(new ControlAdapter() {
+
+            @Override
+            public void controlResized(ControlEvent e) {
+                TimelinePage.this.canvas.redraw();
+            }
+        });
+
+        refresh();
+        return scrolledComposite;
+    }
+
+    @Override
+    public void init(PageSite pageSite) {
+        super.init(pageSite);
+
+        IActionBars actionBars = getSite().getActionBars();
+        IToolBarManager toolbarManager = actionBars.getToolBarManager();
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new RefreshTimelineAction(this));
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new ExportChromeTraceAction(this));
+        toolbarManager.appendToGroup(MultiPageView.PAGE_GROUP, new RemovePageAction(this, ExecutionViewMessages.Action_RemoveTimelinePage_Tooltip));
+        toolbarManager.update(true);
+    }
+
+    /**
+     * Lays out the tasks of the execution again, e.g. to include the tasks which ran since the
+     * page was created.
+     */
+    void refresh() {
+        this.timeline = BuildTimeline.from(this.root, System.currentTimeMillis());
+        ScrolledComposite scrolledComposite = (ScrolledComposite) this.canvas.getParent();
+        scrolledComposite.setMinHeight(rowTop(this.timeline.getLaneCount()) + MARGIN);
+        this.canvas.redraw();
+    }
+
+    BuildTimeline getTimeline() {
+        return this.timeline;
+    }
+
+    private void paint(GC gc) {
+        Display display = this.canvas.getDisplay();
+        BuildTimeline timeline = this.timeline;
+        Rectangle area = this.canvas.getClientArea();
+        int width = Math.max(area.width - 2 * MARGIN, 1);
+        long duration = Math.max(timeline.getEnd() - timeline.getStart(), 1);
+
+        // summary
+        gc.setForeground(display.getSystemColor(SWT.COLOR_LIST_FOREGROUND));
+        gc.drawString(summary(timeline), MARGIN, MARGIN, true);
+
+        // idle periods across all rows
+        int top = rowTop(0);
+        int bottom = rowTop(timeline.getLaneCount());
+        gc.setBackground(display.getSystemColor(SWT.COLOR_INFO_BACKGROUND));
+        for (BuildTimeline.Gap gap : timeline.getGaps()) {
+            int x = toX(gap.getStart(), timeline, width, duration);
+            gc.fillRectangle(x, top, Math.max(toX(gap.getEnd(), timeline, width, duration) - x, 1), bottom - top);
+        }
+
+        // time axis
+        long tick = tickInterval(duration, width);
+        gc.setForeground(display.getSystemColor(SWT.COLOR_WIDGET_NORMAL_SHADOW));
+        for (long offset = 0; offset <= duration; offset += tick) {
+            int x = toX(timeline.getStart() + offset, timeline, width, duration);
+            gc.drawLine(x, top - 4, x, bottom);
+            gc.drawString(formatSeconds(offset), x + 2, top - AXIS_HEIGHT, true);
+        }
+
+        // tasks, the critical ones outlined
+        for (BuildTimeline.Task task : timeline.getTasks()) {
+            int x = toX(task.getStart(), timeline, width, duration);
+            int barWidth = Math.max(toX(task.getEnd(), timeline, width, duration) - x, 1);
+            int y = rowTop(task.getLane()) + BAR_INSET;
+            int barHeight = ROW_HEIGHT - 2 * BAR_INSET;
+
+            gc.setBackground(taskColor(task, display));
+            gc.fillRectangle(x, y, barWidth, barHeight);
+            if (task.isCritical()) {
+                gc.setForeground(display.getSystemColor(SWT.COLOR_DARK_RED));
+                gc.setLineWidth(2);
+                gc.drawRectangle(x, y, barWidth, barHeight);
+                gc.setLineWidth(1);
+            }
+            if (barWidth > 20) {
+                gc.setClipping(x, y, barWidth, barHeight);
+                gc.setForeground(display.getSystemColor(SWT.COLOR_LIST_SELECTION_TEXT));
+                gc.drawString(task.getName(), x + 2, y + 1, true);
+                gc.setClipping((Rectangle) null);
+            }
+        }
+    }
+
+    private static Color taskColor(BuildTimeline.Task task, Display display) {
+        if (task.getResult() == OperationItem.Result.FAILURE) {
+            return display.getSystemColor(SWT.COLOR_RED);
+        } else if (task.isUpToDate() || task.getResult() == OperationItem.Result.SKIPPED) {
+            return display.getSystemColor(SWT.COLOR_WIDGET_NORMAL_SHADOW);
+        } else {
+            return display.getSystemColor(SWT.COLOR_LIST_SELECTION);
+        }
+    }
+
+    private String summary(BuildTimeline timeline) {
+        long criticalPath = 0;
+        int criticalTasks = 0;
+        for (BuildTimeline.Task task : timeline.getTasks()) {
+            if (task.isCritical()) {
+                criticalPath += task.getEnd() - task.getStart();
+                criticalTasks++;
+            }
+        }
+        long idle = 0;
+        for (BuildTimeline.Gap gap : timeline.getGaps()) {
+            idle += gap.getEnd() - gap.getStart();
+        }
+        return NLS.bind(ExecutionViewMessages.Timeline_Summary_Text, new Object[] { formatSeconds(timeline.getEnd() - timeline.getStart()), timeline.getLaneCount(),
+                formatSeconds(criticalPath), criticalTasks, formatSeconds(idle) });
+    }
+
+    private void updateToolTip(int x, int y) {
+        BuildTimeline timeline = this.timeline;
+        int width = Math.max(this.canvas.getClientArea().width - 2 * MARGIN, 1);
+        long duration = Math.max(timeline.getEnd() - timeline.getStart(), 1);
+        String toolTip = null;
+        if (y >= rowTop(0) && y < rowTop(timeline.getLaneCount())) {
+            int lane = (y - rowTop(0)) / ROW_HEIGHT;
+            long time = timeline.getStart() + (long) ((x - MARGIN) * (double) duration / width);
+            for (BuildTimeline.Task task : timeline.getTasks()) {
+                if (task.getLane() == lane && task.getStart() <= time && time <= task.getEnd()) {
+                    toolTip = NLS.bind(ExecutionViewMessages.Timeline_Task_Tooltip, task.getName(), formatSeconds(task.getEnd() - task.getStart()));
+                    break;
+                }
+            }
+            if (toolTip == null) {
+                for (BuildTimeline.Gap gap : timeline.getGaps()) {
+                    if (gap.getStart() <= time && time <= gap.getEnd()) {
+                        toolTip = NLS.bind(ExecutionViewMessages.Timeline_Gap_Tooltip, formatSeconds(gap.getEnd() - gap.getStart()));
+                        break;
+                    }
+                }
+            }
+        }
+
+        String current = this.canvas.getToolTipText();
+        if (toolTip == null ? current != null : !toolTip.equals(current)) {
+            this.canvas.setToolTipText(toolTip);
+        }
+    }
+
+    private static int rowTop(int lane) {
+        return MARGIN + ROW_HEIGHT + AXIS_HEIGHT + lane * ROW_HEIGHT;
+    }
+
+    private static int toX(long time, BuildTimeline timeline, int width, long duration) {
+        return MARGIN + (int) ((time - timeline.getStart()) * (double) width / duration);
+    }
+
+    private static long tickInterval(long duration, int width) {
+        for (long interval : TICK_INTERVALS) {
+            if (interval * width / duration >= MIN_TICK_SPACING) {
+                return interval;
+            }
+        }
+        return TICK_INTERVALS[TICK_INTERVALS.length - 1];
+    }
+
+    private String formatSeconds(long millis) {
+        return this.durationFormat.format(millis / 1000.0);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Object getAdapter(Class adapter) {
+        return Platform.getAdapterManager().getAdapter(this, adapter);
+    }
+
+}
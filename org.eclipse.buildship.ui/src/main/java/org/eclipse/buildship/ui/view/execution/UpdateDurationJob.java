@@ -11,70 +11,108 @@
 
 package org.eclipse.buildship.ui.view.execution;
 
-import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 
-import com.google.common.collect.Maps;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
-import org.gradle.tooling.events.OperationDescriptor;
+import org.eclipse.ui.PlatformUI;
+
+import org.eclipse.buildship.ui.view.Page;
 
 /**
- * Updates the duration of the registered {@link OperationItem} instances in the {@link ExecutionsView} in regular intervals.
+ * Updates the duration of the running operations in the {@link ExecutionsView} in regular intervals.
+ * <p/>
+ * A single job is shared by all pages of the view. It only runs while at least one page shows a
+ * running build, and only refreshes the rows the user can currently see: the rows of the current
+ * page, and only if the view is visible. The durations of all other operations are calculated when
+ * their rows are shown.
  */
 public final class UpdateDurationJob extends Job {
 
     private final long repeatDelay;
-    private final OperationItemRenderer operationItemRenderer;
-    private final Map<OperationDescriptor, OperationItem> operationItems;
+    private final ExecutionsView view;
+    private final Set<Page> runningPages;
+    private final Runnable updateVisibleDurations;
+    private boolean scheduled;
     private volatile boolean running;
 
-    public UpdateDurationJob(long repeatDelay, OperationItemRenderer operationItemRenderer) {
+    public UpdateDurationJob(long repeatDelay, ExecutionsView view) {
         super("Updating duration of non-finished operations");
 
         this.repeatDelay = repeatDelay;
-        this.operationItemRenderer = operationItemRenderer;
-        this.operationItems = Maps.newHashMap();
+        this.view = Preconditions.checkNotNull(view);
+        this.runningPages = Sets.newHashSet();
+        this.updateVisibleDurations = new Runnable() {
+
+            @Override
+            public void run() {
+                updateVisibleDurations();
+            }
+        };
         this.running = true;
     }
 
     @Override
     protected IStatus run(IProgressMonitor monitor) {
-        // update all registered operation items
-        for (OperationItem operationItem : getOperationItems()) {
-            this.operationItemRenderer.updateDuration(operationItem);
+        synchronized (this.runningPages) {
+            if (this.runningPages.isEmpty()) {
+                this.scheduled = false;
+                return Status.OK_STATUS;
+            }
         }
 
+        PlatformUI.getWorkbench().getDisplay().asyncExec(this.updateVisibleDurations);
+
         // reschedule the job such that is runs again in repeatDelay ms
         schedule(this.repeatDelay);
         return Status.OK_STATUS;
     }
 
-    public void addOperationItem(OperationItem operationItem) {
-        Preconditions.checkNotNull(operationItem.getStartEvent());
-        synchronized (this.operationItems) {
-            this.operationItems.put(operationItem.getStartEvent().getDescriptor(), operationItem);
+    private void updateVisibleDurations() {
+        Page currentPage = this.view.getCurrentPage();
+        if (!(currentPage instanceof ExecutionPage) || !isRunning(currentPage) || !this.view.getSite().getPage().isPartVisible(this.view)) {
+            return;
+        }
+        ((ExecutionPage) currentPage).updateVisibleDurations();
+    }
+
+    private boolean isRunning(Page page) {
+        synchronized (this.runningPages) {
+            return this.runningPages.contains(page);
         }
     }
 
-    public void removeOperationItem(OperationItem operationItem) {
-        Preconditions.checkNotNull(operationItem.getStartEvent());
-        synchronized (this.operationItems) {
-            this.operationItems.remove(operationItem.getStartEvent().getDescriptor());
-            if (this.operationItems.isEmpty()) {
-                stop();
+    /**
+     * Registers a page which shows a running build, such that the durations of its operations are
+     * updated while the page is visible.
+     *
+     * @param page the page showing the running build
+     */
+    public void addRunningPage(Page page) {
+        Preconditions.checkNotNull(page);
+        synchronized (this.runningPages) {
+            this.runningPages.add(page);
+            if (!this.scheduled) {
+                this.scheduled = true;
+                schedule(this.repeatDelay);
             }
         }
     }
 
-    private List<OperationItem> getOperationItems() {
-        synchronized (this.operationItems) {
-            return ImmutableList.copyOf(this.operationItems.values());
+    /**
+     * Unregisters a page whose build finished or which was closed. The job stops once no page
+     * shows a running build.
+     *
+     * @param page the page to unregister
+     */
+    public void removeRunningPage(Page page) {
+        synchronized (this.runningPages) {
+            this.runningPages.remove(page);
         }
     }
 
@@ -85,6 +123,7 @@ public final class UpdateDurationJob extends Job {
 
     public void stop() {
         this.running = false;
+        cancel();
     }
 
 }
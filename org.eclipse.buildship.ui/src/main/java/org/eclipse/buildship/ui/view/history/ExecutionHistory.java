@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * An append-only store of finished build executions, kept in a single binary file.
+ * <p/>
+ * Appending a record only encodes it into a byte array, such that it is cheap to do on the thread
+ * delivering the progress events. The encoded records are written to the end of the file by a
+ * background job. Each record is prefixed with its length, such that a record which was only
+ * partially written can be detected and dropped.
+ * <p/>
+ * Records older than a given age and records exceeding a given number of executions age out. They
+ * are removed when the history is loaded and whenever the file holds considerably more records
+ * than are kept.
+ */
+public final class ExecutionHistory {
+
+    public static final long DEFAULT_MAX_AGE = TimeUnit.DAYS.toMillis(30);
+    public static final int DEFAULT_MAX_EXECUTIONS = 200;
+
+    private static final int MAGIC = 0x42534548;
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAX_STRING_LENGTH = 4096;
+    private static final int MAX_ENTRY_LENGTH = 64 * 1024 * 1024;
+
+    private final File file;
+    private final long maxAge;
+    private final int maxExecutions;
+    private final List<byte[]> pendingEntries;
+    private final List<Listener> listeners;
+    private final Job writeJob;
+    private int storedEntries;
+
+    public ExecutionHistory(File file, long maxAge, int maxExecutions) {
+        Preconditions.checkArgument(maxAge > 0);
+        Preconditions.checkArgument(maxExecutions > 0);
+        this.file = Preconditions.checkNotNull(file);
+        this.maxAge = maxAge;
+        this.maxExecutions = maxExecutions;
+        this.pendingEntries = Lists.newArrayList();
+        this.listeners = new CopyOnWriteArrayList<Listener>();
+        this.writeJob = new Job("Writing the execution history") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                flush();
+                return Status.OK_STATUS;
+            }
+        };
+        this.writeJob.setSystem(true);
+        this.storedEntries = -1;
+    }
+
+    public File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Adds the given execution to the history. The execution is written to the file in the
+     * background.
+     *
+     * @param record the execution to add
+     */
+    public void append(ExecutionRecord record) {
+        byte[] entry = encode(record);
+        synchronized (this.pendingEntries) {
+            this.pendingEntries.add(entry);
+        }
+        this.writeJob.schedule();
+
+        for (Listener listener : this.listeners) {
+            listener.executionRecorded(record);
+        }
+    }
+
+    /**
+     * Reads all executions which have not aged out yet. Executions which were added but not yet
+     * written are written first.
+     *
+     * @return the executions, the oldest first
+     */
+    public synchronized List<ExecutionRecord> load() {
+        flush();
+        try {
+            return readAndCompact();
+        } catch (IOException e) {
+            UiPlugin.logger().error(String.format("Cannot read the execution history from %s.", this.file.getAbsolutePath()), e);
+            return ImmutableList.of();
+        }
+    }
+
+    /**
+     * Writes the pending executions to the file.
+     */
+    public synchronized void flush() {
+        List<byte[]> entries;
+        synchronized (this.pendingEntries) {
+            if (this.pendingEntries.isEmpty()) {
+                return;
+            }
+            entries = ImmutableList.copyOf(this.pendingEntries);
+            this.pendingEntries.clear();
+        }
+
+        try {
+            // before the first write of a session, drop a partially written entry of a previous session
+            if (this.storedEntries < 0) {
+                readAndCompact();
+            }
+
+            write(entries, true);
+            this.storedEntries += entries.size();
+
+            // age out old executions once the file holds considerably more than are kept
+            if (this.storedEntries > 2 * this.maxExecutions) {
+                readAndCompact();
+            }
+        } catch (IOException e) {
+            UiPlugin.logger().error(String.format("Cannot write the execution history to %s.", this.file.getAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * Writes the pending executions and stops writing in the background.
+     */
+    public void close() {
+        this.writeJob.cancel();
+        flush();
+    }
+
+    public void addListener(Listener listener) {
+        this.listeners.add(Preconditions.checkNotNull(listener));
+    }
+
+    public void removeListener(Listener listener) {
+        this.listeners.remove(listener);
+    }
+
+    private List<ExecutionRecord> readAndCompact() throws IOException {
+        if (!this.file.isFile()) {
+            this.storedEntries = 0;
+            return ImmutableList.of();
+        }
+
+        List<byte[]> entries = Lists.newArrayList();
+        boolean damaged = false;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                damaged = true;
+            } else {
+                int first;
+                while ((first = in.read()) >= 0) {
+                    int length = first << 24 | in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+                    if (length < 0 || length > MAX_ENTRY_LENGTH) {
+                        damaged = true;
+                        break;
+                    }
+                    byte[] entry = new byte[length];
+                    in.readFully(entry);
+                    entries.add(entry);
+                }
+            }
+        } catch (EOFException e) {
+            // the last entry was only partially written
+            damaged = true;
+        } finally {
+            in.close();
+        }
+
+        // drop the executions which aged out, the newest ones are at the end
+        long oldestTimestamp = System.currentTimeMillis() - this.maxAge;
+        List<ExecutionRecord> records = Lists.newArrayList();
+        List<byte[]> keptEntries = Lists.newArrayList();
+        for (int i = Math.max(0, entries.size() - this.maxExecutions); i < entries.size(); i++) {
+            byte[] entry = entries.get(i);
+            ExecutionRecord record;
+            try {
+                record = decode(entry);
+            } catch (IOException e) {
+                damaged = true;
+                continue;
+            }
+            if (record.getTimestamp() >= oldestTimestamp) {
+                records.add(record);
+                keptEntries.add(entry);
+            }
+        }
+
+        if (damaged || keptEntries.size() != entries.size()) {
+            write(keptEntries, false);
+        }
+        this.storedEntries = keptEntries.size();
+        return records;
+    }
+
+    private void write(List<byte[]> entries, boolean append) throws IOException {
+        Files.createParentDirs(this.file);
+        File target = append ? this.file : new File(this.file.getPath() + ".tmp"); //$NON-NLS-1$
+        boolean writeHeader = !append || this.file.length() == 0;
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target, append)));
+        try {
+            if (writeHeader) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+            }
+            for (byte[] entry : entries) {
+                out.writeInt(entry.length);
+                out.write(entry);
+            }
+        } finally {
+            out.close();
+        }
+
+        if (!append && (this.file.exists() && !this.file.delete() || !target.renameTo(this.file))) {
+            throw new IOException(String.format("Cannot replace %s with %s.", this.file.getAbsolutePath(), target.getAbsolutePath()));
+        }
+    }
+
+    private static byte[] encode(ExecutionRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + 32 * record.getOperations().size());
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeLong(record.getTimestamp());
+            writeString(record.getName(), out);
+            writeString(record.getWorkingDir(), out);
+            writeStrings(record.getTasks(), out);
+            writeStrings(record.getArguments(), out);
+            writeStrings(record.getJvmArguments(), out);
+            out.writeInt(record.getOperations().size());
+            for (OperationRecord operation : record.getOperations()) {
+                out.writeByte(operation.getKind().ordinal());
+                out.writeByte(operation.getOutcome().ordinal());
+                writeString(operation.getName(), out);
+                out.writeLong(operation.getDuration());
+            }
+            out.flush();
+        } catch (IOException e) {
+            // cannot happen when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeStrings(List<String> strings, DataOutputStream out) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            writeString(string, out);
+        }
+    }
+
+    private static void writeString(String string, DataOutputStream out) throws IOException {
+        // the modified UTF-8 encoding is limited to 64K bytes
+        out.writeUTF(string.length() > MAX_STRING_LENGTH ? string.substring(0, MAX_STRING_LENGTH) : string);
+    }
+
+    private static ExecutionRecord decode(byte[] entry) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+        long timestamp = in.readLong();
+        String name = in.readUTF();
+        String workingDir = in.readUTF();
+        List<String> tasks = readStrings(in);
+        List<String> arguments = readStrings(in);
+        List<String> jvmArguments = readStrings(in);
+        int operationCount = in.readInt();
+        if (operationCount < 0) {
+            throw new IOException("Invalid number of operations: " + operationCount);
+        }
+        List<OperationRecord> operations = Lists.newArrayListWithCapacity(Math.min(operationCount, entry.length));
+        for (int i = 0; i < operationCount; i++) {
+            OperationRecord.Kind kind = readEnum(OperationRecord.Kind.values(), in);
+            OperationRecord.Outcome outcome = readEnum(OperationRecord.Outcome.values(), in);
+            String operationName = in.readUTF();
+            long duration = in.readLong();
+            operations.add(new OperationRecord(kind, operationName, duration, outcome));
+        }
+        return new ExecutionRecord(timestamp, name, workingDir, tasks, arguments, jvmArguments, operations);
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid number of strings: " + count);
+        }
+        List<String> strings = Lists.newArrayList();
+        for (int i = 0; i < count; i++) {
+            strings.add(in.readUTF());
+        }
+        return strings;
+    }
+
+    private static <T extends Enum<T>> T readEnum(T[] values, DataInputStream in) throws IOException {
+        int ordinal = in.readUnsignedByte();
+        if (ordinal >= values.length) {
+            throw new IOException("Invalid ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    /**
+     * Is notified whenever an execution is added to the history.
+     */
+    public interface Listener {
+
+        /**
+         * Invoked on the thread adding the execution.
+         *
+         * @param record the added execution
+         */
+        void executionRecorded(ExecutionRecord record);
+    }
+
+}
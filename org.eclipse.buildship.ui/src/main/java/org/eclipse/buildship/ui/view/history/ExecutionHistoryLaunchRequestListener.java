@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+
+import com.gradleware.tooling.toolingclient.Request;
+
+import org.eclipse.buildship.core.event.Event;
+import org.eclipse.buildship.core.event.EventListener;
+import org.eclipse.buildship.core.launch.ExecuteLaunchRequestEvent;
+
+/**
+ * {@link EventListener} implementation recording every executed Gradle build in the
+ * {@link ExecutionHistory}, independent of whether the build is shown in the Executions View.
+ * <p/>
+ * Coalesced test launches are announced separately but are served by the same request. Each
+ * request is recorded once, together with the tests of all the launches it serves.
+ */
+public final class ExecutionHistoryLaunchRequestListener implements EventListener {
+
+    private final ExecutionHistory history;
+    private final Map<Request<Void>, ExecutionHistoryRecorder> recorders;
+
+    public ExecutionHistoryLaunchRequestListener(ExecutionHistory history) {
+        this.history = Preconditions.checkNotNull(history);
+        this.recorders = new MapMaker().weakKeys().makeMap();
+    }
+
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ExecuteLaunchRequestEvent) {
+            ExecuteLaunchRequestEvent launchRequestEvent = (ExecuteLaunchRequestEvent) event;
+            ExecutionHistoryRecorder recorder = getOrCreateRecorder(launchRequestEvent);
+            launchRequestEvent.addProgressListener(recorder.newTestListener());
+        }
+    }
+
+    private synchronized ExecutionHistoryRecorder getOrCreateRecorder(ExecuteLaunchRequestEvent launchRequestEvent) {
+        Request<Void> request = launchRequestEvent.getRequest();
+        ExecutionHistoryRecorder recorder = this.recorders.get(request);
+        if (recorder == null) {
+            // the recorder receives all events of the build, the tests are recorded per launch
+            recorder = new ExecutionHistoryRecorder(launchRequestEvent.getProcessDescription(), this.history);
+            request.addTypedProgressListeners(recorder);
+            this.recorders.put(request, recorder);
+        }
+        return recorder;
+    }
+
+}
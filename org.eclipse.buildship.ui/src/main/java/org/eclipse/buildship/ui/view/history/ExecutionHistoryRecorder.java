@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import java.util.List;
+import java.util.Set;
+
+import org.gradle.tooling.events.FailureResult;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationDescriptor;
+import org.gradle.tooling.events.OperationResult;
+import org.gradle.tooling.events.ProgressEvent;
+import org.gradle.tooling.events.ProgressListener;
+import org.gradle.tooling.events.SkippedResult;
+import org.gradle.tooling.events.task.TaskOperationDescriptor;
+import org.gradle.tooling.events.task.TaskSuccessResult;
+import org.gradle.tooling.events.test.JvmTestKind;
+import org.gradle.tooling.events.test.JvmTestOperationDescriptor;
+import org.gradle.tooling.events.test.TestOperationDescriptor;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.eclipse.buildship.core.console.ProcessDescription;
+import org.eclipse.buildship.core.launch.GradleRunConfigurationAttributes;
+
+/**
+ * Records the finished tasks and tests of a single build and adds the build to the
+ * {@link ExecutionHistory} once it finished.
+ * <p/>
+ * The recorder itself receives all progress events of the build and records the tasks. The tests
+ * are recorded by the listeners of the launches served by the build, see
+ * {@link #newTestListener()}, such that the tests of coalesced launches are merged into the single
+ * record of their build. Tests reported to several of these listeners are only recorded once.
+ */
+final class ExecutionHistoryRecorder implements ProgressListener {
+
+    private final ProcessDescription processDescription;
+    private final ExecutionHistory history;
+    private final List<OperationRecord> operations;
+    private final Set<OperationDescriptor> recordedTests;
+
+    ExecutionHistoryRecorder(ProcessDescription processDescription, ExecutionHistory history) {
+        this.processDescription = Preconditions.checkNotNull(processDescription);
+        this.history = Preconditions.checkNotNull(history);
+        this.operations = Lists.newArrayList();
+        this.recordedTests = Sets.newIdentityHashSet();
+    }
+
+    @Override
+    public synchronized void statusChanged(ProgressEvent event) {
+        if (!(event instanceof FinishEvent)) {
+            return;
+        }
+
+        OperationDescriptor descriptor = event.getDescriptor();
+        OperationResult result = ((FinishEvent) event).getResult();
+        if (descriptor instanceof TaskOperationDescriptor) {
+            record(OperationRecord.Kind.TASK, ((TaskOperationDescriptor) descriptor).getTaskPath(), result);
+        } else if (!(descriptor instanceof TestOperationDescriptor) && descriptor.getParent() == null) {
+            // the build itself finished
+            recordExecution(result);
+        }
+    }
+
+    /**
+     * Returns a listener recording the tests of one of the launches served by the build. The
+     * listener is expected to receive the test events of its launch only.
+     *
+     * @return the new listener
+     */
+    ProgressListener newTestListener() {
+        return new ProgressListener() {
+
+            @Override
+            public void statusChanged(ProgressEvent event) {
+                testStatusChanged(event);
+            }
+        };
+    }
+
+    private synchronized void testStatusChanged(ProgressEvent event) {
+        if (event instanceof FinishEvent && event.getDescriptor() instanceof JvmTestOperationDescriptor) {
+            JvmTestOperationDescriptor testDescriptor = (JvmTestOperationDescriptor) event.getDescriptor();
+            if (testDescriptor.getJvmTestKind() == JvmTestKind.ATOMIC && this.recordedTests.add(testDescriptor)) {
+                record(OperationRecord.Kind.TEST, testName(testDescriptor), ((FinishEvent) event).getResult());
+            }
+        }
+    }
+
+    private void record(OperationRecord.Kind kind, String name, OperationResult result) {
+        this.operations.add(new OperationRecord(kind, name, result.getEndTime() - result.getStartTime(), outcome(result)));
+    }
+
+    private void recordExecution(OperationResult result) {
+        GradleRunConfigurationAttributes attributes = this.processDescription.getConfigurationAttributes();
+        ExecutionRecord record = new ExecutionRecord(result.getStartTime(), this.processDescription.getName(), attributes.getWorkingDirExpression(), attributes.getTasks(),
+                attributes.getArgumentExpressions(), attributes.getJvmArgumentExpressions(), this.operations);
+        this.operations.clear();
+        this.recordedTests.clear();
+        this.history.append(record);
+    }
+
+    private static String testName(JvmTestOperationDescriptor descriptor) {
+        String className = descriptor.getClassName();
+        String methodName = descriptor.getMethodName();
+        return className != null && methodName != null ? className + '.' + methodName : descriptor.getDisplayName();
+    }
+
+    private static OperationRecord.Outcome outcome(OperationResult result) {
+        if (result instanceof FailureResult) {
+            return OperationRecord.Outcome.FAILED;
+        } else if (result instanceof SkippedResult) {
+            return OperationRecord.Outcome.SKIPPED;
+        } else if (result instanceof TaskSuccessResult && ((TaskSuccessResult) result).isUpToDate()) {
+            return OperationRecord.Outcome.UP_TO_DATE;
+        } else {
+            return OperationRecord.Outcome.SUCCESS;
+        }
+    }
+
+}
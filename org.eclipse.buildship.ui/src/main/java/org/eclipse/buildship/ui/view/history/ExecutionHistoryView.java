@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import java.io.File;
+import java.text.DecimalFormat;
+import java.util.List;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.ColumnViewerToolTipSupport;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+import org.eclipse.buildship.ui.PluginImage.ImageState;
+import org.eclipse.buildship.ui.PluginImages;
+import org.eclipse.buildship.ui.UiPlugin;
+
+/**
+ * A view displaying the recorded Gradle executions: the slowest tasks and tests of the recent
+ * builds, their durations over the recent runs, and whether they became slower than usual. The
+ * operations of each build are listed separately.
+ */
+public final class ExecutionHistoryView extends ViewPart {
+
+    // view id declared in the plugin.xml
+    public static final String ID = "org.eclipse.buildship.ui.views.executionhistoryview"; //$NON-NLS-1$
+
+    // the slowest operations are of interest, thus do not create a row for every test ever run
+    private static final int MAX_ROWS = 1000;
+
+    private static final char[] TREND_BARS = { '\u2581', '\u2582', '\u2583', '\u2584', '\u2585', '\u2586', '\u2587', '\u2588' };
+
+    private final DecimalFormat durationFormat = new DecimalFormat("#0.000"); //$NON-NLS-1$
+    private final DecimalFormat changeFormat = new DecimalFormat("+#0;-#0"); //$NON-NLS-1$
+
+    private TableViewer tableViewer;
+    private Job loadJob;
+    private ExecutionHistory.Listener historyListener;
+    private List<OperationStatistics> statistics;
+    private boolean showRegressionsOnly;
+
+    @Override
+    public void createPartControl(Composite parent) {
+        this.tableViewer = new TableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION);
+        this.tableViewer.getTable().setHeaderVisible(true);
+        this.tableViewer.setContentProvider(ArrayContentProvider.getInstance());
+        ColumnViewerToolTipSupport.enableFor(this.tableViewer);
+        this.statistics = ImmutableList.of();
+        createColumns();
+
+        // populate the toolbar
+        IToolBarManager toolBarManager = getViewSite().getActionBars().getToolBarManager();
+        toolBarManager.add(new ShowRegressionsOnlyAction(this));
+        toolBarManager.add(new RefreshExecutionHistoryAction(this));
+
+        // load the history in the background and reload it whenever a build finished
+        this.loadJob = new Job("Loading the execution history") {
+
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                final List<OperationStatistics> statistics = OperationStatistics.from(UiPlugin.executionHistory().load());
+                PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        setStatistics(statistics);
+                    }
+                });
+                return Status.OK_STATUS;
+            }
+        };
+        this.loadJob.setSystem(true);
+        this.historyListener = new ExecutionHistory.Listener() {
+
+            @Override
+            public void executionRecorded(ExecutionRecord record) {
+                refresh();
+            }
+        };
+        UiPlugin.executionHistory().addListener(this.historyListener);
+        refresh();
+    }
+
+    private void createColumns() {
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Operation_Text, SWT.LEFT, 400, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                return ((OperationStatistics) element).getName();
+            }
+
+            @Override
+            public Image getImage(Object element) {
+                OperationStatistics operation = (OperationStatistics) element;
+                if (operation.getLastOutcome() == OperationRecord.Outcome.FAILED) {
+                    return PluginImages.OPERATION_FAILURE.withState(ImageState.ENABLED).getImage();
+                } else if (operation.getKind() == OperationRecord.Kind.TASK) {
+                    return PluginImages.TASK.withState(ImageState.ENABLED).getImage();
+                } else {
+                    return PluginImages.OPERATION_SUCCESS.withState(ImageState.ENABLED).getImage();
+                }
+            }
+        });
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Build_Text, SWT.LEFT, 150, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                return new File(((OperationStatistics) element).getWorkingDir()).getName();
+            }
+
+            @Override
+            public String getToolTipText(Object element) {
+                return ((OperationStatistics) element).getWorkingDir();
+            }
+        });
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Last_Duration_Text, SWT.RIGHT, 90, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                return formatDuration(((OperationStatistics) element).getLastDuration());
+            }
+        });
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Median_Duration_Text, SWT.RIGHT, 90, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                long median = ((OperationStatistics) element).getMedian();
+                return median >= 0 ? formatDuration(median) : ""; //$NON-NLS-1$
+            }
+        });
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Change_Text, SWT.RIGHT, 70, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                OperationStatistics operation = (OperationStatistics) element;
+                return operation.getMedian() > 0 ? NLS.bind(ExecutionHistoryViewMessages.Table_Item_Change_0_Percent_Text, ExecutionHistoryView.this.changeFormat.format(operation.getChange() * 100)) : ""; //$NON-NLS-1$
+            }
+
+            @Override
+            public Color getForeground(Object element) {
+                return ((OperationStatistics) element).isRegression() ? ExecutionHistoryView.this.tableViewer.getTable().getDisplay().getSystemColor(SWT.COLOR_RED) : null;
+            }
+        });
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Trend_Text, SWT.LEFT, 100, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                return renderTrend(((OperationStatistics) element).getTrend());
+            }
+        });
+        createColumn(ExecutionHistoryViewMessages.Table_Column_Runs_Text, SWT.RIGHT, 50, new ColumnLabelProvider() {
+
+            @Override
+            public String getText(Object element) {
+                return String.valueOf(((OperationStatistics) element).getRuns());
+            }
+        });
+    }
+
+    private void createColumn(String text, int style, int width, ColumnLabelProvider labelProvider) {
+        TableViewerColumn column = new TableViewerColumn(this.tableViewer, style);
+        column.getColumn().setText(text);
+        column.getColumn().setWidth(width);
+        column.setLabelProvider(labelProvider);
+    }
+
+    private String formatDuration(long duration) {
+        return NLS.bind(ExecutionHistoryViewMessages.Table_Item_Duration_0_Sec_Text, this.durationFormat.format(duration / 1000.0));
+    }
+
+    private static String renderTrend(List<Long> durations) {
+        long max = 0;
+        for (Long duration : durations) {
+            max = Math.max(max, duration);
+        }
+
+        StringBuilder trend = new StringBuilder(durations.size());
+        for (Long duration : durations) {
+            int bar = max > 0 ? (int) (duration * (TREND_BARS.length - 1) / max) : 0;
+            trend.append(TREND_BARS[bar]);
+        }
+        return trend.toString();
+    }
+
+    private void setStatistics(List<OperationStatistics> statistics) {
+        this.statistics = statistics;
+        updateInput();
+    }
+
+    private void updateInput() {
+        if (this.tableViewer.getControl().isDisposed()) {
+            return;
+        }
+
+        FluentIterable<OperationStatistics> rows = FluentIterable.from(this.statistics);
+        if (this.showRegressionsOnly) {
+            rows = rows.filter(new Predicate<OperationStatistics>() {
+
+                @Override
+                public boolean apply(OperationStatistics operation) {
+                    return operation.isRegression();
+                }
+            });
+        }
+        this.tableViewer.setInput(rows.limit(MAX_ROWS).toArray(OperationStatistics.class));
+    }
+
+    /**
+     * Reloads the history in the background.
+     */
+    void refresh() {
+        this.loadJob.schedule();
+    }
+
+    boolean isShowRegressionsOnly() {
+        return this.showRegressionsOnly;
+    }
+
+    void setShowRegressionsOnly(boolean showRegressionsOnly) {
+        this.showRegressionsOnly = showRegressionsOnly;
+        updateInput();
+    }
+
+    @Override
+    public void setFocus() {
+        this.tableViewer.getControl().setFocus();
+    }
+
+    @Override
+    public void dispose() {
+        if (this.historyListener != null) {
+            UiPlugin.executionHistory().removeListener(this.historyListener);
+        }
+        if (this.loadJob != null) {
+            this.loadJob.cancel();
+        }
+        super.dispose();
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Lists the i18n resource keys for the execution history view messages.
+ */
+public final class ExecutionHistoryViewMessages extends NLS {
+
+    private static final String BUNDLE_NAME = "org.eclipse.buildship.ui.view.history.ExecutionHistoryViewMessages"; //$NON-NLS-1$
+
+    public static String Table_Column_Operation_Text;
+    public static String Table_Column_Build_Text;
+    public static String Table_Column_Last_Duration_Text;
+    public static String Table_Column_Median_Duration_Text;
+    public static String Table_Column_Change_Text;
+    public static String Table_Column_Trend_Text;
+    public static String Table_Column_Runs_Text;
+
+    public static String Table_Item_Duration_0_Sec_Text;
+    public static String Table_Item_Change_0_Percent_Text;
+
+    public static String Action_Refresh_Text;
+    public static String Action_Refresh_Tooltip;
+    public static String Action_ShowRegressionsOnly_Text;
+    public static String Action_ShowRegressionsOnly_Tooltip;
+
+    static {
+        // initialize resource bundle
+        NLS.initializeMessages(BUNDLE_NAME, ExecutionHistoryViewMessages.class);
+    }
+
+    private ExecutionHistoryViewMessages() {
+    }
+
+}
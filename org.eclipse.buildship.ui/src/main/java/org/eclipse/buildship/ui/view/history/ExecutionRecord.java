@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A finished build execution as stored in the {@link ExecutionHistory}: when it ran, the attributes
+ * it was run with and the outcomes and durations of its tasks and tests.
+ */
+public final class ExecutionRecord {
+
+    private final long timestamp;
+    private final String name;
+    private final String workingDir;
+    private final ImmutableList<String> tasks;
+    private final ImmutableList<String> arguments;
+    private final ImmutableList<String> jvmArguments;
+    private final ImmutableList<OperationRecord> operations;
+
+    public ExecutionRecord(long timestamp, String name, String workingDir, List<String> tasks, List<String> arguments, List<String> jvmArguments, List<OperationRecord> operations) {
+        this.timestamp = timestamp;
+        this.name = Preconditions.checkNotNull(name);
+        this.workingDir = Preconditions.checkNotNull(workingDir);
+        this.tasks = ImmutableList.copyOf(tasks);
+        this.arguments = ImmutableList.copyOf(arguments);
+        this.jvmArguments = ImmutableList.copyOf(jvmArguments);
+        this.operations = ImmutableList.copyOf(operations);
+    }
+
+    /**
+     * Returns when the build started.
+     *
+     * @return the start time in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Returns the human-readable name of the build.
+     *
+     * @return the name of the build
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    public String getWorkingDir() {
+        return this.workingDir;
+    }
+
+    public List<String> getTasks() {
+        return this.tasks;
+    }
+
+    public List<String> getArguments() {
+        return this.arguments;
+    }
+
+    public List<String> getJvmArguments() {
+        return this.jvmArguments;
+    }
+
+    /**
+     * Returns the tasks and tests of the build in the order in which they finished.
+     *
+     * @return the recorded operations
+     */
+    public List<OperationRecord> getOperations() {
+        return this.operations;
+    }
+
+}
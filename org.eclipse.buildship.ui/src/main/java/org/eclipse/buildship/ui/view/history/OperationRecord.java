@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The outcome and duration of a single task or test of a recorded build execution.
+ */
+public final class OperationRecord {
+
+    /**
+     * The kinds of recorded operations.
+     */
+    public enum Kind {
+        TASK, TEST
+    }
+
+    /**
+     * The outcomes of a recorded operation.
+     */
+    public enum Outcome {
+        SUCCESS, UP_TO_DATE, SKIPPED, FAILED
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final long duration;
+    private final Outcome outcome;
+
+    public OperationRecord(Kind kind, String name, long duration, Outcome outcome) {
+        this.kind = Preconditions.checkNotNull(kind);
+        this.name = Preconditions.checkNotNull(name);
+        this.duration = duration;
+        this.outcome = Preconditions.checkNotNull(outcome);
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Returns the name of the operation, the path of a task or the qualified name of a test.
+     *
+     * @return the name of the operation
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns how long the operation took.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getDuration() {
+        return this.duration;
+    }
+
+    public Outcome getOutcome() {
+        return this.outcome;
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.primitives.Longs;
+
+/**
+ * The durations of a task or test across the recorded executions of a build.
+ * <p/>
+ * Operations of different builds are never merged, even if they have the same name, e.g. the
+ * {@code :test} task of two builds. The build is identified by the working directory of the
+ * recorded executions.
+ * <p/>
+ * Only the runs in which the operation was actually executed are considered, i.e. up-to-date and
+ * skipped runs are ignored. The latest run is compared against the median of the runs before it. It
+ * counts as a regression if it took considerably longer than that median.
+ */
+final class OperationStatistics {
+
+    static final int TREND_SIZE = 10;
+
+    private static final int MEDIAN_SIZE = 20;
+    private static final int MIN_MEDIAN_SIZE = 3;
+    private static final double REGRESSION_FACTOR = 1.25;
+    private static final long MIN_REGRESSION_MILLIS = 100;
+
+    private static final Comparator<OperationStatistics> SLOWEST_FIRST = new Comparator<OperationStatistics>() {
+
+        @Override
+        public int compare(OperationStatistics first, OperationStatistics second) {
+            return Longs.compare(second.getLastDuration(), first.getLastDuration());
+        }
+    };
+
+    private final String workingDir;
+    private final OperationRecord.Kind kind;
+    private final String name;
+    private final int runs;
+    private final long lastDuration;
+    private final OperationRecord.Outcome lastOutcome;
+    private final long median;
+    private final ImmutableList<Long> trend;
+
+    private OperationStatistics(String workingDir, OperationRecord.Kind kind, String name, int runs, OperationRecord.Outcome lastOutcome, List<Long> durations) {
+        this.workingDir = Preconditions.checkNotNull(workingDir);
+        this.kind = Preconditions.checkNotNull(kind);
+        this.name = Preconditions.checkNotNull(name);
+        this.runs = runs;
+        this.lastOutcome = Preconditions.checkNotNull(lastOutcome);
+        this.lastDuration = durations.get(durations.size() - 1);
+        this.median = median(durations.subList(0, durations.size() - 1));
+        this.trend = ImmutableList.copyOf(durations.subList(Math.max(0, durations.size() - TREND_SIZE), durations.size()));
+    }
+
+    /**
+     * Returns the working directory of the build which executed the operation.
+     *
+     * @return the working directory
+     */
+    String getWorkingDir() {
+        return this.workingDir;
+    }
+
+    OperationRecord.Kind getKind() {
+        return this.kind;
+    }
+
+    String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns in how many of the recorded executions the operation was executed.
+     *
+     * @return the number of runs
+     */
+    int getRuns() {
+        return this.runs;
+    }
+
+    long getLastDuration() {
+        return this.lastDuration;
+    }
+
+    OperationRecord.Outcome getLastOutcome() {
+        return this.lastOutcome;
+    }
+
+    /**
+     * Returns the median duration of the runs before the latest one.
+     *
+     * @return the median in milliseconds, or {@code -1} if there are too few runs
+     */
+    long getMedian() {
+        return this.median;
+    }
+
+    /**
+     * Returns the relative change of the latest run against the median.
+     *
+     * @return the change, e.g. {@code 0.5} if the latest run took 50% longer than the median
+     */
+    double getChange() {
+        return this.median > 0 ? (double) (this.lastDuration - this.median) / this.median : 0;
+    }
+
+    boolean isRegression() {
+        return this.median >= 0 && this.lastDuration > this.median * REGRESSION_FACTOR && this.lastDuration - this.median >= MIN_REGRESSION_MILLIS;
+    }
+
+    /**
+     * Returns the durations of the most recent runs, the latest run last.
+     *
+     * @return the durations in milliseconds
+     */
+    List<Long> getTrend() {
+        return this.trend;
+    }
+
+    private static long median(List<Long> durations) {
+        if (durations.size() < MIN_MEDIAN_SIZE) {
+            return -1;
+        }
+        long[] sorted = Longs.toArray(durations);
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /**
+     * Aggregates the operations of the given executions, the slowest operations first.
+     *
+     * @param records the executions, the oldest first
+     * @return the statistics of all operations which were executed at least once
+     */
+    static List<OperationStatistics> from(List<ExecutionRecord> records) {
+        Map<List<String>, Runs> runsByOperation = Maps.newHashMap();
+        for (ExecutionRecord record : records) {
+            for (OperationRecord operation : record.getOperations()) {
+                OperationRecord.Outcome outcome = operation.getOutcome();
+                if (outcome == OperationRecord.Outcome.UP_TO_DATE || outcome == OperationRecord.Outcome.SKIPPED) {
+                    continue;
+                }
+                List<String> key = ImmutableList.of(record.getWorkingDir(), operation.getKind().name(), operation.getName());
+                Runs runs = runsByOperation.get(key);
+                if (runs == null) {
+                    runs = new Runs(record.getWorkingDir(), operation.getKind(), operation.getName());
+                    runsByOperation.put(key, runs);
+                }
+                runs.add(operation);
+            }
+        }
+
+        List<OperationStatistics> statistics = Lists.newArrayListWithCapacity(runsByOperation.size());
+        for (Runs runs : runsByOperation.values()) {
+            statistics.add(new OperationStatistics(runs.workingDir, runs.kind, runs.name, runs.count, runs.lastOutcome, runs.durations));
+        }
+        Collections.sort(statistics, SLOWEST_FIRST);
+        return statistics;
+    }
+
+    /**
+     * The most recent runs of an operation.
+     */
+    private static final class Runs {
+
+        private final String workingDir;
+        private final OperationRecord.Kind kind;
+        private final String name;
+        private final LinkedList<Long> durations;
+        private OperationRecord.Outcome lastOutcome;
+        private int count;
+
+        private Runs(String workingDir, OperationRecord.Kind kind, String name) {
+            this.workingDir = workingDir;
+            this.kind = kind;
+            this.name = name;
+            this.durations = Lists.newLinkedList();
+        }
+
+        private void add(OperationRecord operation) {
+            // keep the runs for the median plus the latest run
+            if (this.durations.size() > MEDIAN_SIZE) {
+                this.durations.removeFirst();
+            }
+            this.durations.add(operation.getDuration());
+            this.lastOutcome = operation.getOutcome();
+            this.count++;
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.action.Action;
+
+import org.eclipse.buildship.ui.PluginImage.ImageState;
+import org.eclipse.buildship.ui.PluginImages;
+
+/**
+ * An action on the {@link ExecutionHistoryView} to reload the recorded executions.
+ */
+public final class RefreshExecutionHistoryAction extends Action {
+
+    private final ExecutionHistoryView view;
+
+    public RefreshExecutionHistoryAction(ExecutionHistoryView view) {
+        this.view = Preconditions.checkNotNull(view);
+
+        setText(ExecutionHistoryViewMessages.Action_Refresh_Text);
+        setToolTipText(ExecutionHistoryViewMessages.Action_Refresh_Tooltip);
+        setImageDescriptor(PluginImages.REFRESH.withState(ImageState.ENABLED).getImageDescriptor());
+        setDisabledImageDescriptor(PluginImages.REFRESH.withState(ImageState.DISABLED).getImageDescriptor());
+    }
+
+    @Override
+    public void run() {
+        this.view.refresh();
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2016 the original author or authors.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.eclipse.buildship.ui.view.history;
+
+import com.google.common.base.Preconditions;
+
+import org.eclipse.jface.action.Action;
+
+import org.eclipse.buildship.ui.PluginImage.ImageState;
+import org.eclipse.buildship.ui.PluginImages;
+
+/**
+ * An action on the {@link ExecutionHistoryView} to toggle whether only the operations which became
+ * slower than their median are shown.
+ */
+public final class ShowRegressionsOnlyAction extends Action {
+
+    private final ExecutionHistoryView view;
+
+    public ShowRegressionsOnlyAction(ExecutionHistoryView view) {
+        super(null, AS_CHECK_BOX);
+        this.view = Preconditions.checkNotNull(view);
+
+        setText(ExecutionHistoryViewMessages.Action_ShowRegressionsOnly_Text);
+        setToolTipText(ExecutionHistoryViewMessages.Action_ShowRegressionsOnly_Tooltip);
+        setImageDescriptor(PluginImages.FILTER_EXECUTION.withState(ImageState.ENABLED).getImageDescriptor());
+        setChecked(view.isShowRegressionsOnly());
+    }
+
+    @Override
+    public void run() {
+        this.view.setShowRegressionsOnly(isChecked());
+    }
+
+}